@@ -5,7 +5,11 @@ import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.actionSystem.CommonDataKeys;
 import com.intellij.openapi.actionSystem.Presentation;
 import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.psi.PsiDirectory;
 import com.intellij.psi.PsiFile;
+import com.yanchen.plugin.objecthelper.common.util.PsiUtils;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -49,4 +53,20 @@ public abstract class AbstractClassAnAction extends AnAction {
      * @return 是否顯示
      */
     public abstract boolean actionShow(AnActionEvent anActionEvent);
+    
+    /**
+     * 目標目錄中已有同名 Java 文件時詢問是否替換，避免靜默覆蓋手動修改過的文件
+     *
+     * @param project 項目
+     * @param directory 目標目錄
+     * @param className 類名
+     * @return 文件不存在或用戶確認替換時返回 true
+     */
+    protected boolean confirmReplaceJavaFile(Project project, PsiDirectory directory, String className) {
+        if (PsiUtils.findJavaFile(directory, className) == null) {
+            return true;
+        }
+        return Messages.showYesNoDialog(project, className + ".java 已存在，是否替換其內容？",
+                "文件已存在", Messages.getQuestionIcon()) == Messages.YES;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,111 @@
+package com.yanchen.plugin.objecthelper.action;
+
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.actionSystem.LangDataKeys;
+import com.intellij.openapi.fileChooser.FileChooser;
+import com.intellij.openapi.fileChooser.FileChooserDescriptorFactory;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.yanchen.plugin.objecthelper.common.enums.FunctionSwitchEnum;
+import com.yanchen.plugin.objecthelper.config.PluginConfigState;
+import com.yanchen.plugin.objecthelper.export.SampleExportTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 批量導出包或模塊中所有類的 JSON/XML 樣例
+ */
+public class BatchExportSamplesAction extends AnAction {
+
+    /**
+     * 執行操作
+     *
+     * @param anActionEvent 事件
+     */
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent anActionEvent) {
+        Project project = anActionEvent.getProject();
+        if (project == null) {
+            return;
+        }
+
+        List<VirtualFile> sourceDirectories = getSourceDirectories(anActionEvent, project);
+        if (sourceDirectories.isEmpty()) {
+            return;
+        }
+
+        VirtualFile outputDirectory = FileChooser.chooseFile(
+                FileChooserDescriptorFactory.createSingleFolderDescriptor().withTitle("選擇樣例輸出目錄"),
+                project, null);
+        if (outputDirectory == null) {
+            return;
+        }
+
+        ProgressManager.getInstance().run(
+                new SampleExportTask(project, sourceDirectories, outputDirectory.toNioPath()));
+    }
+
+    /**
+     * 只在項目視圖中選中源碼目錄或模塊時顯示
+     *
+     * @param anActionEvent 事件
+     */
+    @Override
+    public void update(@NotNull AnActionEvent anActionEvent) {
+        Project project = anActionEvent.getProject();
+        boolean visible = project != null
+                && (PluginConfigState.getInstance().getClassToJsonSwitch() == FunctionSwitchEnum.OPEN
+                || PluginConfigState.getInstance().getClassToXmlSwitch() == FunctionSwitchEnum.OPEN)
+                && !getSourceDirectories(anActionEvent, project).isEmpty();
+        anActionEvent.getPresentation().setEnabledAndVisible(visible);
+    }
+
+    /**
+     * 在後台線程中更新，避免在 EDT 中訪問文件索引
+     *
+     * @return 更新線程
+     */
+    @NotNull
+    @Override
+    public ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+
+    /**
+     * 獲取選中的源碼目錄，選中模塊時使用模塊的所有源碼根目錄
+     *
+     * @param anActionEvent 事件
+     * @param project 項目
+     * @return 源碼目錄列表
+     */
+    @NotNull
+    static List<VirtualFile> getSourceDirectories(@NotNull AnActionEvent anActionEvent, @NotNull Project project) {
+        Module module = anActionEvent.getData(LangDataKeys.MODULE_CONTEXT);
+        if (module != null) {
+            return Arrays.asList(ModuleRootManager.getInstance(module).getSourceRoots(false));
+        }
+
+        VirtualFile[] files = anActionEvent.getData(CommonDataKeys.VIRTUAL_FILE_ARRAY);
+        List<VirtualFile> directories = new ArrayList<>();
+        if (files == null) {
+            return directories;
+        }
+        ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(project);
+        for (VirtualFile file : files) {
+            if (file.isDirectory() && fileIndex.isInSourceContent(file)) {
+                directories.add(file);
+            }
+        }
+        return directories;
+    }
+}
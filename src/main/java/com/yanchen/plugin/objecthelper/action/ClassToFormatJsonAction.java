@@ -1,10 +1,6 @@
 package com.yanchen.plugin.objecthelper.action;
 
 import com.intellij.openapi.actionSystem.AnActionEvent;
-import com.intellij.openapi.command.WriteCommandAction;
-import com.intellij.openapi.editor.Editor;
-import com.intellij.openapi.editor.EditorFactory;
-import com.intellij.openapi.fileEditor.FileEditorManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.Messages;
 import com.intellij.psi.PsiClass;
@@ -13,6 +9,7 @@ import com.yanchen.plugin.objecthelper.common.util.PsiUtils;
 import com.yanchen.plugin.objecthelper.config.PluginConfigState;
 import com.yanchen.plugin.objecthelper.generator.Generator;
 import com.yanchen.plugin.objecthelper.generator.format.ClassToJsonGenerator;
+import com.yanchen.plugin.objecthelper.viewer.FormatResultViewer;
 
 /**
  * Java 類轉 JSON 操作
@@ -39,7 +36,8 @@ public class ClassToFormatJsonAction extends AbstractClassAnAction {
         }
         
         // 生成 JSON
-        Generator generator = ClassToJsonGenerator.getInstance(psiClass);
+        Generator generator = ClassToJsonGenerator.getInstance(psiClass,
+                PluginConfigState.getInstance().getParallelResolveSwitch() == FunctionSwitchEnum.OPEN);
         String jsonContent = generator.generate();
         
         if (jsonContent == null || jsonContent.trim().isEmpty()) {
@@ -47,22 +45,8 @@ public class ClassToFormatJsonAction extends AbstractClassAnAction {
             return;
         }
         
-        // 創建新的編輯器顯示生成的 JSON
-        WriteCommandAction.runWriteCommandAction(project, () -> {
-            // 創建編輯器
-            Editor editor = EditorFactory.getInstance().createEditor(
-                    EditorFactory.getInstance().createDocument(jsonContent),
-                    project,
-                    "JSON",
-                    false // 只讀模式
-            );
-            
-            // 顯示編輯器
-            FileEditorManager.getInstance(project).openTextEditor(
-                    editor.getDocument(),
-                    true
-            );
-        });
+        // 在結果查看器中顯示，同一類的結果復用同一文件
+        FormatResultViewer.getInstance(project).show(psiClass, "json", jsonContent);
     }
 
     /**
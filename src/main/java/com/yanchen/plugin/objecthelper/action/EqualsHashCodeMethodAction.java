@@ -0,0 +1,92 @@
+package com.yanchen.plugin.objecthelper.action;
+
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementFactory;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.codeStyle.JavaCodeStyleManager;
+import com.yanchen.plugin.objecthelper.common.enums.FunctionSwitchEnum;
+import com.yanchen.plugin.objecthelper.common.util.PsiUtils;
+import com.yanchen.plugin.objecthelper.common.util.StringUtils;
+import com.yanchen.plugin.objecthelper.config.PluginConfigState;
+import com.yanchen.plugin.objecthelper.generator.Generator;
+import com.yanchen.plugin.objecthelper.generator.method.EqualsHashCodeMethodGenerator;
+
+/**
+ * equals / hashCode / compareTo 方法生成操作
+ */
+public class EqualsHashCodeMethodAction extends AbstractClassAnAction {
+    
+    /**
+     * 執行操作
+     *
+     * @param anActionEvent 事件
+     */
+    @Override
+    public void actionPerformed(AnActionEvent anActionEvent) {
+        WriteCommandAction.runWriteCommandAction(anActionEvent.getProject(), () -> {
+            generateMethods(PsiUtils.getCursorPsiClass(anActionEvent));
+        });
+    }
+    
+    /**
+     * 檢查操作是否應該顯示
+     *
+     * @param anActionEvent 事件
+     * @return 是否顯示
+     */
+    @Override
+    public boolean actionShow(AnActionEvent anActionEvent) {
+        return PluginConfigState.getInstance().getEqualsHashCodeSwitch() == FunctionSwitchEnum.OPEN
+                && EqualsHashCodeMethodGenerator.isSupported(PsiUtils.getCursorPsiClass(anActionEvent));
+    }
+    
+    /**
+     * 生成 equals / hashCode / compareTo 方法並寫入當前類
+     * 已存在的同簽名方法會被替換；類不再符合緩存條件時移除原有的、帶生成標記的緩存字段
+     *
+     * @param psiClass 當前類
+     */
+    private void generateMethods(PsiClass psiClass) {
+        if (!EqualsHashCodeMethodGenerator.isSupported(psiClass)) {
+            return;
+        }
+        
+        Generator generator = EqualsHashCodeMethodGenerator.getInstance(psiClass,
+                PluginConfigState.getInstance().isEqualsHashCodeCacheHash());
+        String membersCode = generator.generate();
+        
+        if (StringUtils.isEmpty(membersCode)) {
+            return;
+        }
+        
+        PsiElementFactory elementFactory = JavaPsiFacade.getElementFactory(psiClass.getProject());
+        JavaCodeStyleManager codeStyleManager = JavaCodeStyleManager.getInstance(psiClass.getProject());
+        
+        // 解析生成的類成員
+        PsiClass membersClass = elementFactory.createClassFromText(membersCode, psiClass);
+        
+        // 只移除生成器創建的緩存字段，用戶手寫的同名字段保持不變
+        PsiField cachedField = psiClass.findFieldByName(EqualsHashCodeMethodGenerator.CACHED_HASH_CODE_FIELD, false);
+        if (cachedField != null && EqualsHashCodeMethodGenerator.isGeneratedCachedHashCodeField(cachedField)
+                && membersClass.findFieldByName(cachedField.getName(), false) == null) {
+            cachedField.delete();
+        }
+        
+        for (PsiField field : membersClass.getFields()) {
+            PsiField existingField = psiClass.findFieldByName(field.getName(), false);
+            PsiElement added = existingField != null ? existingField.replace(field) : psiClass.add(field);
+            codeStyleManager.shortenClassReferences(added);
+        }
+        
+        for (PsiMethod method : membersClass.getMethods()) {
+            PsiMethod existingMethod = psiClass.findMethodBySignature(method, false);
+            PsiElement added = existingMethod != null ? existingMethod.replace(method) : psiClass.add(method);
+            codeStyleManager.shortenClassReferences(added);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.yanchen.plugin.objecthelper.action;
+
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleUtilCore;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiDirectory;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiMethod;
+import com.yanchen.plugin.objecthelper.common.enums.FunctionSwitchEnum;
+import com.yanchen.plugin.objecthelper.common.util.PsiUtils;
+import com.yanchen.plugin.objecthelper.common.util.StringUtils;
+import com.yanchen.plugin.objecthelper.config.PluginConfigState;
+import com.yanchen.plugin.objecthelper.generator.jmh.JmhBenchmarkGenerator;
+import com.yanchen.plugin.objecthelper.index.CopyMapperMarker;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jps.model.java.JavaSourceRootType;
+
+import java.util.List;
+
+/**
+ * JMH 基準測試生成操作
+ * 光標在已生成的複製方法內時生成映射基準，否則為光標所在類生成序列化基準；
+ * 基準類寫入 jmh 或測試源碼目錄，不放入主源碼
+ */
+public class JmhBenchmarkAction extends AbstractClassAnAction {
+
+    /**
+     * JMH Gradle 插件使用的源碼集目錄名
+     */
+    private static final String JMH_SOURCE_SET = "jmh";
+
+    /**
+     * 執行操作
+     *
+     * @param anActionEvent 事件
+     */
+    @Override
+    public void actionPerformed(AnActionEvent anActionEvent) {
+        Project project = anActionEvent.getProject();
+        if (project == null) {
+            return;
+        }
+
+        JmhBenchmarkGenerator generator = createGenerator(anActionEvent);
+        if (generator == null) {
+            Messages.showErrorDialog("請將光標放在類定義或已生成的複製方法內", "錯誤");
+            return;
+        }
+        String unsupportedReason = generator.getUnsupportedReason();
+        if (unsupportedReason != null) {
+            Messages.showErrorDialog(unsupportedReason, "錯誤");
+            return;
+        }
+
+        String benchmarkCode = generator.generate();
+        String benchmarkName = generator.getClassName();
+        PsiClass anchorClass = generator.getAnchorClass();
+        if (StringUtils.isEmpty(benchmarkCode) || benchmarkName == null || anchorClass == null) {
+            Messages.showErrorDialog("無法生成 JMH 基準測試", "錯誤");
+            return;
+        }
+
+        // 寫入 jmh 或測試源碼目錄中與參照類相同的包並打開，已有同名文件時先確認
+        VirtualFile sourceRoot = findBenchmarkSourceRoot(project, anchorClass);
+        if (sourceRoot == null) {
+            Messages.showErrorDialog("未找到 jmh 或測試源碼目錄，請先在模塊中添加測試源碼目錄", "錯誤");
+            return;
+        }
+        String packageName = PsiUtils.getPackageName(anchorClass);
+        PsiDirectory existingDirectory = findPackageDirectory(project, sourceRoot, packageName);
+        if (existingDirectory != null && !confirmReplaceJavaFile(project, existingDirectory, benchmarkName)) {
+            return;
+        }
+        WriteCommandAction.runWriteCommandAction(project, () -> {
+            PsiDirectory directory = existingDirectory != null ? existingDirectory
+                    : createPackageDirectory(project, sourceRoot, packageName);
+            if (directory == null) {
+                return;
+            }
+            PsiFile benchmarkFile = PsiUtils.createOrReplaceJavaFile(directory, benchmarkName, benchmarkCode);
+            if (benchmarkFile != null && benchmarkFile.getVirtualFile() != null) {
+                FileEditorManager.getInstance(project).openFile(benchmarkFile.getVirtualFile(), true);
+            }
+        });
+    }
+
+    /**
+     * 查找基準類的源碼根目錄
+     * 優先使用與參照類同一模塊目錄下的 jmh 源碼目錄（如 src/jmh/java），其次為同一模塊目錄下的測試源碼目錄，
+     * 最後為參照類所在模塊的測試源碼目錄；Gradle 導入的項目中各源碼集是不同的模塊，因此按目錄位置匹配
+     *
+     * @param project 項目
+     * @param anchorClass 參照類
+     * @return 源碼根目錄，未找到時返回 null
+     */
+    @Nullable
+    private static VirtualFile findBenchmarkSourceRoot(@NotNull Project project, @NotNull PsiClass anchorClass) {
+        PsiFile anchorFile = anchorClass.getContainingFile();
+        VirtualFile anchorVirtualFile = anchorFile == null ? null : anchorFile.getVirtualFile();
+        if (anchorVirtualFile == null) {
+            return null;
+        }
+        ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(project);
+        VirtualFile anchorRoot = fileIndex.getSourceRootForFile(anchorVirtualFile);
+        // src/main/java 的上兩級為 src，同級的 jmh/java、test/java 屬於同一模塊目錄
+        VirtualFile sourceSetsDirectory = anchorRoot == null || anchorRoot.getParent() == null
+                ? null : anchorRoot.getParent().getParent();
+
+        VirtualFile testRoot = null;
+        for (VirtualFile root : ProjectRootManager.getInstance(project).getContentSourceRoots()) {
+            VirtualFile sourceSet = root.getParent();
+            if (sourceSetsDirectory == null || sourceSet == null
+                    || !sourceSetsDirectory.equals(sourceSet.getParent())) {
+                continue;
+            }
+            if (JMH_SOURCE_SET.equals(sourceSet.getName())) {
+                return root;
+            }
+            if (testRoot == null && fileIndex.isInTestSourceContent(root)) {
+                testRoot = root;
+            }
+        }
+        if (testRoot != null) {
+            return testRoot;
+        }
+
+        Module module = ModuleUtilCore.findModuleForPsiElement(anchorClass);
+        if (module == null) {
+            return null;
+        }
+        List<VirtualFile> moduleTestRoots = ModuleRootManager.getInstance(module)
+                .getSourceRoots(JavaSourceRootType.TEST_SOURCE);
+        return moduleTestRoots.isEmpty() ? null : moduleTestRoots.get(0);
+    }
+
+    /**
+     * 查找源碼根目錄下包對應的目錄
+     *
+     * @param project 項目
+     * @param sourceRoot 源碼根目錄
+     * @param packageName 包名
+     * @return 目錄，不存在時返回 null
+     */
+    @Nullable
+    private static PsiDirectory findPackageDirectory(@NotNull Project project, @NotNull VirtualFile sourceRoot,
+                                                     @NotNull String packageName) {
+        VirtualFile directory = StringUtils.isEmpty(packageName)
+                ? sourceRoot : sourceRoot.findFileByRelativePath(packageName.replace('.', '/'));
+        return directory == null || !directory.isDirectory()
+                ? null : PsiManager.getInstance(project).findDirectory(directory);
+    }
+
+    /**
+     * 在源碼根目錄下逐級創建包對應的目錄，需在寫操作中調用
+     *
+     * @param project 項目
+     * @param sourceRoot 源碼根目錄
+     * @param packageName 包名
+     * @return 目錄，無法創建時返回 null
+     */
+    @Nullable
+    private static PsiDirectory createPackageDirectory(@NotNull Project project, @NotNull VirtualFile sourceRoot,
+                                                       @NotNull String packageName) {
+        PsiDirectory directory = PsiManager.getInstance(project).findDirectory(sourceRoot);
+        if (directory == null || StringUtils.isEmpty(packageName)) {
+            return directory;
+        }
+        for (String segment : packageName.split("\\.")) {
+            PsiDirectory subdirectory = directory.findSubdirectory(segment);
+            directory = subdirectory != null ? subdirectory : directory.createSubdirectory(segment);
+        }
+        return directory;
+    }
+
+    /**
+     * 檢查操作是否應該顯示
+     *
+     * @param anActionEvent 事件
+     * @return 是否顯示
+     */
+    @Override
+    public boolean actionShow(AnActionEvent anActionEvent) {
+        return PluginConfigState.getInstance().getJmhBenchmarkSwitch() == FunctionSwitchEnum.OPEN
+                && PsiUtils.getCursorPsiClass(anActionEvent) != null;
+    }
+
+    /**
+     * 按光標位置選擇基準類型
+     *
+     * @param anActionEvent 事件
+     * @return 生成器，光標不在類內時返回 null
+     */
+    @Nullable
+    private static JmhBenchmarkGenerator createGenerator(AnActionEvent anActionEvent) {
+        PsiMethod psiMethod = PsiUtils.getCursorPsiMethod(anActionEvent);
+        if (psiMethod != null && psiMethod.getContainingClass() != null && CopyMapperMarker.find(psiMethod) != null) {
+            return JmhBenchmarkGenerator.forCopyMethod(psiMethod);
+        }
+        PsiClass psiClass = PsiUtils.getCursorPsiClass(anActionEvent);
+        return psiClass == null ? null : JmhBenchmarkGenerator.forSerialization(psiClass);
+    }
+}
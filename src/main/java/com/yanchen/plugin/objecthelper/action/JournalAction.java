@@ -0,0 +1,81 @@
+package com.yanchen.plugin.objecthelper.action;
+
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiDirectory;
+import com.intellij.psi.PsiFile;
+import com.yanchen.plugin.objecthelper.common.enums.FunctionSwitchEnum;
+import com.yanchen.plugin.objecthelper.common.util.PsiUtils;
+import com.yanchen.plugin.objecthelper.common.util.StringUtils;
+import com.yanchen.plugin.objecthelper.config.PluginConfigState;
+import com.yanchen.plugin.objecthelper.generator.Generator;
+import com.yanchen.plugin.objecthelper.generator.journal.JournalGenerator;
+
+/**
+ * 記憶體映射日誌生成操作
+ */
+public class JournalAction extends AbstractClassAnAction {
+    
+    /**
+     * 執行操作
+     *
+     * @param anActionEvent 事件
+     */
+    @Override
+    public void actionPerformed(AnActionEvent anActionEvent) {
+        Project project = anActionEvent.getProject();
+        if (project == null) {
+            return;
+        }
+        
+        // 獲取當前類
+        PsiClass psiClass = PsiUtils.getCursorPsiClass(anActionEvent);
+        if (psiClass == null) {
+            Messages.showErrorDialog("請將光標放在類定義內", "錯誤");
+            return;
+        }
+        
+        // 生成日誌類
+        Generator generator = JournalGenerator.getInstance(psiClass,
+                PluginConfigState.getInstance().getJournalSegmentSize());
+        String journalCode = generator.generate();
+        
+        if (StringUtils.isEmpty(journalCode)) {
+            Messages.showErrorDialog("無法生成記憶體映射日誌，類中沒有可寫入的字段", "錯誤");
+            return;
+        }
+        
+        // 寫入實體類所在目錄並打開，已有同名文件時先確認
+        String journalName = psiClass.getName() + JournalGenerator.CLASS_NAME_SUFFIX;
+        PsiDirectory directory = PsiUtils.getContainingDirectory(psiClass);
+        if (directory == null) {
+            Messages.showErrorDialog("無法確定實體類所在目錄", "錯誤");
+            return;
+        }
+        if (!confirmReplaceJavaFile(project, directory, journalName)) {
+            return;
+        }
+        WriteCommandAction.runWriteCommandAction(project, () -> {
+            PsiFile journalFile = PsiUtils.createOrReplaceJavaFile(directory, journalName, journalCode);
+            if (journalFile != null && journalFile.getVirtualFile() != null) {
+                FileEditorManager.getInstance(project).openFile(journalFile.getVirtualFile(), true);
+            }
+        });
+    }
+    
+    /**
+     * 檢查操作是否應該顯示
+     *
+     * @param anActionEvent 事件
+     * @return 是否顯示
+     */
+    @Override
+    public boolean actionShow(AnActionEvent anActionEvent) {
+        return PluginConfigState.getInstance().getJournalSwitch() == FunctionSwitchEnum.OPEN
+                && PsiUtils.getCursorPsiClass(anActionEvent) != null;
+    }
+}
@@ -0,0 +1,122 @@
+package com.yanchen.plugin.objecthelper.action;
+
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.fileChooser.FileChooser;
+import com.intellij.openapi.fileChooser.FileChooserDescriptorFactory;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleUtilCore;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.SmartPointerManager;
+import com.intellij.psi.SmartPsiElementPointer;
+import com.yanchen.plugin.objecthelper.common.enums.FunctionSwitchEnum;
+import com.yanchen.plugin.objecthelper.common.util.PsiUtils;
+import com.yanchen.plugin.objecthelper.config.PluginConfigState;
+import com.yanchen.plugin.objecthelper.export.NativeImageMetadataExportTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jps.model.java.JavaResourceRootType;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 生成 GraalVM native-image 反射和序列化元數據
+ * 在編輯器中以光標所在類為根，在項目視圖中以選中包或模塊下的所有類為根
+ */
+public class NativeImageMetadataAction extends AnAction {
+
+    /**
+     * 元數據在資源目錄中的默認位置
+     */
+    private static final String NATIVE_IMAGE_DIRECTORY = "META-INF/native-image";
+
+    /**
+     * 執行操作
+     *
+     * @param anActionEvent 事件
+     */
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent anActionEvent) {
+        Project project = anActionEvent.getProject();
+        if (project == null) {
+            return;
+        }
+
+        PsiClass psiClass = PsiUtils.getCursorPsiClass(anActionEvent);
+        SmartPsiElementPointer<PsiClass> rootClass = psiClass == null ? null
+                : SmartPointerManager.getInstance(project).createSmartPsiElementPointer(psiClass);
+        List<VirtualFile> sourceDirectories = psiClass == null
+                ? BatchExportSamplesAction.getSourceDirectories(anActionEvent, project) : Collections.emptyList();
+        if (rootClass == null && sourceDirectories.isEmpty()) {
+            return;
+        }
+
+        VirtualFile contextFile = psiClass != null && psiClass.getContainingFile() != null
+                ? psiClass.getContainingFile().getVirtualFile() : sourceDirectories.get(0);
+        VirtualFile outputDirectory = FileChooser.chooseFile(
+                FileChooserDescriptorFactory.createSingleFolderDescriptor().withTitle("選擇 native-image 元數據輸出目錄"),
+                project, findDefaultOutputDirectory(project, contextFile));
+        if (outputDirectory == null) {
+            return;
+        }
+
+        ProgressManager.getInstance().run(new NativeImageMetadataExportTask(
+                project, rootClass, sourceDirectories, outputDirectory.toNioPath()));
+    }
+
+    /**
+     * 在編輯器中的類內、或項目視圖中選中源碼目錄或模塊時顯示
+     *
+     * @param anActionEvent 事件
+     */
+    @Override
+    public void update(@NotNull AnActionEvent anActionEvent) {
+        Project project = anActionEvent.getProject();
+        boolean visible = project != null
+                && PluginConfigState.getInstance().getNativeImageMetadataSwitch() == FunctionSwitchEnum.OPEN
+                && (anActionEvent.getData(CommonDataKeys.EDITOR) != null
+                ? PsiUtils.getCursorPsiClass(anActionEvent) != null
+                : !BatchExportSamplesAction.getSourceDirectories(anActionEvent, project).isEmpty());
+        anActionEvent.getPresentation().setEnabledAndVisible(visible);
+    }
+
+    /**
+     * 在後台線程中更新，避免在 EDT 中訪問文件索引
+     *
+     * @return 更新線程
+     */
+    @NotNull
+    @Override
+    public ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+
+    /**
+     * 默認輸出目錄：所在模塊資源根目錄下的 META-INF/native-image，不存在時使用資源根目錄
+     *
+     * @param project 項目
+     * @param contextFile 根類文件或選中的目錄
+     * @return 目錄，模塊沒有資源根目錄時返回 null
+     */
+    @Nullable
+    private static VirtualFile findDefaultOutputDirectory(@NotNull Project project, @Nullable VirtualFile contextFile) {
+        Module module = contextFile == null ? null : ModuleUtilCore.findModuleForFile(contextFile, project);
+        if (module == null) {
+            return null;
+        }
+        List<VirtualFile> resourceRoots = ModuleRootManager.getInstance(module)
+                .getSourceRoots(JavaResourceRootType.RESOURCE);
+        if (resourceRoots.isEmpty()) {
+            return null;
+        }
+        VirtualFile nativeImageDirectory = resourceRoots.get(0).findFileByRelativePath(NATIVE_IMAGE_DIRECTORY);
+        return nativeImageDirectory != null ? nativeImageDirectory : resourceRoots.get(0);
+    }
+}
@@ -4,13 +4,21 @@ import com.yanchen.plugin.objecthelper.common.enums.FunctionSwitchEnum;
 import com.yanchen.plugin.objecthelper.common.util.PsiUtils;
 import com.yanchen.plugin.objecthelper.common.util.StringUtils;
 import com.yanchen.plugin.objecthelper.config.PluginConfigState;
-import com.yanchen.plugin.objecthelper.generator.Generator;
+import com.yanchen.plugin.objecthelper.generator.method.CopyMethodMerger;
 import com.yanchen.plugin.objecthelper.generator.method.ObjectCopyMethodGenerator;
+import com.intellij.notification.NotificationGroupManager;
+import com.intellij.notification.NotificationType;
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.command.WriteCommandAction;
 import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementFactory;
 import com.intellij.psi.PsiMethod;
+import com.intellij.psi.codeStyle.JavaCodeStyleManager;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
 
 import static com.yanchen.plugin.objecthelper.common.constant.JavaKeyWord.VOID;
 
@@ -45,29 +53,108 @@ public class ObjectCopyMethodAction extends AbstractClassAnAction {
 
     /**
      * 生成對象複製方法
+     * 需在寫操作中調用
      *
      * @param psiMethod 目標方法
+     * @return 替換後的方法，未生成時返回 null
      */
-    private void generateO2O(PsiMethod psiMethod) {
+    @Nullable
+    public static PsiMethod generateO2O(PsiMethod psiMethod) {
         if (psiMethod == null) {
-            return;
+            return null;
         }
         
         // 初始化生成器
-        Generator generator = ObjectCopyMethodGenerator.getInstance(psiMethod);
+        ObjectCopyMethodGenerator generator = ObjectCopyMethodGenerator.getInstance(psiMethod);
         String methodCode = generator.generate();
-        
-        if (StringUtils.isEmpty(methodCode)) {
-            return;
+        return applyGeneratedCode(psiMethod, methodCode, generator.getAuxiliaryMethods());
+    }
+    
+    /**
+     * 將已生成的方法代碼寫入目標方法，生成可在後台讀操作中完成，寫入需在寫操作中調用
+     *
+     * @param psiMethod 目標方法
+     * @param methodCode 生成的方法代碼
+     * @param auxiliaryMethods 生成的輔助方法代碼
+     * @return 替換後的方法，未生成時返回 null
+     */
+    @Nullable
+    public static PsiMethod applyGeneratedCode(PsiMethod psiMethod, String methodCode, List<String> auxiliaryMethods) {
+        if (psiMethod == null || StringUtils.isEmpty(methodCode)) {
+            return null;
         }
         
+        PsiClass containingClass = psiMethod.getContainingClass();
         PsiElementFactory elementFactory = JavaPsiFacade.getElementFactory(psiMethod.getProject());
+        JavaCodeStyleManager codeStyleManager = JavaCodeStyleManager.getInstance(psiMethod.getProject());
         
         // 生成新的 PsiMethod
         PsiMethod newMethod = elementFactory.createMethodFromText(methodCode, psiMethod);
         
-        // 替換方法
-        psiMethod.replace(newMethod);
+        // 已生成過的方法按語句增量合併，保留手寫語句；否則整體替換
+        PsiMethod resultMethod = applyMethod(psiMethod, newMethod, codeStyleManager);
+        
+        // 添加或更新輔助方法（如多態模式下各子類型的映射方法）
+        if (containingClass == null) {
+            return resultMethod;
+        }
+        PsiElement anchor = resultMethod;
+        for (String auxiliaryCode : auxiliaryMethods) {
+            PsiMethod auxiliaryMethod = elementFactory.createMethodFromText(auxiliaryCode, containingClass);
+            PsiMethod existingMethod = containingClass.findMethodBySignature(auxiliaryMethod, false);
+            anchor = existingMethod != null
+                    ? applyMethod(existingMethod, auxiliaryMethod, codeStyleManager)
+                    : addMethod(containingClass, auxiliaryMethod, anchor, codeStyleManager);
+        }
+        return resultMethod;
+    }
+    
+    /**
+     * 將生成的方法寫入已有方法
+     * 帶複製方法標記的方法只應用變化的語句，避免大文件中整體替換和重新解析；
+     * 生成結構已變化且包含手動修改時保持方法不變並提示
+     *
+     * @param existingMethod 已有方法
+     * @param generatedMethod 生成的方法
+     * @param codeStyleManager 代碼風格管理器
+     * @return 寫入後的方法
+     */
+    private static PsiMethod applyMethod(PsiMethod existingMethod, PsiMethod generatedMethod,
+                                         JavaCodeStyleManager codeStyleManager) {
+        CopyMethodMerger.Result result = CopyMethodMerger.merge(existingMethod, generatedMethod);
+        if (result == CopyMethodMerger.Result.MERGED) {
+            return existingMethod;
+        }
+        if (result == CopyMethodMerger.Result.CONFLICT) {
+            NotificationGroupManager.getInstance()
+                    .getNotificationGroup("Object Helper Notification Group")
+                    .createNotification("對象複製", "方法 " + existingMethod.getName()
+                            + " 的生成結構已變化且包含手動修改，未自動重新生成，請確認後刪除方法體重新生成",
+                            NotificationType.WARNING)
+                    .notify(existingMethod.getProject());
+            return existingMethod;
+        }
+        
+        PsiMethod resultMethod = (PsiMethod) codeStyleManager.shortenClassReferences(existingMethod.replace(generatedMethod));
+        CopyMethodMerger.stampHashes(resultMethod);
+        return resultMethod;
+    }
+    
+    /**
+     * 在錨點之後添加新生成的方法
+     *
+     * @param containingClass 所在類
+     * @param generatedMethod 生成的方法
+     * @param anchor 錨點
+     * @param codeStyleManager 代碼風格管理器
+     * @return 添加後的方法
+     */
+    private static PsiMethod addMethod(PsiClass containingClass, PsiMethod generatedMethod, PsiElement anchor,
+                                       JavaCodeStyleManager codeStyleManager) {
+        PsiMethod addedMethod = (PsiMethod) codeStyleManager.shortenClassReferences(
+                containingClass.addAfter(generatedMethod, anchor));
+        CopyMethodMerger.stampHashes(addedMethod);
+        return addedMethod;
     }
 
     /**
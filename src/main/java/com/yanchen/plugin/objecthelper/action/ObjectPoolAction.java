@@ -0,0 +1,91 @@
+package com.yanchen.plugin.objecthelper.action;
+
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiDirectory;
+import com.intellij.psi.PsiFile;
+import com.yanchen.plugin.objecthelper.common.enums.FunctionSwitchEnum;
+import com.yanchen.plugin.objecthelper.common.util.PsiUtils;
+import com.yanchen.plugin.objecthelper.common.util.StringUtils;
+import com.yanchen.plugin.objecthelper.config.PluginConfigState;
+import com.yanchen.plugin.objecthelper.generator.Generator;
+import com.yanchen.plugin.objecthelper.generator.method.ResetMethodGenerator;
+import com.yanchen.plugin.objecthelper.generator.pool.ObjectPoolGenerator;
+
+/**
+ * 對象池生成操作
+ * 類中沒有 reset 方法時先生成 reset，再生成對象池類
+ */
+public class ObjectPoolAction extends AbstractClassAnAction {
+    
+    /**
+     * 執行操作
+     *
+     * @param anActionEvent 事件
+     */
+    @Override
+    public void actionPerformed(AnActionEvent anActionEvent) {
+        Project project = anActionEvent.getProject();
+        if (project == null) {
+            return;
+        }
+        
+        // 獲取當前類
+        PsiClass psiClass = PsiUtils.getCursorPsiClass(anActionEvent);
+        if (!ResetMethodGenerator.isSupported(psiClass)) {
+            Messages.showErrorDialog("請將光標放在類定義內", "錯誤");
+            return;
+        }
+        if (!ObjectPoolGenerator.isSupported(psiClass)) {
+            Messages.showErrorDialog(psiClass.getName() + " 無法通過無參構造方法創建（抽象類、非靜態內部類、私有嵌套類"
+                    + "或沒有可訪問的無參構造方法），無法生成對象池", "錯誤");
+            return;
+        }
+        
+        // 生成對象池類
+        Generator generator = ObjectPoolGenerator.getInstance(psiClass,
+                PluginConfigState.getInstance().isObjectPoolThreadLocal());
+        String poolCode = generator.generate();
+        
+        if (StringUtils.isEmpty(poolCode)) {
+            Messages.showErrorDialog("無法生成對象池", "錯誤");
+            return;
+        }
+        
+        // 寫入實體類所在目錄並打開，已有同名文件時先確認
+        String poolName = psiClass.getName() + ObjectPoolGenerator.CLASS_NAME_SUFFIX;
+        PsiDirectory directory = PsiUtils.getContainingDirectory(psiClass);
+        if (directory == null) {
+            Messages.showErrorDialog("無法確定實體類所在目錄", "錯誤");
+            return;
+        }
+        if (!confirmReplaceJavaFile(project, directory, poolName)) {
+            return;
+        }
+        WriteCommandAction.runWriteCommandAction(project, () -> {
+            if (!ResetMethodGenerator.hasResetMethod(psiClass)) {
+                ResetMethodAction.generateResetMethod(psiClass);
+            }
+            PsiFile poolFile = PsiUtils.createOrReplaceJavaFile(directory, poolName, poolCode);
+            if (poolFile != null && poolFile.getVirtualFile() != null) {
+                FileEditorManager.getInstance(project).openFile(poolFile.getVirtualFile(), true);
+            }
+        });
+    }
+    
+    /**
+     * 檢查操作是否應該顯示
+     *
+     * @param anActionEvent 事件
+     * @return 是否顯示
+     */
+    @Override
+    public boolean actionShow(AnActionEvent anActionEvent) {
+        return PluginConfigState.getInstance().getObjectPoolSwitch() == FunctionSwitchEnum.OPEN
+                && ObjectPoolGenerator.isSupported(PsiUtils.getCursorPsiClass(anActionEvent));
+    }
+}
@@ -0,0 +1,84 @@
+package com.yanchen.plugin.objecthelper.action;
+
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementFactory;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.codeStyle.JavaCodeStyleManager;
+import com.yanchen.plugin.objecthelper.common.enums.FunctionSwitchEnum;
+import com.yanchen.plugin.objecthelper.common.util.PsiUtils;
+import com.yanchen.plugin.objecthelper.common.util.StringUtils;
+import com.yanchen.plugin.objecthelper.config.PluginConfigState;
+import com.yanchen.plugin.objecthelper.generator.Generator;
+import com.yanchen.plugin.objecthelper.generator.method.ObjectToMapMethodGenerator;
+
+/**
+ * 對象與 Map 互轉方法生成操作
+ */
+public class ObjectToMapMethodAction extends AbstractClassAnAction {
+    
+    /**
+     * 執行操作
+     *
+     * @param anActionEvent 事件
+     */
+    @Override
+    public void actionPerformed(AnActionEvent anActionEvent) {
+        WriteCommandAction.runWriteCommandAction(anActionEvent.getProject(), () -> {
+            generateMapMethods(PsiUtils.getCursorPsiClass(anActionEvent));
+        });
+    }
+    
+    /**
+     * 檢查操作是否應該顯示
+     *
+     * @param anActionEvent 事件
+     * @return 是否顯示
+     */
+    @Override
+    public boolean actionShow(AnActionEvent anActionEvent) {
+        return PluginConfigState.getInstance().getObjectToMapSwitch() == FunctionSwitchEnum.OPEN
+                && PsiUtils.getCursorPsiClass(anActionEvent) != null;
+    }
+    
+    /**
+     * 生成 toMap / fromMap 方法並寫入當前類
+     * 已存在的同名常量和同簽名方法會被替換
+     *
+     * @param psiClass 當前類
+     */
+    private void generateMapMethods(PsiClass psiClass) {
+        if (psiClass == null) {
+            return;
+        }
+        
+        Generator generator = ObjectToMapMethodGenerator.getInstance(psiClass);
+        String membersCode = generator.generate();
+        
+        if (StringUtils.isEmpty(membersCode)) {
+            return;
+        }
+        
+        PsiElementFactory elementFactory = JavaPsiFacade.getElementFactory(psiClass.getProject());
+        JavaCodeStyleManager codeStyleManager = JavaCodeStyleManager.getInstance(psiClass.getProject());
+        
+        // 解析生成的類成員
+        PsiClass membersClass = elementFactory.createClassFromText(membersCode, psiClass);
+        
+        for (PsiField field : membersClass.getFields()) {
+            PsiField existingField = psiClass.findFieldByName(field.getName(), false);
+            PsiElement added = existingField != null ? existingField.replace(field) : psiClass.add(field);
+            codeStyleManager.shortenClassReferences(added);
+        }
+        
+        for (PsiMethod method : membersClass.getMethods()) {
+            PsiMethod existingMethod = psiClass.findMethodBySignature(method, false);
+            PsiElement added = existingMethod != null ? existingMethod.replace(method) : psiClass.add(method);
+            codeStyleManager.shortenClassReferences(added);
+        }
+    }
+}
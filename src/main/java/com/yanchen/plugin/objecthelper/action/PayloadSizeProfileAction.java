@@ -0,0 +1,61 @@
+package com.yanchen.plugin.objecthelper.action;
+
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.psi.PsiClass;
+import com.yanchen.plugin.objecthelper.analysis.PayloadSizeProfiler;
+import com.yanchen.plugin.objecthelper.common.enums.FunctionSwitchEnum;
+import com.yanchen.plugin.objecthelper.common.util.PsiUtils;
+import com.yanchen.plugin.objecthelper.config.PluginConfigState;
+import com.yanchen.plugin.objecthelper.generator.random.PayloadSchema;
+import com.yanchen.plugin.objecthelper.viewer.FormatResultViewer;
+
+import java.io.IOException;
+
+/**
+ * 負載大小分析操作
+ */
+public class PayloadSizeProfileAction extends AbstractClassAnAction {
+
+    /**
+     * 執行操作
+     *
+     * @param anActionEvent 事件
+     */
+    @Override
+    public void actionPerformed(AnActionEvent anActionEvent) {
+        Project project = anActionEvent.getProject();
+        if (project == null) {
+            return;
+        }
+
+        // 獲取當前類
+        PsiClass psiClass = PsiUtils.getCursorPsiClass(anActionEvent);
+        if (psiClass == null) {
+            Messages.showErrorDialog("請將光標放在類定義內", "錯誤");
+            return;
+        }
+
+        String report;
+        try {
+            report = new PayloadSizeProfiler(PayloadSchema.fromClass(psiClass)).profile();
+        } catch (IOException e) {
+            Messages.showErrorDialog("無法分析負載大小：" + e.getMessage(), "錯誤");
+            return;
+        }
+
+        FormatResultViewer.getInstance(project).show(psiClass, "md", report);
+    }
+
+    /**
+     * 檢查操作是否應該顯示
+     *
+     * @param anActionEvent 事件
+     * @return 是否顯示
+     */
+    @Override
+    public boolean actionShow(AnActionEvent anActionEvent) {
+        return PluginConfigState.getInstance().getPayloadSizeProfileSwitch() == FunctionSwitchEnum.OPEN;
+    }
+}
@@ -0,0 +1,65 @@
+package com.yanchen.plugin.objecthelper.action;
+
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.psi.PsiClass;
+import com.yanchen.plugin.objecthelper.common.enums.FunctionSwitchEnum;
+import com.yanchen.plugin.objecthelper.common.util.PsiUtils;
+import com.yanchen.plugin.objecthelper.config.PluginConfigState;
+import com.yanchen.plugin.objecthelper.export.RandomPayloadDialog;
+import com.yanchen.plugin.objecthelper.export.RandomPayloadExportTask;
+import com.yanchen.plugin.objecthelper.generator.random.PayloadSchema;
+
+import java.nio.file.Path;
+
+/**
+ * 生成隨機壓測數據操作
+ */
+public class RandomPayloadAction extends AbstractClassAnAction {
+
+    /**
+     * 執行操作
+     *
+     * @param anActionEvent 事件
+     */
+    @Override
+    public void actionPerformed(AnActionEvent anActionEvent) {
+        Project project = anActionEvent.getProject();
+        if (project == null) {
+            return;
+        }
+
+        // 獲取當前類
+        PsiClass psiClass = PsiUtils.getCursorPsiClass(anActionEvent);
+        if (psiClass == null) {
+            Messages.showErrorDialog("請將光標放在類定義內", "錯誤");
+            return;
+        }
+
+        RandomPayloadDialog dialog = new RandomPayloadDialog(project);
+        if (!dialog.showAndGet()) {
+            return;
+        }
+
+        // 結構只提取一次，後台生成時不再訪問 PSI
+        PayloadSchema schema = PayloadSchema.fromClass(psiClass);
+        Path outputFile = dialog.getOutputDirectory()
+                .resolve(psiClass.getName() + "." + dialog.getFormat().getExtension());
+        ProgressManager.getInstance().run(new RandomPayloadExportTask(project, schema, outputFile,
+                dialog.getCount(), dialog.getSeed(), dialog.getFormat(),
+                dialog.getMinItems(), dialog.getMaxItems()));
+    }
+
+    /**
+     * 檢查操作是否應該顯示
+     *
+     * @param anActionEvent 事件
+     * @return 是否顯示
+     */
+    @Override
+    public boolean actionShow(AnActionEvent anActionEvent) {
+        return PluginConfigState.getInstance().getRandomPayloadSwitch() == FunctionSwitchEnum.OPEN;
+    }
+}
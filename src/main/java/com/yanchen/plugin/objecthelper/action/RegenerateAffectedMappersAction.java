@@ -0,0 +1,244 @@
+package com.yanchen.plugin.objecthelper.action;
+
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.SmartPointerManager;
+import com.intellij.psi.SmartPsiElementPointer;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.yanchen.plugin.objecthelper.common.enums.FunctionSwitchEnum;
+import com.yanchen.plugin.objecthelper.common.util.PsiUtils;
+import com.yanchen.plugin.objecthelper.config.PluginConfigState;
+import com.yanchen.plugin.objecthelper.generator.method.ObjectCopyMethodGenerator;
+import com.yanchen.plugin.objecthelper.index.CopyMapperIndex;
+import com.yanchen.plugin.objecthelper.index.CopyMapperMarker;
+import com.yanchen.plugin.objecthelper.inspection.StaleCopyMapperInspection;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 重新生成受影響的複製方法
+ * 通過複製方法索引查找涉及當前類的方法，在後台讀操作中逐個文件重新生成並找出已過期的方法，
+ * 最後在寫操作中只重寫這些方法
+ */
+public class RegenerateAffectedMappersAction extends AbstractClassAnAction {
+    
+    /**
+     * 執行操作
+     *
+     * @param anActionEvent 事件
+     */
+    @Override
+    public void actionPerformed(AnActionEvent anActionEvent) {
+        Project project = anActionEvent.getProject();
+        if (project == null) {
+            return;
+        }
+        
+        PsiClass psiClass = PsiUtils.getCursorPsiClass(anActionEvent);
+        if (psiClass == null || psiClass.getQualifiedName() == null) {
+            Messages.showErrorDialog("請將光標放在類定義內", "錯誤");
+            return;
+        }
+        
+        regenerate(project, psiClass.getQualifiedName());
+    }
+    
+    /**
+     * 在後台重新生成涉及指定類的過期複製方法，也供過期檢查的快速修復使用
+     *
+     * @param project 項目
+     * @param className 類全限定名
+     */
+    public static void regenerate(@NotNull Project project, @NotNull String className) {
+        if (DumbService.isDumb(project)) {
+            Messages.showInfoMessage("索引尚未完成，請稍後再試", "提示");
+            return;
+        }
+        ProgressManager.getInstance().run(new RegenerateTask(project, className));
+    }
+    
+    /**
+     * 檢查操作是否應該顯示
+     *
+     * @param anActionEvent 事件
+     * @return 是否顯示
+     */
+    @Override
+    public boolean actionShow(AnActionEvent anActionEvent) {
+        return PluginConfigState.getInstance().getObjectCopySwitch() == FunctionSwitchEnum.OPEN
+                && PsiUtils.getCursorPsiClass(anActionEvent) != null;
+    }
+    
+    /**
+     * 重新生成任務
+     * 生成在可被寫操作打斷的讀操作中按文件進行，完成後在 EDT 上統一寫入
+     */
+    private static class RegenerateTask extends Task.Backgroundable {
+        
+        /**
+         * 當前類全限定名
+         */
+        private final String className;
+        
+        /**
+         * 已過期的方法及其新生成的代碼
+         */
+        private final List<StaleMapper> staleMappers = new ArrayList<>();
+        
+        /**
+         * 構造方法
+         *
+         * @param project 項目
+         * @param className 當前類全限定名
+         */
+        RegenerateTask(@NotNull Project project, @NotNull String className) {
+            super(project, "重新生成複製方法", true);
+            this.className = className;
+        }
+        
+        /**
+         * 查找並生成過期的複製方法
+         *
+         * @param indicator 進度指示器
+         */
+        @Override
+        public void run(@NotNull ProgressIndicator indicator) {
+            Project project = getProject();
+            indicator.setText("查找涉及 " + className + " 的複製方法...");
+            Map<VirtualFile, List<CopyMapperMarker>> markersByFile = ReadAction
+                    .nonBlocking(() -> CopyMapperIndex.findMarkers(project, className))
+                    .inSmartMode(project)
+                    .executeSynchronously();
+            
+            // 索引查詢涉及當前類的文件和方法，只在這些文件內查找 PSI
+            indicator.setIndeterminate(false);
+            int processedCount = 0;
+            for (Map.Entry<VirtualFile, List<CopyMapperMarker>> entry : markersByFile.entrySet()) {
+                indicator.checkCanceled();
+                indicator.setText2(entry.getKey().getName());
+                staleMappers.addAll(ReadAction
+                        .nonBlocking(() -> findStaleMappers(entry.getKey(), entry.getValue()))
+                        .inSmartMode(project)
+                        .executeSynchronously());
+                indicator.setFraction((double) ++processedCount / markersByFile.size());
+            }
+        }
+        
+        /**
+         * 重新生成文件中涉及當前類的複製方法，返回其中已過期的方法
+         *
+         * @param file 文件
+         * @param markers 文件中的標記
+         * @return 過期的方法
+         */
+        @NotNull
+        private List<StaleMapper> findStaleMappers(@NotNull VirtualFile file, @NotNull List<CopyMapperMarker> markers) {
+            List<StaleMapper> result = new ArrayList<>();
+            PsiFile psiFile = file.isValid() ? PsiManager.getInstance(getProject()).findFile(file) : null;
+            if (psiFile == null) {
+                return result;
+            }
+            
+            Map<String, CopyMapperMarker> markersByMethod = new HashMap<>();
+            for (CopyMapperMarker marker : markers) {
+                markersByMethod.put(marker.getMethodName(), marker);
+            }
+            
+            SmartPointerManager pointerManager = SmartPointerManager.getInstance(getProject());
+            for (PsiMethod method : PsiTreeUtil.findChildrenOfType(psiFile, PsiMethod.class)) {
+                CopyMapperMarker recordedMarker = markersByMethod.containsKey(method.getName())
+                        ? CopyMapperMarker.find(method) : null;
+                if (recordedMarker == null) {
+                    continue;
+                }
+                ObjectCopyMethodGenerator generator = ObjectCopyMethodGenerator.getInstance(method);
+                String methodCode = generator.generate();
+                if (StaleCopyMapperInspection.findStaleMarker(recordedMarker, methodCode) != null) {
+                    result.add(new StaleMapper(pointerManager.createSmartPsiElementPointer(method),
+                            psiFile.getModificationStamp(), methodCode, generator.getAuxiliaryMethods()));
+                }
+            }
+            return result;
+        }
+        
+        /**
+         * 寫入重新生成的方法，生成後又被修改過的文件跳過
+         */
+        @Override
+        public void onSuccess() {
+            if (staleMappers.isEmpty()) {
+                Messages.showInfoMessage(getProject(), "沒有需要重新生成的複製方法", "提示");
+                return;
+            }
+            
+            // 寫入前先篩選，同一文件中先寫入的方法會改變文件的修改戳
+            List<StaleMapper> unchangedMappers = new ArrayList<>();
+            for (StaleMapper staleMapper : staleMappers) {
+                PsiMethod method = staleMapper.pointer.getElement();
+                if (method != null && method.getContainingFile().getModificationStamp() == staleMapper.stamp) {
+                    unchangedMappers.add(staleMapper);
+                }
+            }
+            
+            WriteCommandAction.runWriteCommandAction(getProject(), "重新生成複製方法", null, () -> {
+                for (StaleMapper staleMapper : unchangedMappers) {
+                    ObjectCopyMethodAction.applyGeneratedCode(staleMapper.pointer.getElement(),
+                            staleMapper.methodCode, staleMapper.auxiliaryMethods);
+                }
+            });
+            int skippedCount = staleMappers.size() - unchangedMappers.size();
+            Messages.showInfoMessage(getProject(), "已重新生成 " + unchangedMappers.size() + " 個複製方法"
+                    + (skippedCount > 0 ? "，" + skippedCount + " 個方法所在文件已修改，已跳過" : ""), "提示");
+        }
+    }
+    
+    /**
+     * 過期的複製方法
+     */
+    private static class StaleMapper {
+        
+        /**
+         * 方法指針
+         */
+        private final SmartPsiElementPointer<PsiMethod> pointer;
+        
+        /**
+         * 生成時所在文件的修改戳
+         */
+        private final long stamp;
+        
+        /**
+         * 新生成的方法代碼
+         */
+        private final String methodCode;
+        
+        /**
+         * 新生成的輔助方法代碼
+         */
+        private final List<String> auxiliaryMethods;
+        
+        StaleMapper(SmartPsiElementPointer<PsiMethod> pointer, long stamp, String methodCode,
+                    List<String> auxiliaryMethods) {
+            this.pointer = pointer;
+            this.stamp = stamp;
+            this.methodCode = methodCode;
+            this.auxiliaryMethods = auxiliaryMethods;
+        }
+    }
+}
\ No newline at end of file
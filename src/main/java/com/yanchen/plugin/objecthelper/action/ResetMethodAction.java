@@ -0,0 +1,67 @@
+package com.yanchen.plugin.objecthelper.action;
+
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.codeStyle.JavaCodeStyleManager;
+import com.yanchen.plugin.objecthelper.common.enums.FunctionSwitchEnum;
+import com.yanchen.plugin.objecthelper.common.util.PsiUtils;
+import com.yanchen.plugin.objecthelper.common.util.StringUtils;
+import com.yanchen.plugin.objecthelper.config.PluginConfigState;
+import com.yanchen.plugin.objecthelper.generator.method.ResetMethodGenerator;
+
+/**
+ * reset 方法生成操作
+ */
+public class ResetMethodAction extends AbstractClassAnAction {
+    
+    /**
+     * 執行操作
+     *
+     * @param anActionEvent 事件
+     */
+    @Override
+    public void actionPerformed(AnActionEvent anActionEvent) {
+        WriteCommandAction.runWriteCommandAction(anActionEvent.getProject(), () -> {
+            generateResetMethod(PsiUtils.getCursorPsiClass(anActionEvent));
+        });
+    }
+    
+    /**
+     * 檢查操作是否應該顯示
+     *
+     * @param anActionEvent 事件
+     * @return 是否顯示
+     */
+    @Override
+    public boolean actionShow(AnActionEvent anActionEvent) {
+        return PluginConfigState.getInstance().getObjectPoolSwitch() == FunctionSwitchEnum.OPEN
+                && ResetMethodGenerator.isSupported(PsiUtils.getCursorPsiClass(anActionEvent));
+    }
+    
+    /**
+     * 生成 reset 方法並寫入類，已存在的同簽名方法會被替換
+     * 需在寫命令中調用
+     *
+     * @param psiClass 類
+     */
+    static void generateResetMethod(PsiClass psiClass) {
+        if (!ResetMethodGenerator.isSupported(psiClass)) {
+            return;
+        }
+        
+        String methodCode = ResetMethodGenerator.getInstance(psiClass).generate();
+        if (StringUtils.isEmpty(methodCode)) {
+            return;
+        }
+        
+        PsiMethod method = JavaPsiFacade.getElementFactory(psiClass.getProject())
+                .createMethodFromText(methodCode, psiClass);
+        PsiMethod existingMethod = psiClass.findMethodBySignature(method, false);
+        PsiElement added = existingMethod != null ? existingMethod.replace(method) : psiClass.add(method);
+        JavaCodeStyleManager.getInstance(psiClass.getProject()).shortenClassReferences(added);
+    }
+}
@@ -0,0 +1,217 @@
+package com.yanchen.plugin.objecthelper.analysis;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import com.yanchen.plugin.objecthelper.common.util.StringUtils;
+import com.yanchen.plugin.objecthelper.generator.random.PayloadSchema;
+import com.yanchen.plugin.objecthelper.generator.random.RandomPayloadWriter;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * 負載大小分析
+ * 按結構生成一個有代表性的文檔，分別編碼為格式化 JSON、緊湊 JSON、XML、Smile 和 CBOR，
+ * 統計各格式字節數、字段名在 JSON 中的佔比以及每個頂層字段在各格式中的貢獻
+ */
+public class PayloadSizeProfiler {
+
+    /**
+     * 生成代表文檔的固定種子，保證同一類每次分析結果一致
+     */
+    private static final long SEED = 0L;
+
+    /**
+     * 代表文檔中集合的元素數
+     */
+    private static final int ITEMS = 2;
+
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+    private static final XmlMapper XML_MAPPER = new XmlMapper();
+    private static final SmileMapper SMILE_MAPPER = new SmileMapper();
+    private static final CBORMapper CBOR_MAPPER = new CBORMapper();
+
+    /**
+     * 數據結構
+     */
+    private final PayloadSchema schema;
+
+    /**
+     * 構造方法
+     *
+     * @param schema 數據結構
+     */
+    public PayloadSizeProfiler(@NotNull PayloadSchema schema) {
+        this.schema = schema;
+    }
+
+    /**
+     * 生成 Markdown 格式的分析報告
+     *
+     * @return 報告
+     * @throws IOException 編碼失敗
+     */
+    @NotNull
+    public String profile() throws IOException {
+        ObjectNode document = buildDocument();
+        String rootName = StringUtils.uncapitalize(schema.getName());
+        Sizes total = measure(document, rootName);
+        long keyBytes = countKeyBytes(document);
+
+        StringBuilder report = new StringBuilder();
+        report.append("# ").append(schema.getName()).append(" 負載大小分析\n\n");
+        report.append("代表文檔：種子 ").append(SEED).append("，集合元素數 ").append(ITEMS).append("\n\n");
+
+        report.append("| 格式 | 字節數 | 相對緊湊 JSON |\n");
+        report.append("|---|---:|---:|\n");
+        appendFormatRow(report, "JSON（格式化）", total.prettyJson, total.compactJson);
+        appendFormatRow(report, "JSON（緊湊）", total.compactJson, total.compactJson);
+        appendFormatRow(report, "XML", total.xml, total.compactJson);
+        appendFormatRow(report, "Smile", total.smile, total.compactJson);
+        appendFormatRow(report, "CBOR", total.cbor, total.compactJson);
+
+        report.append("\n字段名（含引號和冒號）佔緊湊 JSON 的 ")
+                .append(percent(keyBytes, total.compactJson))
+                .append("（").append(keyBytes).append(" / ").append(total.compactJson).append(" 字節）\n\n");
+
+        report.append("## 頂層字段貢獻\n\n");
+        report.append("去掉該字段後各格式減少的字節數；JSON 字段名列為該字段子樹內所有字段名的字節數\n\n");
+        report.append("| 字段 | JSON | JSON 字段名 | 字段名佔比 | XML | Smile | CBOR |\n");
+        report.append("|---|---:|---:|---:|---:|---:|---:|\n");
+        Iterator<Map.Entry<String, JsonNode>> fields = document.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            ObjectNode without = document.deepCopy();
+            without.remove(field.getKey());
+            Sizes remaining = measure(without, rootName);
+
+            long fieldJson = total.compactJson - remaining.compactJson;
+            long fieldKeyBytes = keyBytes(field.getKey()) + countKeyBytes(field.getValue());
+            report.append("| ").append(field.getKey())
+                    .append(" | ").append(fieldJson)
+                    .append(" | ").append(fieldKeyBytes)
+                    .append(" | ").append(percent(fieldKeyBytes, fieldJson))
+                    .append(" | ").append(total.xml - remaining.xml)
+                    .append(" | ").append(total.smile - remaining.smile)
+                    .append(" | ").append(total.cbor - remaining.cbor)
+                    .append(" |\n");
+        }
+        return report.toString();
+    }
+
+    /**
+     * 用隨機數據生成器生成一個文檔並解析為樹
+     *
+     * @return 文檔
+     * @throws IOException 解析失敗
+     */
+    @NotNull
+    private ObjectNode buildDocument() throws IOException {
+        StringWriter json = new StringWriter();
+        new RandomPayloadWriter(schema, SEED, ITEMS, ITEMS).write(json, RandomPayloadWriter.Format.NDJSON, 1, null);
+        return (ObjectNode) JSON_MAPPER.readTree(json.toString());
+    }
+
+    /**
+     * 計算文檔在各格式下的字節數
+     *
+     * @param document 文檔
+     * @param rootName XML 根節點名
+     * @return 字節數
+     * @throws IOException 編碼失敗
+     */
+    @NotNull
+    private static Sizes measure(@NotNull ObjectNode document, @NotNull String rootName) throws IOException {
+        Sizes sizes = new Sizes();
+        sizes.prettyJson = JSON_MAPPER.writerWithDefaultPrettyPrinter().writeValueAsBytes(document).length;
+        sizes.compactJson = JSON_MAPPER.writeValueAsBytes(document).length;
+        sizes.xml = XML_MAPPER.writer().withRootName(rootName).writeValueAsBytes(document).length;
+        sizes.smile = SMILE_MAPPER.writeValueAsBytes(document).length;
+        sizes.cbor = CBOR_MAPPER.writeValueAsBytes(document).length;
+        return sizes;
+    }
+
+    /**
+     * 統計樹中所有字段名在緊湊 JSON 中佔用的字節數
+     *
+     * @param node 節點
+     * @return 字節數
+     */
+    private static long countKeyBytes(@NotNull JsonNode node) {
+        long bytes = 0;
+        if (node.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                bytes += keyBytes(field.getKey()) + countKeyBytes(field.getValue());
+            }
+        } else if (node.isArray()) {
+            for (JsonNode element : node) {
+                bytes += countKeyBytes(element);
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * 單個字段名在緊湊 JSON 中的字節數（"name":）
+     *
+     * @param key 字段名
+     * @return 字節數
+     */
+    private static long keyBytes(@NotNull String key) {
+        return key.getBytes(StandardCharsets.UTF_8).length + 3;
+    }
+
+    /**
+     * 添加格式行
+     *
+     * @param report 報告
+     * @param format 格式名
+     * @param bytes 字節數
+     * @param baseline 緊湊 JSON 字節數
+     */
+    private static void appendFormatRow(@NotNull StringBuilder report, @NotNull String format,
+                                        long bytes, long baseline) {
+        report.append("| ").append(format)
+                .append(" | ").append(bytes)
+                .append(" | ").append(percent(bytes, baseline))
+                .append(" |\n");
+    }
+
+    /**
+     * 格式化百分比
+     *
+     * @param part 部分
+     * @param whole 整體
+     * @return 百分比文本
+     */
+    @NotNull
+    private static String percent(long part, long whole) {
+        return whole <= 0 ? "-" : String.format("%.1f%%", part * 100.0 / whole);
+    }
+
+    /**
+     * 各格式字節數
+     */
+    private static class Sizes {
+
+        private long prettyJson;
+
+        private long compactJson;
+
+        private long xml;
+
+        private long smile;
+
+        private long cbor;
+    }
+}
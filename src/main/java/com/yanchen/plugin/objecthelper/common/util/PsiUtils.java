@@ -2,22 +2,40 @@ package com.yanchen.plugin.objecthelper.common.util;
 
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.*;
+import com.intellij.psi.codeStyle.CodeStyleManager;
+import com.intellij.psi.codeStyle.JavaCodeStyleManager;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.InheritanceUtil;
 import com.intellij.psi.util.PsiTreeUtil;
+import com.yanchen.plugin.objecthelper.diagnostics.GenerationRun;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * PSI 相關工具類
  */
 public class PsiUtils {
 
+    /**
+     * getAllFields 調用次數，供基準測試統計字段查找次數（不是 PSI 引用解析次數）
+     */
+    private static final LongAdder FIELD_LOOKUP_COUNT = new LongAdder();
+
+    /**
+     * resolveClass 解析類型引用的次數，供基準測試統計 PSI 解析次數
+     */
+    private static final LongAdder TYPE_RESOLVE_COUNT = new LongAdder();
+
     /**
      * 獲取當前光標所在的方法
      *
@@ -104,13 +122,50 @@ public class PsiUtils {
             return Collections.emptyList();
         }
 
+        FIELD_LOOKUP_COUNT.increment();
+        long start = System.nanoTime();
         List<PsiField> fields = new ArrayList<>();
         for (PsiField field : psiClass.getAllFields()) {
             fields.add(field);
         }
+        GenerationRun.addResolveTime(System.nanoTime() - start);
+        GenerationRun.classVisited(fields.size());
         return fields;
     }
 
+    /**
+     * 獲取 getAllFields 的累計調用次數
+     *
+     * @return 調用次數
+     */
+    public static long getFieldLookupCount() {
+        return FIELD_LOOKUP_COUNT.sum();
+    }
+
+    /**
+     * 解析類型對應的類，統計解析次數
+     *
+     * @param psiType 類型
+     * @return 類，非類類型或無法解析時為 null
+     */
+    @Nullable
+    public static PsiClass resolveClass(@Nullable PsiType psiType) {
+        if (!(psiType instanceof PsiClassType)) {
+            return null;
+        }
+        TYPE_RESOLVE_COUNT.increment();
+        return ((PsiClassType) psiType).resolve();
+    }
+
+    /**
+     * 獲取 resolveClass 的累計解析次數
+     *
+     * @return 解析次數
+     */
+    public static long getTypeResolveCount() {
+        return TYPE_RESOLVE_COUNT.sum();
+    }
+
     /**
      * 尋找指定類型的引用
      *
@@ -165,4 +220,214 @@ public class PsiUtils {
         }
         return false;
     }
-}
\ No newline at end of file
+    
+    /**
+     * 獲取可讀寫的實例字段
+     * 排除靜態字段和 final 字段，且需同時具備 Getter 和 Setter，供映射器類生成器共用
+     *
+     * @param psiClass 類
+     * @return 字段列表
+     */
+    @NotNull
+    public static List<PsiField> getReadWriteFields(@NotNull PsiClass psiClass) {
+        List<PsiField> fields = new ArrayList<>();
+        for (PsiField field : getAllFields(psiClass)) {
+            if (field.hasModifierProperty(PsiModifier.STATIC) || field.hasModifierProperty(PsiModifier.FINAL)) {
+                continue;
+            }
+            if (hasGetterMethod(psiClass, field.getName()) && hasSetterMethod(psiClass, field.getName())) {
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+    
+    /**
+     * 按名稱和參數個數查找方法（包含父類方法）
+     *
+     * @param psiClass 類
+     * @param methodName 方法名
+     * @param parametersCount 參數個數
+     * @return PsiMethod 實例或 null
+     */
+    @Nullable
+    public static PsiMethod findMethod(@NotNull PsiClass psiClass, @NotNull String methodName, int parametersCount) {
+        for (PsiMethod method : psiClass.findMethodsByName(methodName, true)) {
+            if (method.getParameterList().getParametersCount() == parametersCount) {
+                return method;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * 判斷類是否為 Protobuf 生成的消息類
+     *
+     * @param psiClass 類
+     * @return 是否為 Protobuf 消息類
+     */
+    public static boolean isProtobufMessage(@Nullable PsiClass psiClass) {
+        return psiClass != null && InheritanceUtil.isInheritor(psiClass, "com.google.protobuf.MessageLite");
+    }
+    
+    /**
+     * 判斷類型是否為枚舉
+     *
+     * @param psiType 類型
+     * @return 是否為枚舉
+     */
+    public static boolean isEnumType(@Nullable PsiType psiType) {
+        PsiClass psiClass = resolveClass(psiType);
+        return psiClass != null && psiClass.isEnum();
+    }
+    
+    /**
+     * 判斷生成代碼能否通過 new X() 創建類的實例：
+     * 非抽象類、非接口和枚舉、非內部類（嵌套類必須為靜態），且有非私有的無參構造方法（未聲明構造方法時有默認構造方法）
+     *
+     * @param psiClass 類
+     * @return 是否可以創建
+     */
+    public static boolean canInstantiateWithoutArgs(@Nullable PsiClass psiClass) {
+        if (psiClass == null || psiClass.isInterface() || psiClass.isEnum() || psiClass.isRecord()
+                || psiClass instanceof PsiTypeParameter || psiClass.hasModifierProperty(PsiModifier.ABSTRACT)) {
+            return false;
+        }
+        if (psiClass.getContainingClass() != null && !psiClass.hasModifierProperty(PsiModifier.STATIC)
+                && !psiClass.getContainingClass().isInterface()) {
+            return false;
+        }
+        PsiMethod[] constructors = psiClass.getConstructors();
+        if (constructors.length == 0) {
+            return true;
+        }
+        for (PsiMethod constructor : constructors) {
+            if (constructor.getParameterList().isEmpty() && !constructor.hasModifierProperty(PsiModifier.PRIVATE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * 獲取字段的 Getter 方法名
+     *
+     * @param psiClass 字段所在類
+     * @param field 字段
+     * @return Getter 方法名
+     */
+    @NotNull
+    public static String getGetterMethodName(@NotNull PsiClass psiClass, @NotNull PsiField field) {
+        String fieldName = field.getName();
+        String capitalizedFieldName = StringUtils.capitalize(fieldName);
+        
+        // 布爾類型使用 is 前綴
+        PsiType fieldType = field.getType();
+        if (PsiTypes.booleanType().equals(fieldType) || 
+                "java.lang.Boolean".equals(fieldType.getCanonicalText())) {
+            // 檢查是否已有 is 前綴
+            if (fieldName.startsWith("is") && fieldName.length() > 2 && 
+                    Character.isUpperCase(fieldName.charAt(2))) {
+                return fieldName;
+            } else {
+                String isMethodName = "is" + capitalizedFieldName;
+                if (hasGetterMethod(psiClass, fieldName)) {
+                    return isMethodName;
+                }
+            }
+        }
+        
+        return "get" + capitalizedFieldName;
+    }
+    
+    /**
+     * 獲取類所在的包名
+     *
+     * @param psiClass 類
+     * @return 包名，默認包返回空字符串
+     */
+    @NotNull
+    public static String getPackageName(@NotNull PsiClass psiClass) {
+        PsiFile psiFile = psiClass.getContainingFile();
+        if (psiFile instanceof PsiJavaFile) {
+            return ((PsiJavaFile) psiFile).getPackageName();
+        }
+        return "";
+    }
+    
+    /**
+     * 獲取類所在的目錄
+     *
+     * @param psiClass 類
+     * @return 目錄，無法確定時返回 null
+     */
+    @Nullable
+    public static PsiDirectory getContainingDirectory(@NotNull PsiClass psiClass) {
+        PsiFile containingFile = psiClass.getContainingFile();
+        return containingFile == null ? null : containingFile.getContainingDirectory();
+    }
+    
+    /**
+     * 查找目錄下指定類名的 Java 文件
+     *
+     * @param directory 目錄
+     * @param className 類名
+     * @return 文件，不存在時返回 null
+     */
+    @Nullable
+    public static PsiFile findJavaFile(@NotNull PsiDirectory directory, @NotNull String className) {
+        return directory.findFile(className + "." + JavaFileType.INSTANCE.getDefaultExtension());
+    }
+    
+    /**
+     * 在指定類所在目錄下創建 Java 文件，同名文件已存在時替換其內容
+     * 需在寫操作中調用，替換前應由調用方確認
+     *
+     * @param psiClass 參照類（決定目錄）
+     * @param className 新類名
+     * @param code 完整的 Java 文件代碼
+     * @return 創建或更新後的文件，無法確定目錄時返回 null
+     */
+    @Nullable
+    public static PsiFile createOrReplaceJavaFile(@NotNull PsiClass psiClass, @NotNull String className,
+                                                  @NotNull String code) {
+        PsiDirectory directory = getContainingDirectory(psiClass);
+        return directory == null ? null : createOrReplaceJavaFile(directory, className, code);
+    }
+    
+    /**
+     * 在指定目錄下創建 Java 文件，同名文件已存在時替換其內容
+     * 需在寫操作中調用，替換前應由調用方確認
+     *
+     * @param directory 目錄
+     * @param className 新類名
+     * @param code 完整的 Java 文件代碼
+     * @return 創建或更新後的文件，已有文件無法編輯時返回 null
+     */
+    @Nullable
+    public static PsiFile createOrReplaceJavaFile(@NotNull PsiDirectory directory, @NotNull String className,
+                                                  @NotNull String code) {
+        Project project = directory.getProject();
+        String fileName = className + "." + JavaFileType.INSTANCE.getDefaultExtension();
+        PsiFile newFile = PsiFileFactory.getInstance(project)
+                .createFileFromText(fileName, JavaFileType.INSTANCE, code);
+        
+        PsiFile existingFile = directory.findFile(fileName);
+        PsiFile resultFile;
+        if (existingFile != null) {
+            Document document = PsiDocumentManager.getInstance(project).getDocument(existingFile);
+            if (document == null) {
+                return null;
+            }
+            document.setText(newFile.getText());
+            PsiDocumentManager.getInstance(project).commitDocument(document);
+            resultFile = existingFile;
+        } else {
+            resultFile = (PsiFile) directory.add(newFile);
+        }
+        
+        JavaCodeStyleManager.getInstance(project).shortenClassReferences(resultFile);
+        CodeStyleManager.getInstance(project).reformat(resultFile);
+        return resultFile;
+    }
+}
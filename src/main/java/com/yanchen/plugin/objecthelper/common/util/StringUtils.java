@@ -125,4 +125,30 @@ public class StringUtils {
         }
         return sb.toString();
     }
+
+    /**
+     * 為多行文本的每一行添加縮進
+     *
+     * @param text 文本
+     * @param indent 縮進字符串
+     * @param skipFirstLine 是否跳過首行（首行接在已有內容之後時使用）
+     * @return 縮進後的文本
+     */
+    @NotNull
+    public static String indentLines(@Nullable String text, @NotNull String indent, boolean skipFirstLine) {
+        if (text == null || text.isEmpty() || indent.isEmpty()) {
+            return text == null ? "" : text;
+        }
+        StringBuilder sb = new StringBuilder(text.length() + indent.length() * 16);
+        boolean lineStart = !skipFirstLine;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (lineStart && c != '\n') {
+                sb.append(indent);
+            }
+            sb.append(c);
+            lineStart = c == '\n';
+        }
+        return sb.toString();
+    }
 }
\ No newline at end of file
@@ -38,10 +38,100 @@ public class ObjectHelperConfigurable implements Configurable {
      */
     private JCheckBox classToThriftCheckBox;
     
+    /**
+     * 對象與 Map 互轉功能開關
+     */
+    private JCheckBox objectToMapCheckBox;
+    
+    /**
+     * JDBC 映射器生成功能開關
+     */
+    private JCheckBox jdbcMapperCheckBox;
+    
+    /**
+     * 類圖並發解析功能開關
+     */
+    private JCheckBox parallelResolveCheckBox;
+    
+    /**
+     * 隨機壓測數據生成功能開關
+     */
+    private JCheckBox randomPayloadCheckBox;
+    
+    /**
+     * 負載大小分析功能開關
+     */
+    private JCheckBox payloadSizeProfileCheckBox;
+    
+    /**
+     * JMH 基準測試生成功能開關
+     */
+    private JCheckBox jmhBenchmarkCheckBox;
+    
+    /**
+     * native-image 元數據生成功能開關
+     */
+    private JCheckBox nativeImageMetadataCheckBox;
+    
+    /**
+     * Apache Arrow 映射器生成功能開關
+     */
+    private JCheckBox arrowMapperCheckBox;
+    
+    /**
+     * equals / hashCode / compareTo 方法生成功能開關
+     */
+    private JCheckBox equalsHashCodeCheckBox;
+    
+    /**
+     * reset 方法與對象池生成功能開關
+     */
+    private JCheckBox objectPoolCheckBox;
+    
+    /**
+     * Disruptor 事件類生成功能開關
+     */
+    private JCheckBox disruptorEventCheckBox;
+    
+    /**
+     * 記憶體映射日誌生成功能開關
+     */
+    private JCheckBox journalCheckBox;
+    
     /**
      * 對象拷貝時，針對目標類中不存在的字段是否生成註釋
      */
     private JCheckBox nonExistentFieldGenerateAnnotationCheckBox;
+    
+    /**
+     * 對象複製時是否按可變性共享不可變值、複製可變值並註釋原因
+     */
+    private JCheckBox ownershipAwareCopyCheckBox;
+    
+    /**
+     * 對象池是否使用 ThreadLocal 實現
+     */
+    private JCheckBox objectPoolThreadLocalCheckBox;
+    
+    /**
+     * 生成 hashCode 時是否為不可變類緩存結果
+     */
+    private JCheckBox equalsHashCodeCacheHashCheckBox;
+    
+    /**
+     * JDBC 映射器批量插入每批行數
+     */
+    private JSpinner jdbcBatchSizeSpinner;
+
+    /**
+     * Arrow 映射器寫出每批行數
+     */
+    private JSpinner arrowBatchSizeSpinner;
+
+    /**
+     * 記憶體映射日誌每段文件大小（MB）
+     */
+    private JSpinner journalSegmentSizeSpinner;
 
     /**
      * 獲取配置界面顯示名稱
@@ -64,19 +154,65 @@ public class ObjectHelperConfigurable implements Configurable {
     public JComponent createComponent() {
         if (rootPanel == null) {
             rootPanel = new JPanel();
-            rootPanel.setLayout(new GridLayout(6, 1));
+            rootPanel.setLayout(new GridLayout(23, 1));
 
             objectCopyCheckBox = new JCheckBox("開啟對象複製功能");
             classToJsonCheckBox = new JCheckBox("開啟 Java 類轉 JSON 功能");
             classToXmlCheckBox = new JCheckBox("開啟 Java 類轉 XML 功能");
             classToThriftCheckBox = new JCheckBox("開啟 Java 類轉 Thrift IDL 功能");
+            objectToMapCheckBox = new JCheckBox("開啟對象與 Map 互轉方法生成功能");
+            jdbcMapperCheckBox = new JCheckBox("開啟 JDBC 映射器生成功能");
+            parallelResolveCheckBox = new JCheckBox("JSON/XML 生成時並發解析大型類圖");
+            randomPayloadCheckBox = new JCheckBox("生成隨機壓測數據（NDJSON/XML）");
+            payloadSizeProfileCheckBox = new JCheckBox("分析 JSON/XML/Smile/CBOR 負載大小");
+            jmhBenchmarkCheckBox = new JCheckBox("生成 JMH 基準測試（映射與序列化）");
+            nativeImageMetadataCheckBox = new JCheckBox("生成 GraalVM native-image 反射與序列化元數據");
+            arrowMapperCheckBox = new JCheckBox("開啟 Apache Arrow 映射器生成功能");
+            equalsHashCodeCheckBox = new JCheckBox("開啟 equals / hashCode / compareTo 生成功能");
+            objectPoolCheckBox = new JCheckBox("開啟 reset 方法與對象池生成功能");
+            disruptorEventCheckBox = new JCheckBox("開啟 Disruptor 事件類生成功能");
+            journalCheckBox = new JCheckBox("開啟記憶體映射追加日誌生成功能");
             nonExistentFieldGenerateAnnotationCheckBox = new JCheckBox("對象複製時為不存在的字段生成註釋");
+            ownershipAwareCopyCheckBox = new JCheckBox("對象複製時共享不可變值、複製可變值（並註釋判斷依據）");
+            objectPoolThreadLocalCheckBox = new JCheckBox("對象池使用 ThreadLocal 實現（否則使用分段無鎖實現）");
+            equalsHashCodeCacheHashCheckBox = new JCheckBox("不可變類生成 hashCode 時緩存結果");
 
             rootPanel.add(objectCopyCheckBox);
             rootPanel.add(classToJsonCheckBox);
             rootPanel.add(classToXmlCheckBox);
             rootPanel.add(classToThriftCheckBox);
+            rootPanel.add(objectToMapCheckBox);
+            rootPanel.add(jdbcMapperCheckBox);
+            rootPanel.add(parallelResolveCheckBox);
+            rootPanel.add(randomPayloadCheckBox);
+            rootPanel.add(payloadSizeProfileCheckBox);
+            rootPanel.add(jmhBenchmarkCheckBox);
+            rootPanel.add(nativeImageMetadataCheckBox);
+            rootPanel.add(arrowMapperCheckBox);
+            rootPanel.add(equalsHashCodeCheckBox);
+            rootPanel.add(objectPoolCheckBox);
+            rootPanel.add(disruptorEventCheckBox);
+            rootPanel.add(journalCheckBox);
             rootPanel.add(nonExistentFieldGenerateAnnotationCheckBox);
+            rootPanel.add(ownershipAwareCopyCheckBox);
+            rootPanel.add(objectPoolThreadLocalCheckBox);
+            rootPanel.add(equalsHashCodeCacheHashCheckBox);
+            
+            jdbcBatchSizeSpinner = new JSpinner(new SpinnerNumberModel(500, 1, 100000, 100));
+            JPanel jdbcBatchSizePanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+            jdbcBatchSizePanel.add(new JLabel("JDBC 批量插入每批行數"));
+            jdbcBatchSizePanel.add(jdbcBatchSizeSpinner);
+            rootPanel.add(jdbcBatchSizePanel);
+            arrowBatchSizeSpinner = new JSpinner(new SpinnerNumberModel(4096, 1, 1048576, 1024));
+            JPanel arrowBatchSizePanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+            arrowBatchSizePanel.add(new JLabel("Arrow 寫出每批行數"));
+            arrowBatchSizePanel.add(arrowBatchSizeSpinner);
+            rootPanel.add(arrowBatchSizePanel);
+            journalSegmentSizeSpinner = new JSpinner(new SpinnerNumberModel(64, 1, 2047, 16));
+            JPanel journalSegmentSizePanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+            journalSegmentSizePanel.add(new JLabel("記憶體映射日誌每段大小（MB）"));
+            journalSegmentSizePanel.add(journalSegmentSizeSpinner);
+            rootPanel.add(journalSegmentSizePanel);
         }
 
         reset();
@@ -104,11 +240,74 @@ public class ObjectHelperConfigurable implements Configurable {
         boolean classToThriftModified = state.getClassToThriftSwitch() != 
                 (classToThriftCheckBox.isSelected() ? FunctionSwitchEnum.OPEN : FunctionSwitchEnum.CLOSE);
         
+        boolean objectToMapModified = state.getObjectToMapSwitch() != 
+                (objectToMapCheckBox.isSelected() ? FunctionSwitchEnum.OPEN : FunctionSwitchEnum.CLOSE);
+        
+        boolean jdbcMapperModified = state.getJdbcMapperSwitch() != 
+                (jdbcMapperCheckBox.isSelected() ? FunctionSwitchEnum.OPEN : FunctionSwitchEnum.CLOSE);
+        
+        boolean parallelResolveModified = state.getParallelResolveSwitch() != 
+                (parallelResolveCheckBox.isSelected() ? FunctionSwitchEnum.OPEN : FunctionSwitchEnum.CLOSE);
+        
+        boolean randomPayloadModified = state.getRandomPayloadSwitch() != 
+                (randomPayloadCheckBox.isSelected() ? FunctionSwitchEnum.OPEN : FunctionSwitchEnum.CLOSE);
+        
+        boolean payloadSizeProfileModified = state.getPayloadSizeProfileSwitch() != 
+                (payloadSizeProfileCheckBox.isSelected() ? FunctionSwitchEnum.OPEN : FunctionSwitchEnum.CLOSE);
+        
+        boolean jmhBenchmarkModified = state.getJmhBenchmarkSwitch() != 
+                (jmhBenchmarkCheckBox.isSelected() ? FunctionSwitchEnum.OPEN : FunctionSwitchEnum.CLOSE);
+        
+        boolean nativeImageMetadataModified = state.getNativeImageMetadataSwitch() != 
+                (nativeImageMetadataCheckBox.isSelected() ? FunctionSwitchEnum.OPEN : FunctionSwitchEnum.CLOSE);
+        
+        boolean arrowMapperModified = state.getArrowMapperSwitch() != 
+                (arrowMapperCheckBox.isSelected() ? FunctionSwitchEnum.OPEN : FunctionSwitchEnum.CLOSE);
+        
+        boolean equalsHashCodeModified = state.getEqualsHashCodeSwitch() != 
+                (equalsHashCodeCheckBox.isSelected() ? FunctionSwitchEnum.OPEN : FunctionSwitchEnum.CLOSE);
+        
+        boolean objectPoolModified = state.getObjectPoolSwitch() != 
+                (objectPoolCheckBox.isSelected() ? FunctionSwitchEnum.OPEN : FunctionSwitchEnum.CLOSE);
+        
+        boolean disruptorEventModified = state.getDisruptorEventSwitch() != 
+                (disruptorEventCheckBox.isSelected() ? FunctionSwitchEnum.OPEN : FunctionSwitchEnum.CLOSE);
+        
+        boolean journalModified = state.getJournalSwitch() != 
+                (journalCheckBox.isSelected() ? FunctionSwitchEnum.OPEN : FunctionSwitchEnum.CLOSE);
+        
         boolean nonExistentFieldGenerateAnnotationModified = 
                 state.isNonExistentFieldGenerateAnnotation() != nonExistentFieldGenerateAnnotationCheckBox.isSelected();
         
+        boolean ownershipAwareCopyModified = 
+                state.isOwnershipAwareCopy() != ownershipAwareCopyCheckBox.isSelected();
+        
+        boolean objectPoolThreadLocalModified = 
+                state.isObjectPoolThreadLocal() != objectPoolThreadLocalCheckBox.isSelected();
+        
+        boolean equalsHashCodeCacheHashModified = 
+                state.isEqualsHashCodeCacheHash() != equalsHashCodeCacheHashCheckBox.isSelected();
+        
+        boolean jdbcBatchSizeModified = state.getJdbcBatchSize() != (Integer) jdbcBatchSizeSpinner.getValue();
+        boolean arrowBatchSizeModified = state.getArrowBatchSize() != (Integer) arrowBatchSizeSpinner.getValue();
+        boolean journalSegmentSizeModified =
+                state.getJournalSegmentSize() != (Integer) journalSegmentSizeSpinner.getValue();
+        
         return objectCopyModified || classToJsonModified || classToXmlModified || 
-                classToThriftModified || nonExistentFieldGenerateAnnotationModified;
+                classToThriftModified || objectToMapModified || jdbcMapperModified || 
+                parallelResolveModified || 
+                randomPayloadModified || 
+                payloadSizeProfileModified || 
+                jmhBenchmarkModified || 
+                nativeImageMetadataModified || 
+                arrowMapperModified || 
+                equalsHashCodeModified || 
+                objectPoolModified || 
+                disruptorEventModified || 
+                journalModified || 
+                nonExistentFieldGenerateAnnotationModified || equalsHashCodeCacheHashModified || 
+                objectPoolThreadLocalModified || ownershipAwareCopyModified || 
+                jdbcBatchSizeModified || arrowBatchSizeModified || journalSegmentSizeModified;
     }
 
     /**
@@ -130,7 +329,50 @@ public class ObjectHelperConfigurable implements Configurable {
         state.setClassToThriftSwitch(classToThriftCheckBox.isSelected() ? 
                 FunctionSwitchEnum.OPEN : FunctionSwitchEnum.CLOSE);
         
+        state.setObjectToMapSwitch(objectToMapCheckBox.isSelected() ? 
+                FunctionSwitchEnum.OPEN : FunctionSwitchEnum.CLOSE);
+        
+        state.setJdbcMapperSwitch(jdbcMapperCheckBox.isSelected() ? 
+                FunctionSwitchEnum.OPEN : FunctionSwitchEnum.CLOSE);
+        
+        state.setParallelResolveSwitch(parallelResolveCheckBox.isSelected() ? 
+                FunctionSwitchEnum.OPEN : FunctionSwitchEnum.CLOSE);
+        
+        state.setRandomPayloadSwitch(randomPayloadCheckBox.isSelected() ? 
+                FunctionSwitchEnum.OPEN : FunctionSwitchEnum.CLOSE);
+        
+        state.setPayloadSizeProfileSwitch(payloadSizeProfileCheckBox.isSelected() ? 
+                FunctionSwitchEnum.OPEN : FunctionSwitchEnum.CLOSE);
+        
+        state.setJmhBenchmarkSwitch(jmhBenchmarkCheckBox.isSelected() ? 
+                FunctionSwitchEnum.OPEN : FunctionSwitchEnum.CLOSE);
+        
+        state.setNativeImageMetadataSwitch(nativeImageMetadataCheckBox.isSelected() ? 
+                FunctionSwitchEnum.OPEN : FunctionSwitchEnum.CLOSE);
+        
+        state.setArrowMapperSwitch(arrowMapperCheckBox.isSelected() ? 
+                FunctionSwitchEnum.OPEN : FunctionSwitchEnum.CLOSE);
+        
+        state.setEqualsHashCodeSwitch(equalsHashCodeCheckBox.isSelected() ? 
+                FunctionSwitchEnum.OPEN : FunctionSwitchEnum.CLOSE);
+        
+        state.setObjectPoolSwitch(objectPoolCheckBox.isSelected() ? 
+                FunctionSwitchEnum.OPEN : FunctionSwitchEnum.CLOSE);
+        
+        state.setDisruptorEventSwitch(disruptorEventCheckBox.isSelected() ? 
+                FunctionSwitchEnum.OPEN : FunctionSwitchEnum.CLOSE);
+        
+        state.setJournalSwitch(journalCheckBox.isSelected() ? 
+                FunctionSwitchEnum.OPEN : FunctionSwitchEnum.CLOSE);
+        
         state.setNonExistentFieldGenerateAnnotation(nonExistentFieldGenerateAnnotationCheckBox.isSelected());
+        state.setOwnershipAwareCopy(ownershipAwareCopyCheckBox.isSelected());
+        state.setObjectPoolThreadLocal(objectPoolThreadLocalCheckBox.isSelected());
+        state.setEqualsHashCodeCacheHash(equalsHashCodeCacheHashCheckBox.isSelected());
+        
+        state.setJdbcBatchSize((Integer) jdbcBatchSizeSpinner.getValue());
+        state.setArrowBatchSize((Integer) arrowBatchSizeSpinner.getValue());
+        state.setJournalSegmentSize((Integer) journalSegmentSizeSpinner.getValue());
     }
 
     /**
@@ -144,6 +386,24 @@ public class ObjectHelperConfigurable implements Configurable {
         classToJsonCheckBox.setSelected(state.getClassToJsonSwitch() == FunctionSwitchEnum.OPEN);
         classToXmlCheckBox.setSelected(state.getClassToXmlSwitch() == FunctionSwitchEnum.OPEN);
         classToThriftCheckBox.setSelected(state.getClassToThriftSwitch() == FunctionSwitchEnum.OPEN);
+        objectToMapCheckBox.setSelected(state.getObjectToMapSwitch() == FunctionSwitchEnum.OPEN);
+        jdbcMapperCheckBox.setSelected(state.getJdbcMapperSwitch() == FunctionSwitchEnum.OPEN);
+        parallelResolveCheckBox.setSelected(state.getParallelResolveSwitch() == FunctionSwitchEnum.OPEN);
+        randomPayloadCheckBox.setSelected(state.getRandomPayloadSwitch() == FunctionSwitchEnum.OPEN);
+        payloadSizeProfileCheckBox.setSelected(state.getPayloadSizeProfileSwitch() == FunctionSwitchEnum.OPEN);
+        jmhBenchmarkCheckBox.setSelected(state.getJmhBenchmarkSwitch() == FunctionSwitchEnum.OPEN);
+        nativeImageMetadataCheckBox.setSelected(state.getNativeImageMetadataSwitch() == FunctionSwitchEnum.OPEN);
+        arrowMapperCheckBox.setSelected(state.getArrowMapperSwitch() == FunctionSwitchEnum.OPEN);
+        equalsHashCodeCheckBox.setSelected(state.getEqualsHashCodeSwitch() == FunctionSwitchEnum.OPEN);
+        objectPoolCheckBox.setSelected(state.getObjectPoolSwitch() == FunctionSwitchEnum.OPEN);
+        disruptorEventCheckBox.setSelected(state.getDisruptorEventSwitch() == FunctionSwitchEnum.OPEN);
+        journalCheckBox.setSelected(state.getJournalSwitch() == FunctionSwitchEnum.OPEN);
         nonExistentFieldGenerateAnnotationCheckBox.setSelected(state.isNonExistentFieldGenerateAnnotation());
+        ownershipAwareCopyCheckBox.setSelected(state.isOwnershipAwareCopy());
+        objectPoolThreadLocalCheckBox.setSelected(state.isObjectPoolThreadLocal());
+        equalsHashCodeCacheHashCheckBox.setSelected(state.isEqualsHashCodeCacheHash());
+        jdbcBatchSizeSpinner.setValue(state.getJdbcBatchSize());
+        arrowBatchSizeSpinner.setValue(state.getArrowBatchSize());
+        journalSegmentSizeSpinner.setValue(state.getJournalSegmentSize());
     }
 }
\ No newline at end of file
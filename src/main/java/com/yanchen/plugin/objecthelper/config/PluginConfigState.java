@@ -28,11 +28,101 @@ public class PluginConfigState {
      */
     private FunctionSwitchEnum classToThriftSwitch = FunctionSwitchEnum.OPEN;
 
+    /**
+     * 對象與 Map 互轉功能開關，默認開啟
+     */
+    private FunctionSwitchEnum objectToMapSwitch = FunctionSwitchEnum.OPEN;
+
+    /**
+     * JDBC 映射器生成功能開關，默認開啟
+     */
+    private FunctionSwitchEnum jdbcMapperSwitch = FunctionSwitchEnum.OPEN;
+
+    /**
+     * 類圖並發解析功能開關，默認開啟
+     */
+    private FunctionSwitchEnum parallelResolveSwitch = FunctionSwitchEnum.OPEN;
+
+    /**
+     * 隨機壓測數據生成功能開關，默認開啟
+     */
+    private FunctionSwitchEnum randomPayloadSwitch = FunctionSwitchEnum.OPEN;
+
+    /**
+     * 負載大小分析功能開關，默認開啟
+     */
+    private FunctionSwitchEnum payloadSizeProfileSwitch = FunctionSwitchEnum.OPEN;
+
+    /**
+     * JMH 基準測試生成功能開關，默認開啟
+     */
+    private FunctionSwitchEnum jmhBenchmarkSwitch = FunctionSwitchEnum.OPEN;
+
+    /**
+     * native-image 元數據生成功能開關，默認開啟
+     */
+    private FunctionSwitchEnum nativeImageMetadataSwitch = FunctionSwitchEnum.OPEN;
+
+    /**
+     * Apache Arrow 映射器生成功能開關，默認開啟
+     */
+    private FunctionSwitchEnum arrowMapperSwitch = FunctionSwitchEnum.OPEN;
+
+    /**
+     * equals / hashCode / compareTo 方法生成功能開關，默認開啟
+     */
+    private FunctionSwitchEnum equalsHashCodeSwitch = FunctionSwitchEnum.OPEN;
+
+    /**
+     * reset 方法與對象池生成功能開關，默認開啟
+     */
+    private FunctionSwitchEnum objectPoolSwitch = FunctionSwitchEnum.OPEN;
+
+    /**
+     * Disruptor 事件類生成功能開關，默認開啟
+     */
+    private FunctionSwitchEnum disruptorEventSwitch = FunctionSwitchEnum.OPEN;
+
+    /**
+     * 記憶體映射日誌生成功能開關，默認開啟
+     */
+    private FunctionSwitchEnum journalSwitch = FunctionSwitchEnum.OPEN;
+
     /**
      * 對象拷貝時，針對目標類中不存在的字段是否生成註釋，默認生成
      */
     private boolean nonExistentFieldGenerateAnnotation = true;
 
+    /**
+     * 對象複製時是否按可變性共享不可變值、複製可變值並註釋原因，默認開啟
+     */
+    private boolean ownershipAwareCopy = true;
+
+    /**
+     * 對象池是否使用 ThreadLocal 實現，默認使用分段無鎖實現
+     */
+    private boolean objectPoolThreadLocal = false;
+
+    /**
+     * 生成 hashCode 時是否為不可變類緩存結果，默認緩存
+     */
+    private boolean equalsHashCodeCacheHash = true;
+
+    /**
+     * JDBC 映射器批量插入時每批提交的行數，默認 500
+     */
+    private int jdbcBatchSize = 500;
+
+    /**
+     * Arrow 映射器寫出時每批的行數，默認 4096
+     */
+    private int arrowBatchSize = 4096;
+
+    /**
+     * 記憶體映射日誌每段文件大小（MB），默認 64
+     */
+    private int journalSegmentSize = 64;
+
     /**
      * 獲取配置狀態實例
      *
@@ -117,6 +207,222 @@ public class PluginConfigState {
         this.classToThriftSwitch = classToThriftSwitch;
     }
 
+    /**
+     * 獲取對象與 Map 互轉功能開關
+     *
+     * @return 功能開關
+     */
+    public FunctionSwitchEnum getObjectToMapSwitch() {
+        return objectToMapSwitch;
+    }
+
+    /**
+     * 設置對象與 Map 互轉功能開關
+     *
+     * @param objectToMapSwitch 功能開關
+     */
+    public void setObjectToMapSwitch(FunctionSwitchEnum objectToMapSwitch) {
+        this.objectToMapSwitch = objectToMapSwitch;
+    }
+
+    /**
+     * 獲取JDBC 映射器生成功能開關
+     *
+     * @return 功能開關
+     */
+    public FunctionSwitchEnum getJdbcMapperSwitch() {
+        return jdbcMapperSwitch;
+    }
+
+    /**
+     * 設置JDBC 映射器生成功能開關
+     *
+     * @param jdbcMapperSwitch 功能開關
+     */
+    public void setJdbcMapperSwitch(FunctionSwitchEnum jdbcMapperSwitch) {
+        this.jdbcMapperSwitch = jdbcMapperSwitch;
+    }
+
+    /**
+     * 獲取類圖並發解析功能開關
+     *
+     * @return 功能開關
+     */
+    public FunctionSwitchEnum getParallelResolveSwitch() {
+        return parallelResolveSwitch;
+    }
+
+    /**
+     * 設置類圖並發解析功能開關
+     *
+     * @param parallelResolveSwitch 功能開關
+     */
+    public void setParallelResolveSwitch(FunctionSwitchEnum parallelResolveSwitch) {
+        this.parallelResolveSwitch = parallelResolveSwitch;
+    }
+
+    /**
+     * 獲取隨機壓測數據生成功能開關
+     *
+     * @return 功能開關
+     */
+    public FunctionSwitchEnum getRandomPayloadSwitch() {
+        return randomPayloadSwitch;
+    }
+
+    /**
+     * 設置隨機壓測數據生成功能開關
+     *
+     * @param randomPayloadSwitch 功能開關
+     */
+    public void setRandomPayloadSwitch(FunctionSwitchEnum randomPayloadSwitch) {
+        this.randomPayloadSwitch = randomPayloadSwitch;
+    }
+
+    /**
+     * 獲取負載大小分析功能開關
+     *
+     * @return 功能開關
+     */
+    public FunctionSwitchEnum getPayloadSizeProfileSwitch() {
+        return payloadSizeProfileSwitch;
+    }
+
+    /**
+     * 設置負載大小分析功能開關
+     *
+     * @param payloadSizeProfileSwitch 功能開關
+     */
+    public void setPayloadSizeProfileSwitch(FunctionSwitchEnum payloadSizeProfileSwitch) {
+        this.payloadSizeProfileSwitch = payloadSizeProfileSwitch;
+    }
+
+    /**
+     * 獲取JMH 基準測試生成功能開關
+     *
+     * @return 功能開關
+     */
+    public FunctionSwitchEnum getJmhBenchmarkSwitch() {
+        return jmhBenchmarkSwitch;
+    }
+
+    /**
+     * 設置JMH 基準測試生成功能開關
+     *
+     * @param jmhBenchmarkSwitch 功能開關
+     */
+    public void setJmhBenchmarkSwitch(FunctionSwitchEnum jmhBenchmarkSwitch) {
+        this.jmhBenchmarkSwitch = jmhBenchmarkSwitch;
+    }
+
+    /**
+     * 獲取native-image 元數據生成功能開關
+     *
+     * @return 功能開關
+     */
+    public FunctionSwitchEnum getNativeImageMetadataSwitch() {
+        return nativeImageMetadataSwitch;
+    }
+
+    /**
+     * 設置native-image 元數據生成功能開關
+     *
+     * @param nativeImageMetadataSwitch 功能開關
+     */
+    public void setNativeImageMetadataSwitch(FunctionSwitchEnum nativeImageMetadataSwitch) {
+        this.nativeImageMetadataSwitch = nativeImageMetadataSwitch;
+    }
+
+    /**
+     * 獲取Apache Arrow 映射器生成功能開關
+     *
+     * @return 功能開關
+     */
+    public FunctionSwitchEnum getArrowMapperSwitch() {
+        return arrowMapperSwitch;
+    }
+
+    /**
+     * 設置Apache Arrow 映射器生成功能開關
+     *
+     * @param arrowMapperSwitch 功能開關
+     */
+    public void setArrowMapperSwitch(FunctionSwitchEnum arrowMapperSwitch) {
+        this.arrowMapperSwitch = arrowMapperSwitch;
+    }
+
+    /**
+     * 獲取equals / hashCode / compareTo 方法生成功能開關
+     *
+     * @return 功能開關
+     */
+    public FunctionSwitchEnum getEqualsHashCodeSwitch() {
+        return equalsHashCodeSwitch;
+    }
+
+    /**
+     * 設置equals / hashCode / compareTo 方法生成功能開關
+     *
+     * @param equalsHashCodeSwitch 功能開關
+     */
+    public void setEqualsHashCodeSwitch(FunctionSwitchEnum equalsHashCodeSwitch) {
+        this.equalsHashCodeSwitch = equalsHashCodeSwitch;
+    }
+
+    /**
+     * 獲取reset 方法與對象池生成功能開關
+     *
+     * @return 功能開關
+     */
+    public FunctionSwitchEnum getObjectPoolSwitch() {
+        return objectPoolSwitch;
+    }
+
+    /**
+     * 設置reset 方法與對象池生成功能開關
+     *
+     * @param objectPoolSwitch 功能開關
+     */
+    public void setObjectPoolSwitch(FunctionSwitchEnum objectPoolSwitch) {
+        this.objectPoolSwitch = objectPoolSwitch;
+    }
+
+    /**
+     * 獲取 Disruptor 事件類生成功能開關
+     *
+     * @return 功能開關
+     */
+    public FunctionSwitchEnum getDisruptorEventSwitch() {
+        return disruptorEventSwitch;
+    }
+
+    /**
+     * 設置 Disruptor 事件類生成功能開關
+     *
+     * @param disruptorEventSwitch 功能開關
+     */
+    public void setDisruptorEventSwitch(FunctionSwitchEnum disruptorEventSwitch) {
+        this.disruptorEventSwitch = disruptorEventSwitch;
+    }
+
+    /**
+     * 獲取記憶體映射日誌生成功能開關
+     *
+     * @return 功能開關
+     */
+    public FunctionSwitchEnum getJournalSwitch() {
+        return journalSwitch;
+    }
+
+    /**
+     * 設置記憶體映射日誌生成功能開關
+     *
+     * @param journalSwitch 功能開關
+     */
+    public void setJournalSwitch(FunctionSwitchEnum journalSwitch) {
+        this.journalSwitch = journalSwitch;
+    }
+
     /**
      * 獲取對象拷貝時是否為不存在的字段生成註釋
      *
@@ -134,4 +440,112 @@ public class PluginConfigState {
     public void setNonExistentFieldGenerateAnnotation(boolean nonExistentFieldGenerateAnnotation) {
         this.nonExistentFieldGenerateAnnotation = nonExistentFieldGenerateAnnotation;
     }
+
+    /**
+     * 獲取對象複製時是否按可變性共享不可變值、複製可變值並註釋原因
+     *
+     * @return 對象複製時是否按可變性共享不可變值、複製可變值並註釋原因
+     */
+    public boolean isOwnershipAwareCopy() {
+        return ownershipAwareCopy;
+    }
+
+    /**
+     * 設置對象複製時是否按可變性共享不可變值、複製可變值並註釋原因
+     *
+     * @param ownershipAwareCopy 對象複製時是否按可變性共享不可變值、複製可變值並註釋原因
+     */
+    public void setOwnershipAwareCopy(boolean ownershipAwareCopy) {
+        this.ownershipAwareCopy = ownershipAwareCopy;
+    }
+
+    /**
+     * 獲取對象池是否使用 ThreadLocal 實現
+     *
+     * @return 對象池是否使用 ThreadLocal 實現
+     */
+    public boolean isObjectPoolThreadLocal() {
+        return objectPoolThreadLocal;
+    }
+
+    /**
+     * 設置對象池是否使用 ThreadLocal 實現
+     *
+     * @param objectPoolThreadLocal 對象池是否使用 ThreadLocal 實現
+     */
+    public void setObjectPoolThreadLocal(boolean objectPoolThreadLocal) {
+        this.objectPoolThreadLocal = objectPoolThreadLocal;
+    }
+
+    /**
+     * 獲取生成 hashCode 時是否為不可變類緩存結果
+     *
+     * @return 是否緩存
+     */
+    public boolean isEqualsHashCodeCacheHash() {
+        return equalsHashCodeCacheHash;
+    }
+
+    /**
+     * 設置生成 hashCode 時是否為不可變類緩存結果
+     *
+     * @param equalsHashCodeCacheHash 是否緩存
+     */
+    public void setEqualsHashCodeCacheHash(boolean equalsHashCodeCacheHash) {
+        this.equalsHashCodeCacheHash = equalsHashCodeCacheHash;
+    }
+
+    /**
+     * 獲取 JDBC 映射器批量插入時每批提交的行數
+     *
+     * @return 每批行數
+     */
+    public int getJdbcBatchSize() {
+        return jdbcBatchSize;
+    }
+
+    /**
+     * 設置 JDBC 映射器批量插入時每批提交的行數
+     *
+     * @param jdbcBatchSize 每批行數
+     */
+    public void setJdbcBatchSize(int jdbcBatchSize) {
+        this.jdbcBatchSize = jdbcBatchSize;
+    }
+
+    /**
+     * 獲取 Arrow 映射器寫出時每批的行數
+     *
+     * @return 每批行數
+     */
+    public int getArrowBatchSize() {
+        return arrowBatchSize;
+    }
+
+    /**
+     * 設置 Arrow 映射器寫出時每批的行數
+     *
+     * @param arrowBatchSize 每批行數
+     */
+    public void setArrowBatchSize(int arrowBatchSize) {
+        this.arrowBatchSize = arrowBatchSize;
+    }
+
+    /**
+     * 獲取記憶體映射日誌每段文件大小（MB）
+     *
+     * @return 每段大小
+     */
+    public int getJournalSegmentSize() {
+        return journalSegmentSize;
+    }
+
+    /**
+     * 設置記憶體映射日誌每段文件大小（MB）
+     *
+     * @param journalSegmentSize 每段大小
+     */
+    public void setJournalSegmentSize(int journalSegmentSize) {
+        this.journalSegmentSize = journalSegmentSize;
+    }
 }
\ No newline at end of file
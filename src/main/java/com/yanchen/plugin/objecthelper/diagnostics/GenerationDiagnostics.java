@@ -0,0 +1,94 @@
+package com.yanchen.plugin.objecthelper.diagnostics;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.util.Disposer;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 最近若干次生成的診斷記錄
+ */
+public class GenerationDiagnostics {
+
+    /**
+     * 保留的記錄數
+     */
+    private static final int MAX_RUNS = 50;
+
+    /**
+     * 記錄，最新的在前
+     */
+    private final Deque<GenerationRun> runs = new ArrayDeque<>();
+
+    /**
+     * 記錄變化監聽器
+     */
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * 獲取實例
+     *
+     * @return 實例
+     */
+    public static GenerationDiagnostics getInstance() {
+        return ApplicationManager.getApplication().getService(GenerationDiagnostics.class);
+    }
+
+    /**
+     * 添加記錄，超出數量時丟棄最早的記錄
+     *
+     * @param run 生成統計
+     */
+    public void add(@NotNull GenerationRun run) {
+        synchronized (runs) {
+            runs.addFirst(run);
+            while (runs.size() > MAX_RUNS) {
+                runs.removeLast();
+            }
+        }
+        for (Runnable listener : listeners) {
+            listener.run();
+        }
+    }
+
+    /**
+     * 獲取記錄快照
+     *
+     * @return 記錄，最新的在前
+     */
+    @NotNull
+    public List<GenerationRun> getRuns() {
+        synchronized (runs) {
+            return new ArrayList<>(runs);
+        }
+    }
+
+    /**
+     * 清空記錄
+     */
+    public void clear() {
+        synchronized (runs) {
+            runs.clear();
+        }
+        for (Runnable listener : listeners) {
+            listener.run();
+        }
+    }
+
+    /**
+     * 添加記錄變化監聽器，可能在任意線程中回調
+     *
+     * @param listener 監聽器
+     * @param parentDisposable 釋放時移除監聽器
+     */
+    public void addListener(@NotNull Runnable listener, @NotNull Disposable parentDisposable) {
+        listeners.add(listener);
+        Disposer.register(parentDisposable, () -> listeners.remove(listener));
+    }
+}
@@ -0,0 +1,44 @@
+package com.yanchen.plugin.objecthelper.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * 生成器運行的 JFR 事件
+ * 事件時長即整次生成耗時，可在飛行記錄中與 IDE 卡頓對照
+ */
+@Name("com.yanchen.plugin.objecthelper.Generation")
+@Label("Object Helper Generation")
+@Category("Object Helper")
+@Description("一次 Generator.generate() 調用")
+public class GenerationEvent extends Event {
+
+    @Label("Generator")
+    String generator;
+
+    @Label("Target")
+    String target;
+
+    @Label("PSI Resolve Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long resolveTime;
+
+    @Label("Classes Visited")
+    long classesVisited;
+
+    @Label("Fields Visited")
+    long fieldsVisited;
+
+    @Label("Output Length")
+    long outputLength;
+
+    @Label("Cache Hits")
+    long cacheHits;
+
+    @Label("Cache Misses")
+    long cacheMisses;
+}
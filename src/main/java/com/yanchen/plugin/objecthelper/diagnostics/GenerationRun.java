@@ -0,0 +1,357 @@
+package com.yanchen.plugin.objecthelper.diagnostics;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 一次生成的統計
+ * 最外層的 generate() 調用創建統計並綁定到當前線程，PSI 工具方法和片段緩存通過靜態方法累加計數，
+ * 沒有綁定統計的線程上這些方法不做任何事；嵌套的 generate() 調用計入外層統計。
+ * 檢查和光標預覽等後台調用通過 {@link #untracked(Supplier)} 執行，不進入診斷記錄
+ */
+public class GenerationRun {
+
+    /**
+     * 當前線程正在進行的生成
+     */
+    private static final ThreadLocal<GenerationRun> CURRENT = new ThreadLocal<>();
+
+    /**
+     * 不記錄統計時綁定的佔位，其中的 generate() 調用按嵌套調用處理，計數方法忽略它
+     */
+    private static final GenerationRun UNTRACKED = new GenerationRun("untracked", null);
+
+    /**
+     * 生成器名
+     */
+    private final String generator;
+
+    /**
+     * 生成目標（類名或方法名）
+     */
+    private final String target;
+
+    /**
+     * 開始時間（毫秒時間戳）
+     */
+    private final long startTime = System.currentTimeMillis();
+
+    /**
+     * PSI 解析耗時（納秒），解析階段內按牆鐘時間計算，不累加並發線程各自的耗時
+     */
+    private final AtomicLong resolveNanos = new AtomicLong();
+
+    /**
+     * 正在進行的解析階段數，大於 0 時忽略單次解析耗時，由最外層階段記錄牆鐘時間
+     */
+    private final AtomicInteger resolvePhases = new AtomicInteger();
+
+    /**
+     * 訪問的類數
+     */
+    private final AtomicLong classesVisited = new AtomicLong();
+
+    /**
+     * 訪問的字段數
+     */
+    private final AtomicLong fieldsVisited = new AtomicLong();
+
+    /**
+     * 片段緩存命中數
+     */
+    private final AtomicLong cacheHits = new AtomicLong();
+
+    /**
+     * 片段緩存未命中數
+     */
+    private final AtomicLong cacheMisses = new AtomicLong();
+
+    /**
+     * 總耗時（納秒）
+     */
+    private long totalNanos;
+
+    /**
+     * 輸出字符數
+     */
+    private int outputLength;
+
+    /**
+     * 構造方法
+     *
+     * @param generator 生成器名
+     * @param target 生成目標
+     */
+    private GenerationRun(@NotNull String generator, @Nullable String target) {
+        this.generator = generator;
+        this.target = target;
+    }
+
+    /**
+     * 記錄一次生成：統計耗時與計數、提交 JFR 事件並加入診斷記錄
+     *
+     * @param generator 生成器名
+     * @param target 生成目標
+     * @param body 生成過程
+     * @return 生成結果
+     */
+    public static String record(@NotNull String generator, @Nullable String target, @NotNull Supplier<String> body) {
+        if (CURRENT.get() != null) {
+            return body.get();
+        }
+
+        GenerationRun run = new GenerationRun(generator, target);
+        GenerationEvent event = new GenerationEvent();
+        event.begin();
+        CURRENT.set(run);
+        long start = System.nanoTime();
+        String result = null;
+        try {
+            result = body.get();
+            return result;
+        } finally {
+            CURRENT.remove();
+            run.totalNanos = System.nanoTime() - start;
+            run.outputLength = result == null ? 0 : result.length();
+            event.end();
+            if (event.shouldCommit()) {
+                event.generator = run.generator;
+                event.target = run.target;
+                event.resolveTime = run.resolveNanos.get();
+                event.classesVisited = run.classesVisited.get();
+                event.fieldsVisited = run.fieldsVisited.get();
+                event.outputLength = run.outputLength;
+                event.cacheHits = run.cacheHits.get();
+                event.cacheMisses = run.cacheMisses.get();
+                event.commit();
+            }
+            GenerationDiagnostics.getInstance().add(run);
+        }
+    }
+
+    /**
+     * 執行不記錄統計的生成，用於檢查、光標預覽等頻繁的後台調用
+     *
+     * @param body 生成過程
+     * @param <T> 結果類型
+     * @return 結果
+     */
+    public static <T> T untracked(@NotNull Supplier<T> body) {
+        GenerationRun previous = CURRENT.get();
+        if (previous != null) {
+            return body.get();
+        }
+        CURRENT.set(UNTRACKED);
+        try {
+            return body.get();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * 獲取當前線程的生成統計
+     *
+     * @return 統計，不在生成中或不記錄統計時返回 null
+     */
+    @Nullable
+    public static GenerationRun current() {
+        GenerationRun run = CURRENT.get();
+        return run == UNTRACKED ? null : run;
+    }
+
+    /**
+     * 執行解析階段並按牆鐘時間記錄解析耗時，階段內並發任務的單次解析耗時不再累加
+     *
+     * @param phase 解析階段
+     * @param <T> 結果類型
+     * @return 結果
+     */
+    public static <T> T resolvePhase(@NotNull Supplier<T> phase) {
+        GenerationRun run = current();
+        if (run == null) {
+            return phase.get();
+        }
+        run.resolvePhases.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            return phase.get();
+        } finally {
+            if (run.resolvePhases.decrementAndGet() == 0) {
+                run.resolveNanos.addAndGet(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * 在其他線程中執行任務時綁定統計，用於並發解析
+     *
+     * @param run 統計，為空時直接執行
+     * @param task 任務
+     */
+    public static void runWith(@Nullable GenerationRun run, @NotNull Runnable task) {
+        GenerationRun previous = CURRENT.get();
+        if (run == null || previous == run) {
+            task.run();
+            return;
+        }
+        CURRENT.set(run);
+        try {
+            task.run();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * 累加 PSI 解析耗時，在解析階段內調用時忽略
+     *
+     * @param nanos 耗時（納秒）
+     */
+    public static void addResolveTime(long nanos) {
+        GenerationRun run = current();
+        if (run != null && run.resolvePhases.get() == 0) {
+            run.resolveNanos.addAndGet(nanos);
+        }
+    }
+
+    /**
+     * 記錄訪問了一個類及其字段
+     *
+     * @param fieldCount 字段數
+     */
+    public static void classVisited(int fieldCount) {
+        GenerationRun run = current();
+        if (run != null) {
+            run.classesVisited.incrementAndGet();
+            run.fieldsVisited.addAndGet(fieldCount);
+        }
+    }
+
+    /**
+     * 記錄片段緩存命中
+     */
+    public static void cacheHit() {
+        GenerationRun run = current();
+        if (run != null) {
+            run.cacheHits.incrementAndGet();
+        }
+    }
+
+    /**
+     * 記錄片段緩存未命中
+     */
+    public static void cacheMiss() {
+        GenerationRun run = current();
+        if (run != null) {
+            run.cacheMisses.incrementAndGet();
+        }
+    }
+
+    /**
+     * 獲取生成器名
+     *
+     * @return 生成器名
+     */
+    public String getGenerator() {
+        return generator;
+    }
+
+    /**
+     * 獲取生成目標
+     *
+     * @return 類名或方法名，未知時為 null
+     */
+    public String getTarget() {
+        return target;
+    }
+
+    /**
+     * 獲取開始時間
+     *
+     * @return 毫秒時間戳
+     */
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * 獲取總耗時
+     *
+     * @return 耗時（納秒）
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * 獲取 PSI 解析耗時，並發解析階段按牆鐘時間計算
+     *
+     * @return 耗時（納秒）
+     */
+    public long getResolveNanos() {
+        return resolveNanos.get();
+    }
+
+    /**
+     * 渲染耗時：總耗時減去 PSI 解析耗時
+     *
+     * @return 耗時（納秒）
+     */
+    public long getRenderNanos() {
+        return Math.max(0, totalNanos - resolveNanos.get());
+    }
+
+    /**
+     * 獲取訪問的類數
+     *
+     * @return 類數
+     */
+    public long getClassesVisited() {
+        return classesVisited.get();
+    }
+
+    /**
+     * 獲取訪問的字段數
+     *
+     * @return 字段數
+     */
+    public long getFieldsVisited() {
+        return fieldsVisited.get();
+    }
+
+    /**
+     * 獲取輸出字符數
+     *
+     * @return 字符數
+     */
+    public int getOutputLength() {
+        return outputLength;
+    }
+
+    /**
+     * 獲取片段緩存命中數
+     *
+     * @return 命中數
+     */
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    /**
+     * 獲取片段緩存未命中數
+     *
+     * @return 未命中數
+     */
+    public long getCacheMisses() {
+        return cacheMisses.get();
+    }
+}
@@ -0,0 +1,161 @@
+package com.yanchen.plugin.objecthelper.export;
+
+import com.intellij.notification.NotificationGroupManager;
+import com.intellij.notification.NotificationType;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.SmartPsiElementPointer;
+import com.yanchen.plugin.objecthelper.generator.nativeimage.NativeImageMetadataGenerator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * native-image 元數據導出任務
+ * 以選中的類、或包目錄下的所有類為根遍歷類圖，將 reflect-config.json 和 serialization-config.json 寫入輸出目錄
+ */
+public class NativeImageMetadataExportTask extends Task.Backgroundable {
+
+    /**
+     * 根類，按目錄導出時為空
+     */
+    private final SmartPsiElementPointer<PsiClass> rootClass;
+
+    /**
+     * 根類所在的源目錄，指定根類時為空
+     */
+    private final List<VirtualFile> sourceDirectories;
+
+    /**
+     * 輸出目錄
+     */
+    private final Path outputDirectory;
+
+    /**
+     * 可達類型數
+     */
+    private int classCount;
+
+    /**
+     * 失敗原因，成功時為空
+     */
+    private String error;
+
+    /**
+     * 構造方法
+     *
+     * @param project 項目
+     * @param rootClass 根類，為空時使用源目錄下的所有類
+     * @param sourceDirectories 源目錄（包目錄或模塊源碼根目錄）
+     * @param outputDirectory 輸出目錄
+     */
+    public NativeImageMetadataExportTask(@NotNull Project project, @Nullable SmartPsiElementPointer<PsiClass> rootClass,
+                                         @NotNull List<VirtualFile> sourceDirectories, @NotNull Path outputDirectory) {
+        super(project, "生成 native-image 元數據", true);
+        this.rootClass = rootClass;
+        this.sourceDirectories = sourceDirectories;
+        this.outputDirectory = outputDirectory;
+    }
+
+    /**
+     * 執行導出
+     * 遍歷在可被寫操作打斷的讀操作中進行，文件寫入在讀操作之外
+     *
+     * @param indicator 進度指示器
+     */
+    @Override
+    public void run(@NotNull ProgressIndicator indicator) {
+        indicator.setText("遍歷類圖...");
+        String[] configs = ReadAction.nonBlocking(() -> {
+            List<PsiClass> roots = collectRootClasses();
+            if (roots.isEmpty()) {
+                return null;
+            }
+            NativeImageMetadataGenerator generator = NativeImageMetadataGenerator.getInstance(roots);
+            String reflectConfig = generator.generate();
+            classCount = generator.getReachableClassCount();
+            return new String[]{reflectConfig, generator.getSerializationConfig()};
+        }).wrapProgress(indicator).executeSynchronously();
+        if (configs == null) {
+            error = "沒有可導出的類";
+            return;
+        }
+
+        try {
+            Files.createDirectories(outputDirectory);
+            Files.write(outputDirectory.resolve(NativeImageMetadataGenerator.REFLECT_CONFIG_FILE),
+                    configs[0].getBytes(StandardCharsets.UTF_8));
+            Files.write(outputDirectory.resolve(NativeImageMetadataGenerator.SERIALIZATION_CONFIG_FILE),
+                    configs[1].getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            error = e.getMessage();
+        }
+    }
+
+    /**
+     * 收集根類：指定的類，或源目錄下 Java 文件中的頂層類
+     *
+     * @return 根類
+     */
+    @NotNull
+    private List<PsiClass> collectRootClasses() {
+        if (rootClass != null) {
+            PsiClass psiClass = rootClass.getElement();
+            return psiClass == null ? Collections.emptyList() : Collections.singletonList(psiClass);
+        }
+
+        ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(getProject());
+        PsiManager psiManager = PsiManager.getInstance(getProject());
+        List<PsiClass> classes = new ArrayList<>();
+        for (VirtualFile directory : sourceDirectories) {
+            VfsUtilCore.iterateChildrenRecursively(directory, fileIndex::isInSourceContent, file -> {
+                if (file.isDirectory()) {
+                    return true;
+                }
+                PsiFile psiFile = psiManager.findFile(file);
+                if (psiFile instanceof PsiJavaFile) {
+                    Collections.addAll(classes, ((PsiJavaFile) psiFile).getClasses());
+                }
+                return true;
+            });
+        }
+        return classes;
+    }
+
+    /**
+     * 導出完成後刷新輸出目錄並通知結果
+     */
+    @Override
+    public void onSuccess() {
+        VirtualFile outputFile = LocalFileSystem.getInstance().refreshAndFindFileByNioFile(outputDirectory);
+        if (outputFile != null) {
+            outputFile.refresh(true, false);
+        }
+
+        String message = error != null ? "生成失敗：" + error
+                : "已為 " + classCount + " 個可達類型寫入 " + NativeImageMetadataGenerator.REFLECT_CONFIG_FILE
+                + " 和 " + NativeImageMetadataGenerator.SERIALIZATION_CONFIG_FILE;
+        NotificationGroupManager.getInstance()
+                .getNotificationGroup("Object Helper Notification Group")
+                .createNotification("native-image 元數據", message,
+                        error != null ? NotificationType.ERROR : NotificationType.INFORMATION)
+                .notify(getProject());
+    }
+}
@@ -0,0 +1,155 @@
+package com.yanchen.plugin.objecthelper.export;
+
+import com.intellij.openapi.fileChooser.FileChooserDescriptorFactory;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.ComboBox;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.openapi.ui.TextFieldWithBrowseButton;
+import com.intellij.openapi.ui.ValidationInfo;
+import com.intellij.ui.JBIntSpinner;
+import com.intellij.ui.components.JBTextField;
+import com.intellij.util.ui.FormBuilder;
+import com.yanchen.plugin.objecthelper.generator.random.RandomPayloadWriter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.JComponent;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * 隨機壓測數據生成參數對話框
+ */
+public class RandomPayloadDialog extends DialogWrapper {
+
+    /**
+     * 文檔數量
+     */
+    private final JBTextField countField = new JBTextField("100000");
+
+    /**
+     * 隨機種子，默認取當前時間，顯示出來以便複現
+     */
+    private final JBTextField seedField = new JBTextField(String.valueOf(System.currentTimeMillis()));
+
+    /**
+     * 輸出格式
+     */
+    private final ComboBox<RandomPayloadWriter.Format> formatComboBox =
+            new ComboBox<>(RandomPayloadWriter.Format.values());
+
+    /**
+     * 集合最少元素數
+     */
+    private final JBIntSpinner minItemsSpinner = new JBIntSpinner(1, 0, 10000);
+
+    /**
+     * 集合最多元素數
+     */
+    private final JBIntSpinner maxItemsSpinner = new JBIntSpinner(3, 0, 10000);
+
+    /**
+     * 輸出目錄
+     */
+    private final TextFieldWithBrowseButton outputDirectoryField = new TextFieldWithBrowseButton();
+
+    /**
+     * 構造方法
+     *
+     * @param project 項目
+     */
+    public RandomPayloadDialog(@NotNull Project project) {
+        super(project);
+        outputDirectoryField.addBrowseFolderListener("選擇輸出目錄", null, project,
+                FileChooserDescriptorFactory.createSingleFolderDescriptor());
+        if (project.getBasePath() != null) {
+            outputDirectoryField.setText(project.getBasePath());
+        }
+        setTitle("生成隨機壓測數據");
+        init();
+    }
+
+    /**
+     * 創建表單
+     *
+     * @return 表單面板
+     */
+    @Nullable
+    @Override
+    protected JComponent createCenterPanel() {
+        return FormBuilder.createFormBuilder()
+                .addLabeledComponent("文檔數量：", countField)
+                .addLabeledComponent("隨機種子：", seedField)
+                .addLabeledComponent("輸出格式：", formatComboBox)
+                .addLabeledComponent("集合最少元素數：", minItemsSpinner)
+                .addLabeledComponent("集合最多元素數：", maxItemsSpinner)
+                .addLabeledComponent("輸出目錄：", outputDirectoryField)
+                .addTooltip("字段上的 @Size 優先於集合元素數配置")
+                .getPanel();
+    }
+
+    /**
+     * 校驗輸入
+     *
+     * @return 校驗錯誤，通過時返回 null
+     */
+    @Nullable
+    @Override
+    protected ValidationInfo doValidate() {
+        Long count = parseLong(countField.getText());
+        if (count == null || count <= 0) {
+            return new ValidationInfo("請輸入正整數", countField);
+        }
+        if (parseLong(seedField.getText()) == null) {
+            return new ValidationInfo("請輸入整數種子", seedField);
+        }
+        if (minItemsSpinner.getNumber() > maxItemsSpinner.getNumber()) {
+            return new ValidationInfo("最少元素數不能大於最多元素數", minItemsSpinner);
+        }
+        if (outputDirectoryField.getText().trim().isEmpty()) {
+            return new ValidationInfo("請選擇輸出目錄", outputDirectoryField);
+        }
+        return null;
+    }
+
+    /**
+     * 解析長整數
+     *
+     * @param text 文本
+     * @return 長整數，無法解析時返回 null
+     */
+    @Nullable
+    private static Long parseLong(@NotNull String text) {
+        try {
+            return Long.parseLong(text.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public long getCount() {
+        return Long.parseLong(countField.getText().trim());
+    }
+
+    public long getSeed() {
+        return Long.parseLong(seedField.getText().trim());
+    }
+
+    @NotNull
+    public RandomPayloadWriter.Format getFormat() {
+        return (RandomPayloadWriter.Format) formatComboBox.getSelectedItem();
+    }
+
+    public int getMinItems() {
+        return minItemsSpinner.getNumber();
+    }
+
+    public int getMaxItems() {
+        return maxItemsSpinner.getNumber();
+    }
+
+    @NotNull
+    public Path getOutputDirectory() {
+        return Paths.get(outputDirectoryField.getText().trim());
+    }
+}
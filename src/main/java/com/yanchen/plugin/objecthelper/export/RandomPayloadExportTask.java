@@ -0,0 +1,143 @@
+package com.yanchen.plugin.objecthelper.export;
+
+import com.intellij.notification.NotificationGroupManager;
+import com.intellij.notification.NotificationType;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.yanchen.plugin.objecthelper.generator.random.PayloadSchema;
+import com.yanchen.plugin.objecthelper.generator.random.RandomPayloadWriter;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 隨機壓測數據生成任務
+ * 結構已在讀操作中提取，生成過程不訪問 PSI，邊生成邊寫入文件
+ */
+public class RandomPayloadExportTask extends Task.Backgroundable {
+
+    /**
+     * 寫入緩衝區大小
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * 數據結構
+     */
+    private final PayloadSchema schema;
+
+    /**
+     * 輸出文件
+     */
+    private final Path outputFile;
+
+    /**
+     * 文檔數量
+     */
+    private final long count;
+
+    /**
+     * 隨機種子
+     */
+    private final long seed;
+
+    /**
+     * 輸出格式
+     */
+    private final RandomPayloadWriter.Format format;
+
+    /**
+     * 集合最少元素數
+     */
+    private final int minItems;
+
+    /**
+     * 集合最多元素數
+     */
+    private final int maxItems;
+
+    /**
+     * 是否寫入失敗
+     */
+    private volatile boolean failed;
+
+    /**
+     * 構造方法
+     *
+     * @param project 項目
+     * @param schema 數據結構
+     * @param outputFile 輸出文件
+     * @param count 文檔數量
+     * @param seed 隨機種子
+     * @param format 輸出格式
+     * @param minItems 集合最少元素數
+     * @param maxItems 集合最多元素數
+     */
+    public RandomPayloadExportTask(@NotNull Project project, @NotNull PayloadSchema schema, @NotNull Path outputFile,
+                                   long count, long seed, @NotNull RandomPayloadWriter.Format format,
+                                   int minItems, int maxItems) {
+        super(project, "生成隨機壓測數據", true);
+        this.schema = schema;
+        this.outputFile = outputFile;
+        this.count = count;
+        this.seed = seed;
+        this.format = format;
+        this.minItems = minItems;
+        this.maxItems = maxItems;
+    }
+
+    /**
+     * 生成並寫入文件
+     *
+     * @param indicator 進度指示器
+     */
+    @Override
+    public void run(@NotNull ProgressIndicator indicator) {
+        indicator.setIndeterminate(false);
+        indicator.setText("寫入 " + outputFile.getFileName());
+        RandomPayloadWriter writer = new RandomPayloadWriter(schema, seed, minItems, maxItems);
+        try {
+            Files.createDirectories(outputFile.getParent());
+            try (Writer out = new BufferedWriter(
+                    new OutputStreamWriter(Files.newOutputStream(outputFile), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+                writer.write(out, format, count, indicator);
+            }
+        } catch (IOException e) {
+            failed = true;
+            notify("生成失敗：" + e.getMessage(), NotificationType.ERROR);
+        }
+    }
+
+    /**
+     * 完成後刷新文件並通知結果
+     */
+    @Override
+    public void onSuccess() {
+        if (failed) {
+            return;
+        }
+        LocalFileSystem.getInstance().refreshAndFindFileByNioFile(outputFile);
+        notify("已寫入 " + count + " 條數據到 " + outputFile + "（種子 " + seed + "）", NotificationType.INFORMATION);
+    }
+
+    /**
+     * 發送通知
+     *
+     * @param message 消息
+     * @param type 類型
+     */
+    private void notify(@NotNull String message, @NotNull NotificationType type) {
+        NotificationGroupManager.getInstance()
+                .getNotificationGroup("Object Helper Notification Group")
+                .createNotification("隨機壓測數據", message, type)
+                .notify(getProject());
+    }
+}
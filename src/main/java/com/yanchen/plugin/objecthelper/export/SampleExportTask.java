@@ -0,0 +1,357 @@
+package com.yanchen.plugin.objecthelper.export;
+
+import com.intellij.concurrency.JobLauncher;
+import com.intellij.notification.NotificationGroupManager;
+import com.intellij.notification.NotificationType;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiModifier;
+import com.intellij.psi.SmartPointerManager;
+import com.intellij.psi.SmartPsiElementPointer;
+import com.yanchen.plugin.objecthelper.common.util.StringUtils;
+import com.yanchen.plugin.objecthelper.generator.format.ClassToJsonGenerator;
+import com.yanchen.plugin.objecthelper.generator.format.ClassToXMLGenerator;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JSON/XML 樣例批量導出任務
+ * 收集源碼根目錄下的具體類，並發在讀操作中生成 JSON 和 XML，
+ * 按包路徑寫入輸出目錄，內容未變化的文件不重寫
+ */
+public class SampleExportTask extends Task.Backgroundable {
+
+    /**
+     * 日誌
+     */
+    private static final Logger LOG = Logger.getInstance(SampleExportTask.class);
+
+    /**
+     * 比較文件內容時的緩衝區大小
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * 通知中最多列出的失敗文件數
+     */
+    private static final int MAX_LISTED_FAILURES = 5;
+
+    /**
+     * 導出的源目錄
+     */
+    private final List<VirtualFile> sourceDirectories;
+
+    /**
+     * 輸出目錄
+     */
+    private final Path outputDirectory;
+
+    /**
+     * 是否只檢查不寫入
+     */
+    private final boolean checkOnly;
+
+    /**
+     * 只檢查時內容與生成結果不一致或缺失的文件
+     */
+    private final List<Path> stalePaths = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * 寫入的文件數
+     */
+    private final AtomicInteger writtenCount = new AtomicInteger();
+
+    /**
+     * 內容未變化而跳過的文件數
+     */
+    private final AtomicInteger unchangedCount = new AtomicInteger();
+
+    /**
+     * 讀寫失敗的文件及原因
+     */
+    private final List<String> failures = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * 構造方法
+     *
+     * @param project 項目
+     * @param sourceDirectories 導出的源目錄（包目錄或模塊源碼根目錄）
+     * @param outputDirectory 輸出目錄
+     */
+    public SampleExportTask(@NotNull Project project, @NotNull List<VirtualFile> sourceDirectories,
+                            @NotNull Path outputDirectory) {
+        this(project, sourceDirectories, outputDirectory, false);
+    }
+
+    /**
+     * 構造方法
+     *
+     * @param project 項目
+     * @param sourceDirectories 導出的源目錄（包目錄或模塊源碼根目錄）
+     * @param outputDirectory 輸出目錄
+     * @param checkOnly 是否只檢查輸出目錄中的樣例是否與生成結果一致，不寫入
+     */
+    public SampleExportTask(@NotNull Project project, @NotNull List<VirtualFile> sourceDirectories,
+                            @NotNull Path outputDirectory, boolean checkOnly) {
+        super(project, "導出 JSON/XML 樣例", true);
+        this.sourceDirectories = sourceDirectories;
+        this.outputDirectory = outputDirectory;
+        this.checkOnly = checkOnly;
+    }
+
+    /**
+     * 執行導出
+     *
+     * @param indicator 進度指示器
+     */
+    @Override
+    public void run(@NotNull ProgressIndicator indicator) {
+        indicator.setText("收集類...");
+        List<SmartPsiElementPointer<PsiClass>> classes = new ArrayList<>();
+        for (VirtualFile directory : sourceDirectories) {
+            indicator.checkCanceled();
+            indicator.setText2(directory.getPresentableUrl());
+            // 每個源目錄一個可被寫操作打斷的讀操作，打斷後只重新遍歷當前目錄
+            classes.addAll(ReadAction.nonBlocking(() -> collectClasses(directory))
+                    .wrapProgress(indicator)
+                    .executeSynchronously());
+        }
+        indicator.setText2(null);
+
+        indicator.setIndeterminate(false);
+        AtomicInteger processedCount = new AtomicInteger();
+        JobLauncher.getInstance().invokeConcurrentlyUnderProgress(classes, indicator, pointer -> {
+            exportClass(pointer);
+            indicator.setFraction((double) processedCount.incrementAndGet() / classes.size());
+            return true;
+        });
+    }
+
+    /**
+     * 收集源目錄下所有 Java 文件中的具體類（排除接口、枚舉、註解和抽象類）
+     *
+     * @param directory 源目錄
+     * @return 類指針列表
+     */
+    @NotNull
+    private List<SmartPsiElementPointer<PsiClass>> collectClasses(@NotNull VirtualFile directory) {
+        Project project = getProject();
+        ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(project);
+        PsiManager psiManager = PsiManager.getInstance(project);
+        SmartPointerManager pointerManager = SmartPointerManager.getInstance(project);
+
+        List<SmartPsiElementPointer<PsiClass>> classes = new ArrayList<>();
+        VfsUtilCore.iterateChildrenRecursively(directory, fileIndex::isInSourceContent, file -> {
+            ProgressManager.checkCanceled();
+            if (file.isDirectory()) {
+                return true;
+            }
+            PsiFile psiFile = psiManager.findFile(file);
+            if (!(psiFile instanceof PsiJavaFile)) {
+                return true;
+            }
+            for (PsiClass psiClass : ((PsiJavaFile) psiFile).getClasses()) {
+                if (isExportable(psiClass)) {
+                    classes.add(pointerManager.createSmartPsiElementPointer(psiClass));
+                }
+            }
+            return true;
+        });
+        return classes;
+    }
+
+    /**
+     * 判斷類是否需要導出
+     *
+     * @param psiClass 類
+     * @return 是否導出
+     */
+    private boolean isExportable(@NotNull PsiClass psiClass) {
+        return psiClass.getQualifiedName() != null
+                && !psiClass.isInterface()
+                && !psiClass.isEnum()
+                && !psiClass.isAnnotationType()
+                && !psiClass.hasModifierProperty(PsiModifier.ABSTRACT);
+    }
+
+    /**
+     * 生成並寫入單個類的 JSON 和 XML
+     * 生成在可被寫操作打斷的讀操作中進行，文件寫入在讀操作之外
+     *
+     * @param pointer 類指針
+     */
+    private void exportClass(@NotNull SmartPsiElementPointer<PsiClass> pointer) {
+        String[] result = ReadAction.nonBlocking(() -> {
+            PsiClass psiClass = pointer.getElement();
+            if (psiClass == null || psiClass.getQualifiedName() == null) {
+                return null;
+            }
+            return new String[]{
+                    psiClass.getQualifiedName(),
+                    ClassToJsonGenerator.getInstance(psiClass).generate(),
+                    ClassToXMLGenerator.getInstance(psiClass).generate()
+            };
+        }).executeSynchronously();
+        if (result == null) {
+            return;
+        }
+
+        // 按包路徑輸出，如 com/example/UserDto.json
+        Path basePath = outputDirectory.resolve(result[0].replace('.', '/'));
+        writeIfChanged(basePath.resolveSibling(basePath.getFileName() + ".json"), result[1]);
+        writeIfChanged(basePath.resolveSibling(basePath.getFileName() + ".xml"), result[2]);
+    }
+
+    /**
+     * 內容變化時寫入文件，只檢查時記錄為過期
+     *
+     * @param path 文件路徑
+     * @param content 文件內容
+     */
+    private void writeIfChanged(@NotNull Path path, String content) {
+        if (StringUtils.isEmpty(content)) {
+            return;
+        }
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        try {
+            if (hasSameContent(path, bytes)) {
+                unchangedCount.incrementAndGet();
+                return;
+            }
+            if (checkOnly) {
+                stalePaths.add(path);
+                return;
+            }
+            Files.createDirectories(path.getParent());
+            try (OutputStream output = Files.newOutputStream(path)) {
+                output.write(bytes);
+            }
+            writtenCount.incrementAndGet();
+        } catch (IOException e) {
+            LOG.warn("導出樣例失敗: " + path, e);
+            failures.add(path + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * 判斷文件內容是否與給定內容相同，先比較長度再分塊比較
+     *
+     * @param path 文件路徑
+     * @param bytes 內容
+     * @return 是否相同
+     * @throws IOException 讀取失敗
+     */
+    private boolean hasSameContent(@NotNull Path path, @NotNull byte[] bytes) throws IOException {
+        if (!Files.isRegularFile(path) || Files.size(path) != bytes.length) {
+            return false;
+        }
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int offset = 0;
+        try (InputStream input = Files.newInputStream(path)) {
+            int read;
+            while ((read = input.read(buffer)) > 0) {
+                if (offset + read > bytes.length) {
+                    return false;
+                }
+                for (int i = 0; i < read; i++) {
+                    if (buffer[i] != bytes[offset + i]) {
+                        return false;
+                    }
+                }
+                offset += read;
+            }
+        }
+        return offset == bytes.length;
+    }
+
+    /**
+     * 導出完成後刷新輸出目錄並通知結果
+     */
+    @Override
+    public void onSuccess() {
+        VirtualFile outputFile = LocalFileSystem.getInstance().refreshAndFindFileByNioFile(outputDirectory);
+        if (outputFile != null) {
+            outputFile.refresh(true, true);
+        }
+
+        StringBuilder content = new StringBuilder(getSummary());
+        List<String> failureList = getFailures();
+        for (String failure : failureList.subList(0, Math.min(failureList.size(), MAX_LISTED_FAILURES))) {
+            content.append("<br/>").append(StringUtil.escapeXmlEntities(failure));
+        }
+        if (failureList.size() > MAX_LISTED_FAILURES) {
+            content.append("<br/>等 ").append(failureList.size()).append(" 個文件，詳見日誌");
+        }
+        NotificationGroupManager.getInstance()
+                .getNotificationGroup("Object Helper Notification Group")
+                .createNotification("JSON/XML 樣例導出完成", content.toString(),
+                        hasFailures() ? NotificationType.WARNING : NotificationType.INFORMATION)
+                .notify(getProject());
+    }
+
+    /**
+     * 獲取導出結果摘要
+     *
+     * @return 摘要
+     */
+    @NotNull
+    public String getSummary() {
+        String summary = checkOnly ? "過期 " + stalePaths.size() + " 個文件" : "寫入 " + writtenCount.get() + " 個文件";
+        return summary + "，未變化 " + unchangedCount.get() + " 個"
+                + (hasFailures() ? "，失敗 " + failures.size() + " 個" : "");
+    }
+
+    /**
+     * 獲取只檢查時內容不一致或缺失的文件
+     *
+     * @return 文件路徑
+     */
+    @NotNull
+    public List<Path> getStalePaths() {
+        return stalePaths;
+    }
+
+    /**
+     * 獲取讀寫失敗的文件及原因
+     *
+     * @return 失敗信息，格式為「路徑: 原因」
+     */
+    @NotNull
+    public List<String> getFailures() {
+        synchronized (failures) {
+            return new ArrayList<>(failures);
+        }
+    }
+
+    /**
+     * 是否有文件寫入失敗
+     *
+     * @return 是否失敗
+     */
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+}
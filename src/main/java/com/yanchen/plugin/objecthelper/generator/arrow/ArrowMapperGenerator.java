@@ -0,0 +1,908 @@
+package com.yanchen.plugin.objecthelper.generator.arrow;
+
+import com.intellij.codeInsight.AnnotationUtil;
+import com.intellij.psi.CommonClassNames;
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiClassType;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiModifier;
+import com.intellij.psi.PsiPrimitiveType;
+import com.intellij.psi.PsiType;
+import com.intellij.psi.util.InheritanceUtil;
+import com.intellij.psi.util.PsiUtil;
+import com.yanchen.plugin.objecthelper.common.util.PsiUtils;
+import com.yanchen.plugin.objecthelper.common.util.StringUtils;
+import com.yanchen.plugin.objecthelper.diagnostics.GenerationRun;
+import com.yanchen.plugin.objecthelper.generator.Generator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Apache Arrow 映射器生成器
+ * 為類生成 Arrow Schema、按批寫入 VectorSchemaRoot 的寫出方法和從向量讀回對象的讀取方法。
+ * 嵌套的自定義類映射為 struct 向量，集合映射為 list 向量，字段發現與 JDBC 映射器一致（需同時具備 Getter 和 Setter）
+ */
+public class ArrowMapperGenerator implements Generator {
+
+    /**
+     * 生成類名後綴
+     */
+    public static final String CLASS_NAME_SUFFIX = "ArrowMapper";
+
+    /**
+     * 頂層行的輔助方法名，嵌套類不能使用
+     */
+    private static final String ROW_NAME = "Row";
+
+    /**
+     * 沒有 @Digits 時 BigDecimal 列的小數位數
+     */
+    private static final int DEFAULT_DECIMAL_SCALE = 18;
+
+    private static final String DIGITS_JAVAX = "javax.validation.constraints.Digits";
+    private static final String DIGITS_JAKARTA = "jakarta.validation.constraints.Digits";
+
+    /**
+     * 映射為 list 向量的集合類（擦除泛型後的類名）
+     */
+    private static final Set<String> COLLECTION_CLASSES = new HashSet<>(Arrays.asList(
+            "java.util.List", "java.util.ArrayList", "java.util.Collection",
+            "java.util.Set", "java.util.HashSet", "java.util.LinkedHashSet"));
+
+    /**
+     * 實體類
+     */
+    private final PsiClass psiClass;
+
+    /**
+     * 每批行數
+     */
+    private final int batchSize;
+
+    /**
+     * 已展開的嵌套類及其列，按首次出現順序
+     */
+    private final Map<PsiClass, List<ArrowColumn>> structs = new LinkedHashMap<>();
+
+    /**
+     * 嵌套類的輔助方法名（不含 write/read 前綴）
+     */
+    private final Map<PsiClass, String> structNames = new LinkedHashMap<>();
+
+    /**
+     * 獲取 ArrowMapperGenerator 實例
+     *
+     * @param psiClass 實體類
+     * @param batchSize 每批行數
+     * @return 生成器實例
+     */
+    public static Generator getInstance(PsiClass psiClass, int batchSize) {
+        return new ArrowMapperGenerator(psiClass, batchSize);
+    }
+
+    /**
+     * 構造方法
+     *
+     * @param psiClass 實體類
+     * @param batchSize 每批行數
+     */
+    private ArrowMapperGenerator(PsiClass psiClass, int batchSize) {
+        this.psiClass = psiClass;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 生成映射器類，並記錄耗時和計數供診斷
+     *
+     * @return 映射器類代碼
+     */
+    @Override
+    public String generate() {
+        return GenerationRun.record("arrow", psiClass == null ? null : psiClass.getQualifiedName(), this::doGenerate);
+    }
+
+    /**
+     * 生成映射器類
+     *
+     * @return 映射器類代碼
+     */
+    private String doGenerate() {
+        if (psiClass == null || psiClass.getName() == null || psiClass.getQualifiedName() == null) {
+            return null;
+        }
+        structs.clear();
+        structNames.clear();
+
+        String className = psiClass.getQualifiedName();
+        String mapperName = psiClass.getName() + CLASS_NAME_SUFFIX;
+        List<PsiClass> path = new ArrayList<>();
+        path.add(psiClass);
+        List<ArrowColumn> columns = getColumns(psiClass, path);
+
+        StringBuilder code = new StringBuilder();
+        String packageName = PsiUtils.getPackageName(psiClass);
+        if (StringUtils.isNotEmpty(packageName)) {
+            code.append("package ").append(packageName).append(";\n\n");
+        }
+
+        code.append("import org.apache.arrow.memory.BufferAllocator;\n");
+        code.append("import org.apache.arrow.vector.VectorSchemaRoot;\n");
+        code.append("import org.apache.arrow.vector.ipc.ArrowStreamReader;\n");
+        code.append("import org.apache.arrow.vector.ipc.ArrowStreamWriter;\n");
+        code.append("import org.apache.arrow.vector.types.pojo.ArrowType;\n");
+        code.append("import org.apache.arrow.vector.types.pojo.Field;\n");
+        code.append("import org.apache.arrow.vector.types.pojo.FieldType;\n");
+        code.append("import org.apache.arrow.vector.types.pojo.Schema;\n\n");
+        code.append("import java.io.IOException;\n");
+        code.append("import java.io.InputStream;\n");
+        code.append("import java.io.OutputStream;\n");
+        code.append("import java.nio.charset.StandardCharsets;\n");
+        code.append("import java.util.ArrayList;\n");
+        code.append("import java.util.Arrays;\n");
+        code.append("import java.util.Collections;\n");
+        code.append("import java.util.Iterator;\n");
+        code.append("import java.util.List;\n");
+        code.append("import java.util.stream.Stream;\n\n");
+
+        code.append("/**\n");
+        code.append(" * ").append(psiClass.getName()).append(" Arrow 映射器\n");
+        code.append(" * 寫出時復用同一個 VectorSchemaRoot，每批填滿後交給 BatchConsumer，消費方需在返回前處理完該批數據\n");
+        code.append(" */\n");
+        code.append("public final class ").append(mapperName).append(" {\n\n");
+        code.append("    public static final int DEFAULT_BATCH_SIZE = ").append(batchSize).append(";\n\n");
+        code.append("    public static final Schema SCHEMA = new Schema(").append(getFieldsMethod(ROW_NAME)).append("());\n\n");
+        code.append("    private ").append(mapperName).append("() {\n");
+        code.append("    }\n\n");
+
+        code.append("    /**\n");
+        code.append("     * 批數據消費者\n");
+        code.append("     */\n");
+        code.append("    @FunctionalInterface\n");
+        code.append("    public interface BatchConsumer {\n\n");
+        code.append("        void accept(VectorSchemaRoot root) throws IOException;\n");
+        code.append("    }\n\n");
+
+        code.append(generateWriteMethods(className)).append("\n");
+        code.append(generateReadMethods(className)).append("\n");
+        code.append(generateWriteHelper(className, columns, null)).append("\n");
+        code.append(generateReadHelper(className, columns, null)).append("\n");
+        for (Map.Entry<PsiClass, List<ArrowColumn>> struct : structs.entrySet()) {
+            code.append(generateWriteHelper(struct.getKey().getQualifiedName(), struct.getValue(), struct.getKey())).append("\n");
+            code.append(generateReadHelper(struct.getKey().getQualifiedName(), struct.getValue(), struct.getKey())).append("\n");
+        }
+        code.append(generateFieldsMethod(ROW_NAME, columns));
+        for (Map.Entry<PsiClass, List<ArrowColumn>> struct : structs.entrySet()) {
+            code.append("\n").append(generateFieldsMethod(structNames.get(struct.getKey()), struct.getValue()));
+        }
+
+        code.append("}\n");
+        return code.toString();
+    }
+
+    /**
+     * 生成按批寫出的公共方法
+     *
+     * @param className 實體類名
+     * @return 代碼
+     */
+    @NotNull
+    private String generateWriteMethods(String className) {
+        StringBuilder code = new StringBuilder();
+        code.append("    public static int write(Iterator<").append(className)
+                .append("> rows, VectorSchemaRoot root, int batchSize, BatchConsumer consumer) throws IOException {\n");
+        code.append("        int count = 0;\n");
+        code.append("        while (rows.hasNext()) {\n");
+        code.append("            // allocateNew 會先釋放上一批的緩衝區\n");
+        code.append("            root.allocateNew();\n");
+        code.append("            int rowCount = 0;\n");
+        code.append("            while (rowCount < batchSize && rows.hasNext()) {\n");
+        code.append("                writeRow(root, rowCount++, rows.next());\n");
+        code.append("            }\n");
+        code.append("            root.setRowCount(rowCount);\n");
+        code.append("            consumer.accept(root);\n");
+        code.append("            count += rowCount;\n");
+        code.append("        }\n");
+        code.append("        return count;\n");
+        code.append("    }\n\n");
+
+        code.append("    public static int writeStream(Iterable<").append(className)
+                .append("> rows, BufferAllocator allocator, OutputStream out) throws IOException {\n");
+        code.append("        return writeStream(rows.iterator(), allocator, DEFAULT_BATCH_SIZE, out);\n");
+        code.append("    }\n\n");
+
+        code.append("    public static int writeStream(Stream<").append(className)
+                .append("> rows, BufferAllocator allocator, OutputStream out) throws IOException {\n");
+        code.append("        return writeStream(rows.iterator(), allocator, DEFAULT_BATCH_SIZE, out);\n");
+        code.append("    }\n\n");
+
+        code.append("    public static int writeStream(Iterator<").append(className)
+                .append("> rows, BufferAllocator allocator, int batchSize, OutputStream out) throws IOException {\n");
+        code.append("        try (VectorSchemaRoot root = VectorSchemaRoot.create(SCHEMA, allocator);\n");
+        code.append("             ArrowStreamWriter writer = new ArrowStreamWriter(root, null, out)) {\n");
+        code.append("            writer.start();\n");
+        code.append("            int count = write(rows, root, batchSize, batch -> writer.writeBatch());\n");
+        code.append("            writer.end();\n");
+        code.append("            return count;\n");
+        code.append("        }\n");
+        code.append("    }\n");
+        return code.toString();
+    }
+
+    /**
+     * 生成讀取的公共方法
+     *
+     * @param className 實體類名
+     * @return 代碼
+     */
+    @NotNull
+    private String generateReadMethods(String className) {
+        StringBuilder code = new StringBuilder();
+        code.append("    public static List<").append(className).append("> read(VectorSchemaRoot root) {\n");
+        code.append("        int rowCount = root.getRowCount();\n");
+        code.append("        List<").append(className).append("> rows = new ArrayList<>(rowCount);\n");
+        code.append("        for (int index = 0; index < rowCount; index++) {\n");
+        code.append("            rows.add(readRow(root, index));\n");
+        code.append("        }\n");
+        code.append("        return rows;\n");
+        code.append("    }\n\n");
+
+        code.append("    public static List<").append(className)
+                .append("> readStream(InputStream in, BufferAllocator allocator) throws IOException {\n");
+        code.append("        List<").append(className).append("> rows = new ArrayList<>();\n");
+        code.append("        try (ArrowStreamReader reader = new ArrowStreamReader(in, allocator)) {\n");
+        code.append("            VectorSchemaRoot root = reader.getVectorSchemaRoot();\n");
+        code.append("            while (reader.loadNextBatch()) {\n");
+        code.append("                rows.addAll(read(root));\n");
+        code.append("            }\n");
+        code.append("        }\n");
+        code.append("        return rows;\n");
+        code.append("    }\n");
+        return code.toString();
+    }
+
+    /**
+     * 生成單行寫出方法：頂層行從 VectorSchemaRoot 按位置取向量，嵌套類從 struct 向量按位置取子向量
+     *
+     * @param className 類名
+     * @param columns 列
+     * @param structClass 嵌套類，頂層行為空
+     * @return 代碼
+     */
+    @NotNull
+    private String generateWriteHelper(String className, List<ArrowColumn> columns, @Nullable PsiClass structClass) {
+        StringBuilder code = new StringBuilder();
+        String container;
+        if (structClass == null) {
+            container = "root.getVector";
+            code.append("    private static void writeRow(VectorSchemaRoot root, int index, ").append(className)
+                    .append(" value) {\n");
+        } else {
+            container = "vector.getChildByOrdinal";
+            code.append("    private static void ").append(getWriteMethod(structClass))
+                    .append("(org.apache.arrow.vector.complex.StructVector vector, int index, ").append(className)
+                    .append(" value) {\n");
+            code.append("        if (value == null) {\n");
+            code.append("            vector.setNull(index);\n");
+            code.append("            return;\n");
+            code.append("        }\n");
+            code.append("        vector.setIndexDefined(index);\n");
+        }
+
+        for (int i = 0; i < columns.size(); i++) {
+            ArrowColumn column = columns.get(i);
+            String vector = column.name + "Vector";
+            code.append("        ").append(column.getVectorClass()).append(" ").append(vector).append(" = (")
+                    .append(column.getVectorClass()).append(") ").append(container).append("(").append(i).append(");\n");
+            String value = "value." + column.getterName + "()";
+            if (!column.primitive) {
+                code.append("        ").append(column.typeText).append(" ").append(column.name).append("Value = ")
+                        .append(value).append(";\n");
+                value = column.name + "Value";
+            }
+            appendWrite(code, "        ", column, vector, "index", value);
+        }
+        code.append("    }\n");
+        return code.toString();
+    }
+
+    /**
+     * 生成寫入單個值的語句
+     *
+     * @param code 代碼
+     * @param indent 縮進
+     * @param column 列
+     * @param vector 向量變量
+     * @param index 行號表達式
+     * @param value 值變量（非原始類型時可能為 null）
+     */
+    private void appendWrite(StringBuilder code, String indent, ArrowColumn column, String vector, String index,
+                             String value) {
+        if (column.kind == ArrowKind.STRUCT) {
+            code.append(indent).append(getWriteMethod(column.structClass)).append("(").append(vector).append(", ")
+                    .append(index).append(", ").append(value).append(");\n");
+            return;
+        }
+
+        String nonNullIndent = indent;
+        if (!column.primitive) {
+            code.append(indent).append("if (").append(value).append(" == null) {\n");
+            code.append(indent).append("    ").append(vector).append(".setNull(").append(index).append(");\n");
+            code.append(indent).append("} else {\n");
+            nonNullIndent = indent + "    ";
+        }
+
+        if (column.kind == ArrowKind.LIST) {
+            ArrowColumn element = column.element;
+            String data = column.name + "Data";
+            String start = column.name + "Start";
+            String offset = column.name + "Offset";
+            String item = column.name + "Item";
+            code.append(nonNullIndent).append(element.getVectorClass()).append(" ").append(data).append(" = (")
+                    .append(element.getVectorClass()).append(") ").append(vector).append(".getDataVector();\n");
+            code.append(nonNullIndent).append("int ").append(start).append(" = ").append(vector)
+                    .append(".startNewValue(").append(index).append(");\n");
+            code.append(nonNullIndent).append("int ").append(offset).append(" = ").append(start).append(";\n");
+            code.append(nonNullIndent).append("for (").append(element.typeText).append(" ").append(item)
+                    .append(" : ").append(value).append(") {\n");
+            appendWrite(code, nonNullIndent + "    ", element, data, offset, item);
+            code.append(nonNullIndent).append("    ").append(offset).append("++;\n");
+            code.append(nonNullIndent).append("}\n");
+            code.append(nonNullIndent).append(vector).append(".endValue(").append(index).append(", ")
+                    .append(offset).append(" - ").append(start).append(");\n");
+        } else {
+            code.append(nonNullIndent).append(vector).append(".setSafe(").append(index).append(", ")
+                    .append(column.kind.toVectorValue(value, vector)).append(");\n");
+        }
+
+        if (!column.primitive) {
+            code.append(indent).append("}\n");
+        }
+    }
+
+    /**
+     * 生成單行讀取方法
+     *
+     * @param className 類名
+     * @param columns 列
+     * @param structClass 嵌套類，頂層行為空
+     * @return 代碼
+     */
+    @NotNull
+    private String generateReadHelper(String className, List<ArrowColumn> columns, @Nullable PsiClass structClass) {
+        StringBuilder code = new StringBuilder();
+        String container;
+        if (structClass == null) {
+            container = "root.getVector";
+            code.append("    private static ").append(className)
+                    .append(" readRow(VectorSchemaRoot root, int index) {\n");
+        } else {
+            container = "vector.getChildByOrdinal";
+            code.append("    private static ").append(className).append(" ").append(getReadMethod(structClass))
+                    .append("(org.apache.arrow.vector.complex.StructVector vector, int index) {\n");
+            code.append("        if (vector.isNull(index)) {\n");
+            code.append("            return null;\n");
+            code.append("        }\n");
+        }
+        code.append("        ").append(className).append(" target = new ").append(className).append("();\n");
+
+        for (int i = 0; i < columns.size(); i++) {
+            ArrowColumn column = columns.get(i);
+            String vector = column.name + "Vector";
+            code.append("        ").append(column.getVectorClass()).append(" ").append(vector).append(" = (")
+                    .append(column.getVectorClass()).append(") ").append(container).append("(").append(i).append(");\n");
+            if (column.kind != ArrowKind.LIST) {
+                code.append("        target.").append(column.setterName).append("(")
+                        .append(getReadExpression(column, vector, "index")).append(");\n");
+                continue;
+            }
+
+            ArrowColumn element = column.element;
+            String data = column.name + "Data";
+            String end = column.name + "End";
+            String offset = column.name + "Offset";
+            String items = column.name + "Value";
+            code.append("        if (!").append(vector).append(".isNull(index)) {\n");
+            code.append("            ").append(element.getVectorClass()).append(" ").append(data).append(" = (")
+                    .append(element.getVectorClass()).append(") ").append(vector).append(".getDataVector();\n");
+            code.append("            int ").append(end).append(" = ").append(vector).append(".getElementEndIndex(index);\n");
+            code.append("            ").append(column.typeText).append(" ").append(items).append(" = new ")
+                    .append(column.collectionImplementation).append("<>();\n");
+            code.append("            for (int ").append(offset).append(" = ").append(vector)
+                    .append(".getElementStartIndex(index); ").append(offset).append(" < ").append(end).append("; ")
+                    .append(offset).append("++) {\n");
+            code.append("                ").append(items).append(".add(")
+                    .append(getReadExpression(element, data, offset)).append(");\n");
+            code.append("            }\n");
+            code.append("            target.").append(column.setterName).append("(").append(items).append(");\n");
+            code.append("        }\n");
+        }
+        code.append("        return target;\n");
+        code.append("    }\n");
+        return code.toString();
+    }
+
+    /**
+     * 讀取單個值的表達式
+     *
+     * @param column 列（不能是 list 列）
+     * @param vector 向量變量
+     * @param index 行號表達式
+     * @return 表達式
+     */
+    @NotNull
+    private String getReadExpression(ArrowColumn column, String vector, String index) {
+        if (column.kind == ArrowKind.STRUCT) {
+            return getReadMethod(column.structClass) + "(" + vector + ", " + index + ")";
+        }
+        String value = column.kind.fromVectorValue(vector, index, column.typeText);
+        if (column.primitive || column.kind.nullSafeRead) {
+            return value;
+        }
+        return vector + ".isNull(" + index + ") ? null : " + value;
+    }
+
+    /**
+     * 生成 Schema 字段列表方法
+     *
+     * @param name 類名（輔助方法名）
+     * @param columns 列
+     * @return 代碼
+     */
+    @NotNull
+    private String generateFieldsMethod(String name, List<ArrowColumn> columns) {
+        StringBuilder code = new StringBuilder();
+        code.append("    private static List<Field> ").append(getFieldsMethod(name)).append("() {\n");
+        code.append("        return Arrays.asList(");
+        for (int i = 0; i < columns.size(); i++) {
+            code.append(i == 0 ? "\n" : ",\n");
+            code.append("                ").append(getFieldExpression(columns.get(i).name, columns.get(i)));
+        }
+        code.append(");\n");
+        code.append("    }\n");
+        return code.toString();
+    }
+
+    /**
+     * 單個 Schema 字段的表達式
+     *
+     * @param name 字段名
+     * @param column 列
+     * @return 表達式
+     */
+    @NotNull
+    private String getFieldExpression(String name, ArrowColumn column) {
+        String quotedName = "\"" + name + "\"";
+        String fieldType = (column.primitive ? "FieldType.notNullable(" : "FieldType.nullable(")
+                + column.getArrowType() + ")";
+        String children;
+        if (column.kind == ArrowKind.STRUCT) {
+            children = getFieldsMethod(structNames.get(column.structClass)) + "()";
+        } else if (column.kind == ArrowKind.LIST) {
+            children = "Collections.singletonList(" + getFieldExpression("item", column.element) + ")";
+        } else {
+            children = "null";
+        }
+        return "new Field(" + quotedName + ", " + fieldType + ", " + children + ")";
+    }
+
+    /**
+     * 獲取類的可映射列
+     *
+     * @param psiClass 類
+     * @param path 從根到當前類的路徑，用於跳過循環引用的字段
+     * @return 列
+     */
+    @NotNull
+    private List<ArrowColumn> getColumns(PsiClass psiClass, List<PsiClass> path) {
+        List<ArrowColumn> columns = new ArrayList<>();
+        for (PsiField field : PsiUtils.getReadWriteFields(psiClass)) {
+            ArrowColumn column = createColumn(field.getName(), field.getType(), field, path);
+            if (column == null) {
+                continue;
+            }
+            column.getterName = PsiUtils.getGetterMethodName(psiClass, field);
+            column.setterName = "set" + StringUtils.capitalize(field.getName());
+            columns.add(column);
+        }
+        return columns;
+    }
+
+    /**
+     * 按類型創建列
+     *
+     * @param name 字段名
+     * @param type 類型
+     * @param field 字段，集合元素為空
+     * @param path 從根到當前類的路徑
+     * @return 列，不支持的類型（如嵌套集合、Map、循環引用）返回 null
+     */
+    @Nullable
+    private ArrowColumn createColumn(String name, PsiType type, @Nullable PsiField field, List<PsiClass> path) {
+        ArrowKind scalarKind = getScalarKind(type);
+        if (scalarKind != null) {
+            ArrowColumn column = new ArrowColumn(name, scalarKind, type);
+            if (scalarKind == ArrowKind.DECIMAL) {
+                column.scale = getDecimalScale(field);
+            }
+            return column;
+        }
+
+        // 按擦除後的集合類判斷，避免 List<Settings> 之類的類型參數影響結果
+        PsiClass collectionClass = PsiUtil.resolveClassInClassTypeOnly(type);
+        if (collectionClass != null && COLLECTION_CLASSES.contains(collectionClass.getQualifiedName())) {
+            PsiType elementType = PsiUtil.extractIterableTypeParameter(type, false);
+            ArrowColumn element = elementType == null ? null : createColumn(name + "Item", elementType, null, path);
+            if (element == null || element.kind == ArrowKind.LIST) {
+                return null;
+            }
+            ArrowColumn column = new ArrowColumn(name, ArrowKind.LIST, type);
+            column.element = element;
+            boolean set = InheritanceUtil.isInheritor(collectionClass, CommonClassNames.JAVA_UTIL_SET);
+            column.collectionImplementation = set ? "java.util.LinkedHashSet" : "java.util.ArrayList";
+            return column;
+        }
+
+        PsiClass structClass = getStructClass(type);
+        if (structClass == null || path.contains(structClass)) {
+            return null;
+        }
+        if (!structs.containsKey(structClass)) {
+            path.add(structClass);
+            List<ArrowColumn> columns = getColumns(structClass, path);
+            path.remove(path.size() - 1);
+            if (columns.isEmpty()) {
+                return null;
+            }
+            structNames.put(structClass, getUniqueStructName(structClass));
+            structs.put(structClass, columns);
+        }
+        ArrowColumn column = new ArrowColumn(name, ArrowKind.STRUCT, type);
+        column.structClass = structClass;
+        return column;
+    }
+
+    /**
+     * 獲取標量類型
+     *
+     * @param type 類型
+     * @return 標量類型，非標量返回 null
+     */
+    @Nullable
+    private static ArrowKind getScalarKind(PsiType type) {
+        PsiType unboxedType = PsiPrimitiveType.getOptionallyUnboxedType(type);
+        String typeText = unboxedType != null ? unboxedType.getCanonicalText() : type.getCanonicalText();
+        if (PsiUtils.isEnumType(type)) {
+            return ArrowKind.ENUM;
+        }
+        switch (typeText) {
+            case "int":
+                return ArrowKind.INT;
+            case "long":
+                return ArrowKind.BIGINT;
+            case "short":
+                return ArrowKind.SMALLINT;
+            case "byte":
+                return ArrowKind.TINYINT;
+            case "char":
+                return ArrowKind.UINT2;
+            case "float":
+                return ArrowKind.FLOAT4;
+            case "double":
+                return ArrowKind.FLOAT8;
+            case "boolean":
+                return ArrowKind.BIT;
+            case "java.lang.String":
+                return ArrowKind.UTF8;
+            case "java.math.BigDecimal":
+                return ArrowKind.DECIMAL;
+            case "byte[]":
+                return ArrowKind.BINARY;
+            case "java.time.LocalDate":
+                return ArrowKind.DATE_DAY;
+            case "java.time.LocalDateTime":
+                return ArrowKind.TIMESTAMP_MICRO;
+            case "java.time.Instant":
+                return ArrowKind.TIMESTAMP_MICRO_UTC;
+            case "java.util.Date":
+                return ArrowKind.TIMESTAMP_MILLI;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 解析可作為 struct 的自定義類：非核心類、非枚舉、可實例化
+     *
+     * @param type 類型
+     * @return 類，不可作為 struct 時返回 null
+     */
+    @Nullable
+    private static PsiClass getStructClass(PsiType type) {
+        if (!(type instanceof PsiClassType)) {
+            return null;
+        }
+        PsiClass resolvedClass = ((PsiClassType) type).resolve();
+        if (resolvedClass == null || resolvedClass.getQualifiedName() == null || resolvedClass.isEnum()
+                || resolvedClass.isInterface() || resolvedClass.hasModifierProperty(PsiModifier.ABSTRACT)) {
+            return null;
+        }
+        String qualifiedName = resolvedClass.getQualifiedName();
+        if (qualifiedName.startsWith("java.") || qualifiedName.startsWith("javax.")
+                || qualifiedName.startsWith("kotlin.")) {
+            return null;
+        }
+        return resolvedClass;
+    }
+
+    /**
+     * BigDecimal 列的小數位數，取 @Digits(fraction)
+     *
+     * @param field 字段，可為空
+     * @return 小數位數
+     */
+    private static int getDecimalScale(@Nullable PsiField field) {
+        if (field == null) {
+            return DEFAULT_DECIMAL_SCALE;
+        }
+        PsiAnnotation digits = AnnotationUtil.findAnnotation(field, DIGITS_JAVAX, DIGITS_JAKARTA);
+        Long fraction = digits == null ? null : AnnotationUtil.getLongAttributeValue(digits, "fraction");
+        return fraction == null ? DEFAULT_DECIMAL_SCALE : fraction.intValue();
+    }
+
+    /**
+     * 為嵌套類分配輔助方法名，不同包中的同名類加序號區分
+     *
+     * @param structClass 嵌套類
+     * @return 名稱
+     */
+    @NotNull
+    private String getUniqueStructName(PsiClass structClass) {
+        Set<String> usedNames = new HashSet<>(structNames.values());
+        usedNames.add(ROW_NAME);
+        String name = structClass.getName();
+        int suffix = 2;
+        while (usedNames.contains(name)) {
+            name = structClass.getName() + suffix++;
+        }
+        return name;
+    }
+
+    /**
+     * 獲取嵌套類的寫出方法名
+     *
+     * @param structClass 嵌套類
+     * @return 方法名
+     */
+    private String getWriteMethod(PsiClass structClass) {
+        return "write" + structNames.get(structClass);
+    }
+
+    /**
+     * 獲取嵌套類的讀取方法名
+     *
+     * @param structClass 嵌套類
+     * @return 方法名
+     */
+    private String getReadMethod(PsiClass structClass) {
+        return "read" + structNames.get(structClass);
+    }
+
+    /**
+     * 獲取返回子字段定義列表的方法名
+     *
+     * @param name 頂層行名或嵌套類的輔助方法名
+     * @return 方法名
+     */
+    private static String getFieldsMethod(String name) {
+        return StringUtils.uncapitalize(name) + "Fields";
+    }
+
+    /**
+     * Arrow 向量類型映射
+     */
+    private enum ArrowKind {
+        INT("IntVector", "new ArrowType.Int(32, true)", false),
+        BIGINT("BigIntVector", "new ArrowType.Int(64, true)", false),
+        SMALLINT("SmallIntVector", "new ArrowType.Int(16, true)", false),
+        TINYINT("TinyIntVector", "new ArrowType.Int(8, true)", false),
+        UINT2("UInt2Vector", "new ArrowType.Int(16, false)", false),
+        FLOAT4("Float4Vector", "new ArrowType.FloatingPoint(org.apache.arrow.vector.types.FloatingPointPrecision.SINGLE)", false),
+        FLOAT8("Float8Vector", "new ArrowType.FloatingPoint(org.apache.arrow.vector.types.FloatingPointPrecision.DOUBLE)", false),
+        BIT("BitVector", "ArrowType.Bool.INSTANCE", false),
+        UTF8("VarCharVector", "ArrowType.Utf8.INSTANCE", false),
+        ENUM("VarCharVector", "ArrowType.Utf8.INSTANCE", false),
+        DECIMAL("DecimalVector", null, true),
+        BINARY("VarBinaryVector", "ArrowType.Binary.INSTANCE", true),
+        DATE_DAY("DateDayVector", "new ArrowType.Date(org.apache.arrow.vector.types.DateUnit.DAY)", false),
+        TIMESTAMP_MICRO("TimeStampMicroVector",
+                "new ArrowType.Timestamp(org.apache.arrow.vector.types.TimeUnit.MICROSECOND, null)", true),
+        TIMESTAMP_MICRO_UTC("TimeStampMicroTZVector",
+                "new ArrowType.Timestamp(org.apache.arrow.vector.types.TimeUnit.MICROSECOND, \"UTC\")", false),
+        TIMESTAMP_MILLI("TimeStampMilliVector",
+                "new ArrowType.Timestamp(org.apache.arrow.vector.types.TimeUnit.MILLISECOND, null)", false),
+        STRUCT("complex.StructVector", "ArrowType.Struct.INSTANCE", true),
+        LIST("complex.ListVector", "ArrowType.List.INSTANCE", true);
+
+        /**
+         * 向量類名（相對 org.apache.arrow.vector 包）
+         */
+        private final String vectorClass;
+
+        /**
+         * ArrowType 表達式
+         */
+        private final String arrowType;
+
+        /**
+         * getObject 是否已對 null 安全，無需先判斷 isNull
+         */
+        private final boolean nullSafeRead;
+
+        ArrowKind(String vectorClass, String arrowType, boolean nullSafeRead) {
+            this.vectorClass = vectorClass;
+            this.arrowType = arrowType;
+            this.nullSafeRead = nullSafeRead;
+        }
+
+        /**
+         * 寫入向量的值表達式
+         *
+         * @param value 非 null 的值
+         * @param vector 向量變量
+         * @return 表達式
+         */
+        String toVectorValue(String value, String vector) {
+            switch (this) {
+                case BIT:
+                    return value + " ? 1 : 0";
+                case UTF8:
+                    return value + ".getBytes(StandardCharsets.UTF_8)";
+                case ENUM:
+                    return value + ".name().getBytes(StandardCharsets.UTF_8)";
+                case DECIMAL:
+                    return value + ".setScale(" + vector + ".getScale(), java.math.RoundingMode.HALF_UP)";
+                case DATE_DAY:
+                    return "Math.toIntExact(" + value + ".toEpochDay())";
+                case TIMESTAMP_MICRO:
+                    return value + ".toEpochSecond(java.time.ZoneOffset.UTC) * 1_000_000L + " + value
+                            + ".getNano() / 1_000";
+                case TIMESTAMP_MICRO_UTC:
+                    return value + ".getEpochSecond() * 1_000_000L + " + value + ".getNano() / 1_000";
+                case TIMESTAMP_MILLI:
+                    return value + ".getTime()";
+                default:
+                    return value;
+            }
+        }
+
+        /**
+         * 從向量讀取的值表達式（不含 null 判斷）
+         *
+         * @param vector 向量變量
+         * @param index 行號表達式
+         * @param typeText 字段類型
+         * @return 表達式
+         */
+        String fromVectorValue(String vector, String index, String typeText) {
+            String get = vector + ".get(" + index + ")";
+            switch (this) {
+                case BIT:
+                    return get + " != 0";
+                case UTF8:
+                    return "new String(" + get + ", StandardCharsets.UTF_8)";
+                case ENUM:
+                    return typeText + ".valueOf(new String(" + get + ", StandardCharsets.UTF_8))";
+                case DECIMAL:
+                case BINARY:
+                case TIMESTAMP_MICRO:
+                    return vector + ".getObject(" + index + ")";
+                case DATE_DAY:
+                    return "java.time.LocalDate.ofEpochDay(" + get + ")";
+                case TIMESTAMP_MICRO_UTC:
+                    return "java.time.Instant.ofEpochSecond(Math.floorDiv(" + get + ", 1_000_000L), Math.floorMod("
+                            + get + ", 1_000_000L) * 1_000)";
+                case TIMESTAMP_MILLI:
+                    return "new java.util.Date(" + get + ")";
+                default:
+                    return get;
+            }
+        }
+    }
+
+    /**
+     * 列定義
+     */
+    private static class ArrowColumn {
+
+        /**
+         * 字段名
+         */
+        private final String name;
+
+        /**
+         * 向量類型
+         */
+        private final ArrowKind kind;
+
+        /**
+         * 字段類型文本
+         */
+        private final String typeText;
+
+        /**
+         * 是否為原始類型
+         */
+        private final boolean primitive;
+
+        /**
+         * Getter 方法名，集合元素為空
+         */
+        private String getterName;
+
+        /**
+         * Setter 方法名，集合元素為空
+         */
+        private String setterName;
+
+        /**
+         * BigDecimal 的小數位數
+         */
+        private int scale;
+
+        /**
+         * struct 列對應的類
+         */
+        private PsiClass structClass;
+
+        /**
+         * list 列的元素
+         */
+        private ArrowColumn element;
+
+        /**
+         * list 列讀取時使用的集合實現類
+         */
+        private String collectionImplementation;
+
+        /**
+         * 構造方法
+         *
+         * @param name 字段名
+         * @param kind 向量類型
+         * @param type 字段類型
+         */
+        ArrowColumn(String name, ArrowKind kind, PsiType type) {
+            this.name = name;
+            this.kind = kind;
+            this.typeText = type.getCanonicalText();
+            this.primitive = type instanceof PsiPrimitiveType;
+        }
+
+        /**
+         * 向量類全限定名
+         *
+         * @return 類名
+         */
+        String getVectorClass() {
+            return "org.apache.arrow.vector." + kind.vectorClass;
+        }
+
+        /**
+         * ArrowType 表達式
+         *
+         * @return 表達式
+         */
+        String getArrowType() {
+            return kind == ArrowKind.DECIMAL ? "new ArrowType.Decimal(38, " + scale + ", 128)" : kind.arrowType;
+        }
+    }
+}
@@ -0,0 +1,487 @@
+package com.yanchen.plugin.objecthelper.generator.disruptor;
+
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.CommonClassNames;
+import com.intellij.psi.PsiArrayType;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiClassType;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiModifier;
+import com.intellij.psi.PsiPrimitiveType;
+import com.intellij.psi.PsiType;
+import com.intellij.psi.PsiTypeParameter;
+import com.intellij.psi.PsiTypes;
+import com.intellij.psi.PsiWildcardType;
+import com.intellij.psi.util.PsiUtilCore;
+import com.intellij.psi.util.TypeConversionUtil;
+import com.yanchen.plugin.objecthelper.common.util.PsiUtils;
+import com.yanchen.plugin.objecthelper.common.util.StringUtils;
+import com.yanchen.plugin.objecthelper.diagnostics.GenerationRun;
+import com.yanchen.plugin.objecthelper.generator.Generator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * LMAX Disruptor 事件類生成器
+ * 為 DTO 生成預分配的可變事件類，以及 EventFactory 和 EventTranslatorOneArg 實現。
+ * 翻譯器按複製到已有對象的方式把 DTO 字段寫入環形緩衝區中的事件，不分配新對象：
+ * 包裝類型拆為原始值加存在標記，字符串寫入預分配的 StringBuilder，時間類型拆為數值，
+ * 嵌套對象遞歸展平為帶前綴的字段，事件不持有 DTO 對象圖的引用；無法展平的字段保留引用並由 clear() 釋放
+ */
+public class DisruptorEventGenerator implements Generator {
+
+    /**
+     * 生成類名後綴
+     */
+    public static final String CLASS_NAME_SUFFIX = "Event";
+
+    /**
+     * 嵌套對象最大展平深度
+     */
+    private static final int MAX_FLATTEN_DEPTH = 3;
+
+    /**
+     * DTO 類
+     */
+    private final PsiClass psiClass;
+
+    /**
+     * 已使用的事件字段名
+     */
+    private final Set<String> usedNames = new HashSet<>();
+
+    /**
+     * 字段聲明
+     */
+    private final StringBuilder declarations = new StringBuilder();
+
+    /**
+     * 訪問方法
+     */
+    private final StringBuilder accessors = new StringBuilder();
+
+    /**
+     * 獲取 DisruptorEventGenerator 實例
+     *
+     * @param psiClass DTO 類
+     * @return 生成器實例
+     */
+    public static Generator getInstance(PsiClass psiClass) {
+        return new DisruptorEventGenerator(psiClass);
+    }
+
+    /**
+     * 構造方法
+     *
+     * @param psiClass DTO 類
+     */
+    private DisruptorEventGenerator(PsiClass psiClass) {
+        this.psiClass = psiClass;
+    }
+
+    /**
+     * 生成事件類，並記錄耗時和計數供診斷
+     *
+     * @return 事件類代碼
+     */
+    @Override
+    public String generate() {
+        return GenerationRun.record("disruptor", psiClass == null ? null : psiClass.getQualifiedName(),
+                this::doGenerate);
+    }
+
+    /**
+     * 生成事件類
+     *
+     * @return 事件類代碼
+     */
+    private String doGenerate() {
+        if (psiClass == null || psiClass.getName() == null || psiClass.getQualifiedName() == null) {
+            return null;
+        }
+        usedNames.clear();
+        declarations.setLength(0);
+        accessors.setLength(0);
+
+        String dtoName = psiClass.getQualifiedName();
+        String eventName = psiClass.getName() + CLASS_NAME_SUFFIX;
+        StringBuilder copy = new StringBuilder();
+        List<String> path = new ArrayList<>();
+        path.add(dtoName);
+        List<String> clears = walk(psiClass, "", "source", "        ", copy, path);
+
+        StringBuilder code = new StringBuilder();
+        String packageName = PsiUtils.getPackageName(psiClass);
+        if (StringUtils.isNotEmpty(packageName)) {
+            code.append("package ").append(packageName).append(";\n\n");
+        }
+        code.append("import com.lmax.disruptor.EventFactory;\n");
+        code.append("import com.lmax.disruptor.EventTranslatorOneArg;\n\n");
+
+        code.append("/**\n");
+        code.append(" * ").append(psiClass.getName()).append(" 的 Disruptor 事件，由環形緩衝區預分配並重複使用\n");
+        code.append(" * 發布：ringBuffer.publishEvent(").append(eventName).append(".TRANSLATOR, dto)\n");
+        code.append(" */\n");
+        code.append("public final class ").append(eventName).append(" {\n\n");
+        code.append("    public static final EventFactory<").append(eventName).append("> FACTORY = new Factory();\n\n");
+        code.append("    public static final EventTranslatorOneArg<").append(eventName).append(", ").append(dtoName)
+                .append("> TRANSLATOR = new Translator();\n\n");
+        code.append(declarations);
+
+        code.append("    /**\n");
+        code.append("     * 將 DTO 字段複製到本事件，覆蓋上一次發布留下的值\n");
+        code.append("     */\n");
+        code.append("    public void copyFrom(").append(dtoName).append(" source) {\n");
+        code.append("        if (source == null) {\n");
+        code.append("            clear();\n");
+        code.append("            return;\n");
+        code.append("        }\n");
+        code.append(copy);
+        code.append("    }\n\n");
+
+        code.append("    /**\n");
+        code.append("     * 恢復默認值並釋放保留的引用，可在事件處理完成後調用\n");
+        code.append("     */\n");
+        code.append("    public void clear() {\n");
+        for (String clear : clears) {
+            code.append("        ").append(clear).append("\n");
+        }
+        code.append("    }\n\n");
+
+        code.append(accessors);
+
+        code.append("    public static final class Factory implements EventFactory<").append(eventName).append("> {\n\n");
+        code.append("        @Override\n");
+        code.append("        public ").append(eventName).append(" newInstance() {\n");
+        code.append("            return new ").append(eventName).append("();\n");
+        code.append("        }\n");
+        code.append("    }\n\n");
+
+        code.append("    public static final class Translator implements EventTranslatorOneArg<").append(eventName)
+                .append(", ").append(dtoName).append("> {\n\n");
+        code.append("        @Override\n");
+        code.append("        public void translateTo(").append(eventName).append(" event, long sequence, ")
+                .append(dtoName).append(" source) {\n");
+        code.append("            event.copyFrom(source);\n");
+        code.append("        }\n");
+        code.append("    }\n");
+        code.append("}\n");
+        return code.toString();
+    }
+
+    /**
+     * 遍歷類的可讀字段，生成事件字段、複製語句和訪問方法
+     *
+     * @param currentClass 當前類
+     * @param prefix 字段名前綴，頂層為空
+     * @param sourceName 當前對象的變量名
+     * @param indent 複製語句縮進
+     * @param copy 複製語句
+     * @param path 從根到當前類的類名，用於跳過循環引用
+     * @return 本層生成字段的重置語句（不含縮進）
+     */
+    @NotNull
+    private List<String> walk(PsiClass currentClass, String prefix, String sourceName, String indent,
+                              StringBuilder copy, List<String> path) {
+        List<String> clears = new ArrayList<>();
+        for (PsiField field : PsiUtils.getAllFields(currentClass)) {
+            if (field.hasModifierProperty(PsiModifier.STATIC)
+                    || !PsiUtils.hasGetterMethod(currentClass, field.getName())) {
+                continue;
+            }
+            String name = getUniqueName(prefix.isEmpty() ? field.getName()
+                    : prefix + StringUtils.capitalize(field.getName()));
+            String getterCall = sourceName + "." + PsiUtils.getGetterMethodName(currentClass, field) + "()";
+            // 事件類不是泛型類，引用類型參數的字段按擦除後的類型處理
+            PsiType type = field.getType();
+            appendField(mentionsTypeParameter(type) ? TypeConversionUtil.erasure(type) : type, name, getterCall,
+                    indent, copy, clears, path);
+        }
+        return clears;
+    }
+
+    /**
+     * 判斷類型是否引用了類型參數，如 T、List&lt;T&gt;、T[]
+     *
+     * @param type 類型
+     * @return 是否引用
+     */
+    private static boolean mentionsTypeParameter(@Nullable PsiType type) {
+        if (type instanceof PsiArrayType) {
+            return mentionsTypeParameter(((PsiArrayType) type).getComponentType());
+        }
+        if (type instanceof PsiWildcardType) {
+            return mentionsTypeParameter(((PsiWildcardType) type).getBound());
+        }
+        if (!(type instanceof PsiClassType)) {
+            return false;
+        }
+        if (((PsiClassType) type).resolve() instanceof PsiTypeParameter) {
+            return true;
+        }
+        for (PsiType parameter : ((PsiClassType) type).getParameters()) {
+            if (mentionsTypeParameter(parameter)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 按類型生成單個 DTO 字段對應的事件字段
+     *
+     * @param type 字段類型
+     * @param name 事件字段名
+     * @param getterCall 取值表達式
+     * @param indent 複製語句縮進
+     * @param copy 複製語句
+     * @param clears 重置語句
+     * @param path 從根到當前類的類名
+     */
+    private void appendField(PsiType type, String name, String getterCall, String indent, StringBuilder copy,
+                             List<String> clears, List<String> path) {
+        if (type instanceof PsiPrimitiveType) {
+            String typeText = type.getCanonicalText();
+            declare(typeText, name, null);
+            accessor(typeText, name, name);
+            copy.append(indent).append("this.").append(name).append(" = ").append(getterCall).append(";\n");
+            clears.add("this." + name + " = " + getDefaultValue(type) + ";");
+            return;
+        }
+
+        String typeText = type.getCanonicalText();
+        String value = name + "Value";
+        PsiPrimitiveType unboxedType = PsiPrimitiveType.getUnboxedType(type);
+        if (unboxedType != null) {
+            // 包裝類型拆為原始值和存在標記
+            declare(unboxedType.getCanonicalText(), name, null);
+            accessor(unboxedType.getCanonicalText(), name, name);
+            String present = declarePresent(name);
+            copy.append(indent).append(typeText).append(" ").append(value).append(" = ").append(getterCall).append(";\n");
+            copy.append(indent).append("this.").append(present).append(" = ").append(value).append(" != null;\n");
+            copy.append(indent).append("this.").append(name).append(" = ").append(value).append(" != null ? ")
+                    .append(value).append(" : ").append(getDefaultValue(unboxedType)).append(";\n");
+            clears.add("this." + name + " = " + getDefaultValue(unboxedType) + ";");
+            clears.add("this." + present + " = false;");
+            return;
+        }
+
+        String[][] temporalParts = getTemporalParts(typeText, value);
+        if (temporalParts != null) {
+            // 時間類型拆為數值
+            for (String[] part : temporalParts) {
+                part[1] = getUniqueName(name + part[1]);
+                declare(part[0], part[1], null);
+                accessor(part[0], part[1], part[1]);
+            }
+            String present = declarePresent(name);
+            copy.append(indent).append(typeText).append(" ").append(value).append(" = ").append(getterCall).append(";\n");
+            copy.append(indent).append("this.").append(present).append(" = ").append(value).append(" != null;\n");
+            for (String[] part : temporalParts) {
+                copy.append(indent).append("this.").append(part[1]).append(" = ").append(value)
+                        .append(" != null ? ").append(part[2]).append(" : 0;\n");
+                clears.add("this." + part[1] + " = 0;");
+            }
+            clears.add("this." + present + " = false;");
+            return;
+        }
+
+        if (CommonClassNames.JAVA_LANG_STRING.equals(typeText)) {
+            // 字符串寫入預分配的 StringBuilder，不保留 DTO 中的字符串引用
+            declare("StringBuilder", name, "new StringBuilder()");
+            accessor("CharSequence", name, name);
+            String present = declarePresent(name);
+            copy.append(indent).append("String ").append(value).append(" = ").append(getterCall).append(";\n");
+            copy.append(indent).append("this.").append(name).append(".setLength(0);\n");
+            copy.append(indent).append("this.").append(present).append(" = ").append(value).append(" != null;\n");
+            copy.append(indent).append("if (").append(value).append(" != null) {\n");
+            copy.append(indent).append("    this.").append(name).append(".append(").append(value).append(");\n");
+            copy.append(indent).append("}\n");
+            clears.add("this." + name + ".setLength(0);");
+            clears.add("this." + present + " = false;");
+            return;
+        }
+
+        PsiClass nestedClass = getFlattenableClass(type, path);
+        if (nestedClass != null) {
+            // 嵌套對象展平為帶前綴的字段
+            String present = declarePresent(name);
+            copy.append(indent).append(typeText).append(" ").append(value).append(" = ").append(getterCall).append(";\n");
+            copy.append(indent).append("this.").append(present).append(" = ").append(value).append(" != null;\n");
+            copy.append(indent).append("if (").append(value).append(" != null) {\n");
+            path.add(nestedClass.getQualifiedName());
+            List<String> nestedClears = walk(nestedClass, name, value, indent + "    ", copy, path);
+            path.remove(path.size() - 1);
+            copy.append(indent).append("} else {\n");
+            for (String clear : nestedClears) {
+                copy.append(indent).append("    ").append(clear).append("\n");
+            }
+            copy.append(indent).append("}\n");
+            clears.add("this." + present + " = false;");
+            clears.addAll(nestedClears);
+            return;
+        }
+
+        // 枚舉常量不會被回收；集合、數組等無法展平的類型保留引用
+        if (!PsiUtils.isEnumType(type)) {
+            declarations.append("    // ").append(name).append(" 無法展平，保留引用，處理完事件後調用 clear() 釋放\n");
+        }
+        declare(typeText, name, null);
+        accessor(typeText, name, name);
+        copy.append(indent).append("this.").append(name).append(" = ").append(getterCall).append(";\n");
+        clears.add("this." + name + " = null;");
+    }
+
+    /**
+     * 時間類型拆分的數值字段
+     *
+     * @param typeText 類型
+     * @param value 取值變量
+     * @return 每項為 {類型, 字段名後綴, 取值表達式}，字段名後綴由調用方替換為完整字段名，非時間類型返回 null
+     */
+    @Nullable
+    private static String[][] getTemporalParts(String typeText, String value) {
+        switch (typeText) {
+            case "java.time.Instant":
+                return new String[][]{
+                        {"long", "EpochSecond", value + ".getEpochSecond()"},
+                        {"int", "Nano", value + ".getNano()"}};
+            case "java.time.LocalDateTime":
+                return new String[][]{
+                        {"long", "EpochSecond", value + ".toEpochSecond(java.time.ZoneOffset.UTC)"},
+                        {"int", "Nano", value + ".getNano()"}};
+            case "java.time.LocalDate":
+                return new String[][]{{"long", "EpochDay", value + ".toEpochDay()"}};
+            case "java.time.LocalTime":
+                return new String[][]{{"long", "NanoOfDay", value + ".toNanoOfDay()"}};
+            case "java.time.Duration":
+                return new String[][]{
+                        {"long", "Seconds", value + ".getSeconds()"},
+                        {"int", "Nano", value + ".getNano()"}};
+            case "java.util.Date":
+                return new String[][]{{"long", "EpochMilli", value + ".getTime()"}};
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 判斷類型是否為可展平的嵌套類：項目源碼中的具體類，未超過展平深度且不構成循環；
+     * 依賴庫中的類無法確認 getter 與字段對應，保留引用
+     *
+     * @param type 類型
+     * @param path 從根到當前類的類名
+     * @return 嵌套類，不可展平時返回 null
+     */
+    @Nullable
+    private static PsiClass getFlattenableClass(PsiType type, List<String> path) {
+        if (!(type instanceof PsiClassType) || path.size() > MAX_FLATTEN_DEPTH) {
+            return null;
+        }
+        PsiClass resolvedClass = ((PsiClassType) type).resolve();
+        if (resolvedClass == null || resolvedClass instanceof PsiTypeParameter || resolvedClass.isEnum()
+                || resolvedClass.isInterface() || resolvedClass.hasModifierProperty(PsiModifier.ABSTRACT)) {
+            return null;
+        }
+        String qualifiedName = resolvedClass.getQualifiedName();
+        if (qualifiedName == null || path.contains(qualifiedName)) {
+            return null;
+        }
+        VirtualFile virtualFile = PsiUtilCore.getVirtualFile(resolvedClass);
+        if (virtualFile == null
+                || !ProjectFileIndex.getInstance(resolvedClass.getProject()).isInSourceContent(virtualFile)) {
+            return null;
+        }
+        return resolvedClass;
+    }
+
+    /**
+     * 添加字段聲明
+     *
+     * @param type 類型
+     * @param name 字段名
+     * @param initializer 初始化表達式，可為空
+     */
+    private void declare(String type, String name, @Nullable String initializer) {
+        declarations.append("    private ").append(initializer != null ? "final " : "").append(type).append(" ")
+                .append(name);
+        if (initializer != null) {
+            declarations.append(" = ").append(initializer);
+        }
+        declarations.append(";\n\n");
+    }
+
+    /**
+     * 添加表示取值是否為 null 的存在標記字段及其訪問方法
+     *
+     * @param name 事件字段名
+     * @return 存在標記字段名
+     */
+    @NotNull
+    private String declarePresent(String name) {
+        String present = getUniqueName(name + "Present");
+        declare("boolean", present, null);
+        accessor("boolean", present, present);
+        return present;
+    }
+
+    /**
+     * 添加訪問方法
+     *
+     * @param type 返回類型
+     * @param name 字段名
+     * @param property 屬性名
+     */
+    private void accessor(String type, String name, String property) {
+        String prefix = "boolean".equals(type) ? "is" : "get";
+        accessors.append("    public ").append(type).append(" ").append(prefix).append(StringUtils.capitalize(property))
+                .append("() {\n");
+        accessors.append("        return ").append(name).append(";\n");
+        accessors.append("    }\n\n");
+    }
+
+    /**
+     * 分配不重複的事件字段名（展平後的名稱可能與頂層字段重名）
+     *
+     * @param name 期望的名稱
+     * @return 名稱
+     */
+    @NotNull
+    private String getUniqueName(String name) {
+        String uniqueName = name;
+        int suffix = 2;
+        while (!usedNames.add(uniqueName)) {
+            uniqueName = name + suffix++;
+        }
+        return uniqueName;
+    }
+
+    /**
+     * 原始類型默認值
+     *
+     * @param type 原始類型
+     * @return 默認值表達式
+     */
+    @NotNull
+    private static String getDefaultValue(PsiType type) {
+        if (PsiTypes.booleanType().equals(type)) {
+            return "false";
+        }
+        if (PsiTypes.charType().equals(type)) {
+            return "'\\u0000'";
+        }
+        if (PsiTypes.byteType().equals(type)) {
+            return "(byte) 0";
+        }
+        if (PsiTypes.shortType().equals(type)) {
+            return "(short) 0";
+        }
+        return "0";
+    }
+}
@@ -0,0 +1,254 @@
+package com.yanchen.plugin.objecthelper.generator.format;
+
+import com.intellij.concurrency.JobLauncher;
+import com.intellij.openapi.progress.ProgressIndicatorProvider;
+import com.intellij.psi.PsiArrayType;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiClassType;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiModifier;
+import com.intellij.psi.PsiType;
+import com.intellij.psi.PsiWildcardType;
+import com.yanchen.plugin.objecthelper.common.util.PsiUtils;
+import com.yanchen.plugin.objecthelper.diagnostics.GenerationRun;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 預解析的類圖
+ * 按層遍歷嵌套類，同一層的類較多時通過 JobLauncher 在讀操作中並發解析字段和字段類型，
+ * 生成器隨後按字段順序串行拼裝輸出，結果與串行解析一致
+ */
+public class ClassGraph {
+
+    /**
+     * 同一層的類少於該數量時串行解析，避免調度開銷
+     */
+    private static final int PARALLEL_THRESHOLD = 16;
+
+    /**
+     * 類到其字段的映射
+     */
+    private final Map<PsiClass, List<PsiField>> fieldsByClass = new ConcurrentHashMap<>();
+
+    /**
+     * 字段到其類型所解析類的映射（只記錄解析成功的字段）
+     */
+    private final Map<PsiField, PsiClass> fieldClasses = new ConcurrentHashMap<>();
+
+    /**
+     * 已解析類型的字段
+     */
+    private final Set<PsiField> resolvedFields = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 是否同時遍歷數組元素類型和泛型參數中的類
+     */
+    private final boolean followTypeArguments;
+
+    /**
+     * 私有構造方法
+     *
+     * @param followTypeArguments 是否遍歷數組元素類型和泛型參數中的類
+     */
+    private ClassGraph(boolean followTypeArguments) {
+        this.followTypeArguments = followTypeArguments;
+    }
+
+    /**
+     * 從根類開始解析整個類圖
+     * 需在讀操作中調用，並發任務同樣在讀操作中執行
+     *
+     * @param rootClass 根類
+     * @return 類圖
+     */
+    @NotNull
+    public static ClassGraph resolve(@NotNull PsiClass rootClass) {
+        return resolve(Collections.singletonList(rootClass), false);
+    }
+
+    /**
+     * 從多個根類開始解析類圖
+     * JSON/XML 生成只需要字段本身的類型；收集可達類型（如 native-image 元數據）時
+     * 還需要遍歷 List&lt;Address&gt;、Address[] 等字段中的元素類型
+     * 需在讀操作中調用，並發任務同樣在讀操作中執行
+     *
+     * @param rootClasses 根類
+     * @param followTypeArguments 是否遍歷數組元素類型和泛型參數中的類
+     * @return 類圖
+     */
+    @NotNull
+    public static ClassGraph resolve(@NotNull Collection<PsiClass> rootClasses, boolean followTypeArguments) {
+        // 並發解析時各線程耗時之和會超過實際耗時，整個解析階段按牆鐘時間計入統計
+        return GenerationRun.resolvePhase(() -> resolveLevels(rootClasses, followTypeArguments));
+    }
+
+    /**
+     * 逐層解析類圖，每層類數達到閾值時並發解析
+     *
+     * @param rootClasses 根類
+     * @param followTypeArguments 是否遍歷數組元素類型和泛型參數中的類
+     * @return 類圖
+     */
+    @NotNull
+    private static ClassGraph resolveLevels(@NotNull Collection<PsiClass> rootClasses, boolean followTypeArguments) {
+        ClassGraph graph = new ClassGraph(followTypeArguments);
+        Set<PsiClass> visited = ConcurrentHashMap.newKeySet();
+        visited.addAll(rootClasses);
+
+        // 並發任務在其他線程中執行，需綁定調用方的生成統計
+        GenerationRun run = GenerationRun.current();
+        List<PsiClass> level = new ArrayList<>(visited);
+        while (!level.isEmpty()) {
+            Set<PsiClass> nextLevel = ConcurrentHashMap.newKeySet();
+            if (level.size() < PARALLEL_THRESHOLD) {
+                for (PsiClass psiClass : level) {
+                    graph.resolveClass(psiClass, visited, nextLevel);
+                }
+            } else {
+                JobLauncher.getInstance().invokeConcurrentlyUnderProgress(level,
+                        ProgressIndicatorProvider.getGlobalProgressIndicator(), psiClass -> {
+                            GenerationRun.runWith(run, () -> graph.resolveClass(psiClass, visited, nextLevel));
+                            return true;
+                        });
+            }
+            level = new ArrayList<>(nextLevel);
+        }
+        return graph;
+    }
+
+    /**
+     * 解析單個類的字段及字段類型，未訪問過的自定義類型加入下一層
+     *
+     * @param psiClass 類
+     * @param visited 已訪問的類
+     * @param nextLevel 下一層的類
+     */
+    private void resolveClass(@NotNull PsiClass psiClass, @NotNull Set<PsiClass> visited,
+                              @NotNull Set<PsiClass> nextLevel) {
+        List<PsiField> fields = PsiUtils.getAllFields(psiClass);
+        fieldsByClass.put(psiClass, fields);
+
+        for (PsiField field : fields) {
+            // 排除靜態字段和常量
+            if (field.hasModifierProperty(PsiModifier.STATIC) ||
+                    field.hasModifierProperty(PsiModifier.FINAL) && field.hasInitializer()) {
+                continue;
+            }
+
+            PsiType fieldType = field.getType();
+            if (followTypeArguments) {
+                addTypeArgumentClasses(fieldType, visited, nextLevel);
+            }
+            if (!(fieldType instanceof PsiClassType) || !resolvedFields.add(field)) {
+                continue;
+            }
+            long start = System.nanoTime();
+            PsiClass resolvedClass = PsiUtils.resolveClass(fieldType);
+            GenerationRun.addResolveTime(System.nanoTime() - start);
+            if (resolvedClass == null) {
+                continue;
+            }
+            fieldClasses.put(field, resolvedClass);
+            addClass(resolvedClass, visited, nextLevel);
+        }
+    }
+
+    /**
+     * 將數組元素類型和泛型參數（含通配符上下界，遞歸處理）中未訪問過的自定義類加入下一層
+     *
+     * @param type 字段類型或類型參數
+     * @param visited 已訪問的類
+     * @param nextLevel 下一層的類
+     */
+    private static void addTypeArgumentClasses(@NotNull PsiType type, @NotNull Set<PsiClass> visited,
+                                               @NotNull Set<PsiClass> nextLevel) {
+        PsiType componentType = type.getDeepComponentType();
+        if (type instanceof PsiArrayType) {
+            addClass(PsiUtils.resolveClass(componentType), visited, nextLevel);
+        }
+        if (!(componentType instanceof PsiClassType)) {
+            return;
+        }
+        for (PsiType parameter : ((PsiClassType) componentType).getParameters()) {
+            PsiType argument = parameter instanceof PsiWildcardType ? ((PsiWildcardType) parameter).getBound() : parameter;
+            if (argument == null) {
+                continue;
+            }
+            addClass(PsiUtils.resolveClass(argument.getDeepComponentType()), visited, nextLevel);
+            addTypeArgumentClasses(argument, visited, nextLevel);
+        }
+    }
+
+    /**
+     * 未訪問過的自定義類加入下一層
+     *
+     * @param psiClass 類，可為空
+     * @param visited 已訪問的類
+     * @param nextLevel 下一層的類
+     */
+    private static void addClass(@Nullable PsiClass psiClass, @NotNull Set<PsiClass> visited,
+                                 @NotNull Set<PsiClass> nextLevel) {
+        if (psiClass != null && !isJavaOrKotlinCoreClass(psiClass.getQualifiedName()) && visited.add(psiClass)) {
+            nextLevel.add(psiClass);
+        }
+    }
+
+    /**
+     * 獲取類圖中所有已解析的類（含根類），順序不固定
+     *
+     * @return 類
+     */
+    @NotNull
+    public Set<PsiClass> getClasses() {
+        return Collections.unmodifiableSet(fieldsByClass.keySet());
+    }
+
+    /**
+     * 獲取類的字段，未預解析的類直接讀取
+     *
+     * @param psiClass 類
+     * @return 字段列表
+     */
+    @NotNull
+    public List<PsiField> getFields(@NotNull PsiClass psiClass) {
+        List<PsiField> fields = fieldsByClass.get(psiClass);
+        return fields != null ? fields : PsiUtils.getAllFields(psiClass);
+    }
+
+    /**
+     * 獲取字段類型解析出的類，未預解析的字段直接解析
+     *
+     * @param field 字段
+     * @param fieldType 字段類型
+     * @return 解析出的類，無法解析時返回 null
+     */
+    @Nullable
+    public PsiClass getFieldClass(@NotNull PsiField field, @NotNull PsiClassType fieldType) {
+        return resolvedFields.contains(field) ? fieldClasses.get(field) : PsiUtils.resolveClass(fieldType);
+    }
+
+    /**
+     * 檢查是否為 Java 或 Kotlin 核心類
+     *
+     * @param qualifiedName 完全限定名
+     * @return 是否為核心類
+     */
+    private static boolean isJavaOrKotlinCoreClass(String qualifiedName) {
+        if (qualifiedName == null) {
+            return false;
+        }
+
+        return qualifiedName.startsWith("java.")
+                || qualifiedName.startsWith("javax.")
+                || qualifiedName.startsWith("kotlin.");
+    }
+}
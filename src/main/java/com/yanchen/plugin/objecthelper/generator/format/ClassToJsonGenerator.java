@@ -2,21 +2,45 @@ package com.yanchen.plugin.objecthelper.generator.format;
 
 import com.intellij.psi.*;
 import com.yanchen.plugin.objecthelper.common.util.PsiUtils;
+import com.yanchen.plugin.objecthelper.common.util.StringUtils;
+import com.yanchen.plugin.objecthelper.diagnostics.GenerationRun;
 import com.yanchen.plugin.objecthelper.generator.Generator;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Java 類轉 JSON 生成器
  */
 public class ClassToJsonGenerator implements Generator {
 
+    /**
+     * 片段緩存中的格式標識
+     */
+    public static final String FORMAT = "json";
+
     /**
      * 目標類
      */
     private final PsiClass psiClass;
     
+    /**
+     * 正在渲染的類，用於截斷循環引用
+     */
+    private final Set<PsiClass> renderingClasses = new HashSet<>();
+    
+    /**
+     * 是否預先並發解析類圖
+     */
+    private final boolean parallelResolve;
+    
+    /**
+     * 預解析的類圖，串行模式或片段緩存全部命中時為 null
+     */
+    private ClassGraph classGraph;
+    
     /**
      * 縮進空格數
      */
@@ -29,48 +53,99 @@ public class ClassToJsonGenerator implements Generator {
      * @return 生成器實例
      */
     public static Generator getInstance(PsiClass psiClass) {
-        return new ClassToJsonGenerator(psiClass);
+        return new ClassToJsonGenerator(psiClass, false);
+    }
+    
+    /**
+     * 獲取 ClassToJsonGenerator 實例
+     *
+     * @param psiClass 目標類
+     * @param parallelResolve 是否預先並發解析類圖
+     * @return 生成器實例
+     */
+    public static Generator getInstance(PsiClass psiClass, boolean parallelResolve) {
+        return new ClassToJsonGenerator(psiClass, parallelResolve);
     }
     
     /**
      * 構造方法
      *
      * @param psiClass 目標類
+     * @param parallelResolve 是否預先並發解析類圖
      */
-    private ClassToJsonGenerator(PsiClass psiClass) {
+    private ClassToJsonGenerator(PsiClass psiClass, boolean parallelResolve) {
         this.psiClass = psiClass;
+        this.parallelResolve = parallelResolve;
     }
 
     /**
-     * 生成 JSON
+     * 生成 JSON，並記錄耗時和計數供診斷
      *
      * @return JSON 字符串
      */
     @Override
     public String generate() {
+        return GenerationRun.record(FORMAT, psiClass == null ? null : psiClass.getQualifiedName(), this::doGenerate);
+    }
+
+    /**
+     * 生成 JSON
+     *
+     * @return JSON 字符串
+     */
+    private String doGenerate() {
         if (psiClass == null) {
             return null;
         }
         
-        return generateClassJson(psiClass, 0);
+        // 類圖在片段緩存未命中時才解析，緩存命中時不做任何解析
+        classGraph = null;
+        return getClassJson(psiClass);
     }
     
     /**
-     * 生成類的 JSON 表示
+     * 獲取類的 JSON 表示（縮進級別 0），優先使用片段緩存
      *
      * @param psiClass 目標類
-     * @param indent 縮進級別
      * @return JSON 字符串
      */
     @NotNull
-    private String generateClassJson(PsiClass psiClass, int indent) {
+    private String getClassJson(PsiClass psiClass) {
+        return FormatFragmentCache.getInstance(psiClass.getProject())
+                .getFragment(psiClass, FORMAT, this::generateClassJson);
+    }
+    
+    /**
+     * 生成類的 JSON 表示（縮進級別 0）
+     *
+     * @param psiClass 目標類
+     * @return JSON 字符串
+     */
+    @NotNull
+    private String generateClassJson(PsiClass psiClass) {
+        resolveClassGraph();
+        renderingClasses.add(psiClass);
+        try {
+            return generateClassFieldsJson(psiClass);
+        } finally {
+            renderingClasses.remove(psiClass);
+        }
+    }
+    
+    /**
+     * 生成類字段的 JSON 對象
+     *
+     * @param psiClass 目標類
+     * @return JSON 字符串
+     */
+    @NotNull
+    private String generateClassFieldsJson(PsiClass psiClass) {
         StringBuilder json = new StringBuilder();
-        String indentStr = getIndentString(indent);
-        String innerIndentStr = getIndentString(indent + 1);
+        String innerIndentStr = getIndentString(1);
         
-        json.append(indentStr).append("{\n");
+        json.append("{\n");
         
-        List<PsiField> fields = PsiUtils.getAllFields(psiClass);
+        List<PsiField> fields = getFields(psiClass);
         for (int i = 0; i < fields.size(); i++) {
             PsiField field = fields.get(i);
             
@@ -86,7 +161,7 @@ public class ClassToJsonGenerator implements Generator {
             json.append(innerIndentStr).append("\"").append(fieldName).append("\": ");
             
             // 根據字段類型生成適當的 JSON 值
-            json.append(generateValueForType(fieldType, indent + 1));
+            json.append(generateValueForType(field, fieldType, 1));
             
             // 如果不是最後一個字段，添加逗號
             if (i < fields.size() - 1) {
@@ -95,19 +170,56 @@ public class ClassToJsonGenerator implements Generator {
             json.append("\n");
         }
         
-        json.append(indentStr).append("}");
+        json.append("}");
         return json.toString();
     }
     
+    /**
+     * 並發模式下首次渲染片段時預先並發解析整個類圖
+     */
+    private void resolveClassGraph() {
+        if (parallelResolve && classGraph == null) {
+            classGraph = ClassGraph.resolve(this.psiClass);
+        }
+    }
+    
+    /**
+     * 獲取類的字段，並發模式下使用預解析結果
+     *
+     * @param psiClass 類
+     * @return 字段列表
+     */
+    @NotNull
+    private List<PsiField> getFields(PsiClass psiClass) {
+        return classGraph != null ? classGraph.getFields(psiClass) : PsiUtils.getAllFields(psiClass);
+    }
+    
+    /**
+     * 解析字段類型對應的類，並發模式下使用預解析結果
+     *
+     * @param field 字段
+     * @param fieldType 字段類型
+     * @return 解析出的類
+     */
+    private PsiClass resolveFieldClass(PsiField field, PsiClassType fieldType) {
+        long start = System.nanoTime();
+        try {
+            return classGraph != null ? classGraph.getFieldClass(field, fieldType) : PsiUtils.resolveClass(fieldType);
+        } finally {
+            GenerationRun.addResolveTime(System.nanoTime() - start);
+        }
+    }
+    
     /**
      * 根據類型生成 JSON 值
      *
+     * @param field 字段
      * @param type 字段類型
      * @param indent 縮進級別
      * @return JSON 值
      */
     @NotNull
-    private String generateValueForType(PsiType type, int indent) {
+    private String generateValueForType(PsiField field, PsiType type, int indent) {
         // 處理原始類型
         if (type.equals(PsiTypes.intType()) || 
                 type.equals(PsiTypes.longType()) ||
@@ -166,13 +278,15 @@ public class ClassToJsonGenerator implements Generator {
         
         // 嘗試獲取自定義類型
         if (type instanceof PsiClassType) {
-            PsiClass resolvedClass = ((PsiClassType) type).resolve();
-            if (resolvedClass != null && !resolvedClass.equals(psiClass)) {
-                // 避免循環引用
-                if (isJavaOrKotlinCoreClass(resolvedClass.getQualifiedName())) {
+            PsiClass resolvedClass = resolveFieldClass(field, (PsiClassType) type);
+            if (resolvedClass != null) {
+                // 避免循環引用，截斷結果依賴渲染路徑，不能緩存
+                if (renderingClasses.contains(resolvedClass)) {
+                    FormatFragmentCache.markUncacheable();
+                } else if (isJavaOrKotlinCoreClass(resolvedClass.getQualifiedName())) {
                     return "{}";
                 } else {
-                    return generateClassJson(resolvedClass, indent);
+                    return StringUtils.indentLines(getClassJson(resolvedClass), getIndentString(indent), true);
                 }
             }
         }
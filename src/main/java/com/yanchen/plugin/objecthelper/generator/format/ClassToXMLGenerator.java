@@ -3,21 +3,49 @@ package com.yanchen.plugin.objecthelper.generator.format;
 import com.intellij.psi.*;
 import com.yanchen.plugin.objecthelper.common.util.PsiUtils;
 import com.yanchen.plugin.objecthelper.common.util.StringUtils;
+import com.yanchen.plugin.objecthelper.diagnostics.GenerationRun;
 import com.yanchen.plugin.objecthelper.generator.Generator;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Java 類轉 XML 生成器
  */
 public class ClassToXMLGenerator implements Generator {
 
+    /**
+     * 片段緩存中的格式標識
+     */
+    public static final String FORMAT = "xml";
+
     /**
      * 目標類
      */
     private final PsiClass psiClass;
     
+    /**
+     * 根節點名稱，為 null 時使用首字母小寫的類名
+     */
+    private final String rootNodeName;
+    
+    /**
+     * 正在渲染的類，用於截斷循環引用
+     */
+    private final Set<PsiClass> renderingClasses = new HashSet<>();
+    
+    /**
+     * 是否預先並發解析類圖
+     */
+    private final boolean parallelResolve;
+    
+    /**
+     * 預解析的類圖，串行模式或片段緩存全部命中時為 null
+     */
+    private ClassGraph classGraph;
+    
     /**
      * 縮進空格數
      */
@@ -30,41 +58,83 @@ public class ClassToXMLGenerator implements Generator {
      * @return 生成器實例
      */
     public static Generator getInstance(PsiClass psiClass) {
-        return new ClassToXMLGenerator(psiClass);
+        return new ClassToXMLGenerator(psiClass, null, false);
+    }
+    
+    /**
+     * 獲取指定根節點名稱的 ClassToXMLGenerator 實例（如以字段名作為子樹根節點）
+     *
+     * @param psiClass 目標類
+     * @param rootNodeName 根節點名稱
+     * @return 生成器實例
+     */
+    public static Generator getInstance(PsiClass psiClass, String rootNodeName) {
+        return new ClassToXMLGenerator(psiClass, rootNodeName, false);
+    }
+    
+    /**
+     * 獲取 ClassToXMLGenerator 實例
+     *
+     * @param psiClass 目標類
+     * @param rootNodeName 根節點名稱，為 null 時使用首字母小寫的類名
+     * @param parallelResolve 是否預先並發解析類圖
+     * @return 生成器實例
+     */
+    public static Generator getInstance(PsiClass psiClass, String rootNodeName, boolean parallelResolve) {
+        return new ClassToXMLGenerator(psiClass, rootNodeName, parallelResolve);
     }
     
     /**
      * 構造方法
      *
      * @param psiClass 目標類
+     * @param rootNodeName 根節點名稱
+     * @param parallelResolve 是否預先並發解析類圖
      */
-    private ClassToXMLGenerator(PsiClass psiClass) {
+    private ClassToXMLGenerator(PsiClass psiClass, String rootNodeName, boolean parallelResolve) {
         this.psiClass = psiClass;
+        this.rootNodeName = rootNodeName;
+        this.parallelResolve = parallelResolve;
     }
 
     /**
-     * 生成 XML
+     * 生成 XML，並記錄耗時和計數供診斷
      *
      * @return XML 字符串
      */
     @Override
     public String generate() {
+        return GenerationRun.record(FORMAT, psiClass == null ? null : psiClass.getQualifiedName(), this::doGenerate);
+    }
+
+    /**
+     * 生成 XML
+     *
+     * @return XML 字符串
+     */
+    private String doGenerate() {
         if (psiClass == null) {
             return null;
         }
         
+        // 類圖在片段緩存未命中時才解析，緩存命中時不做任何解析
+        classGraph = null;
+        
         StringBuilder xml = new StringBuilder();
         xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
         
-        String className = psiClass.getName();
-        if (className == null) {
-            className = "root";
+        String nodeName = rootNodeName;
+        if (StringUtils.isEmpty(nodeName)) {
+            String className = psiClass.getName();
+            if (className == null) {
+                className = "root";
+            }
+            
+            // 將類名轉為小寫，作為 XML 根節點
+            nodeName = StringUtils.uncapitalize(className);
         }
         
-        // 將類名轉為小寫，作為 XML 根節點
-        String rootNodeName = StringUtils.uncapitalize(className);
-        
-        xml.append(generateClassXml(psiClass, rootNodeName, 0));
+        xml.append(generateClassXml(psiClass, nodeName, 0));
         
         return xml.toString();
     }
@@ -81,12 +151,49 @@ public class ClassToXMLGenerator implements Generator {
     private String generateClassXml(PsiClass psiClass, String nodeName, int indent) {
         StringBuilder xml = new StringBuilder();
         String indentStr = getIndentString(indent);
-        String innerIndentStr = getIndentString(indent + 1);
         
         // 開始標籤
         xml.append(indentStr).append("<").append(nodeName).append(">\n");
         
-        List<PsiField> fields = PsiUtils.getAllFields(psiClass);
+        // 字段節點與節點名無關，按類緩存後再縮進
+        String fieldsXml = FormatFragmentCache.getInstance(psiClass.getProject())
+                .getFragment(psiClass, FORMAT, this::renderClassFieldsXml);
+        xml.append(StringUtils.indentLines(fieldsXml, indentStr, false));
+        
+        // 結束標籤
+        xml.append(indentStr).append("</").append(nodeName).append(">\n");
+        
+        return xml.toString();
+    }
+    
+    /**
+     * 生成類字段的 XML 節點，渲染期間記錄當前類以截斷循環引用
+     *
+     * @param psiClass 目標類
+     * @return XML 字符串
+     */
+    @NotNull
+    private String renderClassFieldsXml(PsiClass psiClass) {
+        resolveClassGraph();
+        renderingClasses.add(psiClass);
+        try {
+            return generateClassFieldsXml(psiClass);
+        } finally {
+            renderingClasses.remove(psiClass);
+        }
+    }
+    
+    /**
+     * 生成類字段的 XML 節點（相對類節點縮進一級）
+     *
+     * @param psiClass 目標類
+     * @return XML 字符串
+     */
+    @NotNull
+    private String generateClassFieldsXml(PsiClass psiClass) {
+        StringBuilder xml = new StringBuilder();
+        
+        List<PsiField> fields = getFields(psiClass);
         for (PsiField field : fields) {
             // 排除靜態字段和常量
             if (field.hasModifierProperty(PsiModifier.STATIC) || 
@@ -97,12 +204,9 @@ public class ClassToXMLGenerator implements Generator {
             String fieldName = field.getName();
             PsiType fieldType = field.getType();
             
-            xml.append(generateNodeForField(field, fieldName, fieldType, indent + 1));
+            xml.append(generateNodeForField(field, fieldName, fieldType, 1));
         }
         
-        // 結束標籤
-        xml.append(indentStr).append("</").append(nodeName).append(">\n");
-        
         return xml.toString();
     }
     
@@ -166,10 +270,12 @@ public class ClassToXMLGenerator implements Generator {
         
         // 處理自定義類型
         if (fieldType instanceof PsiClassType) {
-            PsiClass resolvedClass = ((PsiClassType) fieldType).resolve();
-            if (resolvedClass != null && !resolvedClass.equals(psiClass)) {
-                // 避免循環引用
-                if (!isJavaOrKotlinCoreClass(resolvedClass.getQualifiedName())) {
+            PsiClass resolvedClass = resolveFieldClass(field, (PsiClassType) fieldType);
+            if (resolvedClass != null) {
+                // 避免循環引用，截斷結果依賴渲染路徑，不能緩存
+                if (renderingClasses.contains(resolvedClass)) {
+                    FormatFragmentCache.markUncacheable();
+                } else if (!isJavaOrKotlinCoreClass(resolvedClass.getQualifiedName())) {
                     return generateClassXml(resolvedClass, fieldName, indent);
                 }
             }
@@ -183,6 +289,42 @@ public class ClassToXMLGenerator implements Generator {
         return xml.toString();
     }
     
+    /**
+     * 並發模式下首次渲染片段時預先並發解析整個類圖
+     */
+    private void resolveClassGraph() {
+        if (parallelResolve && classGraph == null) {
+            classGraph = ClassGraph.resolve(this.psiClass);
+        }
+    }
+    
+    /**
+     * 獲取類的字段，並發模式下使用預解析結果
+     *
+     * @param psiClass 類
+     * @return 字段列表
+     */
+    @NotNull
+    private List<PsiField> getFields(PsiClass psiClass) {
+        return classGraph != null ? classGraph.getFields(psiClass) : PsiUtils.getAllFields(psiClass);
+    }
+    
+    /**
+     * 解析字段類型對應的類，並發模式下使用預解析結果
+     *
+     * @param field 字段
+     * @param fieldType 字段類型
+     * @return 解析出的類
+     */
+    private PsiClass resolveFieldClass(PsiField field, PsiClassType fieldType) {
+        long start = System.nanoTime();
+        try {
+            return classGraph != null ? classGraph.getFieldClass(field, fieldType) : PsiUtils.resolveClass(fieldType);
+        } finally {
+            GenerationRun.addResolveTime(System.nanoTime() - start);
+        }
+    }
+    
     /**
      * 根據類型生成 XML 值
      *
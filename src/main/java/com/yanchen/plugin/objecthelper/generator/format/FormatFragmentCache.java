@@ -0,0 +1,219 @@
+package com.yanchen.plugin.objecthelper.generator.format;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.CommonClassNames;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.util.InheritanceUtil;
+import com.yanchen.plugin.objecthelper.diagnostics.GenerationRun;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 類格式化片段緩存
+ * 按「格式 + 類全限定名」緩存單個類渲染出的 JSON/XML 片段，並記錄片段所依賴文件的修改戳，
+ * 類、其父類和接口（繼承的字段）或其嵌套類所在文件修改後只重新渲染受影響的片段
+ */
+public class FormatFragmentCache {
+
+    /**
+     * 最大緩存片段數
+     */
+    private static final int MAX_FRAGMENTS = 4096;
+
+    /**
+     * 當前線程正在渲染的片段，用於收集依賴
+     */
+    private static final ThreadLocal<Deque<RenderFrame>> RENDER_FRAMES = ThreadLocal.withInitial(ArrayDeque::new);
+
+    /**
+     * 項目
+     */
+    private final Project project;
+
+    /**
+     * 片段緩存，按訪問順序淘汰
+     */
+    private final Map<String, Fragment> fragments = Collections.synchronizedMap(
+            new LinkedHashMap<String, Fragment>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Fragment> eldest) {
+                    return size() > MAX_FRAGMENTS;
+                }
+            });
+
+    /**
+     * 構造方法
+     *
+     * @param project 項目
+     */
+    public FormatFragmentCache(@NotNull Project project) {
+        this.project = project;
+    }
+
+    /**
+     * 獲取緩存實例
+     *
+     * @param project 項目
+     * @return 緩存實例
+     */
+    public static FormatFragmentCache getInstance(@NotNull Project project) {
+        return project.getService(FormatFragmentCache.class);
+    }
+
+    /**
+     * 獲取類的格式化片段，緩存失效時調用渲染函數重新生成
+     *
+     * @param psiClass 類
+     * @param format 格式標識
+     * @param renderer 渲染函數
+     * @return 片段文本
+     */
+    @NotNull
+    public String getFragment(@NotNull PsiClass psiClass, @NotNull String format,
+                              @NotNull Function<PsiClass, String> renderer) {
+        Deque<RenderFrame> frames = RENDER_FRAMES.get();
+        String key = psiClass.getQualifiedName() == null ? null : format + ":" + psiClass.getQualifiedName();
+
+        if (key != null) {
+            Fragment fragment = fragments.get(key);
+            if (fragment != null && fragment.isValid(PsiManager.getInstance(project))) {
+                if (!frames.isEmpty()) {
+                    frames.peek().fileStamps.putAll(fragment.fileStamps);
+                }
+                GenerationRun.cacheHit();
+                return fragment.text;
+            }
+        }
+        GenerationRun.cacheMiss();
+
+        RenderFrame frame = new RenderFrame();
+        frame.addDependency(psiClass);
+        frames.push(frame);
+        String text;
+        try {
+            text = renderer.apply(psiClass);
+        } finally {
+            frames.pop();
+        }
+
+        // 外層片段同樣依賴本片段的所有文件
+        if (!frames.isEmpty()) {
+            RenderFrame parent = frames.peek();
+            parent.fileStamps.putAll(frame.fileStamps);
+            parent.cacheable &= frame.cacheable;
+        }
+        if (key != null && frame.cacheable) {
+            fragments.put(key, new Fragment(text, frame.fileStamps));
+        }
+        return text;
+    }
+
+    /**
+     * 標記當前正在渲染的所有片段不可緩存
+     * 遇到循環引用被截斷時調用，截斷結果依賴渲染路徑
+     */
+    public static void markUncacheable() {
+        for (RenderFrame frame : RENDER_FRAMES.get()) {
+            frame.cacheable = false;
+        }
+    }
+
+    /**
+     * 清空緩存
+     */
+    public void clear() {
+        fragments.clear();
+    }
+
+    /**
+     * 緩存的片段
+     */
+    private static class Fragment {
+
+        /**
+         * 片段文本
+         */
+        private final String text;
+
+        /**
+         * 依賴文件及其修改戳
+         */
+        private final Map<VirtualFile, Long> fileStamps;
+
+        Fragment(String text, Map<VirtualFile, Long> fileStamps) {
+            this.text = text;
+            this.fileStamps = fileStamps;
+        }
+
+        /**
+         * 判斷依賴文件是否都未修改
+         *
+         * @param psiManager PSI 管理器
+         * @return 是否有效
+         */
+        boolean isValid(PsiManager psiManager) {
+            for (Map.Entry<VirtualFile, Long> entry : fileStamps.entrySet()) {
+                if (!entry.getKey().isValid()) {
+                    return false;
+                }
+                PsiFile psiFile = psiManager.findFile(entry.getKey());
+                if (psiFile == null || psiFile.getModificationStamp() != entry.getValue()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 正在渲染的片段
+     */
+    private static class RenderFrame {
+
+        /**
+         * 依賴文件及其修改戳
+         */
+        private final Map<VirtualFile, Long> fileStamps = new HashMap<>();
+
+        /**
+         * 是否可緩存
+         */
+        private boolean cacheable = true;
+
+        /**
+         * 記錄類及其所有父類、接口所在文件為依賴，片段包含 getAllFields 返回的繼承字段；
+         * 無對應文件的類（如內存中的類）不可緩存
+         *
+         * @param psiClass 類
+         */
+        void addDependency(PsiClass psiClass) {
+            Set<PsiClass> classes = new LinkedHashSet<>();
+            classes.add(psiClass);
+            InheritanceUtil.getSuperClasses(psiClass, classes, true);
+            for (PsiClass dependency : classes) {
+                if (CommonClassNames.JAVA_LANG_OBJECT.equals(dependency.getQualifiedName())) {
+                    continue;
+                }
+                PsiFile psiFile = dependency.getContainingFile();
+                VirtualFile virtualFile = psiFile == null ? null : psiFile.getVirtualFile();
+                if (virtualFile == null) {
+                    cacheable = false;
+                    return;
+                }
+                fileStamps.put(virtualFile, psiFile.getModificationStamp());
+            }
+        }
+    }
+}
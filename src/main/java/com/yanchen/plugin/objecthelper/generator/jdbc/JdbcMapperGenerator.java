@@ -0,0 +1,526 @@
+package com.yanchen.plugin.objecthelper.generator.jdbc;
+
+import com.intellij.psi.*;
+import com.yanchen.plugin.objecthelper.common.util.PsiUtils;
+import com.yanchen.plugin.objecthelper.common.util.StringUtils;
+import com.yanchen.plugin.objecthelper.diagnostics.GenerationRun;
+import com.yanchen.plugin.objecthelper.generator.Generator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * JDBC 映射器生成器
+ * 為實體類生成 ResultSet 到對象的映射方法和 PreparedStatement 批量綁定方法
+ */
+public class JdbcMapperGenerator implements Generator {
+    
+    /**
+     * 生成類名後綴
+     */
+    public static final String CLASS_NAME_SUFFIX = "JdbcMapper";
+    
+    /**
+     * 生成的方法中已使用的參數名和局部變量名，同名字段的局部變量需要改名
+     */
+    private static final Set<String> RESERVED_LOCAL_NAMES = new HashSet<>(Arrays.asList(
+            "resultSet", "indexes", "target", "result", "statement", "rows", "row", "batchSize", "count"));
+    
+    /**
+     * 實體類
+     */
+    private final PsiClass psiClass;
+    
+    /**
+     * 批量提交大小
+     */
+    private final int batchSize;
+    
+    /**
+     * 獲取 JdbcMapperGenerator 實例
+     *
+     * @param psiClass 實體類
+     * @param batchSize 批量提交大小
+     * @return 生成器實例
+     */
+    public static Generator getInstance(PsiClass psiClass, int batchSize) {
+        return new JdbcMapperGenerator(psiClass, batchSize);
+    }
+    
+    /**
+     * 構造方法
+     *
+     * @param psiClass 實體類
+     * @param batchSize 批量提交大小，小於 1 時按 1 處理
+     */
+    private JdbcMapperGenerator(PsiClass psiClass, int batchSize) {
+        this.psiClass = psiClass;
+        this.batchSize = Math.max(1, batchSize);
+    }
+    
+    /**
+     * 生成映射器類，並記錄耗時和計數供診斷
+     *
+     * @return 映射器類代碼
+     */
+    @Override
+    public String generate() {
+        return GenerationRun.record("jdbc", psiClass == null ? null : psiClass.getQualifiedName(), this::doGenerate);
+    }
+
+    /**
+     * 生成映射器類
+     *
+     * @return 映射器類代碼
+     */
+    private String doGenerate() {
+        if (psiClass == null || psiClass.getName() == null) {
+            return null;
+        }
+        
+        String className = psiClass.getName();
+        String mapperName = className + CLASS_NAME_SUFFIX;
+        List<JdbcColumn> columns = getColumns();
+        
+        StringBuilder code = new StringBuilder();
+        String packageName = PsiUtils.getPackageName(psiClass);
+        if (StringUtils.isNotEmpty(packageName)) {
+            code.append("package ").append(packageName).append(";\n\n");
+        }
+        
+        code.append("import java.sql.PreparedStatement;\n");
+        code.append("import java.sql.ResultSet;\n");
+        code.append("import java.sql.ResultSetMetaData;\n");
+        code.append("import java.sql.SQLException;\n");
+        code.append("import java.sql.Types;\n");
+        code.append("import java.util.ArrayList;\n");
+        code.append("import java.util.Collection;\n");
+        code.append("import java.util.HashMap;\n");
+        code.append("import java.util.List;\n");
+        code.append("import java.util.Locale;\n");
+        code.append("import java.util.Map;\n\n");
+        
+        code.append("/**\n");
+        code.append(" * ").append(className).append(" JDBC 映射器\n");
+        code.append(" */\n");
+        code.append("public final class ").append(mapperName).append(" {\n\n");
+        
+        // 表名、列名和插入語句
+        String tableName = StringUtils.camelToUnderline(className);
+        List<String> columnNames = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        for (JdbcColumn column : columns) {
+            columnNames.add(column.columnName);
+            placeholders.add("?");
+        }
+        code.append("    public static final String TABLE_NAME = \"").append(tableName).append("\";\n\n");
+        code.append("    public static final String INSERT_SQL = \"INSERT INTO ").append(tableName)
+                .append(" (").append(String.join(", ", columnNames)).append(") VALUES (")
+                .append(String.join(", ", placeholders)).append(")\";\n\n");
+        code.append("    public static final int DEFAULT_BATCH_SIZE = ").append(batchSize).append(";\n\n");
+        
+        code.append("    private ").append(mapperName).append("() {\n");
+        code.append("    }\n\n");
+        
+        code.append(generateColumnIndexesClass(columns)).append("\n");
+        code.append(generateMapAllMethod(className)).append("\n");
+        code.append(generateMapRowMethod(className, columns)).append("\n");
+        code.append(generateInsertBatchMethods(className)).append("\n");
+        code.append(generateBindMethod(className, columns));
+        
+        code.append("}\n");
+        return code.toString();
+    }
+    
+    /**
+     * 生成列索引緩存類
+     * 結果集元數據只解析一次，逐行映射時按索引取值，避免每行按列名查找
+     *
+     * @param columns 列定義
+     * @return 代碼
+     */
+    @NotNull
+    private String generateColumnIndexesClass(List<JdbcColumn> columns) {
+        StringBuilder code = new StringBuilder();
+        code.append("    /**\n");
+        code.append("     * 列索引緩存，0 表示結果集中不存在該列\n");
+        code.append("     */\n");
+        code.append("    public static final class ColumnIndexes {\n\n");
+        for (JdbcColumn column : columns) {
+            code.append("        private final int ").append(column.fieldName).append(";\n");
+        }
+        code.append("\n");
+        code.append("        public ColumnIndexes(ResultSet resultSet) throws SQLException {\n");
+        code.append("            ResultSetMetaData metaData = resultSet.getMetaData();\n");
+        code.append("            int columnCount = metaData.getColumnCount();\n");
+        code.append("            Map<String, Integer> labels = new HashMap<>(columnCount * 2);\n");
+        code.append("            // 倒序放入，同名列以第一個為準\n");
+        code.append("            for (int i = columnCount; i >= 1; i--) {\n");
+        code.append("                labels.put(metaData.getColumnLabel(i).toLowerCase(Locale.ROOT), i);\n");
+        code.append("            }\n");
+        for (JdbcColumn column : columns) {
+            code.append("            this.").append(column.fieldName).append(" = labels.getOrDefault(\"")
+                    .append(column.columnName).append("\", 0);\n");
+        }
+        code.append("        }\n");
+        code.append("    }\n");
+        return code.toString();
+    }
+    
+    /**
+     * 生成整個結果集映射方法
+     *
+     * @param className 實體類名
+     * @return 代碼
+     */
+    @NotNull
+    private String generateMapAllMethod(String className) {
+        StringBuilder code = new StringBuilder();
+        code.append("    public static List<").append(className).append("> mapAll(ResultSet resultSet) throws SQLException {\n");
+        code.append("        ColumnIndexes indexes = new ColumnIndexes(resultSet);\n");
+        code.append("        List<").append(className).append("> result = new ArrayList<>();\n");
+        code.append("        while (resultSet.next()) {\n");
+        code.append("            result.add(mapRow(resultSet, indexes));\n");
+        code.append("        }\n");
+        code.append("        return result;\n");
+        code.append("    }\n");
+        return code.toString();
+    }
+    
+    /**
+     * 生成單行映射方法
+     * 原始類型字段直接使用原始類型 getter，包裝類型通過 wasNull() 區分 null
+     *
+     * @param className 實體類名
+     * @param columns 列定義
+     * @return 代碼
+     */
+    @NotNull
+    private String generateMapRowMethod(String className, List<JdbcColumn> columns) {
+        StringBuilder code = new StringBuilder();
+        code.append("    public static ").append(className)
+                .append(" mapRow(ResultSet resultSet, ColumnIndexes indexes) throws SQLException {\n");
+        code.append("        ").append(className).append(" target = new ").append(className).append("();\n");
+        
+        for (JdbcColumn column : columns) {
+            String index = "indexes." + column.fieldName;
+            String setter = "target." + column.setterName;
+            JdbcType jdbcType = column.jdbcType;
+            
+            code.append("        if (").append(index).append(" > 0) {\n");
+            if (column.primitive) {
+                code.append("            ").append(setter).append("(resultSet.get").append(jdbcType.accessor)
+                        .append("(").append(index).append("));\n");
+            } else if (jdbcType.primitiveType != null) {
+                code.append("            ").append(jdbcType.primitiveType).append(" ").append(column.localName)
+                        .append(" = resultSet.get").append(jdbcType.accessor).append("(").append(index).append(");\n");
+                code.append("            if (!resultSet.wasNull()) {\n");
+                code.append("                ").append(setter).append("(").append(column.localName).append(");\n");
+                code.append("            }\n");
+            } else if (jdbcType == JdbcType.ENUM) {
+                code.append("            String ").append(column.localName).append(" = resultSet.getString(")
+                        .append(index).append(");\n");
+                code.append("            if (").append(column.localName).append(" != null) {\n");
+                code.append("                ").append(setter).append("(").append(column.typeText).append(".valueOf(")
+                        .append(column.localName).append("));\n");
+                code.append("            }\n");
+            } else if (jdbcType == JdbcType.OBJECT) {
+                code.append("            ").append(setter).append("(resultSet.getObject(").append(index).append(", ")
+                        .append(column.typeText).append(".class));\n");
+            } else {
+                code.append("            ").append(setter).append("(resultSet.get").append(jdbcType.accessor)
+                        .append("(").append(index).append("));\n");
+            }
+            code.append("        }\n");
+        }
+        
+        code.append("        return target;\n");
+        code.append("    }\n");
+        return code.toString();
+    }
+    
+    /**
+     * 生成批量插入方法
+     *
+     * @param className 實體類名
+     * @return 代碼
+     */
+    @NotNull
+    private String generateInsertBatchMethods(String className) {
+        StringBuilder code = new StringBuilder();
+        code.append("    public static int insertBatch(PreparedStatement statement, Collection<").append(className)
+                .append("> rows) throws SQLException {\n");
+        code.append("        return insertBatch(statement, rows, DEFAULT_BATCH_SIZE);\n");
+        code.append("    }\n\n");
+        
+        code.append("    public static int insertBatch(PreparedStatement statement, Collection<").append(className)
+                .append("> rows, int batchSize) throws SQLException {\n");
+        code.append("        if (batchSize <= 0) {\n");
+        code.append("            throw new IllegalArgumentException(\"batchSize must be positive: \" + batchSize);\n");
+        code.append("        }\n");
+        code.append("        int count = 0;\n");
+        code.append("        for (").append(className).append(" row : rows) {\n");
+        code.append("            bind(statement, row);\n");
+        code.append("            statement.addBatch();\n");
+        code.append("            if (++count % batchSize == 0) {\n");
+        code.append("                statement.executeBatch();\n");
+        code.append("            }\n");
+        code.append("        }\n");
+        code.append("        if (count % batchSize != 0) {\n");
+        code.append("            statement.executeBatch();\n");
+        code.append("        }\n");
+        code.append("        return count;\n");
+        code.append("    }\n");
+        return code.toString();
+    }
+    
+    /**
+     * 生成參數綁定方法，參數順序與 INSERT_SQL 的列順序一致
+     *
+     * @param className 實體類名
+     * @param columns 列定義
+     * @return 代碼
+     */
+    @NotNull
+    private String generateBindMethod(String className, List<JdbcColumn> columns) {
+        StringBuilder code = new StringBuilder();
+        code.append("    public static void bind(PreparedStatement statement, ").append(className)
+                .append(" row) throws SQLException {\n");
+        
+        int parameterIndex = 1;
+        for (JdbcColumn column : columns) {
+            String getterCall = "row." + column.getterName + "()";
+            JdbcType jdbcType = column.jdbcType;
+            
+            if (column.primitive) {
+                code.append("        statement.set").append(jdbcType.accessor).append("(").append(parameterIndex)
+                        .append(", ").append(getterCall).append(");\n");
+            } else {
+                String value;
+                if (jdbcType == JdbcType.ENUM) {
+                    value = "statement.setString(" + parameterIndex + ", " + column.localName + ".name())";
+                } else if (jdbcType == JdbcType.OBJECT) {
+                    value = "statement.setObject(" + parameterIndex + ", " + column.localName + ")";
+                } else {
+                    value = "statement.set" + jdbcType.accessor + "(" + parameterIndex + ", " + column.localName + ")";
+                }
+                code.append("        ").append(column.typeText).append(" ").append(column.localName)
+                        .append(" = ").append(getterCall).append(";\n");
+                code.append("        if (").append(column.localName).append(" == null) {\n");
+                code.append("            statement.setNull(").append(parameterIndex).append(", Types.")
+                        .append(jdbcType.sqlType).append(");\n");
+                code.append("        } else {\n");
+                code.append("            ").append(value).append(";\n");
+                code.append("        }\n");
+            }
+            parameterIndex++;
+        }
+        
+        code.append("    }\n");
+        return code.toString();
+    }
+    
+    /**
+     * 獲取可映射的列
+     * 需同時具備 Getter 和 Setter，且類型可直接映射為 JDBC 類型
+     *
+     * @return 列定義列表
+     */
+    @NotNull
+    private List<JdbcColumn> getColumns() {
+        List<JdbcColumn> columns = new ArrayList<>();
+        List<PsiField> fields = PsiUtils.getReadWriteFields(psiClass);
+        Set<String> usedNames = new HashSet<>(RESERVED_LOCAL_NAMES);
+        for (PsiField field : fields) {
+            usedNames.add(field.getName());
+        }
+        for (PsiField field : fields) {
+            String fieldName = field.getName();
+            PsiType fieldType = field.getType();
+            JdbcType jdbcType = getJdbcType(fieldType);
+            if (jdbcType == null) {
+                continue;
+            }
+            
+            columns.add(new JdbcColumn(
+                    fieldName,
+                    getLocalName(fieldName, usedNames),
+                    StringUtils.camelToUnderline(fieldName),
+                    PsiUtils.getGetterMethodName(psiClass, field),
+                    "set" + StringUtils.capitalize(fieldName),
+                    fieldType.getCanonicalText(),
+                    fieldType instanceof PsiPrimitiveType,
+                    jdbcType));
+        }
+        return columns;
+    }
+    
+    /**
+     * 獲取字段值的局部變量名，與生成方法中的參數名或局部變量名衝突時加後綴
+     *
+     * @param fieldName 字段名
+     * @param usedNames 已使用的名稱
+     * @return 局部變量名
+     */
+    @NotNull
+    private String getLocalName(String fieldName, Set<String> usedNames) {
+        if (!RESERVED_LOCAL_NAMES.contains(fieldName)) {
+            return fieldName;
+        }
+        String localName = fieldName + "Value";
+        int suffix = 2;
+        while (usedNames.contains(localName)) {
+            localName = fieldName + "Value" + suffix++;
+        }
+        usedNames.add(localName);
+        return localName;
+    }
+    
+    /**
+     * 獲取字段類型對應的 JDBC 類型
+     *
+     * @param type 字段類型
+     * @return JDBC 類型，不支持的類型返回 null
+     */
+    @Nullable
+    private JdbcType getJdbcType(PsiType type) {
+        PsiType unboxedType = PsiPrimitiveType.getOptionallyUnboxedType(type);
+        if (unboxedType != null) {
+            for (JdbcType jdbcType : JdbcType.values()) {
+                if (unboxedType.getCanonicalText().equals(jdbcType.primitiveType)) {
+                    return jdbcType;
+                }
+            }
+            return null;
+        }
+        
+        if (PsiUtils.isEnumType(type)) {
+            return JdbcType.ENUM;
+        }
+        
+        String typeText = type.getCanonicalText();
+        switch (typeText) {
+            case "java.lang.String":
+                return JdbcType.STRING;
+            case "java.math.BigDecimal":
+                return JdbcType.BIG_DECIMAL;
+            case "byte[]":
+                return JdbcType.BYTES;
+            case "java.sql.Timestamp":
+                return JdbcType.TIMESTAMP;
+            case "java.sql.Date":
+                return JdbcType.DATE;
+            case "java.time.LocalDate":
+            case "java.time.LocalTime":
+            case "java.time.LocalDateTime":
+            case "java.time.OffsetDateTime":
+                return JdbcType.OBJECT;
+            default:
+                return null;
+        }
+    }
+    
+    /**
+     * JDBC 類型映射
+     */
+    private enum JdbcType {
+        INT("Int", "int", "INTEGER"),
+        LONG("Long", "long", "BIGINT"),
+        DOUBLE("Double", "double", "DOUBLE"),
+        FLOAT("Float", "float", "REAL"),
+        SHORT("Short", "short", "SMALLINT"),
+        BYTE("Byte", "byte", "TINYINT"),
+        BOOLEAN("Boolean", "boolean", "BOOLEAN"),
+        STRING("String", null, "VARCHAR"),
+        BIG_DECIMAL("BigDecimal", null, "DECIMAL"),
+        BYTES("Bytes", null, "VARBINARY"),
+        TIMESTAMP("Timestamp", null, "TIMESTAMP"),
+        DATE("Date", null, "DATE"),
+        ENUM("String", null, "VARCHAR"),
+        OBJECT("Object", null, "OTHER");
+        
+        /**
+         * ResultSet / PreparedStatement 存取方法後綴
+         */
+        private final String accessor;
+        
+        /**
+         * 對應的原始類型，非數值類型為 null
+         */
+        private final String primitiveType;
+        
+        /**
+         * java.sql.Types 常量名
+         */
+        private final String sqlType;
+        
+        JdbcType(String accessor, String primitiveType, String sqlType) {
+            this.accessor = accessor;
+            this.primitiveType = primitiveType;
+            this.sqlType = sqlType;
+        }
+    }
+    
+    /**
+     * 列定義
+     */
+    private static class JdbcColumn {
+        
+        /**
+         * 字段名
+         */
+        private final String fieldName;
+        
+        /**
+         * 生成方法中承載字段值的局部變量名
+         */
+        private final String localName;
+        
+        /**
+         * 列名
+         */
+        private final String columnName;
+        
+        /**
+         * Getter 方法名
+         */
+        private final String getterName;
+        
+        /**
+         * Setter 方法名
+         */
+        private final String setterName;
+        
+        /**
+         * 字段類型文本
+         */
+        private final String typeText;
+        
+        /**
+         * 是否為原始類型
+         */
+        private final boolean primitive;
+        
+        /**
+         * JDBC 類型
+         */
+        private final JdbcType jdbcType;
+        
+        JdbcColumn(String fieldName, String localName, String columnName, String getterName, String setterName,
+                   String typeText, boolean primitive, JdbcType jdbcType) {
+            this.fieldName = fieldName;
+            this.localName = localName;
+            this.columnName = columnName;
+            this.getterName = getterName;
+            this.setterName = setterName;
+            this.typeText = typeText;
+            this.primitive = primitive;
+            this.jdbcType = jdbcType;
+        }
+    }
+}
@@ -0,0 +1,789 @@
+package com.yanchen.plugin.objecthelper.generator.jmh;
+
+import com.intellij.codeInsight.AnnotationUtil;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiCapturedWildcardType;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiClassType;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiModifier;
+import com.intellij.psi.PsiModifierListOwner;
+import com.intellij.psi.PsiParameter;
+import com.intellij.psi.PsiType;
+import com.intellij.psi.PsiTypes;
+import com.intellij.psi.PsiWildcardType;
+import com.intellij.psi.util.PsiTypesUtil;
+import com.intellij.psi.util.PsiUtil;
+import com.intellij.psi.util.TypeConversionUtil;
+import com.yanchen.plugin.objecthelper.common.util.PsiUtils;
+import com.yanchen.plugin.objecthelper.common.util.StringUtils;
+import com.yanchen.plugin.objecthelper.diagnostics.GenerationRun;
+import com.yanchen.plugin.objecthelper.generator.Generator;
+import com.yanchen.plugin.objecthelper.generator.random.PayloadSchema;
+import com.yanchen.plugin.objecthelper.generator.random.RandomPayloadWriter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.yanchen.plugin.objecthelper.common.constant.JavaKeyWord.VOID;
+
+/**
+ * JMH 基準測試類生成器
+ * 複製方法模式下比較生成的映射方法與 BeanUtils.copyProperties、MapStruct；
+ * 序列化模式下比較 Jackson databind 與手寫的 JsonGenerator 流式寫出。
+ * 源對象由固定種子的隨機文檔在 @Setup 中反序列化得到，數據按字段類型和校驗註解生成
+ */
+public class JmhBenchmarkGenerator implements Generator {
+
+    /**
+     * 複製方法基準類名後綴
+     */
+    public static final String COPY_CLASS_NAME_SUFFIX = "CopyBenchmark";
+
+    /**
+     * 序列化基準類名後綴
+     */
+    public static final String SERIALIZATION_CLASS_NAME_SUFFIX = "SerializationBenchmark";
+
+    /**
+     * 生成樣例數據的固定種子，保證重新生成的基準使用相同數據
+     */
+    private static final long SEED = 0L;
+
+    /**
+     * 樣例數據中集合的元素數
+     */
+    private static final int ITEMS = 3;
+
+    private static final String SPRING_BEAN_UTILS = "org.springframework.beans.BeanUtils";
+    private static final String COMMONS_BEAN_UTILS = "org.apache.commons.beanutils.BeanUtils";
+    private static final String MAPSTRUCT_MAPPER = "org.mapstruct.Mapper";
+    private static final String JSON_PROPERTY = "com.fasterxml.jackson.annotation.JsonProperty";
+    private static final String JSON_IGNORE = "com.fasterxml.jackson.annotation.JsonIgnore";
+
+    /**
+     * 複製方法，序列化模式下為空
+     */
+    private final PsiMethod copyMethod;
+
+    /**
+     * 基準類所在的參照類：複製方法所在類或被序列化的類
+     */
+    private final PsiClass anchorClass;
+
+    /**
+     * 源類（被序列化的類）
+     */
+    private final PsiClass sourceClass;
+
+    /**
+     * 目標類，序列化模式下為空
+     */
+    private final PsiClass targetClass;
+
+    /**
+     * 是否為複製到已有對象的方法
+     */
+    private final boolean copyInto;
+
+    /**
+     * 流式寫出方法名，按類分配
+     */
+    private final Map<PsiClass, String> writerMethods = new LinkedHashMap<>();
+
+    /**
+     * 獲取複製方法基準生成器
+     *
+     * @param copyMethod 複製方法
+     * @return 生成器實例
+     */
+    public static JmhBenchmarkGenerator forCopyMethod(@NotNull PsiMethod copyMethod) {
+        return new JmhBenchmarkGenerator(copyMethod, copyMethod.getContainingClass());
+    }
+
+    /**
+     * 獲取序列化基準生成器
+     *
+     * @param psiClass 被序列化的類
+     * @return 生成器實例
+     */
+    public static JmhBenchmarkGenerator forSerialization(@NotNull PsiClass psiClass) {
+        return new JmhBenchmarkGenerator(null, psiClass);
+    }
+
+    /**
+     * 構造方法
+     *
+     * @param copyMethod 複製方法，序列化模式下為空
+     * @param anchorClass 參照類
+     */
+    private JmhBenchmarkGenerator(@Nullable PsiMethod copyMethod, @Nullable PsiClass anchorClass) {
+        this.copyMethod = copyMethod;
+        this.anchorClass = anchorClass;
+        if (copyMethod == null) {
+            this.sourceClass = anchorClass;
+            this.targetClass = null;
+            this.copyInto = false;
+            return;
+        }
+
+        List<PsiParameter> parameters = PsiUtils.getPsiParameters(copyMethod);
+        this.sourceClass = parameters.isEmpty() ? null : PsiTypesUtil.getPsiClass(parameters.get(0).getType());
+        this.copyInto = VOID.equals(PsiUtils.getMethodReturnClassName(copyMethod)) && parameters.size() >= 2;
+        if (copyInto) {
+            this.targetClass = PsiTypesUtil.getPsiClass(parameters.get(1).getType());
+        } else {
+            this.targetClass = PsiTypesUtil.getPsiClass(copyMethod.getReturnType());
+        }
+    }
+
+    /**
+     * 基準類名
+     *
+     * @return 類名，無法生成時返回 null
+     */
+    @Nullable
+    public String getClassName() {
+        if (copyMethod != null) {
+            return anchorClass == null || anchorClass.getName() == null ? null
+                    : anchorClass.getName() + StringUtils.capitalize(copyMethod.getName()) + COPY_CLASS_NAME_SUFFIX;
+        }
+        return sourceClass == null || sourceClass.getName() == null ? null
+                : sourceClass.getName() + SERIALIZATION_CLASS_NAME_SUFFIX;
+    }
+
+    /**
+     * 參照類，基準類使用其包名，寫入其所在模塊的 jmh 或測試源碼目錄
+     *
+     * @return 類
+     */
+    @Nullable
+    public PsiClass getAnchorClass() {
+        return anchorClass;
+    }
+
+    /**
+     * 無法生成基準的原因：基準需要通過 new 創建實例方法所在的映射器，複製到已有對象時還需要創建目標對象
+     *
+     * @return 原因，可以生成時返回 null
+     */
+    @Nullable
+    public String getUnsupportedReason() {
+        if (copyMethod == null || anchorClass == null) {
+            return null;
+        }
+        if (!copyMethod.hasModifierProperty(PsiModifier.STATIC) && !PsiUtils.canInstantiateWithoutArgs(anchorClass)) {
+            return anchorClass.getName() + " 沒有可訪問的無參構造方法，基準中無法創建映射器實例，"
+                    + "請將複製方法改為靜態方法或為其添加無參構造方法";
+        }
+        if (copyInto && targetClass != null && !PsiUtils.canInstantiateWithoutArgs(targetClass)) {
+            return targetClass.getName() + " 沒有可訪問的無參構造方法，基準中無法創建複製的目標對象";
+        }
+        return null;
+    }
+
+    /**
+     * 生成基準類，並記錄耗時和計數供診斷
+     *
+     * @return 基準類代碼
+     */
+    @Override
+    public String generate() {
+        return GenerationRun.record("jmh", getClassName(), this::doGenerate);
+    }
+
+    /**
+     * 生成基準類
+     *
+     * @return 基準類代碼，源類或目標類無法解析、或無法創建映射器和目標對象時返回 null
+     */
+    private String doGenerate() {
+        String className = getClassName();
+        if (className == null || sourceClass == null || sourceClass.getQualifiedName() == null) {
+            return null;
+        }
+        if (copyMethod != null && (targetClass == null || targetClass.getQualifiedName() == null)) {
+            return null;
+        }
+        if (getUnsupportedReason() != null) {
+            return null;
+        }
+        writerMethods.clear();
+        return copyMethod != null ? generateCopyBenchmark(className) : generateSerializationBenchmark(className);
+    }
+
+    /**
+     * 生成複製方法基準
+     * 每個基準方法都新建目標對象，分配量在各實現之間可比
+     *
+     * @param className 基準類名
+     * @return 代碼
+     */
+    @NotNull
+    private String generateCopyBenchmark(@NotNull String className) {
+        Project project = copyMethod.getProject();
+        String sourceName = sourceClass.getQualifiedName();
+        String targetName = targetClass.getQualifiedName();
+        String mapperName = anchorClass.getQualifiedName();
+        boolean staticMapper = copyMethod.hasModifierProperty(PsiModifier.STATIC);
+        String invoker = staticMapper ? mapperName : "mapper";
+        boolean targetInstantiable = PsiUtils.canInstantiateWithoutArgs(targetClass);
+        boolean springBeanUtils = PsiUtils.findPsiClass(project, SPRING_BEAN_UTILS) != null;
+        boolean commonsBeanUtils = !springBeanUtils && PsiUtils.findPsiClass(project, COMMONS_BEAN_UTILS) != null;
+        boolean mapStruct = PsiUtils.findPsiClass(project, MAPSTRUCT_MAPPER) != null;
+
+        StringBuilder code = new StringBuilder();
+        appendHeader(code, className, "複製方法 " + anchorClass.getName() + "#" + copyMethod.getName());
+
+        code.append("    private ").append(sourceName).append(" source;\n\n");
+        if (!staticMapper) {
+            code.append("    private ").append(mapperName).append(" mapper;\n\n");
+        }
+
+        code.append("    @Setup(Level.Trial)\n");
+        code.append("    public void setUp() throws IOException {\n");
+        code.append("        source = createSampleReader().readValue(SAMPLE_JSON, ").append(sourceName).append(".class);\n");
+        if (!staticMapper) {
+            code.append("        mapper = new ").append(mapperName).append("();\n");
+        }
+        code.append("    }\n\n");
+
+        // 生成的映射方法
+        code.append("    @Benchmark\n");
+        code.append("    public void generatedMapper(Blackhole blackhole) {\n");
+        if (copyInto) {
+            code.append("        ").append(targetName).append(" target = new ").append(targetName).append("();\n");
+            code.append("        ").append(invoker).append(".").append(copyMethod.getName()).append("(source, target);\n");
+            code.append("        blackhole.consume(target);\n");
+        } else {
+            code.append("        blackhole.consume(").append(invoker).append(".").append(copyMethod.getName())
+                    .append("(source));\n");
+        }
+        code.append("    }\n\n");
+
+        // 反射複製對照，需要無參創建目標對象
+        if (!targetInstantiable) {
+            code.append("    // ").append(targetClass.getName()).append(" 沒有可訪問的無參構造方法，未生成反射複製對照\n\n");
+        } else if (springBeanUtils || commonsBeanUtils) {
+            code.append("    @Benchmark\n");
+            code.append("    public void beanUtilsCopyProperties(Blackhole blackhole) throws Exception {\n");
+            code.append("        ").append(targetName).append(" target = new ").append(targetName).append("();\n");
+            if (springBeanUtils) {
+                code.append("        ").append(SPRING_BEAN_UTILS).append(".copyProperties(source, target);\n");
+            } else {
+                code.append("        // Commons BeanUtils 的參數順序為 (目標, 源)\n");
+                code.append("        ").append(COMMONS_BEAN_UTILS).append(".copyProperties(target, source);\n");
+            }
+            code.append("        blackhole.consume(target);\n");
+            code.append("    }\n\n");
+        } else {
+            code.append("    // 項目依賴中未找到 Spring 或 Commons BeanUtils，未生成反射複製對照\n\n");
+        }
+
+        // MapStruct 對照
+        if (mapStruct) {
+            code.append("    @org.mapstruct.Mapper\n");
+            code.append("    public interface MapStructMapper {\n\n");
+            code.append("        MapStructMapper INSTANCE = org.mapstruct.factory.Mappers.getMapper(MapStructMapper.class);\n\n");
+            code.append("        ").append(targetName).append(" map(").append(sourceName).append(" source);\n");
+            code.append("    }\n\n");
+            code.append("    @Benchmark\n");
+            code.append("    public void mapStruct(Blackhole blackhole) {\n");
+            code.append("        blackhole.consume(MapStructMapper.INSTANCE.map(source));\n");
+            code.append("    }\n\n");
+        } else {
+            code.append("    // 項目依賴中未找到 MapStruct，未生成 MapStruct 對照\n\n");
+        }
+
+        appendSampleReader(code);
+        appendMain(code, className);
+        code.append("}\n");
+        return code.toString();
+    }
+
+    /**
+     * 生成序列化基準
+     * databind 與流式寫出都輸出 byte[]，輸出緩衝按 databind 結果大小預分配
+     *
+     * @param className 基準類名
+     * @return 代碼
+     */
+    @NotNull
+    private String generateSerializationBenchmark(@NotNull String className) {
+        String sourceName = sourceClass.getQualifiedName();
+        String rootWriter = getWriterMethod(sourceClass);
+
+        StringBuilder code = new StringBuilder();
+        appendHeader(code, className, "序列化 " + sourceClass.getName());
+
+        code.append("    private ObjectMapper objectMapper;\n\n");
+        code.append("    private JsonFactory jsonFactory;\n\n");
+        code.append("    private ").append(sourceName).append(" value;\n\n");
+        code.append("    private int sizeHint;\n\n");
+
+        code.append("    @Setup(Level.Trial)\n");
+        code.append("    public void setUp() throws IOException {\n");
+        code.append("        // 流式寫出跳過 transient 字段，databind 同樣不序列化它們，兩者輸出一致\n");
+        code.append("        objectMapper = JsonMapper.builder()\n");
+        code.append("                .findAndAddModules()\n");
+        code.append("                .enable(MapperFeature.PROPAGATE_TRANSIENT_MARKER)\n");
+        code.append("                .build();\n");
+        code.append("        // 使用 ObjectMapper 的工廠，流式寫出中無法手寫的值可回退到 writeObject\n");
+        code.append("        jsonFactory = objectMapper.getFactory();\n");
+        code.append("        value = createSampleReader().readValue(SAMPLE_JSON, ").append(sourceName).append(".class);\n");
+        code.append("        sizeHint = objectMapper.writeValueAsBytes(value).length;\n");
+        code.append("    }\n\n");
+
+        code.append("    @Benchmark\n");
+        code.append("    public void databind(Blackhole blackhole) throws IOException {\n");
+        code.append("        blackhole.consume(objectMapper.writeValueAsBytes(value));\n");
+        code.append("    }\n\n");
+
+        code.append("    @Benchmark\n");
+        code.append("    public void streaming(Blackhole blackhole) throws IOException {\n");
+        code.append("        ByteArrayOutputStream out = new ByteArrayOutputStream(sizeHint);\n");
+        code.append("        try (JsonGenerator generator = jsonFactory.createGenerator(out)) {\n");
+        code.append("            ").append(rootWriter).append("(generator, value);\n");
+        code.append("        }\n");
+        code.append("        blackhole.consume(out.toByteArray());\n");
+        code.append("    }\n\n");
+
+        // 寫出方法按需展開嵌套類型
+        Deque<PsiClass> pending = new ArrayDeque<>();
+        pending.add(sourceClass);
+        while (!pending.isEmpty()) {
+            code.append(generateWriterMethod(pending.poll(), pending)).append("\n");
+        }
+
+        appendSampleReader(code);
+        appendMain(code, className);
+        code.append("}\n");
+        return code.toString();
+    }
+
+    /**
+     * 生成單個類的流式寫出方法
+     * 屬性與 Jackson 默認規則一致：通過 getter（布爾類型可為 isX）讀取，名稱取自 getter 或 @JsonProperty，
+     * 跳過 @JsonIgnore 和 transient 字段；類型分類與 JSON 生成器一致：數值、布爾和字符串直接寫出，
+     * 集合逐個元素寫出，項目中的自定義類展開為嵌套寫出方法，其餘類型交給 ObjectMapper
+     *
+     * @param psiClass 類
+     * @param pending 待生成寫出方法的類
+     * @return 代碼
+     */
+    @NotNull
+    private String generateWriterMethod(@NotNull PsiClass psiClass, @NotNull Deque<PsiClass> pending) {
+        StringBuilder code = new StringBuilder();
+        code.append("    private static void ").append(getWriterMethod(psiClass))
+                .append("(JsonGenerator generator, ").append(psiClass.getQualifiedName())
+                .append(" value) throws IOException {\n");
+        code.append("        if (value == null) {\n");
+        code.append("            generator.writeNull();\n");
+        code.append("            return;\n");
+        code.append("        }\n");
+        code.append("        generator.writeStartObject();\n");
+        for (PsiField field : PsiUtils.getAllFields(psiClass)) {
+            if (field.hasModifierProperty(PsiModifier.STATIC) || field.hasModifierProperty(PsiModifier.TRANSIENT)) {
+                continue;
+            }
+            PsiMethod getter = findGetter(psiClass, field);
+            if (getter == null || isJsonIgnored(field) || isJsonIgnored(getter)) {
+                continue;
+            }
+            appendFieldWrite(code, getPropertyName(field, getter), "value." + getter.getName() + "()",
+                    field.getType(), pending);
+        }
+        code.append("        generator.writeEndObject();\n");
+        code.append("    }\n");
+        return code.toString();
+    }
+
+    /**
+     * 查找 Jackson 會用於讀取字段的 getter：getX()，布爾基本類型還可以是 isX()，
+     * 字段名本身為 isX 形式時（如 Lombok 生成的 isActive 字段）getter 與字段同名
+     *
+     * @param psiClass 字段所在類
+     * @param field 字段
+     * @return getter，沒有時返回 null
+     */
+    @Nullable
+    private static PsiMethod findGetter(@NotNull PsiClass psiClass, @NotNull PsiField field) {
+        String fieldName = field.getName();
+        String capitalized = StringUtils.capitalize(fieldName);
+        List<String> names = new ArrayList<>();
+        names.add("get" + capitalized);
+        if (PsiTypes.booleanType().equals(field.getType())) {
+            names.add("is" + capitalized);
+            if (fieldName.startsWith("is") && fieldName.length() > 2 && Character.isUpperCase(fieldName.charAt(2))) {
+                names.add(fieldName);
+            }
+        }
+        for (String name : names) {
+            for (PsiMethod method : psiClass.findMethodsByName(name, true)) {
+                if (method.getParameterList().isEmpty() && !method.hasModifierProperty(PsiModifier.STATIC)
+                        && method.hasModifierProperty(PsiModifier.PUBLIC)) {
+                    return method;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 判斷元素是否帶 @JsonIgnore（值為 false 時不忽略）
+     *
+     * @param owner 字段或方法
+     * @return 是否忽略
+     */
+    private static boolean isJsonIgnored(@NotNull PsiModifierListOwner owner) {
+        PsiAnnotation annotation = owner.getAnnotation(JSON_IGNORE);
+        return annotation != null && !Boolean.FALSE.equals(AnnotationUtil.getBooleanAttributeValue(annotation, "value"));
+    }
+
+    /**
+     * 獲取 JSON 屬性名：字段或 getter 上 @JsonProperty 的值優先，否則按 Jackson 規則由 getter 名推導，
+     * 去掉 get/is 前綴後將開頭的連續大寫字母轉為小寫（如 getURL 為 url）
+     *
+     * @param field 字段
+     * @param getter getter
+     * @return 屬性名
+     */
+    @NotNull
+    private static String getPropertyName(@NotNull PsiField field, @NotNull PsiMethod getter) {
+        for (PsiModifierListOwner owner : new PsiModifierListOwner[]{field, getter}) {
+            PsiAnnotation annotation = owner.getAnnotation(JSON_PROPERTY);
+            String value = annotation == null ? null : AnnotationUtil.getStringAttributeValue(annotation, "value");
+            if (StringUtils.isNotEmpty(value)) {
+                return value;
+            }
+        }
+        String getterName = getter.getName();
+        String baseName = getterName.substring(getterName.startsWith("is") ? 2 : 3);
+        StringBuilder name = new StringBuilder(baseName);
+        for (int i = 0; i < name.length() && Character.isUpperCase(name.charAt(i)); i++) {
+            name.setCharAt(i, Character.toLowerCase(name.charAt(i)));
+        }
+        return name.toString();
+    }
+
+    /**
+     * 生成單個字段的寫出語句
+     *
+     * @param code 代碼
+     * @param name 字段名
+     * @param getter 取值表達式
+     * @param type 字段類型
+     * @param pending 待生成寫出方法的類
+     */
+    private void appendFieldWrite(@NotNull StringBuilder code, @NotNull String name, @NotNull String getter,
+                                  @NotNull PsiType type, @NotNull Deque<PsiClass> pending) {
+        String quotedName = "\"" + name + "\"";
+
+        // 原始類型
+        if (type.equals(PsiTypes.intType()) || type.equals(PsiTypes.longType()) ||
+                type.equals(PsiTypes.floatType()) || type.equals(PsiTypes.doubleType()) ||
+                type.equals(PsiTypes.byteType()) || type.equals(PsiTypes.shortType())) {
+            code.append("        generator.writeNumberField(").append(quotedName).append(", ").append(getter).append(");\n");
+            return;
+        }
+        if (type.equals(PsiTypes.booleanType())) {
+            code.append("        generator.writeBooleanField(").append(quotedName).append(", ").append(getter).append(");\n");
+            return;
+        }
+        if (type.equals(PsiTypes.charType())) {
+            code.append("        generator.writeStringField(").append(quotedName).append(", String.valueOf(")
+                    .append(getter).append("));\n");
+            return;
+        }
+
+        // 字符串，null 由 writeString 寫為 null
+        String typeText = type.getCanonicalText();
+        if ("java.lang.String".equals(typeText)) {
+            code.append("        generator.writeStringField(").append(quotedName).append(", ").append(getter).append(");\n");
+            return;
+        }
+
+        // 包裝類型
+        String nonNullWrite = null;
+        if ("java.lang.Integer".equals(typeText) || "java.lang.Long".equals(typeText) ||
+                "java.lang.Float".equals(typeText) || "java.lang.Double".equals(typeText) ||
+                "java.lang.Byte".equals(typeText) || "java.lang.Short".equals(typeText)) {
+            nonNullWrite = "generator.writeNumberField(" + quotedName + ", " + getter + ");";
+        } else if ("java.lang.Boolean".equals(typeText)) {
+            nonNullWrite = "generator.writeBooleanField(" + quotedName + ", " + getter + ");";
+        } else if ("java.lang.Character".equals(typeText)) {
+            nonNullWrite = "generator.writeStringField(" + quotedName + ", String.valueOf(" + getter + "));";
+        }
+        if (nonNullWrite != null) {
+            appendNullCheck(code, quotedName, getter, nonNullWrite);
+            return;
+        }
+
+        // 集合類型
+        if (typeText.startsWith("java.util.List") || typeText.startsWith("java.util.ArrayList") ||
+                typeText.startsWith("java.util.Set") || typeText.startsWith("java.util.HashSet") ||
+                typeText.startsWith("java.util.Collection")) {
+            PsiType elementType = getLoopElementType(PsiUtil.extractIterableTypeParameter(type, false));
+            String elementTypeText = elementType == null ? "Object" : elementType.getCanonicalText();
+            StringBuilder loop = new StringBuilder();
+            loop.append("generator.writeArrayFieldStart(").append(quotedName).append(");\n");
+            loop.append("            for (").append(elementTypeText).append(" item : ").append(getter).append(") {\n");
+            loop.append("                ").append(getElementWrite(elementType, pending)).append("\n");
+            loop.append("            }\n");
+            loop.append("            generator.writeEndArray();");
+            appendNullCheck(code, quotedName, getter, loop.toString());
+            return;
+        }
+
+        // 項目中的自定義類
+        PsiClass customClass = getCustomClass(type);
+        if (customClass != null) {
+            code.append("        generator.writeFieldName(").append(quotedName).append(");\n");
+            code.append("        ").append(getWriterMethod(customClass, pending)).append("(generator, ")
+                    .append(getter).append(");\n");
+            return;
+        }
+
+        // 映射、數組、枚舉、日期和其他核心類
+        code.append("        generator.writeObjectField(").append(quotedName).append(", ").append(getter).append(");\n");
+    }
+
+    /**
+     * 集合元素在 for 循環中聲明的類型：通配符取上界（? super 和 ? 為 Object），類型參數取擦除後的類型
+     *
+     * @param elementType 元素類型，可為空
+     * @return 可用作局部變量類型的類型，無法確定時返回 null
+     */
+    @Nullable
+    private static PsiType getLoopElementType(@Nullable PsiType elementType) {
+        if (elementType instanceof PsiCapturedWildcardType) {
+            elementType = ((PsiCapturedWildcardType) elementType).getWildcard();
+        }
+        if (elementType instanceof PsiWildcardType) {
+            elementType = ((PsiWildcardType) elementType).getExtendsBound();
+        }
+        return elementType == null ? null : TypeConversionUtil.erasure(elementType);
+    }
+
+    /**
+     * 集合元素的寫出語句
+     *
+     * @param elementType 元素類型，可為空
+     * @param pending 待生成寫出方法的類
+     * @return 語句
+     */
+    @NotNull
+    private String getElementWrite(@Nullable PsiType elementType, @NotNull Deque<PsiClass> pending) {
+        if (elementType != null && "java.lang.String".equals(elementType.getCanonicalText())) {
+            return "generator.writeString(item);";
+        }
+        PsiClass customClass = elementType == null ? null : getCustomClass(elementType);
+        if (customClass != null) {
+            return getWriterMethod(customClass, pending) + "(generator, item);";
+        }
+        return "generator.writeObject(item);";
+    }
+
+    /**
+     * 寫出可能為 null 的字段
+     *
+     * @param code 代碼
+     * @param quotedName 帶引號的字段名
+     * @param getter 取值表達式
+     * @param nonNullWrite 非 null 時的寫出語句
+     */
+    private static void appendNullCheck(@NotNull StringBuilder code, @NotNull String quotedName,
+                                        @NotNull String getter, @NotNull String nonNullWrite) {
+        code.append("        if (").append(getter).append(" == null) {\n");
+        code.append("            generator.writeNullField(").append(quotedName).append(");\n");
+        code.append("        } else {\n");
+        code.append("            ").append(nonNullWrite).append("\n");
+        code.append("        }\n");
+    }
+
+    /**
+     * 解析項目中的自定義類，核心類、枚舉和接口返回 null
+     *
+     * @param type 類型
+     * @return 類
+     */
+    @Nullable
+    private static PsiClass getCustomClass(@NotNull PsiType type) {
+        if (!(type instanceof PsiClassType)) {
+            return null;
+        }
+        PsiClass psiClass = ((PsiClassType) type).resolve();
+        if (psiClass == null || psiClass.isEnum() || psiClass.isInterface() || psiClass.getQualifiedName() == null) {
+            return null;
+        }
+        String qualifiedName = psiClass.getQualifiedName();
+        if (qualifiedName.startsWith("java.") || qualifiedName.startsWith("javax.")
+                || qualifiedName.startsWith("kotlin.")) {
+            return null;
+        }
+        return psiClass;
+    }
+
+    /**
+     * 獲取類的寫出方法名，首次出現的類加入待生成隊列
+     *
+     * @param psiClass 類
+     * @param pending 待生成寫出方法的類
+     * @return 方法名
+     */
+    @NotNull
+    private String getWriterMethod(@NotNull PsiClass psiClass, @NotNull Deque<PsiClass> pending) {
+        if (!writerMethods.containsKey(psiClass)) {
+            pending.add(psiClass);
+        }
+        return getWriterMethod(psiClass);
+    }
+
+    /**
+     * 獲取類的寫出方法名，不同包中的同名類加序號區分
+     *
+     * @param psiClass 類
+     * @return 方法名
+     */
+    @NotNull
+    private String getWriterMethod(@NotNull PsiClass psiClass) {
+        return writerMethods.computeIfAbsent(psiClass, key -> {
+            String methodName = "write" + key.getName();
+            int suffix = 2;
+            while (writerMethods.containsValue(methodName)) {
+                methodName = "write" + key.getName() + suffix++;
+            }
+            return methodName;
+        });
+    }
+
+    /**
+     * 寫入包名、導入、類註釋、JMH 註解和樣例數據
+     * 固定堆大小使 GC 分析器的分配統計在多次運行間可比
+     *
+     * @param code 代碼
+     * @param className 基準類名
+     * @param subject 基準對象描述
+     */
+    private void appendHeader(@NotNull StringBuilder code, @NotNull String className, @NotNull String subject) {
+        String packageName = PsiUtils.getPackageName(anchorClass);
+        if (StringUtils.isNotEmpty(packageName)) {
+            code.append("package ").append(packageName).append(";\n\n");
+        }
+
+        code.append("import com.fasterxml.jackson.annotation.JsonAutoDetect;\n");
+        code.append("import com.fasterxml.jackson.annotation.PropertyAccessor;\n");
+        if (copyMethod == null) {
+            code.append("import com.fasterxml.jackson.core.JsonFactory;\n");
+            code.append("import com.fasterxml.jackson.core.JsonGenerator;\n");
+        }
+        code.append("import com.fasterxml.jackson.databind.DeserializationFeature;\n");
+        if (copyMethod == null) {
+            code.append("import com.fasterxml.jackson.databind.MapperFeature;\n");
+        }
+        code.append("import com.fasterxml.jackson.databind.ObjectMapper;\n");
+        if (copyMethod == null) {
+            code.append("import com.fasterxml.jackson.databind.json.JsonMapper;\n");
+        }
+        code.append("import org.openjdk.jmh.annotations.Benchmark;\n");
+        code.append("import org.openjdk.jmh.annotations.BenchmarkMode;\n");
+        code.append("import org.openjdk.jmh.annotations.Fork;\n");
+        code.append("import org.openjdk.jmh.annotations.Level;\n");
+        code.append("import org.openjdk.jmh.annotations.Measurement;\n");
+        code.append("import org.openjdk.jmh.annotations.Mode;\n");
+        code.append("import org.openjdk.jmh.annotations.OutputTimeUnit;\n");
+        code.append("import org.openjdk.jmh.annotations.Scope;\n");
+        code.append("import org.openjdk.jmh.annotations.Setup;\n");
+        code.append("import org.openjdk.jmh.annotations.State;\n");
+        code.append("import org.openjdk.jmh.annotations.Warmup;\n");
+        code.append("import org.openjdk.jmh.infra.Blackhole;\n");
+        code.append("import org.openjdk.jmh.profile.GCProfiler;\n");
+        code.append("import org.openjdk.jmh.runner.Runner;\n");
+        code.append("import org.openjdk.jmh.runner.RunnerException;\n");
+        code.append("import org.openjdk.jmh.runner.options.Options;\n");
+        code.append("import org.openjdk.jmh.runner.options.OptionsBuilder;\n\n");
+        if (copyMethod == null) {
+            code.append("import java.io.ByteArrayOutputStream;\n");
+        }
+        code.append("import java.io.IOException;\n");
+        code.append("import java.util.concurrent.TimeUnit;\n\n");
+
+        code.append("/**\n");
+        code.append(" * ").append(subject).append(" 基準測試\n");
+        code.append(" * 依賴 jmh-core、jmh-generator-annprocess 和 jackson-databind，直接運行 main 方法或通過 JMH 插件運行\n");
+        code.append(" */\n");
+        code.append("@BenchmarkMode(Mode.AverageTime)\n");
+        code.append("@OutputTimeUnit(TimeUnit.NANOSECONDS)\n");
+        code.append("@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)\n");
+        code.append("@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)\n");
+        code.append("@Fork(value = 2, jvmArgsAppend = {\"-Xms1g\", \"-Xmx1g\"})\n");
+        code.append("// 每個線程持有獨立的源對象，多線程運行時不共享可變狀態\n");
+        code.append("@State(Scope.Thread)\n");
+        code.append("public class ").append(className).append(" {\n\n");
+
+        code.append("    /**\n");
+        code.append("     * 樣例數據（種子 ").append(SEED).append("，集合元素數 ").append(ITEMS).append("）\n");
+        code.append("     */\n");
+        code.append("    private static final String SAMPLE_JSON = \"")
+                .append(StringUtil.escapeStringCharacters(createSampleJson())).append("\";\n\n");
+    }
+
+    /**
+     * 寫入樣例數據讀取器：直接寫字段並忽略未知屬性，沒有 setter 的字段也能填充
+     *
+     * @param code 代碼
+     */
+    private static void appendSampleReader(@NotNull StringBuilder code) {
+        code.append("    private static ObjectMapper createSampleReader() {\n");
+        code.append("        return new ObjectMapper()\n");
+        code.append("                .findAndRegisterModules()\n");
+        code.append("                .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)\n");
+        code.append("                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);\n");
+        code.append("    }\n\n");
+    }
+
+    /**
+     * 寫入帶 GC 分析器的 main 方法
+     *
+     * @param code 代碼
+     * @param className 基準類名
+     */
+    private static void appendMain(@NotNull StringBuilder code, @NotNull String className) {
+        code.append("    public static void main(String[] args) throws RunnerException {\n");
+        code.append("        Options options = new OptionsBuilder()\n");
+        code.append("                .include(").append(className).append(".class.getName())\n");
+        code.append("                .addProfiler(GCProfiler.class)\n");
+        code.append("                .build();\n");
+        code.append("        new Runner(options).run();\n");
+        code.append("    }\n");
+    }
+
+    /**
+     * 按源類結構生成一個樣例文檔
+     *
+     * @return 單行 JSON
+     */
+    @NotNull
+    private String createSampleJson() {
+        StringWriter json = new StringWriter();
+        try {
+            new RandomPayloadWriter(PayloadSchema.fromClass(sourceClass), SEED, ITEMS, ITEMS)
+                    .write(json, RandomPayloadWriter.Format.NDJSON, 1, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return json.toString().trim();
+    }
+}
@@ -0,0 +1,1256 @@
+package com.yanchen.plugin.objecthelper.generator.journal;
+
+import com.intellij.pom.java.LanguageLevel;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiClassType;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiModifier;
+import com.intellij.psi.PsiPrimitiveType;
+import com.intellij.psi.PsiType;
+import com.intellij.psi.util.PsiUtil;
+import com.yanchen.plugin.objecthelper.common.util.PsiUtils;
+import com.yanchen.plugin.objecthelper.common.util.StringUtils;
+import com.yanchen.plugin.objecthelper.diagnostics.GenerationRun;
+import com.yanchen.plugin.objecthelper.generator.Generator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 記憶體映射追加日誌生成器
+ * 為類生成類型化的日誌：Writer 通過 FileChannel.map 將記錄以二進制追加到分段文件，段寫滿後滾動到下一段；
+ * Reader 直接在映射區中逐條解碼，填充調用方傳入的可復用實例。
+ * 編碼由字段類型決定：所有字段定長時記錄定長，否則按字段計算記錄長度；嵌套的自定義類內聯編碼，
+ * 字段發現與 JDBC、Arrow 映射器一致（需同時具備 Getter 和 Setter）。
+ * 每條記錄帶校驗和，Java 9 及以上的模塊使用 CRC32C 並在發布長度前後加 VarHandle 內存屏障
+ */
+public class JournalGenerator implements Generator {
+
+    /**
+     * 生成類名後綴
+     */
+    public static final String CLASS_NAME_SUFFIX = "Journal";
+
+    /**
+     * 可為 null 的定長字段前的存在標記字節數
+     */
+    private static final int PRESENCE_SIZE = 1;
+
+    /**
+     * 實體類
+     */
+    private final PsiClass psiClass;
+
+    /**
+     * 每段文件大小（MB）
+     */
+    private final int segmentSizeMb;
+
+    /**
+     * 已展開的嵌套類及其字段，按首次出現順序
+     */
+    private final Map<PsiClass, List<JournalField>> structs = new LinkedHashMap<>();
+
+    /**
+     * 嵌套類的輔助方法名後綴
+     */
+    private final Map<PsiClass, String> structNames = new LinkedHashMap<>();
+
+    /**
+     * 枚舉類及其 values() 緩存常量名
+     */
+    private final Map<String, String> enumConstants = new LinkedHashMap<>();
+
+    /**
+     * 已使用的編碼類型，用於決定生成哪些輔助方法
+     */
+    private final Set<JournalKind> usedKinds = EnumSet.noneOf(JournalKind.class);
+
+    /**
+     * 類型不支持、未寫入日誌的字段
+     */
+    private final List<String> skippedFields = new ArrayList<>();
+
+    /**
+     * 實體類所在模塊是否支持 VarHandle 內存屏障和 CRC32C（Java 9 及以上）
+     */
+    private boolean fences;
+
+    /**
+     * 獲取 JournalGenerator 實例
+     *
+     * @param psiClass 實體類
+     * @param segmentSizeMb 每段文件大小（MB）
+     * @return 生成器實例
+     */
+    public static Generator getInstance(PsiClass psiClass, int segmentSizeMb) {
+        return new JournalGenerator(psiClass, segmentSizeMb);
+    }
+
+    /**
+     * 構造方法
+     *
+     * @param psiClass 實體類
+     * @param segmentSizeMb 每段文件大小（MB）
+     */
+    private JournalGenerator(PsiClass psiClass, int segmentSizeMb) {
+        this.psiClass = psiClass;
+        this.segmentSizeMb = segmentSizeMb;
+    }
+
+    /**
+     * 生成日誌類，並記錄耗時和計數供診斷
+     *
+     * @return 日誌類代碼
+     */
+    @Override
+    public String generate() {
+        return GenerationRun.record("journal", psiClass == null ? null : psiClass.getQualifiedName(),
+                this::doGenerate);
+    }
+
+    /**
+     * 生成日誌類
+     *
+     * @return 日誌類代碼
+     */
+    private String doGenerate() {
+        if (psiClass == null || psiClass.getName() == null || psiClass.getQualifiedName() == null) {
+            return null;
+        }
+        structs.clear();
+        structNames.clear();
+        enumConstants.clear();
+        usedKinds.clear();
+        skippedFields.clear();
+        fences = PsiUtil.getLanguageLevel(psiClass).isAtLeast(LanguageLevel.JDK_1_9);
+
+        String className = psiClass.getQualifiedName();
+        String journalName = psiClass.getName() + CLASS_NAME_SUFFIX;
+        List<PsiClass> path = new ArrayList<>();
+        path.add(psiClass);
+        List<JournalField> fields = getFields(psiClass, "", path);
+        if (fields.isEmpty()) {
+            return null;
+        }
+        int recordSize = getWidth(fields);
+
+        StringBuilder code = new StringBuilder();
+        String packageName = PsiUtils.getPackageName(psiClass);
+        if (StringUtils.isNotEmpty(packageName)) {
+            code.append("package ").append(packageName).append(";\n\n");
+        }
+
+        code.append("import java.io.Closeable;\n");
+        code.append("import java.io.IOException;\n");
+        if (fences) {
+            code.append("import java.lang.invoke.VarHandle;\n");
+        }
+        code.append("import java.nio.ByteBuffer;\n");
+        code.append("import java.nio.ByteOrder;\n");
+        code.append("import java.nio.MappedByteBuffer;\n");
+        code.append("import java.nio.channels.FileChannel;\n");
+        if (usedKinds.contains(JournalKind.STRING)) {
+            code.append("import java.nio.charset.StandardCharsets;\n");
+        }
+        code.append("import java.nio.file.Files;\n");
+        code.append("import java.nio.file.Path;\n");
+        code.append("import java.nio.file.StandardOpenOption;\n");
+        code.append("import java.util.ArrayList;\n");
+        code.append("import java.util.List;\n");
+        code.append("import java.util.stream.Stream;\n");
+        code.append("import java.util.zip.").append(getChecksumClass()).append(";\n\n");
+
+        code.append("/**\n");
+        code.append(" * ").append(psiClass.getName()).append(" 記憶體映射追加日誌\n");
+        code.append(" * 記錄格式為 [int 負載長度][int ").append(getChecksumClass())
+                .append(" 校驗和][負載]，小端序；負載和校驗和寫完後才寫入長度，長度為 0 表示段內沒有更多記錄。\n");
+        if (fences) {
+            code.append(" * 寫入長度前有 release 屏障，讀取方讀到長度後有 acquire 屏障；\n");
+        } else {
+            code.append(" * 模塊低於 Java 9，沒有內存屏障，其他線程可能先看到長度再看到負載；\n");
+        }
+        code.append(" * 讀取時校驗和不一致（未寫完或崩潰後只有部分頁落盤）的記錄視為尚未寫入，不會被讀出，\n");
+        code.append(" * 但校驗和只能以極高概率而非絕對地識別損壞的記錄。\n");
+        code.append(" * 文件按段滾動：name-00000000.journal、name-00000001.journal……\n");
+        code.append(" * Writer 不是線程安全的，每個日誌只能有一個 Writer；枚舉按 ordinal 寫入，已有日誌時不能調整枚舉常量順序\n");
+        if (!skippedFields.isEmpty()) {
+            code.append(" * 類型不支持、未寫入日誌的字段：").append(String.join(", ", skippedFields)).append("\n");
+        }
+        code.append(" */\n");
+        code.append("public final class ").append(journalName).append(" {\n\n");
+        code.append("    public static final int DEFAULT_SEGMENT_SIZE = ").append(segmentSizeMb)
+                .append(" * 1024 * 1024;\n\n");
+        code.append("    public static final String FILE_SUFFIX = \".journal\";\n\n");
+        if (recordSize >= 0) {
+            code.append("    /**\n");
+            code.append("     * 定長記錄的負載字節數\n");
+            code.append("     */\n");
+            code.append("    public static final int RECORD_SIZE = ").append(recordSize).append(";\n\n");
+        }
+        code.append("    private static final int HEADER_SIZE = 8;\n\n");
+        for (Map.Entry<String, String> enumConstant : enumConstants.entrySet()) {
+            code.append("    private static final ").append(enumConstant.getKey()).append("[] ")
+                    .append(enumConstant.getValue()).append(" = ").append(enumConstant.getKey()).append(".values();\n\n");
+        }
+        code.append("    private ").append(journalName).append("() {\n");
+        code.append("    }\n\n");
+
+        code.append(generateWriter(className, recordSize >= 0)).append("\n");
+        code.append(generateReader(className, fields)).append("\n");
+
+        code.append(generateEncode("", className, fields, false)).append("\n");
+        for (Map.Entry<PsiClass, List<JournalField>> struct : structs.entrySet()) {
+            code.append(generateEncode(structNames.get(struct.getKey()), struct.getKey().getQualifiedName(),
+                    struct.getValue(), true)).append("\n");
+        }
+        if (recordSize < 0) {
+            code.append(generateSizeOf("", className, fields, false)).append("\n");
+        }
+        for (Map.Entry<PsiClass, List<JournalField>> struct : structs.entrySet()) {
+            if (getWidth(struct.getValue()) < 0) {
+                code.append(generateSizeOf(structNames.get(struct.getKey()), struct.getKey().getQualifiedName(),
+                        struct.getValue(), true)).append("\n");
+            }
+        }
+        code.append(generateEncodeHelpers());
+        code.append(generateSegmentHelpers());
+        code.append("}\n");
+        return code.toString();
+    }
+
+    /**
+     * 記錄校驗和使用的類，CRC32C 有硬件加速但需要 Java 9
+     *
+     * @return java.util.zip 中的類名
+     */
+    @NotNull
+    private String getChecksumClass() {
+        return fences ? "CRC32C" : "CRC32";
+    }
+
+    /**
+     * 生成 Writer：打開最後一段並跳過已有記錄，剩餘空間不足時滾動到新段
+     *
+     * @param className 實體類名
+     * @param fixed 記錄是否定長
+     * @return 代碼
+     */
+    @NotNull
+    private String generateWriter(String className, boolean fixed) {
+        StringBuilder code = new StringBuilder();
+        code.append("    /**\n");
+        code.append("     * 日誌寫入器，append 只寫入映射區，調用 flush 後才保證落盤\n");
+        code.append("     */\n");
+        code.append("    public static final class Writer implements Closeable {\n\n");
+        code.append("        private final Path directory;\n\n");
+        code.append("        private final String name;\n\n");
+        code.append("        private final int segmentSize;\n\n");
+        code.append("        private int segmentIndex;\n\n");
+        code.append("        private MappedByteBuffer buffer;\n\n");
+        code.append("        private final ").append(getChecksumClass()).append(" checksum = new ")
+                .append(getChecksumClass()).append("();\n\n");
+
+        code.append("        public Writer(Path directory, String name) throws IOException {\n");
+        code.append("            this(directory, name, DEFAULT_SEGMENT_SIZE);\n");
+        code.append("        }\n\n");
+
+        code.append("        public Writer(Path directory, String name, int segmentSize) throws IOException {\n");
+        code.append("            if (segmentSize <= HEADER_SIZE) {\n");
+        code.append("                throw new IllegalArgumentException(\"segmentSize must be greater than \" + HEADER_SIZE);\n");
+        code.append("            }\n");
+        code.append("            this.directory = directory;\n");
+        code.append("            this.name = name;\n");
+        code.append("            this.segmentSize = segmentSize;\n");
+        code.append("            Files.createDirectories(directory);\n");
+        code.append("            List<Path> segments = listSegments(directory, name);\n");
+        code.append("            this.segmentIndex = segments.isEmpty()\n");
+        code.append("                    ? 0 : segmentIndex(segments.get(segments.size() - 1), name);\n");
+        code.append("            map();\n");
+        code.append("            // 跳過已有記錄，從最後一段的末尾繼續追加，校驗和不一致的殘缺記錄被覆蓋\n");
+        code.append("            while (hasRecord(buffer, checksum)) {\n");
+        code.append("                buffer.position(buffer.position() + HEADER_SIZE + buffer.getInt(buffer.position()));\n");
+        code.append("            }\n");
+        code.append("        }\n\n");
+
+        code.append("        public void append(").append(className).append(" value) throws IOException {\n");
+        code.append("            if (value == null) {\n");
+        code.append("                throw new IllegalArgumentException(\"value must not be null\");\n");
+        code.append("            }\n");
+        code.append("            int length = ").append(fixed ? "RECORD_SIZE" : "sizeOf(value)").append(";\n");
+        code.append("            if (HEADER_SIZE + length > segmentSize) {\n");
+        code.append("                throw new IllegalArgumentException(\"record of \" + length\n");
+        code.append("                        + \" bytes exceeds segment size \" + segmentSize);\n");
+        code.append("            }\n");
+        code.append("            if (buffer.remaining() < HEADER_SIZE + length) {\n");
+        code.append("                roll();\n");
+        code.append("            }\n");
+        code.append("            int start = buffer.position();\n");
+        code.append("            buffer.position(start + HEADER_SIZE);\n");
+        code.append("            encode(buffer, value);\n");
+        code.append("            buffer.putInt(start + 4, checksum(buffer, start + HEADER_SIZE, length, checksum));\n");
+        code.append("            // 負載和校驗和寫完後再寫長度，使記錄對讀取方可見\n");
+        if (fences) {
+            code.append("            VarHandle.releaseFence();\n");
+        }
+        code.append("            buffer.putInt(start, length);\n");
+        code.append("        }\n\n");
+
+        code.append("        public void flush() {\n");
+        code.append("            buffer.force();\n");
+        code.append("        }\n\n");
+
+        code.append("        @Override\n");
+        code.append("        public void close() {\n");
+        code.append("            if (buffer != null) {\n");
+        code.append("                buffer.force();\n");
+        code.append("                buffer = null;\n");
+        code.append("            }\n");
+        code.append("        }\n\n");
+
+        code.append("        private void roll() throws IOException {\n");
+        code.append("            buffer.force();\n");
+        code.append("            segmentIndex++;\n");
+        code.append("            map();\n");
+        code.append("        }\n\n");
+
+        code.append("        private void map() throws IOException {\n");
+        code.append("            Path segment = segmentPath(directory, name, segmentIndex);\n");
+        code.append("            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.CREATE,\n");
+        code.append("                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {\n");
+        code.append("                // 已有的段可能以更大的段大小創建，映射整個文件以免截斷已有記錄\n");
+        code.append("                long size = Math.max(channel.size(), segmentSize);\n");
+        code.append("                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);\n");
+        code.append("            }\n");
+        code.append("            buffer.order(ByteOrder.LITTLE_ENDIAN);\n");
+        code.append("        }\n");
+        code.append("    }\n");
+        return code.toString();
+    }
+
+    /**
+     * 生成 Reader：逐段映射，直接從映射區解碼到調用方傳入的實例；讀到末尾後重新掃描目錄以跟隨寫入方滾動的新段
+     *
+     * @param className 實體類名
+     * @param fields 頂層字段
+     * @return 代碼
+     */
+    @NotNull
+    private String generateReader(String className, List<JournalField> fields) {
+        StringBuilder code = new StringBuilder();
+        code.append("    /**\n");
+        code.append("     * 日誌讀取器，next 返回 false 後可在寫入方追加新記錄後再次調用\n");
+        code.append("     */\n");
+        code.append("    public static final class Reader implements Closeable {\n\n");
+        code.append("        private final Path directory;\n\n");
+        code.append("        private final String name;\n\n");
+        code.append("        private List<Path> segments;\n\n");
+        code.append("        private int segmentIndex = -1;\n\n");
+        code.append("        private MappedByteBuffer buffer;\n\n");
+        code.append("        private final ").append(getChecksumClass()).append(" checksum = new ")
+                .append(getChecksumClass()).append("();\n\n");
+        if (usedKinds.contains(JournalKind.STRING)) {
+            code.append("        private byte[] scratch = new byte[64];\n\n");
+        }
+
+        code.append("        public Reader(Path directory, String name) throws IOException {\n");
+        code.append("            this.directory = directory;\n");
+        code.append("            this.name = name;\n");
+        code.append("            this.segments = listSegments(directory, name);\n");
+        code.append("        }\n\n");
+
+        code.append("        /**\n");
+        code.append("         * 讀取下一條記錄到 target\n");
+        code.append("         *\n");
+        code.append("         * @return 是否讀到記錄\n");
+        code.append("         */\n");
+        code.append("        public boolean next(").append(className).append(" target) throws IOException {\n");
+        code.append("            while (true) {\n");
+        code.append("                if (buffer != null && hasRecord(buffer, checksum)) {\n");
+        code.append("                    int start = buffer.position();\n");
+        code.append("                    int length = buffer.getInt(start);\n");
+        code.append("                    buffer.position(start + HEADER_SIZE);\n");
+        code.append("                    decode(buffer, target);\n");
+        code.append("                    buffer.position(start + HEADER_SIZE + length);\n");
+        code.append("                    return true;\n");
+        code.append("                }\n");
+        code.append("                if (segmentIndex + 1 >= segments.size()) {\n");
+        code.append("                    segments = listSegments(directory, name);\n");
+        code.append("                    if (segmentIndex + 1 >= segments.size()) {\n");
+        code.append("                        return false;\n");
+        code.append("                    }\n");
+        code.append("                    // 寫入方可能在上次檢查後向當前段追加了記錄再滾動，先讀完當前段\n");
+        code.append("                    if (buffer != null && hasRecord(buffer, checksum)) {\n");
+        code.append("                        continue;\n");
+        code.append("                    }\n");
+        code.append("                }\n");
+        code.append("                segmentIndex++;\n");
+        code.append("                Path segment = segments.get(segmentIndex);\n");
+        code.append("                try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {\n");
+        code.append("                    buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());\n");
+        code.append("                }\n");
+        code.append("                buffer.order(ByteOrder.LITTLE_ENDIAN);\n");
+        code.append("            }\n");
+        code.append("        }\n\n");
+
+        code.append("        @Override\n");
+        code.append("        public void close() {\n");
+        code.append("            buffer = null;\n");
+        code.append("        }\n\n");
+
+        code.append(generateDecode("", className, fields, false));
+        for (Map.Entry<PsiClass, List<JournalField>> struct : structs.entrySet()) {
+            code.append("\n").append(generateDecode(structNames.get(struct.getKey()),
+                    struct.getKey().getQualifiedName(), struct.getValue(), true));
+        }
+        code.append(generateDecodeHelpers());
+        code.append("    }\n");
+        return code.toString();
+    }
+
+    /**
+     * 生成編碼方法，嵌套類先寫入存在標記
+     *
+     * @param suffix 方法名後綴，頂層為空
+     * @param className 類名
+     * @param fields 字段
+     * @param struct 是否為嵌套類
+     * @return 代碼
+     */
+    @NotNull
+    private String generateEncode(String suffix, String className, List<JournalField> fields, boolean struct) {
+        StringBuilder code = new StringBuilder();
+        code.append("    private static void encode").append(suffix).append("(ByteBuffer buffer, ").append(className)
+                .append(" value) {\n");
+        if (struct) {
+            int width = getWidth(fields);
+            code.append("        if (value == null) {\n");
+            code.append("            buffer.put((byte) 0);\n");
+            if (width >= 0) {
+                code.append("            buffer.position(buffer.position() + ").append(width).append(");\n");
+            }
+            code.append("            return;\n");
+            code.append("        }\n");
+            code.append("        buffer.put((byte) 1);\n");
+        }
+        for (JournalField field : fields) {
+            appendEncode(code, "        ", field);
+        }
+        code.append("    }\n");
+        return code.toString();
+    }
+
+    /**
+     * 生成單個字段的編碼語句
+     *
+     * @param code 代碼
+     * @param indent 縮進
+     * @param field 字段
+     */
+    private void appendEncode(StringBuilder code, String indent, JournalField field) {
+        String getter = "value." + field.getterName + "()";
+        String value = field.name + "Value";
+        switch (field.kind) {
+            case STRUCT:
+                code.append(indent).append("encode").append(structNames.get(field.structClass)).append("(buffer, ")
+                        .append(getter).append(");\n");
+                return;
+            case STRING:
+                code.append(indent).append("putUtf8(buffer, ").append(getter).append(");\n");
+                return;
+            case BYTES:
+                code.append(indent).append("putBytes(buffer, ").append(getter).append(");\n");
+                return;
+            case DECIMAL:
+                code.append(indent).append("putDecimal(buffer, ").append(getter).append(");\n");
+                return;
+            case ENUM:
+                code.append(indent).append(field.typeText).append(" ").append(value).append(" = ").append(getter)
+                        .append(";\n");
+                code.append(indent).append("buffer.putInt(").append(value).append(" == null ? -1 : ").append(value)
+                        .append(".ordinal());\n");
+                return;
+            default:
+                break;
+        }
+        if (field.primitive) {
+            field.kind.appendPut(code, indent, getter);
+            return;
+        }
+        // 可為 null 的定長字段：存在標記 + 固定寬度，null 時跳過該寬度以保持記錄定長
+        code.append(indent).append(field.typeText).append(" ").append(value).append(" = ").append(getter).append(";\n");
+        code.append(indent).append("if (").append(value).append(" == null) {\n");
+        code.append(indent).append("    buffer.put((byte) 0);\n");
+        code.append(indent).append("    buffer.position(buffer.position() + ").append(field.kind.width).append(");\n");
+        code.append(indent).append("} else {\n");
+        code.append(indent).append("    buffer.put((byte) 1);\n");
+        field.kind.appendPut(code, indent + "    ", value);
+        code.append(indent).append("}\n");
+    }
+
+    /**
+     * 生成變長記錄的長度計算方法
+     *
+     * @param suffix 方法名後綴，頂層為空
+     * @param className 類名
+     * @param fields 字段
+     * @param struct 是否為嵌套類
+     * @return 代碼
+     */
+    @NotNull
+    private String generateSizeOf(String suffix, String className, List<JournalField> fields, boolean struct) {
+        int fixedSize = struct ? PRESENCE_SIZE : 0;
+        List<String> variableSizes = new ArrayList<>();
+        for (JournalField field : fields) {
+            int width = getWidth(field);
+            if (width >= 0) {
+                fixedSize += width;
+                continue;
+            }
+            String getter = "value." + field.getterName + "()";
+            switch (field.kind) {
+                case STRING:
+                    variableSizes.add("sizeOfUtf8(" + getter + ")");
+                    break;
+                case BYTES:
+                    variableSizes.add("sizeOfBytes(" + getter + ")");
+                    break;
+                case DECIMAL:
+                    variableSizes.add("sizeOfDecimal(" + getter + ")");
+                    break;
+                default:
+                    variableSizes.add("sizeOf" + structNames.get(field.structClass) + "(" + getter + ")");
+                    break;
+            }
+        }
+
+        StringBuilder code = new StringBuilder();
+        code.append("    private static int sizeOf").append(suffix).append("(").append(className).append(" value) {\n");
+        if (struct) {
+            code.append("        if (value == null) {\n");
+            code.append("            return ").append(PRESENCE_SIZE).append(";\n");
+            code.append("        }\n");
+        }
+        code.append("        int size = ").append(fixedSize).append(";\n");
+        for (String variableSize : variableSizes) {
+            code.append("        size += ").append(variableSize).append(";\n");
+        }
+        code.append("        return size;\n");
+        code.append("    }\n");
+        return code.toString();
+    }
+
+    /**
+     * 生成解碼方法：頂層寫入調用方傳入的實例，嵌套類優先復用目標中已有的實例
+     *
+     * @param suffix 方法名後綴，頂層為空
+     * @param className 類名
+     * @param fields 字段
+     * @param struct 是否為嵌套類
+     * @return 代碼
+     */
+    @NotNull
+    private String generateDecode(String suffix, String className, List<JournalField> fields, boolean struct) {
+        StringBuilder code = new StringBuilder();
+        String target = "target";
+        if (struct) {
+            int width = getWidth(fields);
+            target = "value";
+            code.append("        private ").append(className).append(" decode").append(suffix)
+                    .append("(ByteBuffer buffer, ").append(className).append(" target) {\n");
+            code.append("            if (buffer.get() == 0) {\n");
+            if (width >= 0) {
+                code.append("                buffer.position(buffer.position() + ").append(width).append(");\n");
+            }
+            code.append("                return null;\n");
+            code.append("            }\n");
+            code.append("            ").append(className).append(" value = target != null ? target : new ")
+                    .append(className).append("();\n");
+        } else {
+            code.append("        private void decode(ByteBuffer buffer, ").append(className).append(" target) {\n");
+        }
+        for (JournalField field : fields) {
+            appendDecode(code, "            ", field, target);
+        }
+        if (struct) {
+            code.append("            return value;\n");
+        }
+        code.append("        }\n");
+        return code.toString();
+    }
+
+    /**
+     * 生成單個字段的解碼語句
+     *
+     * @param code 代碼
+     * @param indent 縮進
+     * @param field 字段
+     * @param target 目標變量
+     */
+    private void appendDecode(StringBuilder code, String indent, JournalField field, String target) {
+        String setter = target + "." + field.setterName + "(";
+        String getter = target + "." + field.getterName + "()";
+        switch (field.kind) {
+            case STRUCT:
+                code.append(indent).append(setter).append("decode").append(structNames.get(field.structClass))
+                        .append("(buffer, ").append(getter).append("));\n");
+                return;
+            case STRING:
+                code.append(indent).append(setter).append("getUtf8(buffer));\n");
+                return;
+            case BYTES:
+                code.append(indent).append(setter).append("getBytes(buffer, ").append(getter).append("));\n");
+                return;
+            case DECIMAL:
+                code.append(indent).append(setter).append("getDecimal(buffer));\n");
+                return;
+            case ENUM:
+                code.append(indent).append("int ").append(field.name).append("Ordinal = buffer.getInt();\n");
+                code.append(indent).append(setter).append(field.name).append("Ordinal < 0 ? null : ")
+                        .append(enumConstants.get(field.typeText)).append("[").append(field.name)
+                        .append("Ordinal]);\n");
+                return;
+            default:
+                break;
+        }
+        String read = field.kind.getReadExpression();
+        if (field.primitive) {
+            code.append(indent).append(setter).append(read).append(");\n");
+            return;
+        }
+        code.append(indent).append("if (buffer.get() == 0) {\n");
+        code.append(indent).append("    buffer.position(buffer.position() + ").append(field.kind.width).append(");\n");
+        code.append(indent).append("    ").append(setter).append("null);\n");
+        code.append(indent).append("} else {\n");
+        code.append(indent).append("    ").append(setter).append(read).append(");\n");
+        code.append(indent).append("}\n");
+    }
+
+    /**
+     * 生成變長字段的編碼和長度計算輔助方法：字符串直接按 UTF-8 編碼寫入映射區，不經過中間字節數組
+     *
+     * @return 代碼
+     */
+    @NotNull
+    private String generateEncodeHelpers() {
+        StringBuilder code = new StringBuilder();
+        if (usedKinds.contains(JournalKind.STRING)) {
+            code.append("    private static int sizeOfUtf8(String value) {\n");
+            code.append("        return 4 + (value == null ? 0 : utf8Length(value));\n");
+            code.append("    }\n\n");
+
+            code.append("    private static int utf8Length(String value) {\n");
+            code.append("        int length = 0;\n");
+            code.append("        for (int i = 0; i < value.length(); i++) {\n");
+            code.append("            char c = value.charAt(i);\n");
+            code.append("            if (c < 0x80) {\n");
+            code.append("                length += 1;\n");
+            code.append("            } else if (c < 0x800) {\n");
+            code.append("                length += 2;\n");
+            code.append("            } else if (isSurrogatePair(value, i)) {\n");
+            code.append("                length += 4;\n");
+            code.append("                i++;\n");
+            code.append("            } else {\n");
+            code.append("                length += 3;\n");
+            code.append("            }\n");
+            code.append("        }\n");
+            code.append("        return length;\n");
+            code.append("    }\n\n");
+
+            code.append("    private static void putUtf8(ByteBuffer buffer, String value) {\n");
+            code.append("        if (value == null) {\n");
+            code.append("            buffer.putInt(-1);\n");
+            code.append("            return;\n");
+            code.append("        }\n");
+            code.append("        buffer.putInt(utf8Length(value));\n");
+            code.append("        for (int i = 0; i < value.length(); i++) {\n");
+            code.append("            char c = value.charAt(i);\n");
+            code.append("            if (c < 0x80) {\n");
+            code.append("                buffer.put((byte) c);\n");
+            code.append("            } else if (c < 0x800) {\n");
+            code.append("                buffer.put((byte) (0xC0 | c >> 6));\n");
+            code.append("                buffer.put((byte) (0x80 | c & 0x3F));\n");
+            code.append("            } else if (isSurrogatePair(value, i)) {\n");
+            code.append("                int codePoint = Character.toCodePoint(c, value.charAt(++i));\n");
+            code.append("                buffer.put((byte) (0xF0 | codePoint >> 18));\n");
+            code.append("                buffer.put((byte) (0x80 | codePoint >> 12 & 0x3F));\n");
+            code.append("                buffer.put((byte) (0x80 | codePoint >> 6 & 0x3F));\n");
+            code.append("                buffer.put((byte) (0x80 | codePoint & 0x3F));\n");
+            code.append("            } else {\n");
+            code.append("                buffer.put((byte) (0xE0 | c >> 12));\n");
+            code.append("                buffer.put((byte) (0x80 | c >> 6 & 0x3F));\n");
+            code.append("                buffer.put((byte) (0x80 | c & 0x3F));\n");
+            code.append("            }\n");
+            code.append("        }\n");
+            code.append("    }\n\n");
+
+            code.append("    private static boolean isSurrogatePair(String value, int index) {\n");
+            code.append("        return Character.isHighSurrogate(value.charAt(index)) && index + 1 < value.length()\n");
+            code.append("                && Character.isLowSurrogate(value.charAt(index + 1));\n");
+            code.append("    }\n\n");
+        }
+        if (usedKinds.contains(JournalKind.BYTES)) {
+            code.append("    private static int sizeOfBytes(byte[] value) {\n");
+            code.append("        return 4 + (value == null ? 0 : value.length);\n");
+            code.append("    }\n\n");
+
+            code.append("    private static void putBytes(ByteBuffer buffer, byte[] value) {\n");
+            code.append("        if (value == null) {\n");
+            code.append("            buffer.putInt(-1);\n");
+            code.append("            return;\n");
+            code.append("        }\n");
+            code.append("        buffer.putInt(value.length);\n");
+            code.append("        buffer.put(value);\n");
+            code.append("    }\n\n");
+        }
+        if (usedKinds.contains(JournalKind.DECIMAL)) {
+            code.append("    private static int sizeOfDecimal(java.math.BigDecimal value) {\n");
+            code.append("        // 與 BigInteger.toByteArray() 的長度一致\n");
+            code.append("        return value == null ? 4 : 8 + value.unscaledValue().bitLength() / 8 + 1;\n");
+            code.append("    }\n\n");
+
+            code.append("    private static void putDecimal(ByteBuffer buffer, java.math.BigDecimal value) {\n");
+            code.append("        if (value == null) {\n");
+            code.append("            buffer.putInt(-1);\n");
+            code.append("            return;\n");
+            code.append("        }\n");
+            code.append("        byte[] unscaled = value.unscaledValue().toByteArray();\n");
+            code.append("        buffer.putInt(unscaled.length);\n");
+            code.append("        buffer.putInt(value.scale());\n");
+            code.append("        buffer.put(unscaled);\n");
+            code.append("    }\n\n");
+        }
+        return code.toString();
+    }
+
+    /**
+     * 生成 Reader 中變長字段的解碼輔助方法：字符串經復用的暫存數組解碼，字節數組長度不變時復用目標中的數組
+     *
+     * @return 代碼
+     */
+    @NotNull
+    private String generateDecodeHelpers() {
+        StringBuilder code = new StringBuilder();
+        if (usedKinds.contains(JournalKind.STRING)) {
+            code.append("\n");
+            code.append("        private String getUtf8(ByteBuffer buffer) {\n");
+            code.append("            int length = buffer.getInt();\n");
+            code.append("            if (length < 0) {\n");
+            code.append("                return null;\n");
+            code.append("            }\n");
+            code.append("            if (scratch.length < length) {\n");
+            code.append("                scratch = new byte[Math.max(length, scratch.length * 2)];\n");
+            code.append("            }\n");
+            code.append("            buffer.get(scratch, 0, length);\n");
+            code.append("            return new String(scratch, 0, length, StandardCharsets.UTF_8);\n");
+            code.append("        }\n");
+        }
+        if (usedKinds.contains(JournalKind.BYTES)) {
+            code.append("\n");
+            code.append("        private static byte[] getBytes(ByteBuffer buffer, byte[] reuse) {\n");
+            code.append("            int length = buffer.getInt();\n");
+            code.append("            if (length < 0) {\n");
+            code.append("                return null;\n");
+            code.append("            }\n");
+            code.append("            byte[] value = reuse != null && reuse.length == length ? reuse : new byte[length];\n");
+            code.append("            buffer.get(value);\n");
+            code.append("            return value;\n");
+            code.append("        }\n");
+        }
+        if (usedKinds.contains(JournalKind.DECIMAL)) {
+            code.append("\n");
+            code.append("        private static java.math.BigDecimal getDecimal(ByteBuffer buffer) {\n");
+            code.append("            int length = buffer.getInt();\n");
+            code.append("            if (length < 0) {\n");
+            code.append("                return null;\n");
+            code.append("            }\n");
+            code.append("            int scale = buffer.getInt();\n");
+            code.append("            byte[] unscaled = new byte[length];\n");
+            code.append("            buffer.get(unscaled);\n");
+            code.append("            return new java.math.BigDecimal(new java.math.BigInteger(unscaled), scale);\n");
+            code.append("        }\n");
+        }
+        return code.toString();
+    }
+
+    /**
+     * 生成段文件的命名、查找和記錄邊界判斷方法
+     *
+     * @return 代碼
+     */
+    @NotNull
+    private String generateSegmentHelpers() {
+        String checksumClass = getChecksumClass();
+        StringBuilder code = new StringBuilder();
+        code.append("    /**\n");
+        code.append("     * 當前位置是否有完整的記錄；長度越界或校驗和不一致視為未寫完的記錄\n");
+        code.append("     */\n");
+        code.append("    private static boolean hasRecord(ByteBuffer buffer, ").append(checksumClass)
+                .append(" checksum) {\n");
+        code.append("        if (buffer.remaining() < HEADER_SIZE) {\n");
+        code.append("            return false;\n");
+        code.append("        }\n");
+        code.append("        int start = buffer.position();\n");
+        code.append("        int length = buffer.getInt(start);\n");
+        code.append("        if (length <= 0 || length > buffer.remaining() - HEADER_SIZE) {\n");
+        code.append("            return false;\n");
+        code.append("        }\n");
+        if (fences) {
+            code.append("        // 與寫入方的 release 屏障配對，讀到長度後再讀負載\n");
+            code.append("        VarHandle.acquireFence();\n");
+        }
+        code.append("        return buffer.getInt(start + 4) == checksum(buffer, start + HEADER_SIZE, length, checksum);\n");
+        code.append("    }\n\n");
+
+        code.append("    /**\n");
+        code.append("     * 計算 [offset, offset + length) 的校驗和，臨時調整 position 和 limit，不創建新的緩衝區\n");
+        code.append("     */\n");
+        code.append("    private static int checksum(ByteBuffer buffer, int offset, int length, ").append(checksumClass)
+                .append(" checksum) {\n");
+        code.append("        int position = buffer.position();\n");
+        code.append("        int limit = buffer.limit();\n");
+        code.append("        buffer.limit(offset + length);\n");
+        code.append("        buffer.position(offset);\n");
+        code.append("        checksum.reset();\n");
+        code.append("        checksum.update(buffer);\n");
+        code.append("        buffer.limit(limit);\n");
+        code.append("        buffer.position(position);\n");
+        code.append("        return (int) checksum.getValue();\n");
+        code.append("    }\n\n");
+
+        code.append("    private static Path segmentPath(Path directory, String name, int index) {\n");
+        code.append("        return directory.resolve(String.format(\"%s-%08d%s\", name, index, FILE_SUFFIX));\n");
+        code.append("    }\n\n");
+
+        code.append("    private static int segmentIndex(Path segment, String name) {\n");
+        code.append("        String fileName = segment.getFileName().toString();\n");
+        code.append("        int end = fileName.length() - FILE_SUFFIX.length();\n");
+        code.append("        return Integer.parseInt(fileName.substring(name.length() + 1, end));\n");
+        code.append("    }\n\n");
+
+        code.append("    private static List<Path> listSegments(Path directory, String name) throws IOException {\n");
+        code.append("        List<Path> segments = new ArrayList<>();\n");
+        code.append("        if (!Files.isDirectory(directory)) {\n");
+        code.append("            return segments;\n");
+        code.append("        }\n");
+        code.append("        String prefix = name + \"-\";\n");
+        code.append("        int length = prefix.length() + 8 + FILE_SUFFIX.length();\n");
+        code.append("        try (Stream<Path> files = Files.list(directory)) {\n");
+        code.append("            files.filter(file -> {\n");
+        code.append("                String fileName = file.getFileName().toString();\n");
+        code.append("                return fileName.length() == length && fileName.startsWith(prefix)\n");
+        code.append("                        && fileName.endsWith(FILE_SUFFIX);\n");
+        code.append("            }).sorted().forEach(segments::add);\n");
+        code.append("        }\n");
+        code.append("        return segments;\n");
+        code.append("    }\n");
+        return code.toString();
+    }
+
+    /**
+     * 獲取類的可寫入字段
+     *
+     * @param psiClass 類
+     * @param prefix 跳過字段的名稱前綴，用於提示
+     * @param path 從根到當前類的路徑，用於跳過循環引用的字段
+     * @return 字段
+     */
+    @NotNull
+    private List<JournalField> getFields(PsiClass psiClass, String prefix, List<PsiClass> path) {
+        List<JournalField> fields = new ArrayList<>();
+        for (PsiField field : PsiUtils.getReadWriteFields(psiClass)) {
+            JournalField journalField = createField(field, prefix, path);
+            if (journalField == null) {
+                skippedFields.add(prefix + field.getName());
+                continue;
+            }
+            journalField.getterName = PsiUtils.getGetterMethodName(psiClass, field);
+            journalField.setterName = "set" + StringUtils.capitalize(field.getName());
+            fields.add(journalField);
+        }
+        return fields;
+    }
+
+    /**
+     * 按類型創建字段
+     *
+     * @param field 字段
+     * @param prefix 名稱前綴
+     * @param path 從根到當前類的路徑
+     * @return 字段，不支持的類型（集合、Map、循環引用等）返回 null
+     */
+    @Nullable
+    private JournalField createField(PsiField field, String prefix, List<PsiClass> path) {
+        PsiType type = field.getType();
+        JournalKind scalarKind = getScalarKind(type);
+        if (scalarKind != null) {
+            usedKinds.add(scalarKind);
+            if (scalarKind == JournalKind.ENUM) {
+                registerEnum(type);
+            }
+            return new JournalField(field.getName(), scalarKind, type);
+        }
+
+        PsiClass structClass = getStructClass(type);
+        if (structClass == null || path.contains(structClass)) {
+            return null;
+        }
+        if (!structs.containsKey(structClass)) {
+            path.add(structClass);
+            List<JournalField> fields = getFields(structClass, prefix + field.getName() + ".", path);
+            path.remove(path.size() - 1);
+            if (fields.isEmpty()) {
+                return null;
+            }
+            structNames.put(structClass, getUniqueStructName(structClass));
+            structs.put(structClass, fields);
+        }
+        JournalField journalField = new JournalField(field.getName(), JournalKind.STRUCT, type);
+        journalField.structClass = structClass;
+        return journalField;
+    }
+
+    /**
+     * 為枚舉類分配 values() 緩存常量，避免每次解碼都複製常量數組
+     *
+     * @param type 枚舉類型
+     */
+    private void registerEnum(PsiType type) {
+        String typeText = type.getCanonicalText();
+        if (enumConstants.containsKey(typeText)) {
+            return;
+        }
+        PsiClass enumClass = PsiUtil.resolveClassInClassTypeOnly(type);
+        String simpleName = enumClass != null && enumClass.getName() != null ? enumClass.getName() : "ENUM";
+        String baseName = StringUtils.camelToUnderline(simpleName).toUpperCase() + "_VALUES";
+        String name = baseName;
+        int suffix = 2;
+        while (enumConstants.containsValue(name)) {
+            name = baseName + "_" + suffix++;
+        }
+        enumConstants.put(typeText, name);
+    }
+
+    /**
+     * 字段列表的編碼寬度
+     *
+     * @param fields 字段
+     * @return 字節數，含變長字段時返回 -1
+     */
+    private int getWidth(List<JournalField> fields) {
+        int width = 0;
+        for (JournalField field : fields) {
+            int fieldWidth = getWidth(field);
+            if (fieldWidth < 0) {
+                return -1;
+            }
+            width += fieldWidth;
+        }
+        return width;
+    }
+
+    /**
+     * 單個字段的編碼寬度
+     *
+     * @param field 字段
+     * @return 字節數，變長時返回 -1
+     */
+    private int getWidth(JournalField field) {
+        if (field.kind == JournalKind.STRUCT) {
+            int width = getWidth(structs.get(field.structClass));
+            return width < 0 ? -1 : PRESENCE_SIZE + width;
+        }
+        if (field.kind.width < 0) {
+            return -1;
+        }
+        if (field.primitive || field.kind == JournalKind.ENUM) {
+            return field.kind.width;
+        }
+        return PRESENCE_SIZE + field.kind.width;
+    }
+
+    /**
+     * 獲取標量類型
+     *
+     * @param type 類型
+     * @return 標量類型，非標量返回 null
+     */
+    @Nullable
+    private static JournalKind getScalarKind(PsiType type) {
+        if (PsiUtils.isEnumType(type)) {
+            return JournalKind.ENUM;
+        }
+        PsiType unboxedType = PsiPrimitiveType.getOptionallyUnboxedType(type);
+        String typeText = unboxedType != null ? unboxedType.getCanonicalText() : type.getCanonicalText();
+        switch (typeText) {
+            case "int":
+                return JournalKind.INT;
+            case "long":
+                return JournalKind.LONG;
+            case "short":
+                return JournalKind.SHORT;
+            case "byte":
+                return JournalKind.BYTE;
+            case "char":
+                return JournalKind.CHAR;
+            case "float":
+                return JournalKind.FLOAT;
+            case "double":
+                return JournalKind.DOUBLE;
+            case "boolean":
+                return JournalKind.BOOLEAN;
+            case "java.lang.String":
+                return JournalKind.STRING;
+            case "java.math.BigDecimal":
+                return JournalKind.DECIMAL;
+            case "byte[]":
+                return JournalKind.BYTES;
+            case "java.time.Instant":
+                return JournalKind.INSTANT;
+            case "java.time.LocalDate":
+                return JournalKind.LOCAL_DATE;
+            case "java.time.LocalDateTime":
+                return JournalKind.LOCAL_DATE_TIME;
+            case "java.time.LocalTime":
+                return JournalKind.LOCAL_TIME;
+            case "java.time.Duration":
+                return JournalKind.DURATION;
+            case "java.util.Date":
+                return JournalKind.DATE;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 解析可內聯編碼的自定義類：非核心類、非枚舉、可實例化
+     *
+     * @param type 類型
+     * @return 類，不可內聯時返回 null
+     */
+    @Nullable
+    private static PsiClass getStructClass(PsiType type) {
+        if (!(type instanceof PsiClassType)) {
+            return null;
+        }
+        PsiClass resolvedClass = ((PsiClassType) type).resolve();
+        if (resolvedClass == null || resolvedClass.getQualifiedName() == null || resolvedClass.isEnum()
+                || resolvedClass.isInterface() || resolvedClass.hasModifierProperty(PsiModifier.ABSTRACT)) {
+            return null;
+        }
+        String qualifiedName = resolvedClass.getQualifiedName();
+        if (qualifiedName.startsWith("java.") || qualifiedName.startsWith("javax.")
+                || qualifiedName.startsWith("kotlin.")) {
+            return null;
+        }
+        // 解碼時通過無參構造方法創建嵌套對象，無法創建的類跳過並列入 skippedFields
+        return PsiUtils.canInstantiateWithoutArgs(resolvedClass) ? resolvedClass : null;
+    }
+
+    /**
+     * 為嵌套類分配輔助方法名後綴，不同包中的同名類加序號區分
+     *
+     * @param structClass 嵌套類
+     * @return 名稱
+     */
+    @NotNull
+    private String getUniqueStructName(PsiClass structClass) {
+        Set<String> usedNames = new HashSet<>(structNames.values());
+        String name = structClass.getName();
+        int suffix = 2;
+        while (usedNames.contains(name)) {
+            name = structClass.getName() + suffix++;
+        }
+        return name;
+    }
+
+    /**
+     * 字段編碼類型
+     */
+    private enum JournalKind {
+        INT(4),
+        LONG(8),
+        SHORT(2),
+        BYTE(1),
+        CHAR(2),
+        FLOAT(4),
+        DOUBLE(8),
+        BOOLEAN(1),
+        ENUM(4),
+        INSTANT(12),
+        LOCAL_DATE(8),
+        LOCAL_DATE_TIME(12),
+        LOCAL_TIME(8),
+        DURATION(12),
+        DATE(8),
+        STRING(-1),
+        BYTES(-1),
+        DECIMAL(-1),
+        STRUCT(-1);
+
+        /**
+         * 非 null 值的固定字節數，變長或取決於嵌套類時為 -1
+         */
+        private final int width;
+
+        JournalKind(int width) {
+            this.width = width;
+        }
+
+        /**
+         * 生成寫入非 null 定長值的語句
+         *
+         * @param code 代碼
+         * @param indent 縮進
+         * @param value 值表達式
+         */
+        void appendPut(StringBuilder code, String indent, String value) {
+            switch (this) {
+                case INT:
+                    code.append(indent).append("buffer.putInt(").append(value).append(");\n");
+                    break;
+                case LONG:
+                    code.append(indent).append("buffer.putLong(").append(value).append(");\n");
+                    break;
+                case SHORT:
+                    code.append(indent).append("buffer.putShort(").append(value).append(");\n");
+                    break;
+                case BYTE:
+                    code.append(indent).append("buffer.put(").append(value).append(");\n");
+                    break;
+                case CHAR:
+                    code.append(indent).append("buffer.putChar(").append(value).append(");\n");
+                    break;
+                case FLOAT:
+                    code.append(indent).append("buffer.putFloat(").append(value).append(");\n");
+                    break;
+                case DOUBLE:
+                    code.append(indent).append("buffer.putDouble(").append(value).append(");\n");
+                    break;
+                case BOOLEAN:
+                    code.append(indent).append("buffer.put((byte) (").append(value).append(" ? 1 : 0));\n");
+                    break;
+                case INSTANT:
+                    code.append(indent).append("buffer.putLong(").append(value).append(".getEpochSecond());\n");
+                    code.append(indent).append("buffer.putInt(").append(value).append(".getNano());\n");
+                    break;
+                case LOCAL_DATE:
+                    code.append(indent).append("buffer.putLong(").append(value).append(".toEpochDay());\n");
+                    break;
+                case LOCAL_DATE_TIME:
+                    code.append(indent).append("buffer.putLong(").append(value)
+                            .append(".toEpochSecond(java.time.ZoneOffset.UTC));\n");
+                    code.append(indent).append("buffer.putInt(").append(value).append(".getNano());\n");
+                    break;
+                case LOCAL_TIME:
+                    code.append(indent).append("buffer.putLong(").append(value).append(".toNanoOfDay());\n");
+                    break;
+                case DURATION:
+                    code.append(indent).append("buffer.putLong(").append(value).append(".getSeconds());\n");
+                    code.append(indent).append("buffer.putInt(").append(value).append(".getNano());\n");
+                    break;
+                case DATE:
+                    code.append(indent).append("buffer.putLong(").append(value).append(".getTime());\n");
+                    break;
+                default:
+                    throw new IllegalStateException("not a fixed width kind: " + this);
+            }
+        }
+
+        /**
+         * 讀取定長值的表達式，多次讀取按從左到右的求值順序進行
+         *
+         * @return 表達式
+         */
+        String getReadExpression() {
+            switch (this) {
+                case INT:
+                    return "buffer.getInt()";
+                case LONG:
+                    return "buffer.getLong()";
+                case SHORT:
+                    return "buffer.getShort()";
+                case BYTE:
+                    return "buffer.get()";
+                case CHAR:
+                    return "buffer.getChar()";
+                case FLOAT:
+                    return "buffer.getFloat()";
+                case DOUBLE:
+                    return "buffer.getDouble()";
+                case BOOLEAN:
+                    return "buffer.get() != 0";
+                case INSTANT:
+                    return "java.time.Instant.ofEpochSecond(buffer.getLong(), buffer.getInt())";
+                case LOCAL_DATE:
+                    return "java.time.LocalDate.ofEpochDay(buffer.getLong())";
+                case LOCAL_DATE_TIME:
+                    return "java.time.LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), "
+                            + "java.time.ZoneOffset.UTC)";
+                case LOCAL_TIME:
+                    return "java.time.LocalTime.ofNanoOfDay(buffer.getLong())";
+                case DURATION:
+                    return "java.time.Duration.ofSeconds(buffer.getLong(), buffer.getInt())";
+                case DATE:
+                    return "new java.util.Date(buffer.getLong())";
+                default:
+                    throw new IllegalStateException("not a fixed width kind: " + this);
+            }
+        }
+    }
+
+    /**
+     * 字段定義
+     */
+    private static class JournalField {
+
+        /**
+         * 字段名
+         */
+        private final String name;
+
+        /**
+         * 編碼類型
+         */
+        private final JournalKind kind;
+
+        /**
+         * 字段類型文本
+         */
+        private final String typeText;
+
+        /**
+         * 是否為原始類型
+         */
+        private final boolean primitive;
+
+        /**
+         * Getter 方法名
+         */
+        private String getterName;
+
+        /**
+         * Setter 方法名
+         */
+        private String setterName;
+
+        /**
+         * 嵌套字段對應的類
+         */
+        private PsiClass structClass;
+
+        JournalField(String name, JournalKind kind, PsiType type) {
+            this.name = name;
+            this.kind = kind;
+            this.typeText = type.getCanonicalText();
+            this.primitive = type instanceof PsiPrimitiveType;
+        }
+    }
+}
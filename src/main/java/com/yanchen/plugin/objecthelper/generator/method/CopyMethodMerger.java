@@ -0,0 +1,696 @@
+package com.yanchen.plugin.objecthelper.generator.method;
+
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.JavaRecursiveElementWalkingVisitor;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiCodeBlock;
+import com.intellij.psi.PsiComment;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiExpression;
+import com.intellij.psi.PsiLocalVariable;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiMethodCallExpression;
+import com.intellij.psi.PsiReferenceExpression;
+import com.intellij.psi.PsiStatement;
+import com.intellij.psi.PsiType;
+import com.intellij.psi.PsiVariable;
+import com.intellij.psi.PsiWhiteSpace;
+import com.intellij.psi.codeStyle.JavaCodeStyleManager;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.util.PsiUtil;
+import com.intellij.psi.util.TypeConversionUtil;
+import com.yanchen.plugin.objecthelper.common.util.StringUtils;
+import com.yanchen.plugin.objecthelper.index.CopyMapperMarker;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 複製方法增量合併
+ * 按語句比較已有方法體與新生成的方法體：插入新增字段的語句、刪除已移除字段的語句、
+ * 替換生成結果有變化且未被手動修改的字段語句，手寫語句及手動修改過的語句保持不變。
+ * 語句涉及的字段按 PSI 結構判斷（訪問方法調用、源/目標變量的字段訪問、以字段命名的局部變量），
+ * 是否手動修改通過標記中記錄的各部分語句哈希判斷
+ */
+public class CopyMethodMerger {
+    
+    /**
+     * 合併結果
+     */
+    public enum Result {
+        
+        /**
+         * 已增量合併
+         */
+        MERGED,
+        
+        /**
+         * 無法增量合併且沒有手動修改，調用方應整體替換方法
+         */
+        REPLACE,
+        
+        /**
+         * 生成結構已變化且包含手動修改，調用方應保持方法不變並提示用戶
+         */
+        CONFLICT
+    }
+    
+    /**
+     * 去除類型全限定名中的包名，生成代碼與縮短引用後的代碼按相同文本比較
+     */
+    private static final Pattern PACKAGE_QUALIFIER_PATTERN = Pattern.compile("\\b(?:[a-z_$][\\w$]*\\.)+(?=[A-Z])");
+    
+    /**
+     * 已有方法
+     */
+    private final PsiMethod existingMethod;
+    
+    /**
+     * 新生成的方法（非物理元素）
+     */
+    private final PsiMethod generatedMethod;
+    
+    /**
+     * 字段名到訪問方法名匹配正則的映射
+     */
+    private final Map<String, Pattern> fieldPatterns = new LinkedHashMap<>();
+    
+    /**
+     * 字段名到臨時變量名匹配正則的映射
+     */
+    private final Map<String, Pattern> temporaryPatterns = new HashMap<>();
+    
+    /**
+     * 源類型和目標類型全限定名
+     */
+    private final Set<String> accessClassNames = new HashSet<>();
+    
+    /**
+     * 各方法中類型為源類型或目標類型的參數和局部變量名
+     */
+    private final Map<PsiMethod, Set<String>> accessVariables = new HashMap<>();
+    
+    /**
+     * 本次新增的字段
+     */
+    private final Set<String> addedFields = new HashSet<>();
+    
+    /**
+     * 本次移除的字段
+     */
+    private final Set<String> removedFields = new HashSet<>();
+    
+    /**
+     * 生成結果有變化且未被手動修改、需要替換語句的字段
+     */
+    private final Set<String> replacedFields = new HashSet<>();
+    
+    /**
+     * 私有構造方法
+     *
+     * @param existingMethod 已有方法
+     * @param generatedMethod 新生成的方法
+     */
+    private CopyMethodMerger(@NotNull PsiMethod existingMethod, @NotNull PsiMethod generatedMethod) {
+        this.existingMethod = existingMethod;
+        this.generatedMethod = generatedMethod;
+    }
+    
+    /**
+     * 將新生成的方法合併到已有方法中
+     * 需在寫操作中調用
+     *
+     * @param existingMethod 已有方法
+     * @param generatedMethod 新生成的方法
+     * @return 合併結果
+     */
+    @NotNull
+    public static Result merge(@NotNull PsiMethod existingMethod, @NotNull PsiMethod generatedMethod) {
+        return new CopyMethodMerger(existingMethod, generatedMethod).merge();
+    }
+    
+    /**
+     * 按方法當前的語句在標記中記錄各部分語句的哈希，整體寫入或新增方法後調用
+     * 需在寫操作中調用
+     *
+     * @param method 已寫入的複製方法
+     */
+    public static void stampHashes(@NotNull PsiMethod method) {
+        CopyMapperMarker marker = CopyMapperMarker.find(method);
+        PsiCodeBlock body = method.getBody();
+        if (marker == null || body == null) {
+            return;
+        }
+        
+        CopyMethodMerger merger = new CopyMethodMerger(method, method);
+        merger.initFieldPatterns(marker, marker);
+        StatementGroups groups = merger.group(body.getStatements());
+        Map<String, String> fieldHashes = new LinkedHashMap<>();
+        for (String field : merger.fieldPatterns.keySet()) {
+            fieldHashes.put(field, hash(groups.getFieldStatements(field)));
+        }
+        merger.replaceMarker(marker.withHashes(fieldHashes, hash(groups.structure), hash(groups.composites)));
+    }
+    
+    /**
+     * 執行合併
+     *
+     * @return 合併結果
+     */
+    @NotNull
+    private Result merge() {
+        CopyMapperMarker existingMarker = CopyMapperMarker.find(existingMethod);
+        CopyMapperMarker generatedMarker = CopyMapperMarker.find(generatedMethod);
+        PsiComment existingComment = CopyMapperMarker.findComment(existingMethod);
+        PsiCodeBlock existingBody = existingMethod.getBody();
+        PsiCodeBlock generatedBody = generatedMethod.getBody();
+        
+        // 首次生成或標記缺失時無法區分生成語句與手寫語句
+        if (existingMarker == null || generatedMarker == null || existingComment == null
+                || existingBody == null || generatedBody == null) {
+            return Result.REPLACE;
+        }
+        
+        initFieldPatterns(existingMarker, generatedMarker);
+        addedFields.addAll(fieldPatterns.keySet());
+        addedFields.removeAll(existingMarker.getMappedFields());
+        removedFields.addAll(fieldPatterns.keySet());
+        removedFields.removeAll(generatedMarker.getMappedFields());
+        
+        PsiStatement[] existingStatements = existingBody.getStatements();
+        StatementGroups existingGroups = group(existingStatements);
+        StatementGroups generatedGroups = group(generatedBody.getStatements());
+        
+        // 未記錄哈希的舊標記：結構語句視為已修改，字段語句視為未修改
+        boolean structureEdited = existingMarker.getStructureHash() == null
+                || !existingMarker.getStructureHash().equals(hash(existingGroups.structure));
+        boolean compositeEdited = existingMarker.getCompositeHash() != null
+                && !existingMarker.getCompositeHash().equals(hash(existingGroups.composites));
+        Set<String> editedFields = new HashSet<>();
+        for (String field : existingMarker.getMappedFields()) {
+            String recordedHash = existingMarker.getFieldHash(field);
+            if (recordedHash != null && !recordedHash.equals(hash(existingGroups.getFieldStatements(field)))) {
+                editedFields.add(field);
+            }
+        }
+        
+        // 生成模式改變（如 Setter 模式改為 Builder 模式）時只能整體替換，有手動修改時不覆蓋
+        if (isStructureChanged(existingMarker, existingGroups, generatedGroups)) {
+            return structureEdited || compositeEdited || !editedFields.isEmpty() ? Result.CONFLICT : Result.REPLACE;
+        }
+        boolean compositeChanged = !hash(existingGroups.composites).equals(hash(generatedGroups.composites));
+        if (compositeChanged && compositeEdited) {
+            return Result.CONFLICT;
+        }
+        
+        for (String field : generatedMarker.getMappedFields()) {
+            if (!addedFields.contains(field) && !editedFields.contains(field)
+                    && !hash(existingGroups.getFieldStatements(field))
+                    .equals(hash(generatedGroups.getFieldStatements(field)))) {
+                replacedFields.add(field);
+            }
+        }
+        
+        apply(existingBody, existingStatements, existingComment, compositeChanged);
+        
+        // 標記記錄寫入後的哈希，保留的手動修改沿用原哈希，下次仍識別為已修改
+        StatementGroups mergedGroups = group(existingBody.getStatements());
+        Map<String, String> fieldHashes = new LinkedHashMap<>();
+        for (String field : generatedMarker.getMappedFields()) {
+            if (!fieldPatterns.containsKey(field)) {
+                continue;
+            }
+            String recordedHash = existingMarker.getFieldHash(field);
+            boolean rewritten = addedFields.contains(field) || replacedFields.contains(field);
+            fieldHashes.put(field, rewritten || recordedHash == null
+                    ? hash(mergedGroups.getFieldStatements(field)) : recordedHash);
+        }
+        String compositeHash = compositeChanged || existingMarker.getCompositeHash() == null
+                ? hash(mergedGroups.composites) : existingMarker.getCompositeHash();
+        replaceMarker(generatedMarker.withHashes(fieldHashes, existingMarker.getStructureHash(), compositeHash));
+        return Result.MERGED;
+    }
+    
+    /**
+     * 初始化字段匹配正則，多態分派方法的標記記錄的是子類型，語句全部視為結構語句
+     *
+     * @param existingMarker 已有方法的標記
+     * @param generatedMarker 新生成方法的標記
+     */
+    private void initFieldPatterns(@NotNull CopyMapperMarker existingMarker, @NotNull CopyMapperMarker generatedMarker) {
+        if (existingMarker.isDispatch() || generatedMarker.isDispatch()) {
+            return;
+        }
+        accessClassNames.add(generatedMarker.getSourceClassName());
+        accessClassNames.add(generatedMarker.getTargetClassName());
+        Set<String> fields = new LinkedHashSet<>(existingMarker.getMappedFields());
+        fields.addAll(generatedMarker.getMappedFields());
+        for (String field : fields) {
+            fieldPatterns.put(field, createFieldPattern(field));
+            temporaryPatterns.put(field, Pattern.compile(Pattern.quote(field) + "(?:Map|List|Entry|Item|Value)?\\d*"));
+        }
+    }
+    
+    /**
+     * 判斷生成模式是否改變
+     * 記錄了結構哈希時比較哈希；舊標記要求不涉及字段的語句（創建、返回、判空等）都已存在。
+     * 組合語句（Builder 鏈）數量必須一致
+     *
+     * @param existingMarker 已有方法的標記
+     * @param existingGroups 已有語句分組
+     * @param generatedGroups 新生成語句分組
+     * @return 是否改變
+     */
+    private boolean isStructureChanged(@NotNull CopyMapperMarker existingMarker, @NotNull StatementGroups existingGroups,
+                                       @NotNull StatementGroups generatedGroups) {
+        if (existingGroups.composites.size() != generatedGroups.composites.size()) {
+            return true;
+        }
+        if (existingMarker.getStructureHash() != null) {
+            return !existingMarker.getStructureHash().equals(hash(generatedGroups.structure));
+        }
+        
+        Set<String> existingTexts = new HashSet<>();
+        for (PsiStatement statement : existingGroups.structure) {
+            existingTexts.add(normalize(statement));
+        }
+        for (PsiStatement statement : generatedGroups.structure) {
+            if (!existingTexts.contains(normalize(statement))) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * 應用變更：刪除移除和需替換字段的語句，按順序替換組合語句，
+     * 再按新生成語句的順序在前一個對應的已有語句之後插入新增和替換字段的語句
+     *
+     * @param existingBody 已有方法體
+     * @param existingStatements 修改前的已有語句
+     * @param existingComment 已有標記註釋
+     * @param compositeChanged 組合語句是否有變化
+     */
+    private void apply(@NotNull PsiCodeBlock existingBody, @NotNull PsiStatement[] existingStatements,
+                       @NotNull PsiComment existingComment, boolean compositeChanged) {
+        JavaCodeStyleManager codeStyleManager = JavaCodeStyleManager.getInstance(existingMethod.getProject());
+        PsiStatement[] generatedStatements = generatedMethod.getBody().getStatements();
+        
+        // 修改前已取得所有語句引用，刪除或替換後更新對應位置
+        PsiElement[] currentStatements = existingStatements.clone();
+        List<Integer> compositeIndexes = new ArrayList<>();
+        for (int i = 0; i < existingStatements.length; i++) {
+            Set<String> statementFields = findFields(existingStatements[i]);
+            if (statementFields.size() > 1) {
+                compositeIndexes.add(i);
+            } else if (statementFields.size() == 1) {
+                String field = statementFields.iterator().next();
+                if (removedFields.contains(field) || replacedFields.contains(field)) {
+                    deleteWithOwnershipComments(existingStatements[i], field);
+                    currentStatements[i] = null;
+                }
+            }
+        }
+        
+        int compositeCount = 0;
+        int lastIndex = -1;
+        PsiElement anchor = existingComment;
+        for (PsiStatement statement : generatedStatements) {
+            Set<String> statementFields = findFields(statement);
+            int matchedIndex;
+            if (statementFields.size() > 1) {
+                // Builder 鏈等組合語句按順序整體替換
+                matchedIndex = compositeIndexes.get(compositeCount++);
+                if (compositeChanged) {
+                    currentStatements[matchedIndex] = codeStyleManager.shortenClassReferences(
+                            currentStatements[matchedIndex].replace(statement));
+                }
+            } else if (statementFields.isEmpty()) {
+                matchedIndex = findStructureStatement(currentStatements, lastIndex, normalize(statement));
+            } else {
+                String field = statementFields.iterator().next();
+                if (addedFields.contains(field) || replacedFields.contains(field)) {
+                    anchor = insertWithOwnershipComments(existingBody, statement, field, anchor, codeStyleManager);
+                    continue;
+                }
+                matchedIndex = findLastFieldStatement(currentStatements, lastIndex, field);
+            }
+            
+            if (matchedIndex > lastIndex) {
+                lastIndex = matchedIndex;
+                anchor = currentStatements[matchedIndex];
+            }
+        }
+    }
+    
+    /**
+     * 在指定位置之後查找相同文本的結構語句
+     *
+     * @param statements 當前語句，已刪除的位置為 null
+     * @param fromIndex 起始位置（不含）
+     * @param text 規範化文本
+     * @return 位置，找不到時返回 -1
+     */
+    private int findStructureStatement(@NotNull PsiElement[] statements, int fromIndex, @NotNull String text) {
+        for (int i = fromIndex + 1; i < statements.length; i++) {
+            if (statements[i] instanceof PsiStatement && findFields((PsiStatement) statements[i]).isEmpty()
+                    && normalize((PsiStatement) statements[i]).equals(text)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * 在指定位置之後查找字段的最後一條語句
+     *
+     * @param statements 當前語句，已刪除的位置為 null
+     * @param fromIndex 起始位置（不含）
+     * @param field 字段名
+     * @return 位置，找不到時返回 -1
+     */
+    private int findLastFieldStatement(@NotNull PsiElement[] statements, int fromIndex, @NotNull String field) {
+        int index = -1;
+        for (int i = fromIndex + 1; i < statements.length; i++) {
+            if (statements[i] instanceof PsiStatement
+                    && findFields((PsiStatement) statements[i]).equals(Collections.singleton(field))) {
+                index = i;
+            }
+        }
+        return index;
+    }
+    
+    /**
+     * 刪除字段語句及其前面的所有權註釋（{@code // 字段名: ...}）
+     *
+     * @param statement 語句
+     * @param field 字段名
+     */
+    private static void deleteWithOwnershipComments(@NotNull PsiStatement statement, @NotNull String field) {
+        for (PsiComment comment : findOwnershipComments(statement, field)) {
+            comment.delete();
+        }
+        statement.delete();
+    }
+    
+    /**
+     * 在錨點之後插入新生成的字段語句及其前面的所有權註釋
+     *
+     * @param existingBody 已有方法體
+     * @param statement 新生成的語句
+     * @param field 字段名
+     * @param anchor 錨點
+     * @param codeStyleManager 代碼風格管理器
+     * @return 插入後的語句
+     */
+    @NotNull
+    private static PsiElement insertWithOwnershipComments(@NotNull PsiCodeBlock existingBody, @NotNull PsiStatement statement,
+                                                          @NotNull String field, @NotNull PsiElement anchor,
+                                                          @NotNull JavaCodeStyleManager codeStyleManager) {
+        List<PsiComment> comments = findOwnershipComments(statement, field);
+        if (comments.isEmpty()) {
+            return codeStyleManager.shortenClassReferences(existingBody.addAfter(statement, anchor));
+        }
+        
+        // 連同註釋前後的換行一起複製，避免語句被接到行註釋之後
+        PsiElement first = comments.get(0);
+        if (first.getPrevSibling() instanceof PsiWhiteSpace) {
+            first = first.getPrevSibling();
+        }
+        PsiElement inserted = existingBody.addRangeAfter(first, statement, anchor);
+        while (inserted != null && !(inserted instanceof PsiStatement)) {
+            inserted = inserted.getNextSibling();
+        }
+        return inserted == null ? anchor : codeStyleManager.shortenClassReferences(inserted);
+    }
+    
+    /**
+     * 查找緊鄰語句之前的字段所有權註釋
+     *
+     * @param statement 語句
+     * @param field 字段名
+     * @return 註釋，按源碼順序排列
+     */
+    @NotNull
+    private static List<PsiComment> findOwnershipComments(@NotNull PsiStatement statement, @NotNull String field) {
+        Pattern ownershipPattern = Pattern.compile("//\\s*" + Pattern.quote(field) + "\\s*:.*");
+        List<PsiComment> comments = new ArrayList<>();
+        PsiElement sibling = statement.getPrevSibling();
+        while (sibling instanceof PsiWhiteSpace || sibling instanceof PsiComment) {
+            if (sibling instanceof PsiComment) {
+                if (!ownershipPattern.matcher(sibling.getText()).matches()) {
+                    break;
+                }
+                comments.add(0, (PsiComment) sibling);
+            }
+            sibling = sibling.getPrevSibling();
+        }
+        return comments;
+    }
+    
+    /**
+     * 用帶哈希的標記替換方法中的標記註釋
+     *
+     * @param marker 新標記
+     */
+    private void replaceMarker(@NotNull CopyMapperMarker marker) {
+        PsiComment comment = CopyMapperMarker.findComment(existingMethod);
+        if (comment == null || comment.getText().equals(marker.toComment())) {
+            return;
+        }
+        comment.replace(JavaPsiFacade.getElementFactory(existingMethod.getProject())
+                .createCommentFromText(marker.toComment(), comment));
+    }
+    
+    /**
+     * 按涉及的字段數量將語句分組
+     *
+     * @param statements 語句
+     * @return 分組
+     */
+    @NotNull
+    private StatementGroups group(@NotNull PsiStatement[] statements) {
+        StatementGroups groups = new StatementGroups();
+        for (PsiStatement statement : statements) {
+            Set<String> statementFields = findFields(statement);
+            if (statementFields.isEmpty()) {
+                groups.structure.add(statement);
+            } else if (statementFields.size() > 1) {
+                groups.composites.add(statement);
+            } else {
+                groups.fieldStatements.computeIfAbsent(statementFields.iterator().next(), key -> new ArrayList<>())
+                        .add(statement);
+            }
+        }
+        return groups;
+    }
+    
+    /**
+     * 查找語句涉及的已映射字段：
+     * setX/getX/hasX/addAllX 等訪問方法和 Builder 方法 x(...) 的調用，
+     * 源對象或目標對象的字段訪問 target.x（其他對象的同名字段不算），
+     * 以及以字段命名的臨時局部變量的聲明和使用
+     *
+     * @param statement 語句
+     * @return 字段名集合
+     */
+    @NotNull
+    private Set<String> findFields(@NotNull PsiStatement statement) {
+        Set<String> statementFields = new LinkedHashSet<>();
+        if (fieldPatterns.isEmpty()) {
+            return statementFields;
+        }
+        Set<String> variables = getAccessVariables(statement);
+        statement.accept(new JavaRecursiveElementWalkingVisitor() {
+            @Override
+            public void visitReferenceExpression(@NotNull PsiReferenceExpression expression) {
+                super.visitReferenceExpression(expression);
+                String name = expression.getReferenceName();
+                if (name == null) {
+                    return;
+                }
+                PsiExpression qualifier = expression.getQualifierExpression();
+                boolean methodCall = expression.getParent() instanceof PsiMethodCallExpression;
+                for (Map.Entry<String, Pattern> entry : fieldPatterns.entrySet()) {
+                    String field = entry.getKey();
+                    boolean matched;
+                    if (methodCall) {
+                        matched = entry.getValue().matcher(name).matches() || qualifier != null && name.equals(field);
+                    } else if (qualifier != null) {
+                        matched = name.equals(field) && isAccessVariable(qualifier, variables);
+                    } else {
+                        matched = temporaryPatterns.get(field).matcher(name).matches()
+                                && isLocalOrUnresolved(expression.resolve());
+                    }
+                    if (matched) {
+                        statementFields.add(field);
+                    }
+                }
+            }
+            
+            @Override
+            public void visitLocalVariable(@NotNull PsiLocalVariable variable) {
+                super.visitLocalVariable(variable);
+                for (Map.Entry<String, Pattern> entry : temporaryPatterns.entrySet()) {
+                    if (entry.getValue().matcher(variable.getName()).matches()) {
+                        statementFields.add(entry.getKey());
+                    }
+                }
+            }
+        });
+        return statementFields;
+    }
+    
+    /**
+     * 判斷限定表達式是否為源對象或目標對象的變量
+     *
+     * @param qualifier 限定表達式
+     * @param variables 類型為源類型或目標類型的變量名
+     * @return 是否為源對象或目標對象
+     */
+    private static boolean isAccessVariable(@NotNull PsiExpression qualifier, @NotNull Set<String> variables) {
+        if (!(qualifier instanceof PsiReferenceExpression)) {
+            return false;
+        }
+        PsiReferenceExpression reference = (PsiReferenceExpression) qualifier;
+        return reference.getQualifierExpression() == null && variables.contains(reference.getReferenceName());
+    }
+    
+    /**
+     * 臨時變量只能是局部變量；新生成的方法中引用可能無法解析，也按臨時變量處理
+     *
+     * @param target 引用解析結果
+     * @return 是否可能為臨時變量
+     */
+    private static boolean isLocalOrUnresolved(@Nullable PsiElement target) {
+        return target == null || target instanceof PsiLocalVariable;
+    }
+    
+    /**
+     * 獲取語句所在方法中類型為源類型或目標類型的參數和局部變量名
+     *
+     * @param statement 語句
+     * @return 變量名
+     */
+    @NotNull
+    private Set<String> getAccessVariables(@NotNull PsiStatement statement) {
+        PsiMethod method = PsiTreeUtil.getParentOfType(statement, PsiMethod.class);
+        if (method == null) {
+            return Collections.emptySet();
+        }
+        return accessVariables.computeIfAbsent(method, key -> {
+            Set<String> names = new HashSet<>();
+            List<PsiVariable> variables = new ArrayList<>(Arrays.asList(key.getParameterList().getParameters()));
+            variables.addAll(PsiTreeUtil.findChildrenOfType(key.getBody(), PsiLocalVariable.class));
+            for (PsiVariable variable : variables) {
+                if (isAccessType(variable.getType())) {
+                    names.add(variable.getName());
+                }
+            }
+            return names;
+        });
+    }
+    
+    /**
+     * 判斷類型是否為源類型或目標類型，新生成方法中無法解析的類型按簡單名比較
+     *
+     * @param type 類型
+     * @return 是否為源類型或目標類型
+     */
+    private boolean isAccessType(@NotNull PsiType type) {
+        PsiClass psiClass = PsiUtil.resolveClassInClassTypeOnly(type);
+        if (psiClass != null) {
+            return accessClassNames.contains(psiClass.getQualifiedName());
+        }
+        String typeName = TypeConversionUtil.erasure(type).getCanonicalText();
+        for (String className : accessClassNames) {
+            if (className.equals(typeName) || StringUtil.getShortName(className).equals(typeName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * 創建訪問方法名匹配正則，匹配 setX/getX/hasX/addAllX 等訪問方法及 Protobuf 的 getXCount/getXList 等
+     *
+     * @param field 字段名
+     * @return 正則
+     */
+    @NotNull
+    private static Pattern createFieldPattern(@NotNull String field) {
+        return Pattern.compile("(?:set|get|is|has|clear|addAll|putAll)" + Pattern.quote(StringUtils.capitalize(field))
+                + "(?:Count|List|Map|Value)?");
+    }
+    
+    /**
+     * 計算語句文本的哈希
+     *
+     * @param statements 語句
+     * @return 十六進制哈希
+     */
+    @NotNull
+    private static String hash(@NotNull List<PsiStatement> statements) {
+        StringBuilder text = new StringBuilder();
+        for (PsiStatement statement : statements) {
+            text.append(normalize(statement)).append('\n');
+        }
+        return Integer.toHexString(text.toString().hashCode());
+    }
+    
+    /**
+     * 規範化語句文本，忽略空白差異和類型的包名
+     *
+     * @param statement 語句
+     * @return 規範化文本
+     */
+    @NotNull
+    private static String normalize(@NotNull PsiStatement statement) {
+        String text = statement.getText().replaceAll("\\s+", "");
+        return PACKAGE_QUALIFIER_PATTERN.matcher(text).replaceAll("");
+    }
+    
+    /**
+     * 按涉及字段數量分組的語句
+     */
+    private static class StatementGroups {
+        
+        /**
+         * 不涉及字段的語句
+         */
+        private final List<PsiStatement> structure = new ArrayList<>();
+        
+        /**
+         * 涉及多個字段的組合語句
+         */
+        private final List<PsiStatement> composites = new ArrayList<>();
+        
+        /**
+         * 只涉及單個字段的語句
+         */
+        private final Map<String, List<PsiStatement>> fieldStatements = new LinkedHashMap<>();
+        
+        /**
+         * 獲取字段的語句
+         *
+         * @param field 字段名
+         * @return 語句，沒有時返回空列表
+         */
+        @NotNull
+        private List<PsiStatement> getFieldStatements(@Nullable String field) {
+            return fieldStatements.getOrDefault(field, Collections.emptyList());
+        }
+    }
+}
@@ -0,0 +1,501 @@
+package com.yanchen.plugin.objecthelper.generator.method;
+
+import com.intellij.psi.*;
+import com.intellij.psi.javadoc.PsiDocComment;
+import com.intellij.psi.util.InheritanceUtil;
+import com.intellij.psi.util.PsiUtil;
+import com.yanchen.plugin.objecthelper.diagnostics.GenerationRun;
+import com.yanchen.plugin.objecthelper.generator.Generator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * equals / hashCode / compareTo 方法生成器
+ * equals 先比較原始類型和枚舉等廉價字段，再比較引用類型和集合、數組；hashCode 逐字段累加，
+ * 不使用 Objects.hash 可變參數，避免每次調用裝箱和分配數組；不可變類可選緩存 hashCode。
+ * 類實現 Comparable 時按聲明順序生成不裝箱的 compareTo
+ */
+public class EqualsHashCodeMethodGenerator implements Generator {
+
+    /**
+     * 緩存 hashCode 的字段名
+     */
+    public static final String CACHED_HASH_CODE_FIELD = "cachedHashCode";
+
+    /**
+     * 緩存字段文檔註釋中的標記，用於區分生成的字段和用戶手寫的同名字段
+     */
+    public static final String CACHED_HASH_CODE_MARKER = "object-helper: cached-hash-code";
+
+    /**
+     * 值不可變的 JDK 類型
+     */
+    private static final Set<String> IMMUTABLE_TYPES = new HashSet<>(Arrays.asList(
+            "java.lang.String", "java.lang.Integer", "java.lang.Long", "java.lang.Short", "java.lang.Byte",
+            "java.lang.Character", "java.lang.Boolean", "java.lang.Float", "java.lang.Double",
+            "java.math.BigDecimal", "java.math.BigInteger", "java.util.UUID"));
+
+    /**
+     * 當前類
+     */
+    private final PsiClass psiClass;
+
+    /**
+     * 是否為不可變類緩存 hashCode
+     */
+    private final boolean cacheHashCode;
+
+    /**
+     * 獲取 EqualsHashCodeMethodGenerator 實例
+     *
+     * @param psiClass 當前類
+     * @param cacheHashCode 是否為不可變類緩存 hashCode
+     * @return 生成器實例
+     */
+    public static Generator getInstance(PsiClass psiClass, boolean cacheHashCode) {
+        return new EqualsHashCodeMethodGenerator(psiClass, cacheHashCode);
+    }
+
+    /**
+     * 構造方法
+     *
+     * @param psiClass 當前類
+     * @param cacheHashCode 是否為不可變類緩存 hashCode
+     */
+    private EqualsHashCodeMethodGenerator(PsiClass psiClass, boolean cacheHashCode) {
+        this.psiClass = psiClass;
+        this.cacheHashCode = cacheHashCode;
+    }
+
+    /**
+     * 生成方法，並記錄耗時和計數供診斷
+     *
+     * @return 生成的類成員代碼
+     */
+    @Override
+    public String generate() {
+        return GenerationRun.record("equalsHashCode", psiClass == null ? null : psiClass.getQualifiedName(),
+                this::doGenerate);
+    }
+
+    /**
+     * 生成方法
+     * 返回內容為類成員代碼（緩存字段和方法），可通過 createClassFromText 解析
+     *
+     * @return 生成的類成員代碼
+     */
+    private String doGenerate() {
+        if (psiClass == null || psiClass.getName() == null) {
+            return null;
+        }
+
+        List<PsiField> fields = getEqualityFields(psiClass);
+        boolean superEquals = hasSuperEquals(psiClass);
+        // 類中已有手寫的同名字段時不緩存，避免覆蓋或借用它
+        PsiField existingCachedField = psiClass.findFieldByName(CACHED_HASH_CODE_FIELD, false);
+        boolean cached = cacheHashCode
+                && (existingCachedField == null || isGeneratedCachedHashCodeField(existingCachedField))
+                && new MutabilityAnalyzer().analyze(psiClass).getMutability()
+                == MutabilityAnalyzer.Mutability.IMMUTABLE;
+        String other = getOtherVariableName(fields);
+
+        StringBuilder members = new StringBuilder();
+        if (cached) {
+            members.append("/**\n * 緩存的 hashCode（").append(CACHED_HASH_CODE_MARKER).append("）\n */\n");
+            members.append("private transient int ").append(CACHED_HASH_CODE_FIELD).append(";\n\n");
+        }
+        members.append(generateEqualsMethod(fields, superEquals, cached, other)).append("\n\n");
+        members.append(generateHashCodeMethod(fields, superEquals, cached)).append("\n\n");
+        if (isSelfComparable(psiClass)) {
+            members.append(generateCompareToMethod(fields, other)).append("\n\n");
+        }
+        return members.toString();
+    }
+
+    /**
+     * 判斷字段是否為生成器創建的 hashCode 緩存字段
+     *
+     * @param field 字段
+     * @return 字段名匹配且文檔註釋帶有生成標記時返回 true
+     */
+    public static boolean isGeneratedCachedHashCodeField(@NotNull PsiField field) {
+        PsiDocComment docComment = field.getDocComment();
+        return CACHED_HASH_CODE_FIELD.equals(field.getName()) && docComment != null
+                && docComment.getText().contains(CACHED_HASH_CODE_MARKER);
+    }
+
+    /**
+     * 判斷類是否能生成：普通類（非接口、枚舉、record、註解）
+     *
+     * @param psiClass 類
+     * @return 是否支持
+     */
+    public static boolean isSupported(@Nullable PsiClass psiClass) {
+        return psiClass != null && psiClass.getName() != null && !psiClass.isInterface() && !psiClass.isEnum()
+                && !psiClass.isRecord() && !psiClass.isAnnotationType();
+    }
+
+    /**
+     * 生成 equals 方法，字段按比較開銷排序
+     *
+     * @param fields 字段
+     * @param superEquals 是否先調用父類 equals
+     * @param cached 是否緩存了 hashCode
+     * @param other 另一對象的變量名
+     * @return 方法代碼
+     */
+    @NotNull
+    private String generateEqualsMethod(List<PsiField> fields, boolean superEquals, boolean cached, String other) {
+        String className = psiClass.getName();
+        StringBuilder methodBuilder = new StringBuilder();
+        methodBuilder.append("@Override\n");
+        methodBuilder.append("public boolean equals(Object o) {\n");
+        methodBuilder.append("    if (this == o) {\n");
+        methodBuilder.append("        return true;\n");
+        methodBuilder.append("    }\n");
+        methodBuilder.append("    if (o == null || getClass() != o.getClass()) {\n");
+        methodBuilder.append("        return false;\n");
+        methodBuilder.append("    }\n");
+        if (superEquals) {
+            methodBuilder.append("    if (!super.equals(o)) {\n");
+            methodBuilder.append("        return false;\n");
+            methodBuilder.append("    }\n");
+        }
+        if (fields.isEmpty()) {
+            methodBuilder.append("    return true;\n");
+            methodBuilder.append("}");
+            return methodBuilder.toString();
+        }
+
+        methodBuilder.append("    ").append(className).append(" ").append(other).append(" = (").append(className)
+                .append(") o;\n");
+        if (cached) {
+            // 兩邊都已計算過 hashCode 時，不相等可直接返回
+            methodBuilder.append("    if (").append(CACHED_HASH_CODE_FIELD).append(" != 0 && ").append(other)
+                    .append(".").append(CACHED_HASH_CODE_FIELD).append(" != 0 && ").append(CACHED_HASH_CODE_FIELD)
+                    .append(" != ").append(other).append(".").append(CACHED_HASH_CODE_FIELD).append(") {\n");
+            methodBuilder.append("        return false;\n");
+            methodBuilder.append("    }\n");
+        }
+
+        List<PsiField> orderedFields = new ArrayList<>(fields);
+        orderedFields.sort(Comparator.comparingInt(field -> getEqualsCost(field.getType())));
+        methodBuilder.append("    return ");
+        for (int i = 0; i < orderedFields.size(); i++) {
+            if (i > 0) {
+                methodBuilder.append("\n            && ");
+            }
+            methodBuilder.append(getEqualsExpression(orderedFields.get(i), other));
+        }
+        methodBuilder.append(";\n");
+        methodBuilder.append("}");
+        return methodBuilder.toString();
+    }
+
+    /**
+     * 生成 hashCode 方法
+     *
+     * @param fields 字段
+     * @param superEquals 是否合併父類 hashCode
+     * @param cached 是否緩存
+     * @return 方法代碼
+     */
+    @NotNull
+    private String generateHashCodeMethod(List<PsiField> fields, boolean superEquals, boolean cached) {
+        StringBuilder methodBuilder = new StringBuilder();
+        methodBuilder.append("@Override\n");
+        methodBuilder.append("public int hashCode() {\n");
+        String indent = "    ";
+        if (cached) {
+            // 字段均為 final，併發時最多重複計算，結果一致；計算結果為 0 時每次重新計算
+            methodBuilder.append("    int result = ").append(CACHED_HASH_CODE_FIELD).append(";\n");
+            methodBuilder.append("    if (result != 0) {\n");
+            methodBuilder.append("        return result;\n");
+            methodBuilder.append("    }\n");
+            methodBuilder.append(indent).append("result = ");
+        } else {
+            methodBuilder.append(indent).append("int result = ");
+        }
+
+        if (superEquals) {
+            methodBuilder.append("super.hashCode();\n");
+        } else if (fields.isEmpty()) {
+            methodBuilder.append("0;\n");
+        } else {
+            methodBuilder.append(getHashExpression(fields.get(0))).append(";\n");
+        }
+        for (int i = superEquals ? 0 : 1; i < fields.size(); i++) {
+            methodBuilder.append(indent).append("result = 31 * result + ").append(getHashExpression(fields.get(i)))
+                    .append(";\n");
+        }
+
+        if (cached) {
+            methodBuilder.append(indent).append(CACHED_HASH_CODE_FIELD).append(" = result;\n");
+        }
+        methodBuilder.append(indent).append("return result;\n");
+        methodBuilder.append("}");
+        return methodBuilder.toString();
+    }
+
+    /**
+     * 生成 compareTo 方法，按字段聲明順序比較，原始類型使用包裝類的靜態 compare 方法避免裝箱
+     * 不可比較的字段（集合、數組等）生成註釋提示
+     *
+     * @param fields 字段
+     * @param other 另一對象的變量名
+     * @return 方法代碼
+     */
+    @NotNull
+    private String generateCompareToMethod(List<PsiField> fields, String other) {
+        StringBuilder methodBuilder = new StringBuilder();
+        methodBuilder.append("@Override\n");
+        methodBuilder.append("public int compareTo(").append(psiClass.getName()).append(" ").append(other)
+                .append(") {\n");
+        methodBuilder.append("    int result;\n");
+        boolean nullable = false;
+        for (PsiField field : fields) {
+            String expression = getCompareExpression(field, other);
+            if (expression == null) {
+                methodBuilder.append("    // ").append(field.getName()).append(" 不可比較，需要手動處理\n");
+                continue;
+            }
+            nullable |= !(field.getType() instanceof PsiPrimitiveType);
+            methodBuilder.append("    result = ").append(expression).append(";\n");
+            methodBuilder.append("    if (result != 0) {\n");
+            methodBuilder.append("        return result;\n");
+            methodBuilder.append("    }\n");
+        }
+        methodBuilder.append("    return 0;\n");
+        methodBuilder.append("}");
+
+        if (nullable) {
+            methodBuilder.append("\n\n");
+            methodBuilder.append("private static <T extends Comparable<? super T>> int compareNullable(T a, T b) {\n");
+            methodBuilder.append("    if (a == b) {\n");
+            methodBuilder.append("        return 0;\n");
+            methodBuilder.append("    }\n");
+            methodBuilder.append("    if (a == null) {\n");
+            methodBuilder.append("        return -1;\n");
+            methodBuilder.append("    }\n");
+            methodBuilder.append("    return b == null ? 1 : a.compareTo(b);\n");
+            methodBuilder.append("}");
+        }
+        return methodBuilder.toString();
+    }
+
+    /**
+     * 單個字段的相等比較表達式
+     *
+     * @param field 字段
+     * @param other 另一對象的變量名
+     * @return 表達式
+     */
+    @NotNull
+    private String getEqualsExpression(PsiField field, String other) {
+        String name = getFieldReference(field, other);
+        String otherName = other + "." + field.getName();
+        PsiType type = field.getType();
+        if (PsiTypes.floatType().equals(type)) {
+            return "Float.compare(" + name + ", " + otherName + ") == 0";
+        }
+        if (PsiTypes.doubleType().equals(type)) {
+            return "Double.compare(" + name + ", " + otherName + ") == 0";
+        }
+        if (type instanceof PsiPrimitiveType || isEnum(type)) {
+            return name + " == " + otherName;
+        }
+        if (type instanceof PsiArrayType) {
+            String method = ((PsiArrayType) type).getComponentType() instanceof PsiArrayType ? "deepEquals" : "equals";
+            return "java.util.Arrays." + method + "(" + name + ", " + otherName + ")";
+        }
+        return "java.util.Objects.equals(" + name + ", " + otherName + ")";
+    }
+
+    /**
+     * 單個字段的哈希表達式，原始類型使用包裝類的靜態 hashCode 方法避免裝箱
+     *
+     * @param field 字段
+     * @return 表達式
+     */
+    @NotNull
+    private String getHashExpression(PsiField field) {
+        String name = getFieldReference(field, null);
+        PsiType type = field.getType();
+        if (PsiTypes.longType().equals(type)) {
+            return "Long.hashCode(" + name + ")";
+        }
+        if (PsiTypes.doubleType().equals(type)) {
+            return "Double.hashCode(" + name + ")";
+        }
+        if (PsiTypes.floatType().equals(type)) {
+            return "Float.hashCode(" + name + ")";
+        }
+        if (PsiTypes.booleanType().equals(type)) {
+            return "Boolean.hashCode(" + name + ")";
+        }
+        if (type instanceof PsiPrimitiveType) {
+            // int、short、byte、char 直接拓寬為 int
+            return name;
+        }
+        if (type instanceof PsiArrayType) {
+            String method = ((PsiArrayType) type).getComponentType() instanceof PsiArrayType
+                    ? "deepHashCode" : "hashCode";
+            return "java.util.Arrays." + method + "(" + name + ")";
+        }
+        return "java.util.Objects.hashCode(" + name + ")";
+    }
+
+    /**
+     * 單個字段的比較表達式
+     *
+     * @param field 字段
+     * @param other 另一對象的變量名
+     * @return 表達式，不可比較時返回 null
+     */
+    @Nullable
+    private String getCompareExpression(PsiField field, String other) {
+        String arguments = "(" + getFieldReference(field, other) + ", " + other + "." + field.getName() + ")";
+        PsiType type = field.getType();
+        if (type instanceof PsiPrimitiveType) {
+            PsiClassType boxedType = ((PsiPrimitiveType) type).getBoxedType(psiClass);
+            return boxedType == null ? null : boxedType.getClassName() + ".compare" + arguments;
+        }
+        if (type instanceof PsiClassType && InheritanceUtil.isInheritor(type, "java.lang.Comparable")) {
+            return "compareNullable" + arguments;
+        }
+        return null;
+    }
+
+    /**
+     * 字段引用，與生成方法中的參數或局部變量同名時加 this 限定
+     *
+     * @param field 字段
+     * @param other 另一對象的變量名，可為空
+     * @return 引用表達式
+     */
+    @NotNull
+    private static String getFieldReference(PsiField field, @Nullable String other) {
+        String name = field.getName();
+        boolean shadowed = "o".equals(name) || "result".equals(name) || name.equals(other);
+        return shadowed ? "this." + name : name;
+    }
+
+    /**
+     * equals 中的比較開銷：原始類型和枚舉最低，其次為字符串和包裝類等值類型，再次為其他對象，集合、Map 和數組最高
+     *
+     * @param type 字段類型
+     * @return 開銷等級
+     */
+    private static int getEqualsCost(PsiType type) {
+        if (type instanceof PsiPrimitiveType) {
+            return 0;
+        }
+        if (isEnum(type)) {
+            return 1;
+        }
+        if (IMMUTABLE_TYPES.contains(type.getCanonicalText())) {
+            return 2;
+        }
+        if (type instanceof PsiArrayType || InheritanceUtil.isInheritor(type, "java.util.Collection")
+                || InheritanceUtil.isInheritor(type, "java.util.Map")) {
+            return 4;
+        }
+        return 3;
+    }
+
+    /**
+     * 參與比較的字段：本類聲明的非靜態、非 transient 字段
+     *
+     * @param psiClass 類
+     * @return 字段
+     */
+    @NotNull
+    private static List<PsiField> getEqualityFields(PsiClass psiClass) {
+        List<PsiField> fields = new ArrayList<>();
+        for (PsiField field : psiClass.getFields()) {
+            if (!field.hasModifierProperty(PsiModifier.STATIC) && !field.hasModifierProperty(PsiModifier.TRANSIENT)) {
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * 判斷父類是否覆寫了 equals，覆寫時生成的方法需要合併父類結果
+     *
+     * @param psiClass 類
+     * @return 是否覆寫
+     */
+    private static boolean hasSuperEquals(PsiClass psiClass) {
+        PsiClass superClass = psiClass.getSuperClass();
+        if (superClass == null) {
+            return false;
+        }
+        for (PsiMethod method : superClass.findMethodsByName("equals", true)) {
+            PsiClass containingClass = method.getContainingClass();
+            if (method.getParameterList().getParametersCount() == 1 && containingClass != null
+                    && !CommonClassNames.JAVA_LANG_OBJECT.equals(containingClass.getQualifiedName())
+                    && !method.hasModifierProperty(PsiModifier.ABSTRACT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 判斷類是否實現了 Comparable&lt;本類&gt;
+     *
+     * @param psiClass 類
+     * @return 是否實現
+     */
+    private static boolean isSelfComparable(PsiClass psiClass) {
+        PsiClass comparableClass = JavaPsiFacade.getInstance(psiClass.getProject())
+                .findClass(CommonClassNames.JAVA_LANG_COMPARABLE, psiClass.getResolveScope());
+        if (comparableClass == null || !psiClass.isInheritor(comparableClass, true)) {
+            return false;
+        }
+        PsiType typeArgument = PsiUtil.substituteTypeParameter(
+                JavaPsiFacade.getElementFactory(psiClass.getProject()).createType(psiClass),
+                CommonClassNames.JAVA_LANG_COMPARABLE, 0, false);
+        PsiClass argumentClass = PsiUtil.resolveClassInClassTypeOnly(typeArgument);
+        return psiClass.equals(argumentClass);
+    }
+
+    /**
+     * 判斷是否為枚舉類型
+     *
+     * @param type 類型
+     * @return 是否為枚舉
+     */
+    private static boolean isEnum(PsiType type) {
+        PsiClass typeClass = PsiUtil.resolveClassInClassTypeOnly(type);
+        return typeClass != null && typeClass.isEnum();
+    }
+
+    /**
+     * 另一對象的變量名，避開同名字段
+     *
+     * @param fields 字段
+     * @return 變量名
+     */
+    @NotNull
+    private static String getOtherVariableName(List<PsiField> fields) {
+        Set<String> fieldNames = new HashSet<>();
+        for (PsiField field : fields) {
+            fieldNames.add(field.getName());
+        }
+        for (String candidate : new String[]{"that", "other", "obj"}) {
+            if (!fieldNames.contains(candidate)) {
+                return candidate;
+            }
+        }
+        return "that$";
+    }
+}
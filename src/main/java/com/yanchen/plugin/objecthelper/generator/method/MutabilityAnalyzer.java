@@ -0,0 +1,416 @@
+package com.yanchen.plugin.objecthelper.generator.method;
+
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.*;
+import com.intellij.psi.util.InheritanceUtil;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.util.PsiUtil;
+import com.intellij.psi.util.TypeConversionUtil;
+import com.yanchen.plugin.objecthelper.common.util.PsiUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 類型可變性分析
+ * 依次根據內置的不可變類型列表、@Immutable 等註解和類結構（所有字段 final 且沒有 setter）判斷類型是
+ * 不可變、實際不可變（淺層不可變或運行時不可修改）還是可變，供生成器決定共享引用還是複製
+ */
+public class MutabilityAnalyzer {
+
+    /**
+     * 可變性
+     */
+    public enum Mutability {
+
+        /**
+         * 不可變，可安全共享
+         */
+        IMMUTABLE,
+
+        /**
+         * 實際不可變：自身狀態不能修改，但可能引用可變對象，共享引用
+         */
+        EFFECTIVELY_IMMUTABLE,
+
+        /**
+         * 可變，需要複製
+         */
+        MUTABLE
+    }
+
+    /**
+     * 分析結果
+     */
+    public static class Result {
+
+        /**
+         * 可變性
+         */
+        private final Mutability mutability;
+
+        /**
+         * 判斷依據，寫入生成代碼的註釋
+         */
+        private final String reason;
+
+        /**
+         * 構造方法
+         *
+         * @param mutability 可變性
+         * @param reason 判斷依據
+         */
+        Result(@NotNull Mutability mutability, @NotNull String reason) {
+            this.mutability = mutability;
+            this.reason = reason;
+        }
+
+        /**
+         * 獲取可變性
+         *
+         * @return 可變性
+         */
+        @NotNull
+        public Mutability getMutability() {
+            return mutability;
+        }
+
+        /**
+         * 獲取判斷依據
+         *
+         * @return 判斷依據
+         */
+        @NotNull
+        public String getReason() {
+            return reason;
+        }
+
+        /**
+         * 是否可以共享引用
+         *
+         * @return 不可變或實際不可變時返回 true
+         */
+        public boolean isShareable() {
+            return mutability != Mutability.MUTABLE;
+        }
+    }
+
+    /**
+     * 內置的不可變 JDK 類型
+     */
+    private static final Set<String> IMMUTABLE_TYPES = new HashSet<>(Arrays.asList(
+            "java.lang.String", "java.lang.Integer", "java.lang.Long", "java.lang.Short", "java.lang.Byte",
+            "java.lang.Character", "java.lang.Boolean", "java.lang.Float", "java.lang.Double", "java.lang.Class",
+            "java.math.BigDecimal", "java.math.BigInteger", "java.util.UUID", "java.util.Locale",
+            "java.util.Currency", "java.util.regex.Pattern", "java.net.URI", "java.net.InetAddress",
+            "java.nio.file.Path"));
+
+    /**
+     * 不可變集合類型的包名或類名前綴
+     */
+    private static final List<String> IMMUTABLE_COLLECTION_PREFIXES = Arrays.asList(
+            "com.google.common.collect.Immutable", "org.eclipse.collections.api.list.ImmutableList",
+            "io.vavr.collection.");
+
+    /**
+     * 不可變註解
+     */
+    private static final List<String> IMMUTABLE_ANNOTATIONS = Arrays.asList(
+            "javax.annotation.concurrent.Immutable", "net.jcip.annotations.Immutable",
+            "com.google.errorprone.annotations.Immutable", "org.immutables.value.Value.Immutable",
+            "jakarta.annotation.concurrent.Immutable");
+
+    /**
+     * 返回不可修改集合的工廠方法（類名.方法名）
+     */
+    private static final Set<String> UNMODIFIABLE_FACTORIES = new HashSet<>(Arrays.asList(
+            "java.util.List.of", "java.util.List.copyOf", "java.util.Set.of", "java.util.Set.copyOf",
+            "java.util.Map.of", "java.util.Map.copyOf", "java.util.Map.ofEntries",
+            "java.util.Collections.emptyList", "java.util.Collections.emptySet", "java.util.Collections.emptyMap",
+            "java.util.Collections.singletonList", "java.util.Collections.singleton",
+            "java.util.Collections.singletonMap", "java.util.Collections.unmodifiableList",
+            "java.util.Collections.unmodifiableSet", "java.util.Collections.unmodifiableMap",
+            "java.util.Collections.unmodifiableCollection", "java.util.Collections.unmodifiableSortedSet",
+            "java.util.Collections.unmodifiableSortedMap", "java.util.stream.Stream.toList"));
+
+    /**
+     * 已分析的類，只包含不依賴循環引用假設的結果
+     */
+    private final Map<PsiClass, Result> classResults = new HashMap<>();
+
+    /**
+     * 分析中的類，按進入順序排列，再次遇到時先按不可變處理以終止循環引用
+     */
+    private final List<PsiClass> inProgress = new ArrayList<>();
+
+    /**
+     * 當前分析中遇到的循環引用在 inProgress 中的最淺位置，沒有遇到時為 Integer.MAX_VALUE
+     */
+    private int cycleDepth = Integer.MAX_VALUE;
+
+    /**
+     * 分析字段值的可變性
+     * 除字段類型外，還會檢查聲明類中對該字段的所有賦值：若均來自 List.copyOf 等不可修改集合的工廠方法，視為實際不可變
+     *
+     * @param field 字段
+     * @return 分析結果
+     */
+    @NotNull
+    public Result analyze(@NotNull PsiField field) {
+        Result result = analyze(field.getType());
+        if (result.isShareable() || !isCollectionOrMap(field.getType())) {
+            return result;
+        }
+        String factory = findUnmodifiableFactory(field);
+        if (factory != null) {
+            return new Result(Mutability.EFFECTIVELY_IMMUTABLE, "只通過 " + factory + " 賦值，不可修改");
+        }
+        return result;
+    }
+
+    /**
+     * 分析類型的可變性
+     *
+     * @param type 類型
+     * @return 分析結果
+     */
+    @NotNull
+    public Result analyze(@NotNull PsiType type) {
+        if (type instanceof PsiPrimitiveType) {
+            return new Result(Mutability.IMMUTABLE, "原始類型");
+        }
+        if (type instanceof PsiArrayType) {
+            return new Result(Mutability.MUTABLE, "數組");
+        }
+
+        String typeText = TypeConversionUtil.erasure(type).getCanonicalText();
+        if (IMMUTABLE_TYPES.contains(typeText)) {
+            return new Result(Mutability.IMMUTABLE, "內置不可變類型");
+        }
+        if (typeText.startsWith("java.time.")) {
+            return new Result(Mutability.IMMUTABLE, "java.time 值類型");
+        }
+        for (String prefix : IMMUTABLE_COLLECTION_PREFIXES) {
+            if (typeText.startsWith(prefix)) {
+                return new Result(Mutability.IMMUTABLE, "不可變集合類型");
+            }
+        }
+
+        PsiClass psiClass = PsiUtils.resolveClass(type);
+        if (psiClass == null || psiClass instanceof PsiTypeParameter) {
+            return new Result(Mutability.MUTABLE, "類型未知");
+        }
+        return analyze(psiClass);
+    }
+
+    /**
+     * 分析類的可變性
+     *
+     * @param psiClass 類
+     * @return 分析結果
+     */
+    @NotNull
+    public Result analyze(@NotNull PsiClass psiClass) {
+        Result cached = classResults.get(psiClass);
+        if (cached != null) {
+            return cached;
+        }
+        int depth = inProgress.indexOf(psiClass);
+        if (depth >= 0) {
+            cycleDepth = Math.min(cycleDepth, depth);
+            return new Result(Mutability.IMMUTABLE, "循環引用");
+        }
+
+        depth = inProgress.size();
+        inProgress.add(psiClass);
+        Result result;
+        try {
+            result = doAnalyze(psiClass);
+        } finally {
+            inProgress.remove(depth);
+        }
+        // 結果依賴外層仍在分析中的類的假設時不緩存，外層分析完成後再次查詢會重新計算
+        if (cycleDepth >= depth) {
+            classResults.put(psiClass, result);
+            cycleDepth = Integer.MAX_VALUE;
+        }
+        return result;
+    }
+
+    /**
+     * 分析類的可變性
+     *
+     * @param psiClass 類
+     * @return 分析結果
+     */
+    @NotNull
+    private Result doAnalyze(@NotNull PsiClass psiClass) {
+        if (psiClass.isEnum()) {
+            return new Result(Mutability.IMMUTABLE, "枚舉");
+        }
+        for (String annotation : IMMUTABLE_ANNOTATIONS) {
+            if (psiClass.hasAnnotation(annotation)) {
+                return new Result(Mutability.IMMUTABLE, "標註 @" + StringUtil.getShortName(annotation));
+            }
+        }
+        if (isCollectionOrMap(psiClass)) {
+            return new Result(Mutability.MUTABLE, "可變集合");
+        }
+        String qualifiedName = psiClass.getQualifiedName();
+        if (psiClass.isInterface() || psiClass.hasModifierProperty(PsiModifier.ABSTRACT)
+                || qualifiedName == null || qualifiedName.startsWith("java.") || qualifiedName.startsWith("javax.")) {
+            // 接口和抽象類的實現可能可變，未列入內置列表的 JDK 類按可變處理
+            return new Result(Mutability.MUTABLE, "未知是否可變");
+        }
+
+        if (psiClass.isRecord()) {
+            for (PsiRecordComponent component : psiClass.getRecordComponents()) {
+                if (analyze(component.getType()).getMutability() != Mutability.IMMUTABLE) {
+                    return new Result(Mutability.EFFECTIVELY_IMMUTABLE,
+                            "record，組件 " + component.getName() + " 可能可變");
+                }
+            }
+            return new Result(Mutability.IMMUTABLE, "record，所有組件不可變");
+        }
+
+        String mutableField = null;
+        for (PsiField field : psiClass.getAllFields()) {
+            // transient 字段通常是緩存（如 hashCode），不影響值語義
+            if (field.hasModifierProperty(PsiModifier.STATIC) || field.hasModifierProperty(PsiModifier.TRANSIENT)) {
+                continue;
+            }
+            if (!field.hasModifierProperty(PsiModifier.FINAL)) {
+                return new Result(Mutability.MUTABLE, "字段 " + field.getName() + " 不是 final");
+            }
+            if (mutableField == null && analyze(field).getMutability() != Mutability.IMMUTABLE) {
+                mutableField = field.getName();
+            }
+        }
+        for (PsiMethod method : psiClass.getAllMethods()) {
+            if (!method.hasModifierProperty(PsiModifier.STATIC) && method.getName().startsWith("set")
+                    && method.getParameterList().getParametersCount() == 1) {
+                return new Result(Mutability.MUTABLE, "有 setter " + method.getName());
+            }
+        }
+        if (mutableField != null) {
+            return new Result(Mutability.EFFECTIVELY_IMMUTABLE,
+                    "所有字段 final 且無 setter，字段 " + mutableField + " 可能可變");
+        }
+        return new Result(Mutability.IMMUTABLE, "所有字段 final 且無 setter");
+    }
+
+    /**
+     * 查找字段的不可修改集合賦值來源：字段初始化表達式和聲明類中的所有賦值均為不可修改集合的工廠方法調用
+     *
+     * @param field 字段
+     * @return 工廠方法名，存在其他賦值或沒有賦值時返回 null
+     */
+    @Nullable
+    private static String findUnmodifiableFactory(@NotNull PsiField field) {
+        PsiClass containingClass = field.getContainingClass();
+        if (containingClass == null) {
+            return null;
+        }
+
+        String factory = null;
+        if (field.getInitializer() != null) {
+            factory = getUnmodifiableFactory(field.getInitializer());
+            if (factory == null) {
+                return null;
+            }
+        }
+        for (PsiAssignmentExpression assignment
+                : PsiTreeUtil.findChildrenOfType(containingClass, PsiAssignmentExpression.class)) {
+            PsiExpression lhs = PsiUtil.skipParenthesizedExprDown(assignment.getLExpression());
+            if (!(lhs instanceof PsiReferenceExpression) || !field.equals(((PsiReferenceExpression) lhs).resolve())) {
+                continue;
+            }
+            String assignmentFactory = getUnmodifiableFactory(assignment.getRExpression());
+            if (assignmentFactory == null) {
+                return null;
+            }
+            factory = factory == null ? assignmentFactory : factory;
+        }
+        return factory;
+    }
+
+    /**
+     * 查找字段可能持有的不可修改集合：字段初始化表達式或聲明類中任一賦值為不可修改集合的工廠方法調用，
+     * 此時不能對字段調用 clear() 等修改方法
+     *
+     * @param field 字段
+     * @return 工廠方法名，沒有這樣的賦值時返回 null
+     */
+    @Nullable
+    public static String findAnyUnmodifiableFactory(@NotNull PsiField field) {
+        String factory = getUnmodifiableFactory(field.getInitializer());
+        PsiClass containingClass = field.getContainingClass();
+        if (factory != null || containingClass == null) {
+            return factory;
+        }
+        for (PsiAssignmentExpression assignment
+                : PsiTreeUtil.findChildrenOfType(containingClass, PsiAssignmentExpression.class)) {
+            PsiExpression lhs = PsiUtil.skipParenthesizedExprDown(assignment.getLExpression());
+            if (lhs instanceof PsiReferenceExpression && field.equals(((PsiReferenceExpression) lhs).resolve())) {
+                factory = getUnmodifiableFactory(assignment.getRExpression());
+                if (factory != null) {
+                    return factory;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 判斷表達式是否為不可修改集合的工廠方法調用
+     *
+     * @param expression 表達式
+     * @return 工廠方法名，否則返回 null
+     */
+    @Nullable
+    private static String getUnmodifiableFactory(@Nullable PsiExpression expression) {
+        expression = PsiUtil.skipParenthesizedExprDown(expression);
+        if (!(expression instanceof PsiMethodCallExpression)) {
+            return null;
+        }
+        PsiMethod method = ((PsiMethodCallExpression) expression).resolveMethod();
+        PsiClass methodClass = method == null ? null : method.getContainingClass();
+        if (methodClass == null || methodClass.getQualifiedName() == null) {
+            return null;
+        }
+        String name = methodClass.getQualifiedName() + "." + method.getName();
+        if (UNMODIFIABLE_FACTORIES.contains(name)) {
+            return methodClass.getName() + "." + method.getName();
+        }
+        return null;
+    }
+
+    /**
+     * 判斷類型是否為集合或 Map
+     *
+     * @param type 類型
+     * @return 是否為集合或 Map
+     */
+    public static boolean isCollectionOrMap(@Nullable PsiType type) {
+        return InheritanceUtil.isInheritor(type, CommonClassNames.JAVA_UTIL_COLLECTION)
+                || InheritanceUtil.isInheritor(type, CommonClassNames.JAVA_UTIL_MAP);
+    }
+
+    /**
+     * 判斷類是否為集合或 Map
+     *
+     * @param psiClass 類
+     * @return 是否為集合或 Map
+     */
+    private static boolean isCollectionOrMap(@NotNull PsiClass psiClass) {
+        return InheritanceUtil.isInheritor(psiClass, CommonClassNames.JAVA_UTIL_COLLECTION)
+                || InheritanceUtil.isInheritor(psiClass, CommonClassNames.JAVA_UTIL_MAP);
+    }
+}
@@ -1,22 +1,50 @@
 package com.yanchen.plugin.objecthelper.generator.method;
 
+import com.intellij.pom.java.LanguageLevel;
 import com.intellij.psi.*;
-import com.intellij.psi.util.PsiTypesUtil;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.searches.ClassInheritorsSearch;
+import com.intellij.psi.util.InheritanceUtil;
+import com.intellij.psi.util.PsiUtil;
+import com.intellij.psi.util.TypeConversionUtil;
 import com.yanchen.plugin.objecthelper.common.util.PsiUtils;
 import com.yanchen.plugin.objecthelper.common.util.StringUtils;
 import com.yanchen.plugin.objecthelper.config.PluginConfigState;
+import com.yanchen.plugin.objecthelper.diagnostics.GenerationRun;
 import com.yanchen.plugin.objecthelper.generator.Generator;
+import com.yanchen.plugin.objecthelper.index.CopyMapperMarker;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * 對象複製方法生成器
  */
 public class ObjectCopyMethodGenerator implements Generator {
 
+    /**
+     * Protobuf 字節串類型
+     */
+    private static final String PROTOBUF_BYTE_STRING = "com.google.protobuf.ByteString";
+
+    /**
+     * Protobuf 生成的枚舉實現的接口
+     */
+    private static final String PROTOBUF_ENUM = "com.google.protobuf.ProtocolMessageEnum";
+
+    /**
+     * Protobuf 枚舉中表示未知值的常量名
+     */
+    private static final String PROTOBUF_UNRECOGNIZED = "UNRECOGNIZED";
+
     /**
      * 目標方法
      */
@@ -37,13 +65,38 @@ public class ObjectCopyMethodGenerator implements Generator {
      */
     private final PsiClass targetClass;
     
+    /**
+     * 是否為複製到已有對象模式（void 方法，第二個參數為目標對象）
+     */
+    private final boolean copyInto;
+    
+    /**
+     * 目標對象變量名
+     */
+    private final String targetName;
+    
+    /**
+     * 輔助方法代碼（多態模式下各子類型的映射方法）
+     */
+    private final List<String> auxiliaryMethods = new ArrayList<>();
+    
+    /**
+     * 當前生成方法中已映射的字段
+     */
+    private final List<String> mappedFields = new ArrayList<>();
+    
+    /**
+     * 字段值可變性分析，決定共享引用還是複製
+     */
+    private final MutabilityAnalyzer mutabilityAnalyzer = new MutabilityAnalyzer();
+    
     /**
      * 對象複製方法生成器實例
      *
      * @param psiMethod 目標方法
      * @return 生成器實例
      */
-    public static Generator getInstance(PsiMethod psiMethod) {
+    public static ObjectCopyMethodGenerator getInstance(PsiMethod psiMethod) {
         return new ObjectCopyMethodGenerator(psiMethod);
     }
     
@@ -59,55 +112,785 @@ public class ObjectCopyMethodGenerator implements Generator {
         this.sourceParameter = parameters.isEmpty() ? null : parameters.get(0);
         
         this.sourceClass = sourceParameter == null ? null : 
-                PsiTypesUtil.getPsiClass(sourceParameter.getType());
+                PsiUtils.resolveClass(sourceParameter.getType());
         
-        this.targetClass = PsiTypesUtil.getPsiClass(psiMethod.getReturnType());
+        // void 方法且有兩個參數時，將源對象字段複製到第二個參數
+        PsiType returnType = psiMethod.getReturnType();
+        this.copyInto = (returnType == null || PsiTypes.voidType().equals(returnType)) && parameters.size() >= 2;
+        if (copyInto) {
+            PsiParameter targetParameter = parameters.get(1);
+            this.targetClass = PsiUtils.resolveClass(targetParameter.getType());
+            this.targetName = targetParameter.getName();
+        } else {
+            this.targetClass = PsiUtils.resolveClass(returnType);
+            this.targetName = "target";
+        }
     }
 
     /**
-     * 生成對象複製方法
+     * 生成對象複製方法，並記錄耗時和計數供診斷
      *
      * @return 生成的方法代碼
      */
     @Override
     public String generate() {
+        return GenerationRun.record("copy", psiMethod.getName(), this::doGenerate);
+    }
+
+    /**
+     * 生成對象複製方法
+     *
+     * @return 生成的方法代碼
+     */
+    private String doGenerate() {
+        auxiliaryMethods.clear();
         if (sourceClass == null || targetClass == null) {
             return null;
         }
         
-        // 檢查目標類是否有 Builder 模式
-        PsiMethod builderMethod = findBuilderMethod(targetClass);
+        String methodHeader = psiMethod.getText().substring(0, psiMethod.getText().indexOf('{'));
+        
+        // 源類型為抽象類或接口時，按子類型分別生成映射方法
+        List<PsiClass> subClasses = findPolymorphicSubClasses();
+        if (!subClasses.isEmpty()) {
+            return generateWithPolymorphicMode(methodHeader, subClasses);
+        }
+        
+        return generateCopyMethod(psiMethod.getName(), methodHeader, sourceClass, sourceParameter.getName());
+    }
+    
+    /**
+     * 獲取輔助方法代碼（如多態模式下各子類型的映射方法）
+     * 需在 {@link #generate()} 之後調用
+     *
+     * @return 輔助方法代碼列表
+     */
+    @NotNull
+    public List<String> getAuxiliaryMethods() {
+        return auxiliaryMethods;
+    }
+    
+    /**
+     * 根據目標類選擇生成模式，並在方法體首行寫入複製方法標記
+     *
+     * @param methodName 方法名
+     * @param methodHeader 方法簽名（不含方法體）
+     * @param sourceClass 源類
+     * @param sourceName 源對象變量名
+     * @return 生成的方法代碼
+     */
+    private String generateCopyMethod(String methodName, String methodHeader, PsiClass sourceClass, String sourceName) {
+        mappedFields.clear();
+        String methodCode = generateCopyMethodBody(methodHeader, sourceClass, sourceName);
+        if (methodCode == null || sourceClass.getQualifiedName() == null || targetClass.getQualifiedName() == null) {
+            return methodCode;
+        }
+        
+        // 標記記錄已映射字段，供過期檢測和增量重新生成使用
+        CopyMapperMarker marker = new CopyMapperMarker(methodName, sourceClass.getQualifiedName(),
+                targetClass.getQualifiedName(), mappedFields);
+        int bodyStart = methodCode.indexOf("{\n") + 2;
+        return methodCode.substring(0, bodyStart) + "    " + marker.toComment() + "\n" + methodCode.substring(bodyStart);
+    }
+    
+    /**
+     * 根據目標類選擇 Protobuf、Builder 或 Setter 模式生成代碼
+     *
+     * @param methodHeader 方法簽名（不含方法體）
+     * @param sourceClass 源類
+     * @param sourceName 源對象變量名
+     * @return 生成的方法代碼
+     */
+    private String generateCopyMethodBody(String methodHeader, PsiClass sourceClass, String sourceName) {
+        // Protobuf 消息類的 setter 命名與判空規則不同，使用專用模式
+        boolean sourceIsProtobuf = PsiUtils.isProtobufMessage(sourceClass);
+        boolean targetIsProtobuf = PsiUtils.isProtobufMessage(targetClass);
+        if (targetIsProtobuf && !sourceIsProtobuf && !copyInto) {
+            return generateToProtobufMode(methodHeader, sourceClass, sourceName);
+        }
+        if (sourceIsProtobuf && !targetIsProtobuf) {
+            return generateFromProtobufMode(methodHeader, sourceClass, sourceName);
+        }
+        
+        // 檢查目標類是否有 Builder 模式，複製到已有對象時只能使用 Setter
+        PsiMethod builderMethod = copyInto ? null : findBuilderMethod(targetClass);
         if (builderMethod != null) {
-            return generateWithBuilderMode();
+            return generateWithBuilderMode(methodHeader, sourceClass, sourceName);
         } else {
-            return generateWithSetterMode();
+            return generateWithSetterMode(methodHeader, sourceClass, sourceName);
+        }
+    }
+    
+    /**
+     * 使用 Protobuf 模式生成代碼（POJO 轉 Protobuf 消息）
+     * 重複字段使用 addAllX，映射字段使用 putAllX，元素類型不同時逐個轉換；非原始類型先判空（Protobuf setter 不接受 null）
+     *
+     * @param methodHeader 方法簽名（不含方法體）
+     * @param sourceClass 源類
+     * @param sourceName 源對象變量名
+     * @return 生成的方法代碼
+     */
+    private String generateToProtobufMode(String methodHeader, PsiClass sourceClass, String sourceName) {
+        PsiMethod builderMethod = findBuilderMethod(targetClass);
+        PsiClass builderClass = builderMethod == null ? null : PsiUtils.resolveClass(builderMethod.getReturnType());
+        if (builderClass == null) {
+            return null;
+        }
+        
+        // 方法簽名
+        StringBuilder methodBuilder = new StringBuilder();
+        methodBuilder.append(methodHeader).append(" {\n");
+        
+        // 創建 Builder 實例
+        methodBuilder.append("    // 使用 Protobuf Builder 構建目標對象\n");
+        methodBuilder.append("    ").append(targetClass.getName()).append(".").append(builderClass.getName())
+                .append(" builder = ").append(targetClass.getName()).append(".")
+                .append(builderMethod.getName()).append("();\n\n");
+        
+        // 以源類字段為準，Protobuf 生成類的字段名帶下劃線後綴，不能直接比對
+        Set<String> reservedNames = getReservedVariableNames();
+        for (PsiField sourceField : PsiUtils.getAllFields(sourceClass)) {
+            if (sourceField.hasModifierProperty(PsiModifier.STATIC)) {
+                continue;
+            }
+            
+            String fieldName = sourceField.getName();
+            String capitalizedFieldName = StringUtils.capitalize(fieldName);
+            if (!PsiUtils.hasGetterMethod(sourceClass, fieldName)) {
+                methodBuilder.append("    // ").append(fieldName)
+                        .append(" 缺少 Getter 方法，需要手動設置\n");
+                continue;
+            }
+            
+            String getterCall = sourceName + "." + getGetterMethodName(sourceClass, sourceField) + "()";
+            PsiType sourceType = sourceField.getType();
+            
+            List<String> statements = new ArrayList<>();
+            if (PsiUtils.findMethod(builderClass, "putAll" + capitalizedFieldName, 1) != null) {
+                // 映射字段
+                PsiMethod putMethod = PsiUtils.findMethod(builderClass, "put" + capitalizedFieldName, 2);
+                PsiType sourceValueType = getLoopElementType(sourceType);
+                PsiType targetValueType = putMethod == null
+                        ? null : putMethod.getParameterList().getParameters()[1].getType();
+                if (sourceValueType == null || targetValueType == null
+                        || TypeConversionUtil.isAssignable(targetValueType, sourceValueType)) {
+                    statements.add("builder.putAll" + capitalizedFieldName + "(" + getterCall + ");");
+                } else {
+                    String entryName = getUniqueVariableName(fieldName + "Entry", reservedNames);
+                    String valueExpression = convertProtobufValue(entryName + ".getValue()",
+                            sourceValueType, targetValueType);
+                    if (valueExpression == null) {
+                        appendManualConversion(methodBuilder, fieldName, sourceValueType, targetValueType);
+                        continue;
+                    }
+                    statements.add("for (" + getEntryTypeText(sourceType) + " " + entryName + " : "
+                            + getterCall + ".entrySet()) {");
+                    statements.add("    builder.put" + capitalizedFieldName + "(" + entryName + ".getKey(), "
+                            + valueExpression + ");");
+                    statements.add("}");
+                }
+            } else if (PsiUtils.findMethod(builderClass, "addAll" + capitalizedFieldName, 1) != null) {
+                // 重複字段
+                PsiType sourceElementType = getLoopElementType(sourceType);
+                PsiType targetElementType = getProtobufElementType(builderClass, "add" + capitalizedFieldName);
+                if (sourceElementType == null || targetElementType == null
+                        || TypeConversionUtil.isAssignable(targetElementType, sourceElementType)) {
+                    statements.add("builder.addAll" + capitalizedFieldName + "(" + getterCall + ");");
+                } else {
+                    String itemName = getUniqueVariableName(fieldName + "Item", reservedNames);
+                    String valueExpression = convertProtobufValue(itemName, sourceElementType, targetElementType);
+                    if (valueExpression == null) {
+                        appendManualConversion(methodBuilder, fieldName, sourceElementType, targetElementType);
+                        continue;
+                    }
+                    statements.add("for (" + sourceElementType.getCanonicalText() + " " + itemName + " : "
+                            + getterCall + ") {");
+                    statements.add("    builder.add" + capitalizedFieldName + "(" + valueExpression + ");");
+                    statements.add("}");
+                }
+            } else {
+                PsiMethod setterMethod = PsiUtils.findMethod(builderClass, "set" + capitalizedFieldName, 1);
+                if (setterMethod == null) {
+                    if (PluginConfigState.getInstance().isNonExistentFieldGenerateAnnotation()) {
+                        methodBuilder.append("    // ").append(fieldName)
+                                .append(" 在目標類中不存在，需要手動設置\n");
+                    }
+                    continue;
+                }
+                PsiType parameterType = setterMethod.getParameterList().getParameters()[0].getType();
+                String valueExpression = convertProtobufValue(getterCall, sourceType, parameterType);
+                if (valueExpression == null) {
+                    appendManualConversion(methodBuilder, fieldName, sourceType, parameterType);
+                    continue;
+                }
+                statements.add("builder.set" + capitalizedFieldName + "(" + valueExpression + ");");
+            }
+            
+            if (sourceType instanceof PsiPrimitiveType) {
+                appendStatements(methodBuilder, statements, "    ");
+            } else {
+                methodBuilder.append("    if (").append(getterCall).append(" != null) {\n");
+                appendStatements(methodBuilder, statements, "        ");
+                methodBuilder.append("    }\n");
+            }
+            mappedFields.add(fieldName);
         }
+        
+        // 構建目標對象並返回
+        methodBuilder.append("\n    // 構建並返回目標對象\n");
+        methodBuilder.append("    return builder.build();\n");
+        methodBuilder.append("}");
+        
+        return methodBuilder.toString();
+    }
+    
+    /**
+     * 使用 Protobuf 模式生成代碼（Protobuf 消息轉 POJO）
+     * 消息字段使用 hasX() 判斷，集合按目標字段類型選擇實現類並按 getXCount() 預設容量，元素類型不同時逐個轉換
+     *
+     * @param methodHeader 方法簽名（不含方法體）
+     * @param sourceClass 源類
+     * @param sourceName 源對象變量名
+     * @return 生成的方法代碼
+     */
+    private String generateFromProtobufMode(String methodHeader, PsiClass sourceClass, String sourceName) {
+        // 方法簽名
+        StringBuilder methodBuilder = new StringBuilder();
+        methodBuilder.append(methodHeader).append(" {\n");
+        
+        // 創建目標對象
+        appendTargetCreation(methodBuilder);
+        
+        Set<String> reservedNames = getReservedVariableNames();
+        for (PsiField targetField : PsiUtils.getAllFields(targetClass)) {
+            // 排除靜態字段和常量
+            if (targetField.hasModifierProperty(PsiModifier.STATIC) || 
+                    targetField.hasModifierProperty(PsiModifier.FINAL)) {
+                continue;
+            }
+            
+            String fieldName = targetField.getName();
+            String capitalizedFieldName = StringUtils.capitalize(fieldName);
+            String setterMethodName = "set" + capitalizedFieldName;
+            
+            // 檢查目標字段是否有 Setter 方法
+            if (!PsiUtils.hasSetterMethod(targetClass, fieldName)) {
+                methodBuilder.append("    // ").append(fieldName)
+                        .append(" 缺少 Setter 方法，需要手動設置\n");
+                continue;
+            }
+            
+            PsiType targetType = targetField.getType();
+            String targetTypeText = targetType.getCanonicalText();
+            String countCall = sourceName + ".get" + capitalizedFieldName + "Count()";
+            
+            PsiMethod mapGetter = PsiUtils.findMethod(sourceClass, "get" + capitalizedFieldName + "Map", 0);
+            if (mapGetter != null && mapGetter.getReturnType() != null) {
+                // 映射字段，按元素個數預設容量
+                String mapCall = sourceName + "." + mapGetter.getName() + "()";
+                PsiType sourceValueType = getLoopElementType(mapGetter.getReturnType());
+                PsiType targetValueType = getLoopElementType(targetType);
+                String creation = InheritanceUtil.isInheritor(targetType, CommonClassNames.JAVA_UTIL_MAP)
+                        ? getCollectionCreation(targetType, countCall) : null;
+                if (creation == null || sourceValueType == null || targetValueType == null) {
+                    appendManualConversion(methodBuilder, fieldName, mapGetter.getReturnType(), targetType);
+                    continue;
+                }
+                
+                String entryName = getUniqueVariableName(fieldName + "Entry", reservedNames);
+                boolean assignable = TypeConversionUtil.isAssignable(targetValueType, sourceValueType);
+                String valueExpression = assignable ? null
+                        : convertProtobufValue(entryName + ".getValue()", sourceValueType, targetValueType);
+                if (!assignable && valueExpression == null) {
+                    appendManualConversion(methodBuilder, fieldName, sourceValueType, targetValueType);
+                    continue;
+                }
+                
+                String mapName = getUniqueVariableName(fieldName + "Map", reservedNames);
+                methodBuilder.append("    ").append(targetTypeText).append(" ").append(mapName)
+                        .append(" = ").append(creation).append(";\n");
+                if (assignable) {
+                    methodBuilder.append("    ").append(mapName).append(".putAll(").append(mapCall).append(");\n");
+                } else {
+                    methodBuilder.append("    for (").append(getEntryTypeText(mapGetter.getReturnType())).append(" ")
+                            .append(entryName).append(" : ").append(mapCall).append(".entrySet()) {\n");
+                    methodBuilder.append("        ").append(mapName).append(".put(").append(entryName)
+                            .append(".getKey(), ").append(valueExpression).append(");\n");
+                    methodBuilder.append("    }\n");
+                }
+                methodBuilder.append("    ").append(targetName).append(".").append(setterMethodName)
+                        .append("(").append(mapName).append(");\n");
+                mappedFields.add(fieldName);
+                continue;
+            }
+            
+            PsiMethod listGetter = PsiUtils.findMethod(sourceClass, "get" + capitalizedFieldName + "List", 0);
+            if (listGetter != null && listGetter.getReturnType() != null) {
+                // 重複字段，按元素個數預設容量
+                String listCall = sourceName + "." + listGetter.getName() + "()";
+                PsiType sourceElementType = getLoopElementType(listGetter.getReturnType());
+                PsiType targetElementType = getLoopElementType(targetType);
+                String creation = InheritanceUtil.isInheritor(targetType, CommonClassNames.JAVA_UTIL_COLLECTION)
+                        ? getCollectionCreation(targetType, countCall) : null;
+                if (creation == null || sourceElementType == null || targetElementType == null) {
+                    appendManualConversion(methodBuilder, fieldName, listGetter.getReturnType(), targetType);
+                    continue;
+                }
+                
+                String itemName = getUniqueVariableName(fieldName + "Item", reservedNames);
+                boolean assignable = TypeConversionUtil.isAssignable(targetElementType, sourceElementType);
+                String valueExpression = assignable ? null
+                        : convertProtobufValue(itemName, sourceElementType, targetElementType);
+                if (!assignable && valueExpression == null) {
+                    appendManualConversion(methodBuilder, fieldName, sourceElementType, targetElementType);
+                    continue;
+                }
+                
+                String listName = getUniqueVariableName(fieldName + "List", reservedNames);
+                methodBuilder.append("    ").append(targetTypeText).append(" ").append(listName)
+                        .append(" = ").append(creation).append(";\n");
+                if (assignable) {
+                    methodBuilder.append("    ").append(listName).append(".addAll(").append(listCall).append(");\n");
+                } else {
+                    methodBuilder.append("    for (").append(sourceElementType.getCanonicalText()).append(" ")
+                            .append(itemName).append(" : ").append(listCall).append(") {\n");
+                    methodBuilder.append("        ").append(listName).append(".add(").append(valueExpression)
+                            .append(");\n");
+                    methodBuilder.append("    }\n");
+                }
+                methodBuilder.append("    ").append(targetName).append(".").append(setterMethodName)
+                        .append("(").append(listName).append(");\n");
+                mappedFields.add(fieldName);
+                continue;
+            }
+            
+            PsiMethod getterMethod = PsiUtils.findMethod(sourceClass, "get" + capitalizedFieldName, 0);
+            if (getterMethod == null || getterMethod.getReturnType() == null) {
+                if (PluginConfigState.getInstance().isNonExistentFieldGenerateAnnotation()) {
+                    methodBuilder.append("    // ").append(fieldName)
+                            .append(" 在源類中不存在，需要手動設置\n");
+                }
+                continue;
+            }
+            
+            String valueExpression = convertProtobufValue(sourceName + "." + getterMethod.getName() + "()",
+                    getterMethod.getReturnType(), targetType);
+            if (valueExpression == null) {
+                appendManualConversion(methodBuilder, fieldName, getterMethod.getReturnType(), targetType);
+                continue;
+            }
+            
+            // 消息類型和 optional 字段有 hasX()，未設置時保持目標字段默認值
+            if (PsiUtils.findMethod(sourceClass, "has" + capitalizedFieldName, 0) != null) {
+                methodBuilder.append("    if (").append(sourceName).append(".has").append(capitalizedFieldName)
+                        .append("()) {\n");
+                methodBuilder.append("        ").append(targetName).append(".").append(setterMethodName)
+                        .append("(").append(valueExpression).append(");\n");
+                methodBuilder.append("    }\n");
+            } else {
+                methodBuilder.append("    ").append(targetName).append(".").append(setterMethodName)
+                        .append("(").append(valueExpression).append(");\n");
+            }
+            mappedFields.add(fieldName);
+        }
+        
+        // 返回目標對象
+        appendTargetReturn(methodBuilder);
+        methodBuilder.append("}");
+        
+        return methodBuilder.toString();
+    }
+    
+    /**
+     * Protobuf 字段值類型轉換
+     * 枚舉按名稱轉換，Protobuf 枚舉的 UNRECOGNIZED 轉為 null；byte[] 通過 ByteString.copyFrom 複製，
+     * 避免與可變數組共享；嵌套消息調用當前類中已有的轉換方法
+     *
+     * @param expression 取值表達式（非 null）
+     * @param fromType 源類型
+     * @param toType 目標類型
+     * @return 轉換後的表達式，無法轉換時返回 null
+     */
+    @Nullable
+    private String convertProtobufValue(String expression, PsiType fromType, PsiType toType) {
+        if (TypeConversionUtil.isAssignable(toType, fromType)) {
+            return expression;
+        }
+        
+        String fromText = fromType.getCanonicalText();
+        String toText = toType.getCanonicalText();
+        if (PsiUtils.isEnumType(fromType) && PsiUtils.isEnumType(toType)) {
+            // 新版本協議中的未知枚舉值反序列化為 UNRECOGNIZED，目標枚舉中沒有對應常量
+            PsiClass fromClass = PsiUtils.resolveClass(fromType);
+            if (InheritanceUtil.isInheritor(fromClass, PROTOBUF_ENUM)
+                    && fromClass.findFieldByName(PROTOBUF_UNRECOGNIZED, false) != null) {
+                return expression + " == " + fromText + "." + PROTOBUF_UNRECOGNIZED + " ? null : "
+                        + toText + ".valueOf(" + expression + ".name())";
+            }
+            return toText + ".valueOf(" + expression + ".name())";
+        }
+        
+        if ("byte[]".equals(fromText) && PROTOBUF_BYTE_STRING.equals(toText)) {
+            return PROTOBUF_BYTE_STRING + ".copyFrom(" + expression + ")";
+        }
+        
+        if (PROTOBUF_BYTE_STRING.equals(fromText) && "byte[]".equals(toText)) {
+            return expression + ".toByteArray()";
+        }
+        
+        PsiMethod converterMethod = findConverterMethod(fromType, toType);
+        return converterMethod == null ? null : converterMethod.getName() + "(" + expression + ")";
+    }
+    
+    /**
+     * 在當前類中查找嵌套對象的轉換方法：單參數、參數接受源類型、返回值可賦給目標類型，
+     * 當前方法為靜態方法時只查找靜態方法
+     *
+     * @param fromType 源類型
+     * @param toType 目標類型
+     * @return 轉換方法，不存在時返回 null
+     */
+    @Nullable
+    private PsiMethod findConverterMethod(PsiType fromType, PsiType toType) {
+        PsiClass containingClass = psiMethod.getContainingClass();
+        if (containingClass == null) {
+            return null;
+        }
+        boolean isStatic = psiMethod.hasModifierProperty(PsiModifier.STATIC);
+        for (PsiMethod method : containingClass.getMethods()) {
+            PsiType returnType = method.getReturnType();
+            PsiParameter[] parameters = method.getParameterList().getParameters();
+            if (returnType == null || PsiTypes.voidType().equals(returnType) || parameters.length != 1
+                    || (isStatic && !method.hasModifierProperty(PsiModifier.STATIC))) {
+                continue;
+            }
+            if (TypeConversionUtil.isAssignable(parameters[0].getType(), fromType)
+                    && TypeConversionUtil.isAssignable(toType, returnType)) {
+                return method;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Protobuf Builder 中重複字段的元素類型，取 addX 的非 Builder 參數重載
+     *
+     * @param builderClass Builder 類
+     * @param addMethodName addX 方法名
+     * @return 元素類型，找不到時返回 null
+     */
+    @Nullable
+    private PsiType getProtobufElementType(PsiClass builderClass, String addMethodName) {
+        for (PsiMethod method : builderClass.findMethodsByName(addMethodName, true)) {
+            PsiParameter[] parameters = method.getParameterList().getParameters();
+            if (parameters.length != 1) {
+                continue;
+            }
+            PsiClass parameterClass = PsiUtils.resolveClass(parameters[0].getType());
+            if (parameterClass == null || !"Builder".equals(parameterClass.getName())) {
+                return parameters[0].getType();
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * 集合元素、Map 值或數組元素作為循環變量時的類型，通配符取其上界
+     *
+     * @param type 容器類型
+     * @return 元素類型，非容器類型返回 null
+     */
+    @Nullable
+    private PsiType getLoopElementType(PsiType type) {
+        PsiType elementType = getElementType(type);
+        if (elementType instanceof PsiWildcardType) {
+            return ((PsiWildcardType) elementType).getExtendsBound();
+        }
+        return elementType;
+    }
+    
+    /**
+     * 遍歷 Map 時 Entry 的類型文本，保留類型參數中的通配符
+     *
+     * @param mapType Map 類型
+     * @return Entry 類型文本
+     */
+    @NotNull
+    private String getEntryTypeText(PsiType mapType) {
+        PsiType keyType = PsiUtil.substituteTypeParameter(mapType, CommonClassNames.JAVA_UTIL_MAP, 0, false);
+        PsiType valueType = PsiUtil.substituteTypeParameter(mapType, CommonClassNames.JAVA_UTIL_MAP, 1, false);
+        if (keyType == null || valueType == null) {
+            return "java.util.Map.Entry<?, ?>";
+        }
+        return "java.util.Map.Entry<" + keyType.getCanonicalText() + ", " + valueType.getCanonicalText() + ">";
+    }
+    
+    /**
+     * 創建目標集合的表達式：按目標字段類型選擇實現類，JDK 集合按元素個數預設容量，
+     * 自定義實現類需要可訪問的無參構造方法
+     *
+     * @param targetType 目標集合類型
+     * @param countCall 元素個數表達式
+     * @return 創建表達式，無法創建時返回 null
+     */
+    @Nullable
+    private String getCollectionCreation(PsiType targetType, String countCall) {
+        PsiClass targetTypeClass = PsiUtils.resolveClass(targetType);
+        String implementation = targetTypeClass == null ? null : getCollectionImplementation(targetTypeClass);
+        PsiClass implementationClass = implementation == null ? null : JavaPsiFacade.getInstance(psiMethod.getProject())
+                .findClass(implementation, psiMethod.getResolveScope());
+        if (implementationClass == null) {
+            return null;
+        }
+        
+        String diamond = implementationClass.hasTypeParameters() ? "<>" : "";
+        switch (implementation) {
+            case "java.util.ArrayList":
+            case "java.util.ArrayDeque":
+                return "new " + implementation + diamond + "(" + countCall + ")";
+            case "java.util.HashMap":
+            case "java.util.HashSet":
+            case "java.util.LinkedHashMap":
+            case "java.util.LinkedHashSet":
+                return "new " + implementation + diamond + "((int) (" + countCall + " / 0.75f) + 1)";
+            default:
+                break;
+        }
+        
+        PsiMethod[] constructors = implementationClass.getConstructors();
+        if (constructors.length == 0) {
+            return "new " + implementation + diamond + "()";
+        }
+        for (PsiMethod constructor : constructors) {
+            if (constructor.getParameterList().isEmpty()
+                    && PsiUtil.isAccessible(constructor, psiMethod, null)) {
+                return "new " + implementation + diamond + "()";
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * 獲取不與保留名稱衝突的局部變量名，並將其加入保留名稱
+     *
+     * @param baseName 基礎名稱
+     * @param reservedNames 保留名稱
+     * @return 變量名
+     */
+    @NotNull
+    private String getUniqueVariableName(String baseName, Set<String> reservedNames) {
+        String name = baseName;
+        int suffix = 2;
+        while (reservedNames.contains(name)) {
+            name = baseName + suffix++;
+        }
+        reservedNames.add(name);
+        return name;
+    }
+    
+    /**
+     * 添加類型無法自動轉換的提示註釋
+     *
+     * @param methodBuilder 方法代碼
+     * @param fieldName 字段名
+     * @param fromType 源類型
+     * @param toType 目標類型
+     */
+    private void appendManualConversion(StringBuilder methodBuilder, String fieldName, PsiType fromType, PsiType toType) {
+        methodBuilder.append("    // ").append(fieldName).append(" 無法從 ").append(fromType.getPresentableText())
+                .append(" 轉換為 ").append(toType.getPresentableText()).append("，需要手動設置\n");
+    }
+    
+    /**
+     * 按縮進添加語句
+     *
+     * @param methodBuilder 方法代碼
+     * @param statements 語句
+     * @param indent 縮進
+     */
+    private void appendStatements(StringBuilder methodBuilder, List<String> statements, String indent) {
+        for (String statement : statements) {
+            methodBuilder.append(indent).append(statement).append("\n");
+        }
+    }
+    
+    /**
+     * 使用多態模式生成代碼
+     * 入口方法通過 switch 模式匹配分派到各子類型的專用映射方法，
+     * 每個映射方法只處理一個具體類型，調用點保持單態
+     *
+     * @param methodHeader 方法簽名（不含方法體）
+     * @param subClasses 具體子類型（子類在父類之前）
+     * @return 生成的方法代碼
+     */
+    private String generateWithPolymorphicMode(String methodHeader, List<PsiClass> subClasses) {
+        String sourceName = sourceParameter.getName();
+        boolean isStatic = psiMethod.hasModifierProperty(PsiModifier.STATIC);
+        
+        StringBuilder methodBuilder = new StringBuilder();
+        methodBuilder.append(methodHeader).append(" {\n");
+        
+        // 入口方法的標記記錄分派的子類型，子類型增減時可檢測到過期
+        if (sourceClass.getQualifiedName() != null && targetClass.getQualifiedName() != null) {
+            List<String> subClassNames = new ArrayList<>();
+            for (PsiClass subClass : subClasses) {
+                subClassNames.add(subClass.getQualifiedName());
+            }
+            CopyMapperMarker marker = CopyMapperMarker.dispatch(psiMethod.getName(), sourceClass.getQualifiedName(),
+                    targetClass.getQualifiedName(), subClassNames);
+            methodBuilder.append("    ").append(marker.toComment()).append("\n");
+        }
+        methodBuilder.append("    // 按源對象的實際類型分派到對應的映射方法\n");
+        methodBuilder.append("    return switch (").append(sourceName).append(") {\n");
+        
+        Set<String> reservedNames = getReservedVariableNames();
+        for (PsiClass subClass : subClasses) {
+            String subMethodName = getSubTypeMethodName(subClass);
+            String subSourceName = getSubSourceName(subClass, reservedNames);
+            
+            // 使用全限定名，其他包中未導入的子類型也能解析
+            methodBuilder.append("        case ").append(subClass.getQualifiedName()).append(" ").append(subSourceName)
+                    .append(" -> ").append(subMethodName).append("(").append(subSourceName).append(");\n");
+            
+            // 子類型的專用映射方法
+            String subMethodHeader = "private " + (isStatic ? "static " : "")
+                    + targetClass.getName() + " " + subMethodName
+                    + "(" + subClass.getQualifiedName() + " " + subSourceName + ")";
+            auxiliaryMethods.add(generateCopyMethod(subMethodName, subMethodHeader, subClass, subSourceName));
+        }
+        
+        methodBuilder.append("        case null -> null;\n");
+        methodBuilder.append("        default -> throw new IllegalArgumentException(\"不支持的類型: \" + ")
+                .append(sourceName).append(".getClass().getName());\n");
+        methodBuilder.append("    };\n");
+        methodBuilder.append("}");
+        
+        return methodBuilder.toString();
+    }
+    
+    /**
+     * 子類型模式變量名和映射方法參數名不能使用的名稱：入口方法的參數名，以及子類型映射方法中的局部變量名
+     * （目標對象、Builder 和以目標字段命名的臨時變量）
+     *
+     * @return 名稱集合
+     */
+    @NotNull
+    private Set<String> getReservedVariableNames() {
+        Set<String> reservedNames = new HashSet<>();
+        for (PsiParameter parameter : PsiUtils.getPsiParameters(psiMethod)) {
+            reservedNames.add(parameter.getName());
+        }
+        reservedNames.add(targetName);
+        reservedNames.add("builder");
+        for (PsiField field : PsiUtils.getAllFields(targetClass)) {
+            reservedNames.add(field.getName());
+        }
+        return reservedNames;
+    }
+    
+    /**
+     * 獲取子類型的模式變量名，與保留名稱衝突或為關鍵字時加後綴
+     *
+     * @param subClass 子類型
+     * @param reservedNames 保留名稱
+     * @return 變量名
+     */
+    @NotNull
+    private String getSubSourceName(PsiClass subClass, Set<String> reservedNames) {
+        PsiNameHelper nameHelper = PsiNameHelper.getInstance(psiMethod.getProject());
+        String baseName = StringUtils.uncapitalize(subClass.getName());
+        String name = baseName;
+        if (reservedNames.contains(name) || !nameHelper.isIdentifier(name)) {
+            name = baseName + "Source";
+        }
+        int suffix = 2;
+        while (reservedNames.contains(name)) {
+            name = baseName + "Source" + suffix++;
+        }
+        reservedNames.add(name);
+        return name;
+    }
+    
+    /**
+     * 獲取子類型映射方法名稱
+     *
+     * @param subClass 子類型
+     * @return 方法名稱
+     */
+    @NotNull
+    private String getSubTypeMethodName(PsiClass subClass) {
+        return psiMethod.getName() + "From" + StringUtils.capitalize(subClass.getName());
+    }
+    
+    /**
+     * 查找源類型的具體子類型
+     * 僅當源類型為抽象類或接口、且項目語言級別支持 switch 模式匹配時才返回結果；
+     * 子類排在父類之前，避免 case 被覆蓋
+     *
+     * @return 具體子類型列表，不需要多態模式時為空
+     */
+    @NotNull
+    private List<PsiClass> findPolymorphicSubClasses() {
+        if (copyInto) {
+            return Collections.emptyList();
+        }
+        if (!sourceClass.isInterface() && !sourceClass.hasModifierProperty(PsiModifier.ABSTRACT)) {
+            return Collections.emptyList();
+        }
+        if (!PsiUtil.getLanguageLevel(psiMethod).isAtLeast(LanguageLevel.JDK_21)) {
+            return Collections.emptyList();
+        }
+        
+        List<PsiClass> subClasses = new ArrayList<>();
+        for (PsiClass inheritor : ClassInheritorsSearch.search(sourceClass,
+                GlobalSearchScope.projectScope(psiMethod.getProject()), true).findAll()) {
+            if (inheritor.isInterface()
+                    || inheritor.hasModifierProperty(PsiModifier.ABSTRACT)
+                    || inheritor.getQualifiedName() == null) {
+                continue;
+            }
+            subClasses.add(inheritor);
+        }
+        
+        // 繼承層次越深越靠前，同層按名稱排序保證輸出穩定
+        Map<PsiClass, Integer> depths = new HashMap<>();
+        for (PsiClass subClass : subClasses) {
+            int depth = 0;
+            for (PsiClass other : subClasses) {
+                if (other != subClass && subClass.isInheritor(other, true)) {
+                    depth++;
+                }
+            }
+            depths.put(subClass, depth);
+        }
+        subClasses.sort(Comparator.<PsiClass>comparingInt(depths::get).reversed()
+                .thenComparing(PsiClass::getQualifiedName));
+        return subClasses;
     }
     
     /**
      * 使用 Builder 模式生成代碼
      *
+     * @param methodHeader 方法簽名（不含方法體）
+     * @param sourceClass 源類
+     * @param sourceName 源對象變量名
      * @return 生成的方法代碼
      */
-    private String generateWithBuilderMode() {
+    private String generateWithBuilderMode(String methodHeader, PsiClass sourceClass, String sourceName) {
         // 獲取 Builder 類型
         PsiMethod builderMethod = findBuilderMethod(targetClass);
         if (builderMethod == null) {
             return null;
         }
         
-        PsiClass builderClass = PsiTypesUtil.getPsiClass(builderMethod.getReturnType());
+        PsiClass builderClass = PsiUtils.resolveClass(builderMethod.getReturnType());
         if (builderClass == null) {
             return null;
         }
         
         // 方法簽名
         StringBuilder methodBuilder = new StringBuilder();
-        methodBuilder.append(psiMethod.getText().substring(0, psiMethod.getText().indexOf('{')))
-                .append(" {\n");
-        
-        // 獲取源對象名稱
-        String sourceName = sourceParameter.getName();
+        methodBuilder.append(methodHeader).append(" {\n");
         
         // 創建 Builder 實例
         methodBuilder.append("    // 使用 Builder 模式構建目標對象\n");
@@ -121,6 +904,10 @@ public class ObjectCopyMethodGenerator implements Generator {
         // 源類字段
         List<PsiField> sourceFields = PsiUtils.getAllFields(sourceClass);
         
+        // 複製可變值時讀取 Getter 的局部變量不能與參數和其他局部變量重名
+        Set<String> reservedNames = getReservedVariableNames();
+        reservedNames.add(sourceName);
+        
         // 添加字段賦值
         for (PsiField targetField : targetFields) {
             // 排除靜態字段和常量
@@ -140,13 +927,14 @@ public class ObjectCopyMethodGenerator implements Generator {
                     fieldFound = true;
                     
                     // 生成 Builder 方法調用
+                    String getterCall = sourceName + "." + getGetterMethodName(sourceClass, sourceField) + "()";
+                    String value = getOwnedValue(methodBuilder, sourceField, targetField, getterCall, reservedNames);
                     methodBuilder.append("    builder.")
                             .append(builderMethodName)
                             .append("(")
-                            .append(sourceName)
-                            .append(".")
-                            .append(getGetterMethodName(sourceField))
-                            .append("());\n");
+                            .append(value)
+                            .append(");\n");
+                    mappedFields.add(targetFieldName);
                     break;
                 }
             }
@@ -169,21 +957,18 @@ public class ObjectCopyMethodGenerator implements Generator {
     /**
      * 使用 Setter 模式生成代碼
      *
+     * @param methodHeader 方法簽名（不含方法體）
+     * @param sourceClass 源類
+     * @param sourceName 源對象變量名
      * @return 生成的方法代碼
      */
-    private String generateWithSetterMode() {
+    private String generateWithSetterMode(String methodHeader, PsiClass sourceClass, String sourceName) {
         // 方法簽名
         StringBuilder methodBuilder = new StringBuilder();
-        methodBuilder.append(psiMethod.getText().substring(0, psiMethod.getText().indexOf('{')))
-                .append(" {\n");
-        
-        // 獲取源對象名稱
-        String sourceName = sourceParameter.getName();
+        methodBuilder.append(methodHeader).append(" {\n");
         
         // 創建目標對象
-        methodBuilder.append("    // 創建目標對象\n");
-        methodBuilder.append("    ").append(targetClass.getName()).append(" target = new ")
-                .append(targetClass.getName()).append("();\n\n");
+        appendTargetCreation(methodBuilder);
         
         // 遍歷目標類字段
         List<PsiField> targetFields = PsiUtils.getAllFields(targetClass);
@@ -191,6 +976,10 @@ public class ObjectCopyMethodGenerator implements Generator {
         // 源類字段
         List<PsiField> sourceFields = PsiUtils.getAllFields(sourceClass);
         
+        // 複製可變值時讀取 Getter 的局部變量不能與參數和其他局部變量重名
+        Set<String> reservedNames = getReservedVariableNames();
+        reservedNames.add(sourceName);
+        
         // 添加字段賦值
         for (PsiField targetField : targetFields) {
             // 排除靜態字段和常量
@@ -224,13 +1013,14 @@ public class ObjectCopyMethodGenerator implements Generator {
                     }
                     
                     // 生成字段賦值
-                    methodBuilder.append("    target.")
+                    String getterCall = sourceName + "." + getGetterMethodName(sourceClass, sourceField) + "()";
+                    String value = getOwnedValue(methodBuilder, sourceField, targetField, getterCall, reservedNames);
+                    methodBuilder.append("    ").append(targetName).append(".")
                             .append(setterMethodName)
                             .append("(")
-                            .append(sourceName)
-                            .append(".")
-                            .append(getGetterMethodName(sourceField))
-                            .append("());\n");
+                            .append(value)
+                            .append(");\n");
+                    mappedFields.add(targetFieldName);
                     break;
                 }
             }
@@ -243,41 +1033,218 @@ public class ObjectCopyMethodGenerator implements Generator {
         }
         
         // 返回目標對象
-        methodBuilder.append("\n    // 返回目標對象\n");
-        methodBuilder.append("    return target;\n");
+        appendTargetReturn(methodBuilder);
         methodBuilder.append("}");
         
         return methodBuilder.toString();
     }
     
+    /**
+     * 按字段值的所有權決定共享引用還是複製，並在賦值語句前寫入判斷依據的註釋
+     * 不可變和實際不可變的值共享引用；可變的集合、Map、數組、Date、StringBuilder 和有複製構造方法的類複製一份，
+     * 複製前先將 Getter 的結果讀入局部變量，判空和複製不會重複調用 Getter；
+     * 其他可變值仍共享引用並提示確認。源和目標字段類型不兼容時保持原樣
+     *
+     * @param methodBuilder 方法代碼
+     * @param sourceField 源字段
+     * @param targetField 目標字段
+     * @param getterCall 取值表達式
+     * @param reservedNames 方法中已使用的變量名
+     * @return 賦值表達式
+     */
+    @NotNull
+    private String getOwnedValue(StringBuilder methodBuilder, PsiField sourceField, PsiField targetField,
+                                 String getterCall, Set<String> reservedNames) {
+        PsiType sourceType = sourceField.getType();
+        PsiType targetType = targetField.getType();
+        if (!PluginConfigState.getInstance().isOwnershipAwareCopy() || !targetType.isAssignableFrom(sourceType)) {
+            return getterCall;
+        }
+        
+        String fieldName = targetField.getName();
+        MutabilityAnalyzer.Result result = mutabilityAnalyzer.analyze(sourceField);
+        if (result.isShareable()) {
+            String mutability = result.getMutability() == MutabilityAnalyzer.Mutability.IMMUTABLE ? "不可變" : "實際不可變";
+            methodBuilder.append("    // ").append(fieldName).append(": ").append(mutability).append("（")
+                    .append(result.getReason()).append("），共享引用\n");
+            return getterCall;
+        }
+        
+        String valueName = getUniqueVariableName(fieldName + "Value", reservedNames);
+        String copyExpression = getCopyExpression(sourceType, targetType, valueName);
+        if (copyExpression == null) {
+            methodBuilder.append("    // ").append(fieldName).append(": 可變（").append(result.getReason())
+                    .append("），無法自動複製，共享引用，需確認所有權\n");
+            return getterCall;
+        }
+        
+        methodBuilder.append("    // ").append(fieldName).append(": 可變（").append(result.getReason())
+                .append("），複製一份");
+        PsiType elementType = getElementType(sourceType);
+        if (elementType != null && !mutabilityAnalyzer.analyze(elementType).isShareable()) {
+            methodBuilder.append("，元素 ").append(elementType.getPresentableText()).append(" 可變，仍與源對象共享");
+        }
+        methodBuilder.append("\n");
+        methodBuilder.append("    ").append(sourceType.getCanonicalText()).append(" ").append(valueName)
+                .append(" = ").append(getterCall).append(";\n");
+        return valueName + " == null ? null : " + copyExpression;
+    }
+    
+    /**
+     * 複製可變值的表達式
+     * 集合和 Map 按目標類型選擇實現類淺複製，接口類型使用保持順序的默認實現；
+     * 集合實現類和自定義類都需要可訪問的、接受源類型的單參數構造方法，泛型類才使用菱形語法
+     *
+     * @param sourceType 源類型
+     * @param targetType 目標類型
+     * @param getterCall 取值表達式（非 null），通常為已讀取 Getter 結果的局部變量
+     * @return 複製表達式，無法複製時返回 null
+     */
+    @Nullable
+    private String getCopyExpression(PsiType sourceType, PsiType targetType, String getterCall) {
+        if (sourceType instanceof PsiArrayType) {
+            return getterCall + ".clone()";
+        }
+        
+        PsiClass targetTypeClass = PsiUtils.resolveClass(targetType);
+        PsiClass sourceTypeClass = PsiUtils.resolveClass(sourceType);
+        if (targetTypeClass == null || sourceTypeClass == null) {
+            return null;
+        }
+        if (MutabilityAnalyzer.isCollectionOrMap(targetType)) {
+            String implementation = getCollectionImplementation(targetTypeClass);
+            PsiClass implementationClass = implementation == null ? null : JavaPsiFacade.getInstance(psiMethod.getProject())
+                    .findClass(implementation, psiMethod.getResolveScope());
+            return implementationClass == null ? null
+                    : getCopyConstructorCall(implementationClass, sourceType, getterCall);
+        }
+        
+        String typeName = sourceTypeClass.getQualifiedName();
+        if ("java.util.Date".equals(typeName)) {
+            return "new java.util.Date(" + getterCall + ".getTime())";
+        }
+        if (CommonClassNames.JAVA_LANG_STRING_BUILDER.equals(typeName)) {
+            return "new StringBuilder(" + getterCall + ")";
+        }
+        
+        // 可變的自定義類使用其複製構造方法
+        return getCopyConstructorCall(sourceTypeClass, sourceType, getterCall);
+    }
+    
+    /**
+     * 通過複製構造方法創建副本的表達式
+     * 要求類可實例化，且有 public 的單參數構造方法，參數類型（擦除後）可以接受源類型
+     *
+     * @param copyClass 要創建的類
+     * @param sourceType 源類型
+     * @param getterCall 取值表達式（非 null）
+     * @return 創建表達式，沒有合適的構造方法時返回 null
+     */
+    @Nullable
+    private String getCopyConstructorCall(PsiClass copyClass, PsiType sourceType, String getterCall) {
+        String className = copyClass.getQualifiedName();
+        if (className == null || copyClass.isInterface() || copyClass.hasModifierProperty(PsiModifier.ABSTRACT)) {
+            return null;
+        }
+        PsiType erasedSourceType = TypeConversionUtil.erasure(sourceType);
+        for (PsiMethod constructor : copyClass.getConstructors()) {
+            PsiParameter[] parameters = constructor.getParameterList().getParameters();
+            if (parameters.length == 1 && constructor.hasModifierProperty(PsiModifier.PUBLIC)
+                    && TypeConversionUtil.erasure(parameters[0].getType()).isAssignableFrom(erasedSourceType)) {
+                String diamond = copyClass.hasTypeParameters() ? "<>" : "";
+                return "new " + className + diamond + "(" + getterCall + ")";
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * 集合和 Map 複製時使用的實現類：具體類使用自身，接口和抽象類按類型選擇默認實現
+     *
+     * @param collectionClass 目標集合類
+     * @return 實現類名，無法確定時返回 null
+     */
+    @Nullable
+    private String getCollectionImplementation(PsiClass collectionClass) {
+        if (!collectionClass.isInterface() && !collectionClass.hasModifierProperty(PsiModifier.ABSTRACT)) {
+            return collectionClass.getQualifiedName();
+        }
+        if (InheritanceUtil.isInheritor(collectionClass, false, "java.util.SortedMap")) {
+            return "java.util.TreeMap";
+        }
+        if (InheritanceUtil.isInheritor(collectionClass, false, CommonClassNames.JAVA_UTIL_MAP)) {
+            return "java.util.LinkedHashMap";
+        }
+        if (InheritanceUtil.isInheritor(collectionClass, false, "java.util.SortedSet")) {
+            return "java.util.TreeSet";
+        }
+        if (InheritanceUtil.isInheritor(collectionClass, false, CommonClassNames.JAVA_UTIL_SET)) {
+            return "java.util.LinkedHashSet";
+        }
+        if (InheritanceUtil.isInheritor(collectionClass, false, CommonClassNames.JAVA_UTIL_QUEUE)) {
+            return "java.util.ArrayDeque";
+        }
+        if (InheritanceUtil.isInheritor(collectionClass, false, CommonClassNames.JAVA_UTIL_LIST)
+                || CommonClassNames.JAVA_UTIL_COLLECTION.equals(collectionClass.getQualifiedName())) {
+            return "java.util.ArrayList";
+        }
+        return null;
+    }
+    
+    /**
+     * 集合元素、Map 值或數組元素的類型
+     *
+     * @param type 類型
+     * @return 元素類型，非容器類型返回 null
+     */
+    @Nullable
+    private PsiType getElementType(PsiType type) {
+        if (type instanceof PsiArrayType) {
+            return ((PsiArrayType) type).getComponentType();
+        }
+        if (InheritanceUtil.isInheritor(type, CommonClassNames.JAVA_UTIL_MAP)) {
+            return PsiUtil.substituteTypeParameter(type, CommonClassNames.JAVA_UTIL_MAP, 1, false);
+        }
+        return PsiUtil.extractIterableTypeParameter(type, false);
+    }
+    
+    /**
+     * 添加創建目標對象的代碼，複製到已有對象時跳過
+     *
+     * @param methodBuilder 方法代碼
+     */
+    private void appendTargetCreation(StringBuilder methodBuilder) {
+        if (copyInto) {
+            return;
+        }
+        methodBuilder.append("    // 創建目標對象\n");
+        methodBuilder.append("    ").append(targetClass.getName()).append(" target = new ")
+                .append(targetClass.getName()).append("();\n\n");
+    }
+    
+    /**
+     * 添加返回目標對象的代碼，複製到已有對象時跳過
+     *
+     * @param methodBuilder 方法代碼
+     */
+    private void appendTargetReturn(StringBuilder methodBuilder) {
+        if (copyInto) {
+            return;
+        }
+        methodBuilder.append("\n    // 返回目標對象\n");
+        methodBuilder.append("    return target;\n");
+    }
+    
     /**
      * 獲取字段的 Getter 方法名
      *
+     * @param sourceClass 源類
      * @param field 字段
      * @return Getter 方法名
      */
     @NotNull
-    private String getGetterMethodName(PsiField field) {
-        String fieldName = field.getName();
-        String capitalizedFieldName = StringUtils.capitalize(fieldName);
-        
-        // 布爾類型使用 is 前綴
-        PsiType fieldType = field.getType();
-        if (PsiTypes.booleanType().equals(fieldType) || 
-                "java.lang.Boolean".equals(fieldType.getCanonicalText())) {
-            // 檢查是否已有 is 前綴
-            if (fieldName.startsWith("is") && fieldName.length() > 2 && 
-                    Character.isUpperCase(fieldName.charAt(2))) {
-                return fieldName;
-            } else {
-                String isMethodName = "is" + capitalizedFieldName;
-                if (PsiUtils.hasGetterMethod(sourceClass, fieldName)) {
-                    return isMethodName;
-                }
-            }
-        }
-        
-        return "get" + capitalizedFieldName;
+    private String getGetterMethodName(PsiClass sourceClass, PsiField field) {
+        return PsiUtils.getGetterMethodName(sourceClass, field);
     }
     
     /**
@@ -307,7 +1274,7 @@ public class ObjectCopyMethodGenerator implements Generator {
             }
             
             // 獲取返回類型的類
-            PsiClass returnClass = PsiTypesUtil.getPsiClass(returnType);
+            PsiClass returnClass = PsiUtils.resolveClass(returnType);
             if (returnClass == null) {
                 continue;
             }
@@ -0,0 +1,543 @@
+package com.yanchen.plugin.objecthelper.generator.method;
+
+import com.intellij.psi.*;
+import com.intellij.psi.util.InheritanceUtil;
+import com.intellij.psi.util.PsiUtil;
+import com.intellij.psi.util.TypeConversionUtil;
+import com.yanchen.plugin.objecthelper.common.util.PsiUtils;
+import com.yanchen.plugin.objecthelper.common.util.StringUtils;
+import com.yanchen.plugin.objecthelper.diagnostics.GenerationRun;
+import com.yanchen.plugin.objecthelper.generator.Generator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 對象與 Map&lt;String, Object&gt; 互轉方法生成器
+ * 生成 toMap / fromMap 靜態方法及鍵常量，嵌套類型遞歸生成各自的轉換方法
+ */
+public class ObjectToMapMethodGenerator implements Generator {
+    
+    /**
+     * HashMap 默認負載因子
+     */
+    private static final float LOAD_FACTOR = 0.75f;
+    
+    /**
+     * 根類
+     */
+    private final PsiClass psiClass;
+    
+    /**
+     * 需要生成轉換方法的類（根類及可達的嵌套類型），值為生成方法名和鍵常量使用的類名，
+     * 不同包中的同名類按發現順序加數字後綴區分
+     */
+    private final Map<PsiClass, String> convertClasses = new LinkedHashMap<>();
+    
+    /**
+     * 各轉換類字段的鍵常量名，生成前統一分配，衝突時加數字後綴
+     */
+    private final Map<PsiClass, Map<PsiField, String>> keyConstantNames = new HashMap<>();
+    
+    /**
+     * 獲取 ObjectToMapMethodGenerator 實例
+     *
+     * @param psiClass 根類
+     * @return 生成器實例
+     */
+    public static Generator getInstance(PsiClass psiClass) {
+        return new ObjectToMapMethodGenerator(psiClass);
+    }
+    
+    /**
+     * 構造方法
+     *
+     * @param psiClass 根類
+     */
+    private ObjectToMapMethodGenerator(PsiClass psiClass) {
+        this.psiClass = psiClass;
+    }
+    
+    /**
+     * 生成轉換方法，並記錄耗時和計數供診斷
+     *
+     * @return 生成的類成員代碼
+     */
+    @Override
+    public String generate() {
+        return GenerationRun.record("toMap", psiClass == null ? null : psiClass.getQualifiedName(), this::doGenerate);
+    }
+
+    /**
+     * 生成轉換方法
+     * 返回內容為類成員代碼（鍵常量和方法），可通過 createClassFromText 解析
+     *
+     * @return 生成的類成員代碼
+     */
+    private String doGenerate() {
+        if (psiClass == null || psiClass.getName() == null) {
+            return null;
+        }
+        
+        convertClasses.clear();
+        collectConvertClasses(psiClass);
+        assignKeyConstantNames();
+        
+        StringBuilder members = new StringBuilder();
+        
+        // 鍵常量
+        for (PsiClass convertClass : convertClasses.keySet()) {
+            for (PsiField field : getMappableFields(convertClass)) {
+                members.append("private static final String ").append(getKeyConstantName(convertClass, field))
+                        .append(" = \"").append(field.getName()).append("\";\n");
+            }
+        }
+        members.append("\n");
+        
+        // 轉換方法
+        for (PsiClass convertClass : convertClasses.keySet()) {
+            members.append(generateToMapMethod(convertClass)).append("\n\n");
+            String fromMapMethod = generateFromMapMethod(convertClass);
+            if (fromMapMethod != null) {
+                members.append(fromMapMethod).append("\n\n");
+            }
+        }
+        
+        return members.toString();
+    }
+    
+    /**
+     * 收集根類及其可達的嵌套類型（包括集合元素類型）
+     *
+     * @param currentClass 當前類
+     */
+    private void collectConvertClasses(PsiClass currentClass) {
+        // 避免循環引用
+        if (convertClasses.containsKey(currentClass)) {
+            return;
+        }
+        convertClasses.put(currentClass, getUniqueClassName(currentClass));
+        
+        for (PsiField field : getMappableFields(currentClass)) {
+            PsiClass nestedClass = getNestedClass(field.getType());
+            if (nestedClass == null) {
+                nestedClass = getNestedElementClass(field.getType());
+            }
+            if (nestedClass != null) {
+                collectConvertClasses(nestedClass);
+            }
+        }
+    }
+    
+    /**
+     * 獲取生成方法名和鍵常量使用的類名，與已收集的同名類衝突時加數字後綴
+     *
+     * @param convertClass 轉換類
+     * @return 類名
+     */
+    @NotNull
+    private String getUniqueClassName(PsiClass convertClass) {
+        Set<String> usedNames = new HashSet<>(convertClasses.values());
+        String baseName = convertClass.getName();
+        String name = baseName;
+        int suffix = 2;
+        while (usedNames.contains(name)) {
+            name = baseName + suffix++;
+        }
+        return name;
+    }
+    
+    /**
+     * 生成 toMap 方法
+     *
+     * @param convertClass 轉換類
+     * @return 方法代碼
+     */
+    @NotNull
+    private String generateToMapMethod(PsiClass convertClass) {
+        List<PsiField> fields = getMappableFields(convertClass);
+        String className = convertClass.getQualifiedName();
+        
+        StringBuilder methodBuilder = new StringBuilder();
+        methodBuilder.append("public static java.util.Map<String, Object> toMap(")
+                .append(className).append(" source) {\n");
+        methodBuilder.append("    if (source == null) {\n");
+        methodBuilder.append("        return null;\n");
+        methodBuilder.append("    }\n\n");
+        
+        // 按字段數預設容量，避免擴容
+        methodBuilder.append("    java.util.Map<String, Object> map = new java.util.HashMap<>(")
+                .append(getInitialCapacity(fields.size())).append(");\n");
+        
+        for (PsiField field : fields) {
+            if (!PsiUtils.hasGetterMethod(convertClass, field.getName())) {
+                methodBuilder.append("    // ").append(field.getName())
+                        .append(" 缺少 Getter 方法，需要手動設置\n");
+                continue;
+            }
+            
+            String getterCall = "source." + PsiUtils.getGetterMethodName(convertClass, field) + "()";
+            String keyConstantName = getKeyConstantName(convertClass, field);
+            PsiClass elementClass = getNestedElementClass(field.getType());
+            if (elementClass != null) {
+                // 嵌套類型的集合逐個轉換為 Map
+                methodBuilder.append("    if (").append(getterCall).append(" == null) {\n");
+                methodBuilder.append("        map.put(").append(keyConstantName).append(", null);\n");
+                methodBuilder.append("    } else {\n");
+                methodBuilder.append("        java.util.List<Object> elements = new java.util.ArrayList<>(")
+                        .append(getterCall).append(".size());\n");
+                methodBuilder.append("        for (").append(elementClass.getQualifiedName()).append(" element : ")
+                        .append(getterCall).append(") {\n");
+                methodBuilder.append("            elements.add(toMap(element));\n");
+                methodBuilder.append("        }\n");
+                methodBuilder.append("        map.put(").append(keyConstantName).append(", elements);\n");
+                methodBuilder.append("    }\n");
+                continue;
+            }
+            
+            String value = getNestedClass(field.getType()) != null ? "toMap(" + getterCall + ")" : getterCall;
+            methodBuilder.append("    map.put(").append(keyConstantName)
+                    .append(", ").append(value).append(");\n");
+        }
+        
+        methodBuilder.append("    return map;\n");
+        methodBuilder.append("}");
+        return methodBuilder.toString();
+    }
+    
+    /**
+     * 生成 fromMap 方法
+     * 無法通過無參構造方法創建的類（抽象類、接口、內部類、沒有無參構造方法）不生成，引用它的字段需要手動設置
+     *
+     * @param convertClass 轉換類
+     * @return 方法代碼，無法創建實例時返回 null
+     */
+    @Nullable
+    private String generateFromMapMethod(PsiClass convertClass) {
+        if (!PsiUtils.canInstantiateWithoutArgs(convertClass)) {
+            return null;
+        }
+        String className = convertClass.getQualifiedName();
+        
+        StringBuilder methodBuilder = new StringBuilder();
+        methodBuilder.append("@SuppressWarnings(\"unchecked\")\n");
+        methodBuilder.append("public static ").append(className).append(" ")
+                .append(getFromMapMethodName(convertClass)).append("(java.util.Map<String, Object> map) {\n");
+        methodBuilder.append("    if (map == null) {\n");
+        methodBuilder.append("        return null;\n");
+        methodBuilder.append("    }\n\n");
+        methodBuilder.append("    ").append(className).append(" target = new ").append(className).append("();\n");
+        methodBuilder.append("    Object value;\n");
+        
+        for (PsiField field : getMappableFields(convertClass)) {
+            String fieldName = field.getName();
+            if (field.hasModifierProperty(PsiModifier.FINAL)
+                    || !PsiUtils.hasSetterMethod(convertClass, fieldName)) {
+                methodBuilder.append("    // ").append(fieldName)
+                        .append(" 缺少 Setter 方法，需要手動設置\n");
+                continue;
+            }
+            
+            String setterName = "set" + StringUtils.capitalize(fieldName);
+            PsiType fieldType = field.getType();
+            PsiClass nestedClass = getNestedClass(fieldType);
+            PsiClass elementClass = getNestedElementClass(fieldType);
+            String collectionImplementation = elementClass == null ? null : getCollectionImplementation(fieldType);
+            if ((nestedClass != null && !PsiUtils.canInstantiateWithoutArgs(nestedClass))
+                    || (elementClass != null && (!PsiUtils.canInstantiateWithoutArgs(elementClass)
+                    || collectionImplementation == null))) {
+                methodBuilder.append("    // ").append(fieldName)
+                        .append(" 的類型無法通過無參構造方法創建，需要手動設置\n");
+                continue;
+            }
+            
+            methodBuilder.append("    value = map.get(").append(getKeyConstantName(convertClass, field)).append(");\n");
+            if (elementClass != null) {
+                // 嵌套類型的集合逐個從 Map 轉換
+                methodBuilder.append("    if (value instanceof java.util.Collection) {\n");
+                methodBuilder.append("        ").append(collectionImplementation).append(" elements = new ")
+                        .append(collectionImplementation.replaceAll("<.*>", "<>")).append("();\n");
+                methodBuilder.append("        for (Object element : (java.util.Collection<?>) value) {\n");
+                methodBuilder.append("            elements.add(element instanceof java.util.Map ? ")
+                        .append(getFromMapMethodName(elementClass))
+                        .append("((java.util.Map<String, Object>) element) : null);\n");
+                methodBuilder.append("        }\n");
+                methodBuilder.append("        target.").append(setterName).append("(elements);\n");
+                methodBuilder.append("    }\n");
+                continue;
+            }
+
+            methodBuilder.append("    if (value instanceof ").append(getInstanceOfType(fieldType)).append(") {\n");
+            methodBuilder.append("        target.").append(setterName).append("(")
+                    .append(getCastExpression(fieldType)).append(");\n");
+            methodBuilder.append("    }\n");
+        }
+        
+        methodBuilder.append("    return target;\n");
+        methodBuilder.append("}");
+        return methodBuilder.toString();
+    }
+    
+    /**
+     * 獲取 instanceof 檢查使用的類型
+     * 數值類型統一按 Number 檢查，兼容 JSON 反序列化得到的 Integer/Long 等差異
+     *
+     * @param type 字段類型
+     * @return 類型文本
+     */
+    @NotNull
+    private String getInstanceOfType(PsiType type) {
+        if (getNumberValueMethod(type) != null) {
+            return "Number";
+        }
+        if (getNestedClass(type) != null) {
+            return "java.util.Map";
+        }
+        if (type instanceof PsiPrimitiveType) {
+            PsiClassType boxedType = ((PsiPrimitiveType) type).getBoxedType(psiClass);
+            return boxedType != null ? boxedType.getCanonicalText() : type.getCanonicalText();
+        }
+        return TypeConversionUtil.erasure(type).getCanonicalText();
+    }
+    
+    /**
+     * 獲取類型轉換表達式
+     *
+     * @param type 字段類型
+     * @return 轉換表達式
+     */
+    @NotNull
+    private String getCastExpression(PsiType type) {
+        String numberValueMethod = getNumberValueMethod(type);
+        if (numberValueMethod != null) {
+            return "((Number) value)." + numberValueMethod + "()";
+        }
+        
+        PsiClass nestedClass = getNestedClass(type);
+        if (nestedClass != null) {
+            return getFromMapMethodName(nestedClass) + "((java.util.Map<String, Object>) value)";
+        }
+        
+        if (type instanceof PsiPrimitiveType) {
+            // boolean / char 拆箱
+            return "(" + getInstanceOfType(type) + ") value";
+        }
+        return "(" + type.getCanonicalText() + ") value";
+    }
+    
+    /**
+     * 獲取數值類型對應的 Number 取值方法
+     *
+     * @param type 字段類型
+     * @return 方法名，非數值類型返回 null
+     */
+    @Nullable
+    private String getNumberValueMethod(PsiType type) {
+        PsiType unboxedType = PsiPrimitiveType.getOptionallyUnboxedType(type);
+        if (unboxedType == null) {
+            return null;
+        }
+        if (PsiTypes.intType().equals(unboxedType)) {
+            return "intValue";
+        }
+        if (PsiTypes.longType().equals(unboxedType)) {
+            return "longValue";
+        }
+        if (PsiTypes.doubleType().equals(unboxedType)) {
+            return "doubleValue";
+        }
+        if (PsiTypes.floatType().equals(unboxedType)) {
+            return "floatValue";
+        }
+        if (PsiTypes.shortType().equals(unboxedType)) {
+            return "shortValue";
+        }
+        if (PsiTypes.byteType().equals(unboxedType)) {
+            return "byteValue";
+        }
+        return null;
+    }
+    
+    /**
+     * 獲取嵌套類型（需要遞歸轉換的自定義類）
+     *
+     * @param type 字段類型
+     * @return 嵌套類，非嵌套類型返回 null
+     */
+    @Nullable
+    private PsiClass getNestedClass(PsiType type) {
+        if (!(type instanceof PsiClassType)) {
+            return null;
+        }
+        
+        PsiClass resolvedClass = ((PsiClassType) type).resolve();
+        if (resolvedClass == null
+                || resolvedClass.isEnum()
+                || resolvedClass.isInterface()
+                || resolvedClass instanceof PsiTypeParameter
+                || InheritanceUtil.isInheritor(resolvedClass, CommonClassNames.JAVA_UTIL_COLLECTION)
+                || InheritanceUtil.isInheritor(resolvedClass, CommonClassNames.JAVA_UTIL_MAP)
+                || isJavaOrKotlinCoreClass(resolvedClass.getQualifiedName())) {
+            return null;
+        }
+        return resolvedClass;
+    }
+    
+    /**
+     * 獲取集合字段中需要遞歸轉換的元素類型
+     *
+     * @param type 字段類型
+     * @return 元素類，非嵌套類型集合返回 null
+     */
+    @Nullable
+    private PsiClass getNestedElementClass(PsiType type) {
+        if (!InheritanceUtil.isInheritor(type, CommonClassNames.JAVA_UTIL_COLLECTION)) {
+            return null;
+        }
+        PsiType elementType = PsiUtil.extractIterableTypeParameter(type, false);
+        if (elementType instanceof PsiWildcardType) {
+            elementType = ((PsiWildcardType) elementType).getExtendsBound();
+        }
+        return getNestedClass(elementType);
+    }
+    
+    /**
+     * 獲取 fromMap 中承載嵌套類型元素的集合類型：接口和抽象類按類型選擇默認實現，具體類使用自身
+     *
+     * @param type 字段類型
+     * @return 帶元素類型的集合類型文本，無法創建時返回 null
+     */
+    @Nullable
+    private String getCollectionImplementation(PsiType type) {
+        PsiClass collectionClass = PsiUtil.resolveClassInClassTypeOnly(type);
+        PsiClass elementClass = getNestedElementClass(type);
+        if (collectionClass == null || elementClass == null) {
+            return null;
+        }
+        
+        String elementTypeText = "<" + elementClass.getQualifiedName() + ">";
+        if (PsiUtils.canInstantiateWithoutArgs(collectionClass)) {
+            // 泛型的具體集合類帶上元素類型，非泛型的自定義集合類直接使用
+            return collectionClass.hasTypeParameters()
+                    ? collectionClass.getQualifiedName() + elementTypeText : collectionClass.getQualifiedName();
+        }
+        if (InheritanceUtil.isInheritor(collectionClass, false, "java.util.SortedSet")) {
+            return "java.util.TreeSet" + elementTypeText;
+        }
+        if (InheritanceUtil.isInheritor(collectionClass, false, CommonClassNames.JAVA_UTIL_SET)) {
+            return "java.util.LinkedHashSet" + elementTypeText;
+        }
+        if (InheritanceUtil.isInheritor(collectionClass, false, CommonClassNames.JAVA_UTIL_QUEUE)) {
+            return "java.util.ArrayDeque" + elementTypeText;
+        }
+        if (InheritanceUtil.isInheritor(collectionClass, false, CommonClassNames.JAVA_UTIL_LIST)
+                || CommonClassNames.JAVA_UTIL_COLLECTION.equals(collectionClass.getQualifiedName())) {
+            return "java.util.ArrayList" + elementTypeText;
+        }
+        return null;
+    }
+    
+    /**
+     * 獲取參與轉換的字段（排除靜態字段）
+     *
+     * @param convertClass 轉換類
+     * @return 字段列表
+     */
+    @NotNull
+    private List<PsiField> getMappableFields(PsiClass convertClass) {
+        List<PsiField> fields = new ArrayList<>();
+        for (PsiField field : PsiUtils.getAllFields(convertClass)) {
+            if (!field.hasModifierProperty(PsiModifier.STATIC)) {
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+    
+    /**
+     * 為所有轉換類的字段分配鍵常量名稱
+     * 根類字段為 KEY_字段名，嵌套類字段為 KEY_類名_字段名，同名類的類名帶數字後綴；
+     * 根類字段 addressCity 與嵌套類 Address 的字段 city 等產生相同名稱時，後分配的加數字後綴
+     */
+    private void assignKeyConstantNames() {
+        keyConstantNames.clear();
+        Set<String> usedNames = new HashSet<>();
+        for (PsiClass convertClass : convertClasses.keySet()) {
+            Map<PsiField, String> names = new HashMap<>();
+            for (PsiField field : getMappableFields(convertClass)) {
+                String fieldPart = StringUtils.camelToUnderline(field.getName()).toUpperCase();
+                String baseName = convertClass.equals(psiClass) ? "KEY_" + fieldPart
+                        : "KEY_" + StringUtils.camelToUnderline(convertClasses.get(convertClass)).toUpperCase()
+                        + "_" + fieldPart;
+                String name = baseName;
+                int suffix = 2;
+                while (usedNames.contains(name)) {
+                    name = baseName + "_" + suffix++;
+                }
+                usedNames.add(name);
+                names.put(field, name);
+            }
+            keyConstantNames.put(convertClass, names);
+        }
+    }
+    
+    /**
+     * 獲取鍵常量名稱
+     *
+     * @param convertClass 字段所在類
+     * @param field 字段
+     * @return 常量名稱
+     */
+    @NotNull
+    private String getKeyConstantName(PsiClass convertClass, PsiField field) {
+        return keyConstantNames.get(convertClass).get(field);
+    }
+    
+    /**
+     * 獲取 fromMap 方法名稱
+     * 根類為 fromMap，嵌套類為 類名FromMap，同名類的類名帶數字後綴
+     *
+     * @param convertClass 轉換類
+     * @return 方法名稱
+     */
+    @NotNull
+    private String getFromMapMethodName(PsiClass convertClass) {
+        if (convertClass.equals(psiClass)) {
+            return "fromMap";
+        }
+        return StringUtils.uncapitalize(convertClasses.get(convertClass)) + "FromMap";
+    }
+    
+    /**
+     * 計算 HashMap 初始容量，保證放入指定數量元素時不擴容
+     *
+     * @param size 元素數量
+     * @return 初始容量
+     */
+    private int getInitialCapacity(int size) {
+        return (int) (size / LOAD_FACTOR) + 1;
+    }
+    
+    /**
+     * 檢查是否為 Java 或 Kotlin 核心類
+     *
+     * @param qualifiedName 完全限定名
+     * @return 是否為核心類
+     */
+    private boolean isJavaOrKotlinCoreClass(String qualifiedName) {
+        if (qualifiedName == null) {
+            return false;
+        }
+        
+        return qualifiedName.startsWith("java.")
+                || qualifiedName.startsWith("javax.")
+                || qualifiedName.startsWith("kotlin.");
+    }
+}
@@ -0,0 +1,367 @@
+package com.yanchen.plugin.objecthelper.generator.method;
+
+import com.intellij.psi.*;
+import com.intellij.psi.util.InheritanceUtil;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.util.PsiUtil;
+import com.yanchen.plugin.objecthelper.common.util.PsiUtils;
+import com.yanchen.plugin.objecthelper.common.util.StringUtils;
+import com.yanchen.plugin.objecthelper.diagnostics.GenerationRun;
+import com.yanchen.plugin.objecthelper.generator.Generator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * reset 方法生成器
+ * 將對象恢復到通過無參構造方法剛創建時的狀態，供對象池復用：集合、Map、StringBuilder 和數組原地清空以保留容量，
+ * 可能持有 List.of 等不可修改集合的字段重新賦值而不清空，具備 reset() 的嵌套對象遞歸重置；
+ * 其他字段重新執行無參構造方法中的直接賦值，沒有時恢復為初始化表達式或類型默認值。
+ * 只在帶參數構造方法或條件分支中賦值的字段無法確定構造時的值，生成註釋提示手動調整
+ */
+public class ResetMethodGenerator implements Generator {
+
+    /**
+     * 生成的方法名
+     */
+    public static final String METHOD_NAME = "reset";
+
+    /**
+     * 當前類
+     */
+    private final PsiClass psiClass;
+
+    /**
+     * 獲取 ResetMethodGenerator 實例
+     *
+     * @param psiClass 當前類
+     * @return 生成器實例
+     */
+    public static Generator getInstance(PsiClass psiClass) {
+        return new ResetMethodGenerator(psiClass);
+    }
+
+    /**
+     * 構造方法
+     *
+     * @param psiClass 當前類
+     */
+    private ResetMethodGenerator(PsiClass psiClass) {
+        this.psiClass = psiClass;
+    }
+
+    /**
+     * 生成 reset 方法，並記錄耗時和計數供診斷
+     *
+     * @return 生成的類成員代碼
+     */
+    @Override
+    public String generate() {
+        return GenerationRun.record("reset", psiClass == null ? null : psiClass.getQualifiedName(), this::doGenerate);
+    }
+
+    /**
+     * 生成 reset 方法
+     * 返回內容為類成員代碼，可通過 createClassFromText 解析
+     *
+     * @return 生成的類成員代碼
+     */
+    private String doGenerate() {
+        if (!isSupported(psiClass)) {
+            return null;
+        }
+
+        boolean superReset = hasResetMethod(psiClass.getSuperClass());
+        StringBuilder methodBuilder = new StringBuilder();
+        if (superReset) {
+            methodBuilder.append("@Override\n");
+        }
+        methodBuilder.append("public void ").append(METHOD_NAME).append("() {\n");
+        if (superReset) {
+            methodBuilder.append("    super.").append(METHOD_NAME).append("();\n");
+        }
+
+        for (PsiField field : PsiUtils.getAllFields(psiClass)) {
+            if (field.hasModifierProperty(PsiModifier.STATIC)) {
+                continue;
+            }
+            boolean declared = psiClass.equals(field.getContainingClass());
+            if (!declared && superReset) {
+                // 父類字段由父類的 reset 處理
+                continue;
+            }
+            appendFieldReset(methodBuilder, field, declared);
+        }
+
+        methodBuilder.append("}");
+        return methodBuilder.toString();
+    }
+
+    /**
+     * 判斷類是否能生成 reset：普通類（非接口、枚舉、record、註解）
+     *
+     * @param psiClass 類
+     * @return 是否支持
+     */
+    public static boolean isSupported(@Nullable PsiClass psiClass) {
+        return psiClass != null && psiClass.getName() != null && !psiClass.isInterface() && !psiClass.isEnum()
+                && !psiClass.isRecord() && !psiClass.isAnnotationType();
+    }
+
+    /**
+     * 判斷類（含父類）是否已有可調用的無參實例 reset 方法
+     *
+     * @param psiClass 類，可為空
+     * @return 是否有
+     */
+    public static boolean hasResetMethod(@Nullable PsiClass psiClass) {
+        if (psiClass == null) {
+            return false;
+        }
+        for (PsiMethod method : psiClass.findMethodsByName(METHOD_NAME, true)) {
+            if (method.getParameterList().isEmpty() && !method.hasModifierProperty(PsiModifier.STATIC)
+                    && !method.hasModifierProperty(PsiModifier.PRIVATE)
+                    && !method.hasModifierProperty(PsiModifier.ABSTRACT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 添加單個字段的重置語句
+     * 本類字段直接訪問，父類字段通過 getter/setter 訪問，無法訪問時生成註釋提示
+     *
+     * @param methodBuilder 方法代碼
+     * @param field 字段
+     * @param declared 是否為本類聲明的字段
+     */
+    private void appendFieldReset(StringBuilder methodBuilder, PsiField field, boolean declared) {
+        String fieldName = field.getName();
+        PsiType type = field.getType();
+        boolean finalField = field.hasModifierProperty(PsiModifier.FINAL);
+        boolean readable = declared || PsiUtils.hasGetterMethod(psiClass, fieldName);
+        boolean writable = !finalField && (declared || PsiUtils.hasSetterMethod(psiClass, fieldName));
+        String value = declared ? "this." + fieldName : PsiUtils.getGetterMethodName(psiClass, field) + "()";
+
+        // List.of 等工廠方法返回的集合調用 clear() 會拋出 UnsupportedOperationException，只能重新賦值
+        String unmodifiableFactory = MutabilityAnalyzer.isCollectionOrMap(type)
+                ? MutabilityAnalyzer.findAnyUnmodifiableFactory(field) : null;
+        if (unmodifiableFactory != null && !writable) {
+            methodBuilder.append("    // ").append(fieldName).append(" 可能持有 ").append(unmodifiableFactory)
+                    .append(" 創建的不可修改集合，").append(finalField ? "無需重置\n" : "無法訪問，需要手動重置\n");
+            return;
+        }
+
+        String inPlaceReset = readable && unmodifiableFactory == null ? getInPlaceReset(type, value) : null;
+        if (inPlaceReset != null) {
+            if (finalField && field.getInitializer() != null) {
+                methodBuilder.append("    ").append(inPlaceReset).append(";\n");
+            } else {
+                methodBuilder.append("    if (").append(value).append(" != null) {\n");
+                methodBuilder.append("        ").append(inPlaceReset).append(";\n");
+                methodBuilder.append("    }\n");
+            }
+            return;
+        }
+
+        if (!writable) {
+            methodBuilder.append("    // ").append(fieldName).append(finalField ? " 為 final 且無法原地清空" : " 無法訪問")
+                    .append("，需要手動重置\n");
+            return;
+        }
+
+        PsiExpression constructedValue = declared ? findConstructedValue(field) : null;
+        String defaultValue = constructedValue != null ? constructedValue.getText() : getDefaultValue(field);
+        if (declared) {
+            methodBuilder.append("    this.").append(fieldName).append(" = ").append(defaultValue).append(";\n");
+        } else {
+            methodBuilder.append("    set").append(StringUtils.capitalize(fieldName)).append("(").append(defaultValue)
+                    .append(");\n");
+        }
+        if (constructedValue == null && isAssignedInConstructor(field)) {
+            methodBuilder.append("    // ").append(fieldName).append(" 在構造方法中按參數或條件賦值，以上恢復為")
+                    .append(field.getInitializer() != null ? "初始化表達式" : "類型默認值").append("，請按需調整\n");
+        }
+    }
+
+    /**
+     * 查找無參構造方法中對字段的直接賦值，即通過 new 創建對象後字段的值
+     * 只識別構造方法體頂層的賦值語句，委託給 this(...) 或右側引用局部變量時無法確定
+     *
+     * @param field 本類聲明的字段
+     * @return 賦值表達式，無法確定時返回 null
+     */
+    @Nullable
+    private PsiExpression findConstructedValue(PsiField field) {
+        PsiCodeBlock body = null;
+        for (PsiMethod constructor : psiClass.getConstructors()) {
+            if (constructor.getParameterList().isEmpty()) {
+                body = constructor.getBody();
+            }
+        }
+        if (body == null) {
+            return null;
+        }
+
+        PsiExpression value = null;
+        for (PsiStatement statement : body.getStatements()) {
+            if (!(statement instanceof PsiExpressionStatement)) {
+                continue;
+            }
+            PsiExpression expression = ((PsiExpressionStatement) statement).getExpression();
+            if (expression instanceof PsiMethodCallExpression
+                    && PsiKeyword.THIS.equals(((PsiMethodCallExpression) expression).getMethodExpression().getText())) {
+                return null;
+            }
+            if (!(expression instanceof PsiAssignmentExpression)) {
+                continue;
+            }
+            PsiAssignmentExpression assignment = (PsiAssignmentExpression) expression;
+            if (!isFieldReference(assignment.getLExpression(), field)) {
+                continue;
+            }
+            PsiExpression rExpression = assignment.getRExpression();
+            value = assignment.getOperationTokenType() == JavaTokenType.EQ && rExpression != null
+                    && !referencesLocalState(rExpression) ? rExpression : null;
+        }
+        return value;
+    }
+
+    /**
+     * 判斷字段是否在聲明類的任一構造方法中被賦值
+     *
+     * @param field 字段
+     * @return 是否被賦值
+     */
+    private static boolean isAssignedInConstructor(PsiField field) {
+        PsiClass containingClass = field.getContainingClass();
+        if (containingClass == null) {
+            return false;
+        }
+        for (PsiMethod constructor : containingClass.getConstructors()) {
+            for (PsiAssignmentExpression assignment
+                    : PsiTreeUtil.findChildrenOfType(constructor, PsiAssignmentExpression.class)) {
+                if (isFieldReference(assignment.getLExpression(), field)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 判斷表達式是否引用指定字段
+     *
+     * @param expression 表達式
+     * @param field 字段
+     * @return 是否引用
+     */
+    private static boolean isFieldReference(PsiExpression expression, PsiField field) {
+        expression = PsiUtil.skipParenthesizedExprDown(expression);
+        return expression instanceof PsiReferenceExpression
+                && field.equals(((PsiReferenceExpression) expression).resolve());
+    }
+
+    /**
+     * 判斷表達式是否引用了外部的局部變量或參數，這樣的表達式不能移到 reset 方法中
+     *
+     * @param expression 表達式
+     * @return 是否引用
+     */
+    private static boolean referencesLocalState(PsiExpression expression) {
+        List<PsiReferenceExpression> references = new ArrayList<>(
+                PsiTreeUtil.findChildrenOfType(expression, PsiReferenceExpression.class));
+        if (expression instanceof PsiReferenceExpression) {
+            references.add((PsiReferenceExpression) expression);
+        }
+        for (PsiReferenceExpression reference : references) {
+            PsiElement target = reference.resolve();
+            if ((target instanceof PsiLocalVariable || target instanceof PsiParameter)
+                    && !PsiTreeUtil.isAncestor(expression, target, false)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 原地重置的語句：集合和 Map 調用 clear，StringBuilder 截斷為 0，數組填充默認值，嵌套的可池化對象調用 reset
+     *
+     * @param type 字段類型
+     * @param value 字段訪問表達式
+     * @return 語句，不能原地重置時返回 null
+     */
+    @Nullable
+    private static String getInPlaceReset(PsiType type, String value) {
+        if (type instanceof PsiArrayType) {
+            PsiType componentType = ((PsiArrayType) type).getComponentType();
+            return "java.util.Arrays.fill(" + value + ", " + getTypeDefaultValue(componentType) + ")";
+        }
+        if (InheritanceUtil.isInheritor(type, CommonClassNames.JAVA_UTIL_COLLECTION)
+                || InheritanceUtil.isInheritor(type, CommonClassNames.JAVA_UTIL_MAP)) {
+            return value + ".clear()";
+        }
+        if (InheritanceUtil.isInheritor(type, "java.lang.AbstractStringBuilder")
+                || CommonClassNames.JAVA_LANG_STRING_BUILDER.equals(type.getCanonicalText())) {
+            return value + ".setLength(0)";
+        }
+        PsiClass typeClass = PsiUtil.resolveClassInClassTypeOnly(type);
+        if (typeClass != null && !typeClass.isEnum() && hasResetMethod(typeClass)) {
+            return value + "." + METHOD_NAME + "()";
+        }
+        return null;
+    }
+
+    /**
+     * 字段重置後的值：有初始化表達式時重新求值，保證與新構造的對象一致，否則使用類型默認值
+     *
+     * @param field 字段
+     * @return 值表達式
+     */
+    @NotNull
+    private static String getDefaultValue(PsiField field) {
+        PsiExpression initializer = field.getInitializer();
+        if (initializer != null) {
+            return initializer.getText();
+        }
+        return getTypeDefaultValue(field.getType());
+    }
+
+    /**
+     * 類型默認值
+     *
+     * @param type 類型
+     * @return 默認值表達式
+     */
+    @NotNull
+    private static String getTypeDefaultValue(PsiType type) {
+        if (PsiTypes.booleanType().equals(type)) {
+            return "false";
+        }
+        if (PsiTypes.longType().equals(type)) {
+            return "0L";
+        }
+        if (PsiTypes.floatType().equals(type)) {
+            return "0.0f";
+        }
+        if (PsiTypes.doubleType().equals(type)) {
+            return "0.0d";
+        }
+        if (PsiTypes.charType().equals(type)) {
+            return "'\\u0000'";
+        }
+        if (PsiTypes.byteType().equals(type)) {
+            return "(byte) 0";
+        }
+        if (PsiTypes.shortType().equals(type)) {
+            return "(short) 0";
+        }
+        if (type instanceof PsiPrimitiveType) {
+            return "0";
+        }
+        return "null";
+    }
+}
@@ -0,0 +1,401 @@
+package com.yanchen.plugin.objecthelper.generator.nativeimage;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.intellij.codeInsight.AnnotationUtil;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiAnnotationMemberValue;
+import com.intellij.psi.PsiArrayType;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiClassObjectAccessExpression;
+import com.intellij.psi.PsiClassType;
+import com.intellij.psi.PsiEnumConstant;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiModifier;
+import com.intellij.psi.PsiParameter;
+import com.intellij.psi.PsiRecordComponent;
+import com.intellij.psi.PsiType;
+import com.intellij.psi.PsiTypeParameter;
+import com.intellij.psi.util.ClassUtil;
+import com.intellij.psi.util.InheritanceUtil;
+import com.intellij.psi.util.PsiTypesUtil;
+import com.intellij.psi.util.TypeConversionUtil;
+import com.yanchen.plugin.objecthelper.common.util.PsiUtils;
+import com.yanchen.plugin.objecthelper.common.util.StringUtils;
+import com.yanchen.plugin.objecthelper.diagnostics.GenerationRun;
+import com.yanchen.plugin.objecthelper.generator.Generator;
+import com.yanchen.plugin.objecthelper.generator.format.ClassGraph;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * GraalVM native-image 可達性元數據生成器
+ * 從根類出發沿字段、數組元素、泛型參數和 @JsonSubTypes 聲明的子類型遍歷類圖，只為可達類型註冊 Jackson 需要的
+ * 構造方法、getter/setter 和字段，生成 reflect-config.json；其中實現 Serializable 的類型寫入 serialization-config.json
+ */
+public class NativeImageMetadataGenerator implements Generator {
+
+    /**
+     * 反射配置文件名
+     */
+    public static final String REFLECT_CONFIG_FILE = "reflect-config.json";
+
+    /**
+     * 序列化配置文件名
+     */
+    public static final String SERIALIZATION_CONFIG_FILE = "serialization-config.json";
+
+    private static final String JSON_PROPERTY = "com.fasterxml.jackson.annotation.JsonProperty";
+
+    private static final String JSON_SUB_TYPES = "com.fasterxml.jackson.annotation.JsonSubTypes";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * 根類
+     */
+    private final List<PsiClass> rootClasses;
+
+    /**
+     * 可達類型，按 JVM 類名排序
+     */
+    private final TreeMap<String, PsiClass> reachableClasses = new TreeMap<>();
+
+    /**
+     * 獲取 NativeImageMetadataGenerator 實例
+     *
+     * @param rootClasses 根類
+     * @return 生成器實例
+     */
+    public static NativeImageMetadataGenerator getInstance(@NotNull List<PsiClass> rootClasses) {
+        return new NativeImageMetadataGenerator(rootClasses);
+    }
+
+    /**
+     * 構造方法
+     *
+     * @param rootClasses 根類
+     */
+    private NativeImageMetadataGenerator(@NotNull List<PsiClass> rootClasses) {
+        this.rootClasses = rootClasses;
+    }
+
+    /**
+     * 生成反射配置，並記錄耗時和計數供診斷
+     *
+     * @return reflect-config.json 內容
+     */
+    @Override
+    public String generate() {
+        String target = rootClasses.size() == 1 ? rootClasses.get(0).getQualifiedName()
+                : rootClasses.size() + " 個類";
+        return GenerationRun.record("native-image", target, this::doGenerate);
+    }
+
+    /**
+     * 生成反射配置
+     * 需在讀操作中調用
+     *
+     * @return reflect-config.json 內容
+     */
+    private String doGenerate() {
+        collectReachableClasses();
+        ArrayNode entries = MAPPER.createArrayNode();
+        for (PsiClass psiClass : reachableClasses.values()) {
+            entries.add(createReflectEntry(psiClass));
+        }
+        return write(entries);
+    }
+
+    /**
+     * 獲取序列化配置，只包含實現 Serializable 的可達類型
+     * 需在 {@link #generate()} 之後調用
+     *
+     * @return serialization-config.json 內容
+     */
+    @NotNull
+    public String getSerializationConfig() {
+        ArrayNode types = MAPPER.createArrayNode();
+        for (Map.Entry<String, PsiClass> entry : reachableClasses.entrySet()) {
+            if (InheritanceUtil.isInheritor(entry.getValue(), "java.io.Serializable")) {
+                types.addObject().put("name", entry.getKey());
+            }
+        }
+        ObjectNode config = MAPPER.createObjectNode();
+        config.set("types", types);
+        config.putArray("lambdaCapturingTypes");
+        config.putArray("proxies");
+        return write(config);
+    }
+
+    /**
+     * 可達類型數
+     * 需在 {@link #generate()} 之後調用
+     *
+     * @return 類型數
+     */
+    public int getReachableClassCount() {
+        return reachableClasses.size();
+    }
+
+    /**
+     * 收集可達類型：類圖中的類及其非核心父類（父類聲明的字段由父類條目註冊），
+     * 以及 @JsonSubTypes 聲明的子類型和它們的類圖；多態字段只聲明父類型，反序列化時需要子類型的元數據
+     */
+    private void collectReachableClasses() {
+        reachableClasses.clear();
+        Set<PsiClass> seenRoots = new HashSet<>(rootClasses);
+        List<PsiClass> pendingRoots = new ArrayList<>(rootClasses);
+        while (!pendingRoots.isEmpty()) {
+            ClassGraph graph = ClassGraph.resolve(pendingRoots, true);
+            pendingRoots = new ArrayList<>();
+            for (PsiClass psiClass : graph.getClasses()) {
+                for (PsiClass current = psiClass; isRegistrable(current); current = current.getSuperClass()) {
+                    reachableClasses.put(ClassUtil.getJVMClassName(current), current);
+                    for (PsiClass subType : getJsonSubTypes(current)) {
+                        if (seenRoots.add(subType)) {
+                            pendingRoots.add(subType);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 獲取類上 @JsonSubTypes 聲明的子類型
+     *
+     * @param psiClass 類
+     * @return 子類型
+     */
+    @NotNull
+    private static List<PsiClass> getJsonSubTypes(@NotNull PsiClass psiClass) {
+        List<PsiClass> subTypes = new ArrayList<>();
+        PsiAnnotation annotation = psiClass.getAnnotation(JSON_SUB_TYPES);
+        if (annotation == null) {
+            return subTypes;
+        }
+        PsiAnnotationMemberValue types = annotation.findAttributeValue("value");
+        for (PsiAnnotationMemberValue type : AnnotationUtil.arrayAttributeValues(types)) {
+            if (!(type instanceof PsiAnnotation)) {
+                continue;
+            }
+            PsiAnnotationMemberValue value = ((PsiAnnotation) type).findAttributeValue("value");
+            if (value instanceof PsiClassObjectAccessExpression) {
+                PsiType subTypeType = ((PsiClassObjectAccessExpression) value).getOperand().getType();
+                PsiClass subType = PsiTypesUtil.getPsiClass(subTypeType);
+                if (isRegistrable(subType)) {
+                    subTypes.add(subType);
+                }
+            }
+        }
+        return subTypes;
+    }
+
+    /**
+     * 判斷類是否需要註冊：排除類型參數、註解和 Java/Kotlin 核心類
+     *
+     * @param psiClass 類，可為空
+     * @return 是否註冊
+     */
+    private static boolean isRegistrable(@Nullable PsiClass psiClass) {
+        if (psiClass == null || psiClass instanceof PsiTypeParameter || psiClass.isAnnotationType()) {
+            return false;
+        }
+        String qualifiedName = psiClass.getQualifiedName();
+        return qualifiedName != null && ClassUtil.getJVMClassName(psiClass) != null
+                && !qualifiedName.startsWith("java.")
+                && !qualifiedName.startsWith("javax.")
+                && !qualifiedName.startsWith("kotlin.");
+    }
+
+    /**
+     * 創建單個類型的反射條目
+     * 枚舉只註冊常量字段；record 註冊規範構造方法和訪問器；其他類註冊無參構造方法（非靜態內部類的構造方法
+     * 以外部類實例為第一個參數）、本類聲明字段的 getter/setter，以及公共字段、帶 @JsonProperty 的字段和
+     * 有 getter 沒有 setter 的字段（Jackson 默認直接寫入這些字段，final 字段同時允許寫入）
+     *
+     * @param psiClass 類
+     * @return 條目
+     */
+    @NotNull
+    private ObjectNode createReflectEntry(@NotNull PsiClass psiClass) {
+        ObjectNode entry = MAPPER.createObjectNode();
+        entry.put("name", ClassUtil.getJVMClassName(psiClass));
+        ArrayNode methods = MAPPER.createArrayNode();
+        ArrayNode fields = MAPPER.createArrayNode();
+
+        if (psiClass.isEnum()) {
+            for (PsiField field : psiClass.getFields()) {
+                if (field instanceof PsiEnumConstant) {
+                    fields.addObject().put("name", field.getName());
+                }
+            }
+        } else if (psiClass.isRecord()) {
+            List<PsiType> componentTypes = new ArrayList<>();
+            for (PsiRecordComponent component : psiClass.getRecordComponents()) {
+                componentTypes.add(component.getType());
+                addMethod(methods, component.getName(), new ArrayList<>());
+            }
+            addMethod(methods, "<init>", componentTypes);
+        } else {
+            if (!psiClass.isInterface() && !psiClass.hasModifierProperty(PsiModifier.ABSTRACT)
+                    && hasNoArgConstructor(psiClass)) {
+                addMethod(methods, "<init>", getImplicitConstructorParameters(psiClass));
+            }
+            for (PsiField field : psiClass.getFields()) {
+                if (field.hasModifierProperty(PsiModifier.STATIC)) {
+                    continue;
+                }
+                addAccessors(psiClass, field, methods);
+                boolean fieldMutator = PsiUtils.hasGetterMethod(psiClass, field.getName())
+                        && !PsiUtils.hasSetterMethod(psiClass, field.getName());
+                if (field.hasModifierProperty(PsiModifier.PUBLIC) || field.hasAnnotation(JSON_PROPERTY)
+                        || fieldMutator) {
+                    ObjectNode fieldEntry = fields.addObject().put("name", field.getName());
+                    if (fieldMutator && field.hasModifierProperty(PsiModifier.FINAL)) {
+                        fieldEntry.put("allowWrite", true);
+                    }
+                }
+            }
+        }
+
+        if (!methods.isEmpty()) {
+            entry.set("methods", methods);
+        }
+        if (!fields.isEmpty()) {
+            entry.set("fields", fields);
+        }
+        return entry;
+    }
+
+    /**
+     * 添加字段在本類中聲明的 getter 和 setter
+     *
+     * @param psiClass 類
+     * @param field 字段
+     * @param methods 方法條目
+     */
+    private void addAccessors(@NotNull PsiClass psiClass, @NotNull PsiField field, @NotNull ArrayNode methods) {
+        String getterName = PsiUtils.getGetterMethodName(psiClass, field);
+        for (PsiMethod method : psiClass.findMethodsByName(getterName, false)) {
+            if (method.getParameterList().isEmpty()) {
+                addMethod(methods, getterName, new ArrayList<>());
+                break;
+            }
+        }
+
+        String setterName = "set" + StringUtils.capitalize(field.getName());
+        for (PsiMethod method : psiClass.findMethodsByName(setterName, false)) {
+            PsiParameter[] parameters = method.getParameterList().getParameters();
+            if (parameters.length == 1) {
+                List<PsiType> parameterTypes = new ArrayList<>();
+                parameterTypes.add(parameters[0].getType());
+                addMethod(methods, setterName, parameterTypes);
+                break;
+            }
+        }
+    }
+
+    /**
+     * 源碼中無參構造方法在字節碼中的參數：非靜態內部類的構造方法以外部類實例為第一個參數
+     *
+     * @param psiClass 類
+     * @return 參數類型
+     */
+    @NotNull
+    private static List<PsiType> getImplicitConstructorParameters(@NotNull PsiClass psiClass) {
+        List<PsiType> parameterTypes = new ArrayList<>();
+        PsiClass outerClass = psiClass.getContainingClass();
+        if (outerClass != null && !psiClass.hasModifierProperty(PsiModifier.STATIC) && !outerClass.isInterface()
+                && !psiClass.isInterface() && !psiClass.isEnum() && !psiClass.isRecord()) {
+            parameterTypes.add(JavaPsiFacade.getElementFactory(psiClass.getProject()).createType(outerClass));
+        }
+        return parameterTypes;
+    }
+
+    /**
+     * 判斷類是否有無參構造方法（未聲明構造方法時有默認構造方法）
+     *
+     * @param psiClass 類
+     * @return 是否有
+     */
+    private static boolean hasNoArgConstructor(@NotNull PsiClass psiClass) {
+        PsiMethod[] constructors = psiClass.getConstructors();
+        if (constructors.length == 0) {
+            return true;
+        }
+        for (PsiMethod constructor : constructors) {
+            if (constructor.getParameterList().isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 添加方法條目
+     *
+     * @param methods 方法條目
+     * @param name 方法名
+     * @param parameterTypes 參數類型
+     */
+    private static void addMethod(@NotNull ArrayNode methods, @NotNull String name,
+                                  @NotNull List<PsiType> parameterTypes) {
+        ObjectNode method = methods.addObject();
+        method.put("name", name);
+        ArrayNode types = method.putArray("parameterTypes");
+        for (PsiType type : parameterTypes) {
+            types.add(getJvmTypeName(type));
+        }
+    }
+
+    /**
+     * 獲取擦除泛型後的類型名，嵌套類使用 $ 分隔，數組使用 [] 後綴
+     *
+     * @param type 類型
+     * @return 類型名
+     */
+    @NotNull
+    private static String getJvmTypeName(@NotNull PsiType type) {
+        PsiType erasure = TypeConversionUtil.erasure(type);
+        if (erasure instanceof PsiArrayType) {
+            return getJvmTypeName(((PsiArrayType) erasure).getComponentType()) + "[]";
+        }
+        if (erasure instanceof PsiClassType) {
+            PsiClass psiClass = ((PsiClassType) erasure).resolve();
+            String jvmName = psiClass == null ? null : ClassUtil.getJVMClassName(psiClass);
+            if (jvmName != null) {
+                return jvmName;
+            }
+        }
+        return erasure.getCanonicalText();
+    }
+
+    /**
+     * 格式化輸出 JSON
+     *
+     * @param node 節點
+     * @return JSON 文本
+     */
+    @NotNull
+    private static String write(@NotNull Object node) {
+        try {
+            return MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(node) + "\n";
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.yanchen.plugin.objecthelper.generator.pool;
+
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiModifier;
+import com.yanchen.plugin.objecthelper.common.util.PsiUtils;
+import com.yanchen.plugin.objecthelper.common.util.StringUtils;
+import com.yanchen.plugin.objecthelper.diagnostics.GenerationRun;
+import com.yanchen.plugin.objecthelper.generator.Generator;
+import com.yanchen.plugin.objecthelper.generator.method.ResetMethodGenerator;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * 類型化對象池生成器
+ * 生成 acquire/release 對象池類，release 時調用實體類的 reset()。
+ * 支持兩種實現：每線程一個棧的 ThreadLocal 池，以及按線程哈希分段、用 CAS 搶佔槽位的無鎖池
+ */
+public class ObjectPoolGenerator implements Generator {
+
+    /**
+     * 生成類名後綴
+     */
+    public static final String CLASS_NAME_SUFFIX = "Pool";
+
+    /**
+     * 實體類
+     */
+    private final PsiClass psiClass;
+
+    /**
+     * 是否使用 ThreadLocal 池，否則使用分段無鎖池
+     */
+    private final boolean threadLocal;
+
+    /**
+     * 獲取 ObjectPoolGenerator 實例
+     *
+     * @param psiClass 實體類
+     * @param threadLocal 是否使用 ThreadLocal 池
+     * @return 生成器實例
+     */
+    public static Generator getInstance(PsiClass psiClass, boolean threadLocal) {
+        return new ObjectPoolGenerator(psiClass, threadLocal);
+    }
+
+    /**
+     * 判斷類是否可以生成對象池：池類與實體類在同一包的不同文件中，acquire 通過 new X() 創建對象，
+     * 因此排除抽象類、非靜態內部類、沒有可訪問無參構造方法的類，以及私有嵌套類
+     *
+     * @param psiClass 類，可為空
+     * @return 是否支持
+     */
+    public static boolean isSupported(@Nullable PsiClass psiClass) {
+        if (!ResetMethodGenerator.isSupported(psiClass) || !PsiUtils.canInstantiateWithoutArgs(psiClass)) {
+            return false;
+        }
+        for (PsiClass current = psiClass; current != null; current = current.getContainingClass()) {
+            if (current.hasModifierProperty(PsiModifier.PRIVATE)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 構造方法
+     *
+     * @param psiClass 實體類
+     * @param threadLocal 是否使用 ThreadLocal 池
+     */
+    private ObjectPoolGenerator(PsiClass psiClass, boolean threadLocal) {
+        this.psiClass = psiClass;
+        this.threadLocal = threadLocal;
+    }
+
+    /**
+     * 生成對象池類，並記錄耗時和計數供診斷
+     *
+     * @return 對象池類代碼
+     */
+    @Override
+    public String generate() {
+        return GenerationRun.record("pool", psiClass == null ? null : psiClass.getQualifiedName(), this::doGenerate);
+    }
+
+    /**
+     * 生成對象池類
+     *
+     * @return 對象池類代碼，類無法通過無參構造方法創建時返回 null
+     */
+    private String doGenerate() {
+        if (!isSupported(psiClass) || psiClass.getQualifiedName() == null) {
+            return null;
+        }
+
+        String className = psiClass.getQualifiedName();
+        String poolName = psiClass.getName() + CLASS_NAME_SUFFIX;
+
+        StringBuilder code = new StringBuilder();
+        String packageName = PsiUtils.getPackageName(psiClass);
+        if (StringUtils.isNotEmpty(packageName)) {
+            code.append("package ").append(packageName).append(";\n\n");
+        }
+
+        code.append("/**\n");
+        code.append(" * ").append(psiClass.getName()).append(threadLocal ? " 線程本地對象池\n" : " 分段無鎖對象池\n");
+        code.append(" * acquire 得到的對象處於剛構造的狀態，可作為複製方法（void copy(source, target)）的目標對象填充；\n");
+        code.append(" * 使用完畢後調用 release 歸還，歸還後不能再持有或訪問該對象\n");
+        code.append(" */\n");
+        code.append("public final class ").append(poolName).append(" {\n\n");
+        if (threadLocal) {
+            appendThreadLocalPool(code, className, poolName);
+        } else {
+            appendStripedPool(code, className, poolName);
+        }
+        code.append("}\n");
+        return code.toString();
+    }
+
+    /**
+     * 生成 ThreadLocal 池：每個線程一個有界棧，無同步開銷；對象需在同一線程中獲取和歸還才能被復用
+     *
+     * @param code 代碼
+     * @param className 實體類名
+     * @param poolName 池類名
+     */
+    private void appendThreadLocalPool(StringBuilder code, String className, String poolName) {
+        code.append("    public static final int DEFAULT_CAPACITY_PER_THREAD = 64;\n\n");
+        code.append("    private final int capacityPerThread;\n\n");
+        code.append("    private final ThreadLocal<java.util.ArrayDeque<").append(className).append(">> stacks;\n\n");
+
+        code.append("    public ").append(poolName).append("() {\n");
+        code.append("        this(DEFAULT_CAPACITY_PER_THREAD);\n");
+        code.append("    }\n\n");
+
+        code.append("    public ").append(poolName).append("(int capacityPerThread) {\n");
+        code.append("        if (capacityPerThread <= 0) {\n");
+        code.append("            throw new IllegalArgumentException(\"capacityPerThread must be positive\");\n");
+        code.append("        }\n");
+        code.append("        this.capacityPerThread = capacityPerThread;\n");
+        code.append("        this.stacks = ThreadLocal.withInitial(() -> new java.util.ArrayDeque<>(capacityPerThread));\n");
+        code.append("    }\n\n");
+
+        code.append("    public ").append(className).append(" acquire() {\n");
+        code.append("        ").append(className).append(" value = stacks.get().pollFirst();\n");
+        code.append("        return value != null ? value : new ").append(className).append("();\n");
+        code.append("    }\n\n");
+
+        code.append("    public void release(").append(className).append(" value) {\n");
+        code.append("        if (value == null) {\n");
+        code.append("            return;\n");
+        code.append("        }\n");
+        code.append("        java.util.ArrayDeque<").append(className).append("> stack = stacks.get();\n");
+        code.append("        if (stack.size() < capacityPerThread) {\n");
+        code.append("            value.").append(ResetMethodGenerator.METHOD_NAME).append("();\n");
+        code.append("            stack.addFirst(value);\n");
+        code.append("        }\n");
+        code.append("    }\n");
+    }
+
+    /**
+     * 生成分段無鎖池：槽位數組按線程哈希分段，acquire/release 只在本段內 CAS，段滿或段空時直接分配或丟棄
+     *
+     * @param code 代碼
+     * @param className 實體類名
+     * @param poolName 池類名
+     */
+    private void appendStripedPool(StringBuilder code, String className, String poolName) {
+        code.append("    public static final int DEFAULT_SLOTS_PER_STRIPE = 16;\n\n");
+        code.append("    private final int stripeMask;\n\n");
+        code.append("    private final int slotsPerStripe;\n\n");
+        code.append("    private final java.util.concurrent.atomic.AtomicReferenceArray<").append(className)
+                .append("> slots;\n\n");
+
+        code.append("    public ").append(poolName).append("() {\n");
+        code.append("        this(Runtime.getRuntime().availableProcessors() * 2, DEFAULT_SLOTS_PER_STRIPE);\n");
+        code.append("    }\n\n");
+
+        code.append("    public ").append(poolName).append("(int stripes, int slotsPerStripe) {\n");
+        code.append("        if (stripes <= 0 || slotsPerStripe <= 0) {\n");
+        code.append("            throw new IllegalArgumentException(\"stripes and slotsPerStripe must be positive\");\n");
+        code.append("        }\n");
+        code.append("        // 段數取不小於 stripes 的 2 的冪，用掩碼代替取模\n");
+        code.append("        int stripeCount = Integer.highestOneBit(stripes);\n");
+        code.append("        if (stripeCount < stripes) {\n");
+        code.append("            stripeCount <<= 1;\n");
+        code.append("        }\n");
+        code.append("        this.stripeMask = stripeCount - 1;\n");
+        code.append("        this.slotsPerStripe = slotsPerStripe;\n");
+        code.append("        this.slots = new java.util.concurrent.atomic.AtomicReferenceArray<>(stripeCount * slotsPerStripe);\n");
+        code.append("    }\n\n");
+
+        code.append("    public ").append(className).append(" acquire() {\n");
+        code.append("        int base = stripeBase();\n");
+        code.append("        for (int i = base; i < base + slotsPerStripe; i++) {\n");
+        code.append("            ").append(className).append(" value = slots.get(i);\n");
+        code.append("            if (value != null && slots.compareAndSet(i, value, null)) {\n");
+        code.append("                return value;\n");
+        code.append("            }\n");
+        code.append("        }\n");
+        code.append("        return new ").append(className).append("();\n");
+        code.append("    }\n\n");
+
+        code.append("    public void release(").append(className).append(" value) {\n");
+        code.append("        if (value == null) {\n");
+        code.append("            return;\n");
+        code.append("        }\n");
+        code.append("        value.").append(ResetMethodGenerator.METHOD_NAME).append("();\n");
+        code.append("        int base = stripeBase();\n");
+        code.append("        for (int i = base; i < base + slotsPerStripe; i++) {\n");
+        code.append("            if (slots.get(i) == null && slots.compareAndSet(i, null, value)) {\n");
+        code.append("                return;\n");
+        code.append("            }\n");
+        code.append("        }\n");
+        code.append("        // 本段已滿，交給 GC 回收\n");
+        code.append("    }\n\n");
+
+        code.append("    private int stripeBase() {\n");
+        code.append("        int hash = System.identityHashCode(Thread.currentThread());\n");
+        code.append("        hash ^= hash >>> 16;\n");
+        code.append("        return (hash & stripeMask) * slotsPerStripe;\n");
+        code.append("    }\n");
+    }
+}
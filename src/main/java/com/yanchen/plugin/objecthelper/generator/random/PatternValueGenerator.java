@@ -0,0 +1,330 @@
+package com.yanchen.plugin.objecthelper.generator.random;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 按 @Pattern 正則生成匹配字符串
+ * 只支持常見子集：字面量、轉義、字符類 [a-z0-9_]、預定義類 \d \w \s、任意字符 . 以及
+ * 量詞 ? * + {n} {n,} {n,m}；包含分組、選擇或否定字符類的正則不支持，調用方回退到按字段名生成
+ */
+public class PatternValueGenerator {
+
+    /**
+     * 無上限量詞（* + {n,}）的最大重複次數
+     */
+    private static final int UNBOUNDED_REPEAT = 8;
+
+    /**
+     * 數字 \d
+     */
+    private static final String DIGITS = "0123456789";
+
+    /**
+     * 單詞字符 \w
+     */
+    private static final String WORD_CHARS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789_";
+
+    /**
+     * 任意字符 .，只取字母和數字，避免生成控制字符或需要轉義的字符
+     */
+    private static final String ANY_CHARS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+
+    /**
+     * 解析後的片段
+     */
+    private final List<Token> tokens;
+
+    /**
+     * 構造方法
+     *
+     * @param tokens 解析後的片段
+     */
+    private PatternValueGenerator(@NotNull List<Token> tokens) {
+        this.tokens = tokens;
+    }
+
+    /**
+     * 解析正則
+     *
+     * @param regex 正則
+     * @return 生成器，不支持的正則返回 null
+     */
+    @Nullable
+    public static PatternValueGenerator compile(@NotNull String regex) {
+        List<Token> tokens = new ArrayList<>();
+        int length = regex.length();
+        int i = 0;
+        while (i < length) {
+            char c = regex.charAt(i);
+            String chars;
+            if (c == '^' && i == 0 || c == '$' && i == length - 1) {
+                i++;
+                continue;
+            } else if (c == '(' || c == ')' || c == '|' || c == '{' || c == '?' || c == '*' || c == '+') {
+                return null;
+            } else if (c == '.') {
+                chars = ANY_CHARS;
+                i++;
+            } else if (c == '\\') {
+                if (i + 1 >= length) {
+                    return null;
+                }
+                chars = escapeChars(regex.charAt(i + 1));
+                if (chars == null) {
+                    return null;
+                }
+                i += 2;
+            } else if (c == '[') {
+                int end = regex.indexOf(']', i + 1);
+                if (end < 0) {
+                    return null;
+                }
+                chars = classChars(regex.substring(i + 1, end));
+                if (chars == null) {
+                    return null;
+                }
+                i = end + 1;
+            } else {
+                chars = String.valueOf(c);
+                i++;
+            }
+
+            // 量詞
+            int minRepeat = 1;
+            int maxRepeat = 1;
+            boolean unbounded = false;
+            if (i < length) {
+                char quantifier = regex.charAt(i);
+                if (quantifier == '?') {
+                    minRepeat = 0;
+                    i++;
+                } else if (quantifier == '*') {
+                    minRepeat = 0;
+                    maxRepeat = UNBOUNDED_REPEAT;
+                    unbounded = true;
+                    i++;
+                } else if (quantifier == '+') {
+                    maxRepeat = UNBOUNDED_REPEAT;
+                    unbounded = true;
+                    i++;
+                } else if (quantifier == '{') {
+                    int end = regex.indexOf('}', i);
+                    if (end < 0) {
+                        return null;
+                    }
+                    String[] bounds = regex.substring(i + 1, end).split(",", -1);
+                    try {
+                        minRepeat = Integer.parseInt(bounds[0].trim());
+                        if (bounds.length == 1) {
+                            maxRepeat = minRepeat;
+                        } else if (bounds[1].trim().isEmpty()) {
+                            maxRepeat = minRepeat + UNBOUNDED_REPEAT;
+                            unbounded = true;
+                        } else {
+                            maxRepeat = Integer.parseInt(bounds[1].trim());
+                        }
+                    } catch (NumberFormatException e) {
+                        return null;
+                    }
+                    if (bounds.length > 2 || minRepeat < 0 || maxRepeat < minRepeat) {
+                        return null;
+                    }
+                    i = end + 1;
+                }
+            }
+            tokens.add(new Token(chars, minRepeat, maxRepeat, unbounded));
+        }
+        return new PatternValueGenerator(tokens);
+    }
+
+    /**
+     * 生成一個匹配的字符串
+     *
+     * @param random 隨機數
+     * @return 字符串
+     */
+    @NotNull
+    public String generate(@NotNull Random random) {
+        StringBuilder builder = new StringBuilder();
+        for (Token token : tokens) {
+            int repeat = token.minRepeat + random.nextInt(token.maxRepeat - token.minRepeat + 1);
+            for (int i = 0; i < repeat; i++) {
+                builder.append(token.chars.charAt(random.nextInt(token.chars.length())));
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 生成一個匹配且長度在指定範圍內的字符串（@Pattern 與 @Size 同時存在時）
+     * 先按各片段的最小重複次數生成，再隨機給仍有餘量的片段追加重複，無上限量詞在此不受默認次數限制
+     *
+     * @param random 隨機數
+     * @param minLength 最小長度
+     * @param maxLength 最大長度
+     * @return 字符串，正則的長度範圍與約束不相交時返回 null
+     */
+    @Nullable
+    public String generate(@NotNull Random random, int minLength, int maxLength) {
+        long patternMin = 0;
+        long patternMax = 0;
+        for (Token token : tokens) {
+            patternMin += token.minRepeat;
+            patternMax += token.unbounded ? Integer.MAX_VALUE : token.maxRepeat;
+        }
+        long lower = Math.max(minLength, patternMin);
+        long upper = Math.min(maxLength, patternMax);
+        if (lower > upper) {
+            return null;
+        }
+
+        // 無約束時按默認重複次數生成，長度自然落在範圍內則不做調整
+        String value = generate(random);
+        if (value.length() >= lower && value.length() <= upper) {
+            return value;
+        }
+
+        int targetLength = (int) (lower + random.nextInt((int) Math.min(upper - lower, UNBOUNDED_REPEAT) + 1));
+        int[] repeats = new int[tokens.size()];
+        int length = 0;
+        for (int i = 0; i < repeats.length; i++) {
+            repeats[i] = tokens.get(i).minRepeat;
+            length += repeats[i];
+        }
+        List<Integer> growable = new ArrayList<>();
+        for (int i = 0; i < repeats.length; i++) {
+            if (tokens.get(i).unbounded || repeats[i] < tokens.get(i).maxRepeat) {
+                growable.add(i);
+            }
+        }
+        while (length < targetLength && !growable.isEmpty()) {
+            int slot = random.nextInt(growable.size());
+            int index = growable.get(slot);
+            repeats[index]++;
+            length++;
+            if (!tokens.get(index).unbounded && repeats[index] >= tokens.get(index).maxRepeat) {
+                growable.remove(slot);
+            }
+        }
+
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < repeats.length; i++) {
+            Token token = tokens.get(i);
+            for (int j = 0; j < repeats[i]; j++) {
+                builder.append(token.chars.charAt(random.nextInt(token.chars.length())));
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 轉義字符對應的字符集
+     *
+     * @param c 反斜杠後的字符
+     * @return 字符集，不支持時返回 null
+     */
+    @Nullable
+    private static String escapeChars(char c) {
+        switch (c) {
+            case 'd':
+                return DIGITS;
+            case 'w':
+                return WORD_CHARS;
+            case 's':
+                return " ";
+            case 'D':
+            case 'W':
+            case 'S':
+            case 'b':
+            case 'B':
+                return null;
+            default:
+                return Character.isLetterOrDigit(c) ? null : String.valueOf(c);
+        }
+    }
+
+    /**
+     * 字符類 [...] 內容對應的字符集
+     *
+     * @param body 方括號內的內容
+     * @return 字符集，否定或空字符類返回 null
+     */
+    @Nullable
+    private static String classChars(@NotNull String body) {
+        if (body.isEmpty() || body.charAt(0) == '^') {
+            return null;
+        }
+        StringBuilder chars = new StringBuilder();
+        int i = 0;
+        while (i < body.length()) {
+            char c = body.charAt(i);
+            if (c == '\\' && i + 1 < body.length()) {
+                String escaped = escapeChars(body.charAt(i + 1));
+                if (escaped == null) {
+                    return null;
+                }
+                chars.append(escaped);
+                i += 2;
+            } else if (i + 2 < body.length() && body.charAt(i + 1) == '-') {
+                char end = body.charAt(i + 2);
+                if (end < c) {
+                    return null;
+                }
+                for (char range = c; range <= end; range++) {
+                    chars.append(range);
+                }
+                i += 3;
+            } else {
+                chars.append(c);
+                i++;
+            }
+        }
+        return chars.toString();
+    }
+
+    /**
+     * 字符集加重複次數
+     */
+    private static class Token {
+
+        /**
+         * 可選字符
+         */
+        private final String chars;
+
+        /**
+         * 最少重複次數
+         */
+        private final int minRepeat;
+
+        /**
+         * 最多重複次數，無上限量詞為默認次數
+         */
+        private final int maxRepeat;
+
+        /**
+         * 是否為無上限量詞（* + {n,}）
+         */
+        private final boolean unbounded;
+
+        /**
+         * 構造方法
+         *
+         * @param chars 可選字符
+         * @param minRepeat 最少重複次數
+         * @param maxRepeat 最多重複次數
+         * @param unbounded 是否為無上限量詞
+         */
+        Token(String chars, int minRepeat, int maxRepeat, boolean unbounded) {
+            this.chars = chars;
+            this.minRepeat = minRepeat;
+            this.maxRepeat = maxRepeat;
+            this.unbounded = unbounded;
+        }
+    }
+}
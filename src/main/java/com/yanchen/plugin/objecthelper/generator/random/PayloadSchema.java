@@ -0,0 +1,587 @@
+package com.yanchen.plugin.objecthelper.generator.random;
+
+import com.intellij.codeInsight.AnnotationUtil;
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiArrayType;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiClassType;
+import com.intellij.psi.PsiEnumConstant;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiModifier;
+import com.intellij.psi.PsiModifierListOwner;
+import com.intellij.psi.PsiType;
+import com.intellij.psi.PsiTypes;
+import com.intellij.psi.util.InheritanceUtil;
+import com.intellij.psi.util.PsiUtil;
+import com.yanchen.plugin.objecthelper.common.util.PsiUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 隨機數據生成的字段結構
+ * 從 PSI 一次性提取字段類型和校驗註解（@Size、@Min、@Max、@Pattern 等），
+ * 之後生成任意數量的文檔都不再訪問 PSI
+ */
+public class PayloadSchema {
+
+    /**
+     * 嵌套類型的最大展開深度，超出或循環引用時輸出 null
+     */
+    private static final int MAX_DEPTH = 6;
+
+    /**
+     * 字段值類型
+     */
+    public enum Kind {
+        STRING, INTEGER, LONG, DECIMAL, BOOLEAN, CHAR, UUID, DATE, DATE_TIME, ENUM, OBJECT, ARRAY, MAP, NULL
+    }
+
+    /**
+     * 字段名（根節點為類名）
+     */
+    private final String name;
+
+    /**
+     * 值類型
+     */
+    private final Kind kind;
+
+    /**
+     * 對象的字段
+     */
+    private final List<PayloadSchema> children = new ArrayList<>();
+
+    /**
+     * 數組元素或 Map 值的結構
+     */
+    private PayloadSchema element;
+
+    /**
+     * 枚舉常量
+     */
+    private List<String> enumValues = Collections.emptyList();
+
+    /**
+     * 長度或元素數量下限（@Size）
+     */
+    private Integer minSize;
+
+    /**
+     * 長度或元素數量上限（@Size）
+     */
+    private Integer maxSize;
+
+    /**
+     * 整數下限（@Min、@DecimalMin、@Positive 等），小數邊界向上取整
+     */
+    private Long min;
+
+    /**
+     * 整數上限（@Max、@DecimalMax 等），小數邊界向下取整
+     */
+    private Long max;
+
+    /**
+     * 小數下限，保留 @DecimalMin 的精度，不含邊界時已加上最小單位
+     */
+    private BigDecimal decimalMin;
+
+    /**
+     * 小數上限，保留 @DecimalMax 的精度，不含邊界時已減去最小單位
+     */
+    private BigDecimal decimalMax;
+
+    /**
+     * 字段類型本身的取值下限（如 byte 為 -128），無限制時為 null
+     */
+    private Long typeMin;
+
+    /**
+     * 字段類型本身的取值上限（如 byte 為 127），無限制時為 null
+     */
+    private Long typeMax;
+
+    /**
+     * 字符串正則（@Pattern）
+     */
+    private String pattern;
+
+    /**
+     * 是否為郵箱（@Email）
+     */
+    private boolean email;
+
+    /**
+     * 構造方法
+     *
+     * @param name 字段名
+     * @param kind 值類型
+     */
+    private PayloadSchema(@NotNull String name, @NotNull Kind kind) {
+        this.name = name;
+        this.kind = kind;
+    }
+
+    /**
+     * 從類創建結構
+     * 需在讀操作中調用
+     *
+     * @param psiClass 根類
+     * @return 結構
+     */
+    @NotNull
+    public static PayloadSchema fromClass(@NotNull PsiClass psiClass) {
+        String className = psiClass.getName() == null ? "item" : psiClass.getName();
+        return createObject(className, psiClass, new ArrayList<>());
+    }
+
+    /**
+     * 創建對象結構
+     *
+     * @param name 字段名
+     * @param psiClass 類
+     * @param path 從根到當前類的路徑，用於截斷循環引用
+     * @return 結構
+     */
+    @NotNull
+    private static PayloadSchema createObject(@NotNull String name, @NotNull PsiClass psiClass,
+                                              @NotNull List<PsiClass> path) {
+        if (path.contains(psiClass) || path.size() >= MAX_DEPTH) {
+            return new PayloadSchema(name, Kind.NULL);
+        }
+
+        PayloadSchema schema = new PayloadSchema(name, Kind.OBJECT);
+        path.add(psiClass);
+        for (PsiField field : PsiUtils.getAllFields(psiClass)) {
+            // 排除靜態字段和常量
+            if (field.hasModifierProperty(PsiModifier.STATIC) ||
+                    field.hasModifierProperty(PsiModifier.FINAL) && field.hasInitializer()) {
+                continue;
+            }
+            PayloadSchema child = createForType(field.getName(), field.getType(), path);
+            child.readConstraints(field);
+            schema.children.add(child);
+        }
+        path.remove(path.size() - 1);
+        return schema;
+    }
+
+    /**
+     * 按類型創建結構
+     *
+     * @param name 字段名
+     * @param type 類型
+     * @param path 從根到當前類的路徑
+     * @return 結構
+     */
+    @NotNull
+    private static PayloadSchema createForType(@NotNull String name, @NotNull PsiType type,
+                                               @NotNull List<PsiClass> path) {
+        Kind simpleKind = getSimpleKind(type);
+        if (simpleKind != null) {
+            PayloadSchema schema = new PayloadSchema(name, simpleKind);
+            schema.readTypeRange(type);
+            return schema;
+        }
+
+        if (type instanceof PsiArrayType) {
+            PayloadSchema schema = new PayloadSchema(name, Kind.ARRAY);
+            schema.element = createForType(name, ((PsiArrayType) type).getComponentType(), path);
+            return schema;
+        }
+
+        if (!(type instanceof PsiClassType)) {
+            return new PayloadSchema(name, Kind.NULL);
+        }
+        PsiClass psiClass = ((PsiClassType) type).resolve();
+        if (psiClass == null) {
+            return new PayloadSchema(name, Kind.NULL);
+        }
+
+        if (psiClass.isEnum()) {
+            PayloadSchema schema = new PayloadSchema(name, Kind.ENUM);
+            List<String> values = new ArrayList<>();
+            for (PsiField field : psiClass.getFields()) {
+                if (field instanceof PsiEnumConstant) {
+                    values.add(field.getName());
+                }
+            }
+            schema.enumValues = values;
+            return values.isEmpty() ? new PayloadSchema(name, Kind.NULL) : schema;
+        }
+
+        if (InheritanceUtil.isInheritor(psiClass, "java.util.Map")) {
+            PayloadSchema schema = new PayloadSchema(name, Kind.MAP);
+            PsiType valueType = PsiUtil.substituteTypeParameter(type, "java.util.Map", 1, false);
+            schema.element = valueType == null
+                    ? new PayloadSchema(name, Kind.STRING) : createForType(name, valueType, path);
+            return schema;
+        }
+
+        if (InheritanceUtil.isInheritor(psiClass, "java.lang.Iterable")) {
+            PayloadSchema schema = new PayloadSchema(name, Kind.ARRAY);
+            PsiType elementType = PsiUtil.substituteTypeParameter(type, "java.lang.Iterable", 0, false);
+            schema.element = elementType == null
+                    ? new PayloadSchema(name, Kind.STRING) : createForType(name, elementType, path);
+            return schema;
+        }
+
+        String qualifiedName = psiClass.getQualifiedName();
+        if (qualifiedName != null && (qualifiedName.startsWith("java.") || qualifiedName.startsWith("javax."))) {
+            return new PayloadSchema(name, Kind.NULL);
+        }
+        return createObject(name, psiClass, path);
+    }
+
+    /**
+     * 獲取基本類型、包裝類型及常用 JDK 值類型的值類型
+     *
+     * @param type 類型
+     * @return 值類型，非簡單類型返回 null
+     */
+    @Nullable
+    private static Kind getSimpleKind(@NotNull PsiType type) {
+        if (PsiTypes.booleanType().equals(type)) {
+            return Kind.BOOLEAN;
+        }
+        if (PsiTypes.charType().equals(type)) {
+            return Kind.CHAR;
+        }
+        if (PsiTypes.longType().equals(type)) {
+            return Kind.LONG;
+        }
+        if (PsiTypes.floatType().equals(type) || PsiTypes.doubleType().equals(type)) {
+            return Kind.DECIMAL;
+        }
+        if (PsiTypes.intType().equals(type) || PsiTypes.shortType().equals(type) || PsiTypes.byteType().equals(type)) {
+            return Kind.INTEGER;
+        }
+
+        switch (type.getCanonicalText()) {
+            case "java.lang.String":
+            case "java.lang.CharSequence":
+                return Kind.STRING;
+            case "java.lang.Boolean":
+                return Kind.BOOLEAN;
+            case "java.lang.Character":
+                return Kind.CHAR;
+            case "java.lang.Integer":
+            case "java.lang.Short":
+            case "java.lang.Byte":
+                return Kind.INTEGER;
+            case "java.lang.Long":
+            case "java.math.BigInteger":
+                return Kind.LONG;
+            case "java.lang.Float":
+            case "java.lang.Double":
+            case "java.math.BigDecimal":
+                return Kind.DECIMAL;
+            case "java.util.UUID":
+                return Kind.UUID;
+            case "java.time.LocalDate":
+                return Kind.DATE;
+            case "java.time.LocalDateTime":
+            case "java.time.OffsetDateTime":
+            case "java.time.ZonedDateTime":
+            case "java.time.Instant":
+            case "java.util.Date":
+                return Kind.DATE_TIME;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 記錄整數類型本身的取值範圍，避免默認範圍溢出 byte、short 等窄類型
+     *
+     * @param type 類型
+     */
+    private void readTypeRange(@NotNull PsiType type) {
+        if (kind != Kind.INTEGER) {
+            return;
+        }
+        String typeText = type.getCanonicalText();
+        if (PsiTypes.byteType().equals(type) || "java.lang.Byte".equals(typeText)) {
+            typeMin = (long) Byte.MIN_VALUE;
+            typeMax = (long) Byte.MAX_VALUE;
+        } else if (PsiTypes.shortType().equals(type) || "java.lang.Short".equals(typeText)) {
+            typeMin = (long) Short.MIN_VALUE;
+            typeMax = (long) Short.MAX_VALUE;
+        } else {
+            typeMin = (long) Integer.MIN_VALUE;
+            typeMax = (long) Integer.MAX_VALUE;
+        }
+    }
+
+    /**
+     * 讀取字段上的校驗註解，同時支持 javax 和 jakarta 包
+     *
+     * @param field 字段
+     */
+    private void readConstraints(@NotNull PsiModifierListOwner field) {
+        PsiAnnotation size = findConstraint(field, "Size");
+        if (size == null) {
+            size = AnnotationUtil.findAnnotation(field, "org.hibernate.validator.constraints.Length");
+        }
+        if (size != null) {
+            Long sizeMin = AnnotationUtil.getLongAttributeValue(size, "min");
+            Long sizeMax = AnnotationUtil.getLongAttributeValue(size, "max");
+            minSize = sizeMin == null ? null : (int) Math.min(sizeMin, Integer.MAX_VALUE);
+            maxSize = sizeMax == null ? null : (int) Math.min(sizeMax, Integer.MAX_VALUE);
+        }
+
+        PsiAnnotation minAnnotation = findConstraint(field, "Min");
+        if (minAnnotation != null) {
+            setMin(toDecimal(AnnotationUtil.getLongAttributeValue(minAnnotation, "value")));
+        }
+        PsiAnnotation maxAnnotation = findConstraint(field, "Max");
+        if (maxAnnotation != null) {
+            setMax(toDecimal(AnnotationUtil.getLongAttributeValue(maxAnnotation, "value")));
+        }
+        BigDecimal decimalMinBound = parseDecimalBound(findConstraint(field, "DecimalMin"), true);
+        if (decimalMinBound != null) {
+            setMin(decimalMinBound);
+        }
+        BigDecimal decimalMaxBound = parseDecimalBound(findConstraint(field, "DecimalMax"), false);
+        if (decimalMaxBound != null) {
+            setMax(decimalMaxBound);
+        }
+        if (findConstraint(field, "Positive") != null) {
+            setMin(BigDecimal.ONE);
+        } else if (findConstraint(field, "PositiveOrZero") != null) {
+            setMin(BigDecimal.ZERO);
+        }
+        if (findConstraint(field, "Negative") != null) {
+            setMax(BigDecimal.ONE.negate());
+        } else if (findConstraint(field, "NegativeOrZero") != null) {
+            setMax(BigDecimal.ZERO);
+        }
+
+        PsiAnnotation patternAnnotation = findConstraint(field, "Pattern");
+        if (patternAnnotation != null) {
+            pattern = AnnotationUtil.getStringAttributeValue(patternAnnotation, "regexp");
+        }
+        email = findConstraint(field, "Email") != null;
+        if ((findConstraint(field, "NotEmpty") != null || findConstraint(field, "NotBlank") != null)
+                && (minSize == null || minSize < 1)) {
+            minSize = 1;
+        }
+    }
+
+    /**
+     * 查找 javax 或 jakarta 的校驗註解
+     *
+     * @param field 字段
+     * @param simpleName 註解簡單名
+     * @return 註解，不存在時返回 null
+     */
+    @Nullable
+    private static PsiAnnotation findConstraint(@NotNull PsiModifierListOwner field, @NotNull String simpleName) {
+        return AnnotationUtil.findAnnotation(field,
+                "javax.validation.constraints." + simpleName,
+                "jakarta.validation.constraints." + simpleName);
+    }
+
+    /**
+     * 設置下限，整數下限向上取整
+     *
+     * @param bound 下限，為 null 時忽略
+     */
+    private void setMin(@Nullable BigDecimal bound) {
+        if (bound != null) {
+            decimalMin = bound;
+            min = bound.setScale(0, RoundingMode.CEILING).longValue();
+        }
+    }
+
+    /**
+     * 設置上限，整數上限向下取整
+     *
+     * @param bound 上限，為 null 時忽略
+     */
+    private void setMax(@Nullable BigDecimal bound) {
+        if (bound != null) {
+            decimalMax = bound;
+            max = bound.setScale(0, RoundingMode.FLOOR).longValue();
+        }
+    }
+
+    /**
+     * 整數邊界轉為小數
+     *
+     * @param value 整數邊界
+     * @return 小數邊界，為 null 時返回 null
+     */
+    @Nullable
+    private static BigDecimal toDecimal(@Nullable Long value) {
+        return value == null ? null : BigDecimal.valueOf(value);
+    }
+
+    /**
+     * 解析 @DecimalMin / @DecimalMax 的字符串邊界
+     * inclusive = false 時邊界本身不合法，按邊界精度（至少兩位小數）向內收一個最小單位
+     *
+     * @param annotation 註解
+     * @param lower 是否為下限
+     * @return 邊界，無法解析時返回 null
+     */
+    @Nullable
+    private static BigDecimal parseDecimalBound(@Nullable PsiAnnotation annotation, boolean lower) {
+        String value = annotation == null ? null : AnnotationUtil.getStringAttributeValue(annotation, "value");
+        if (value == null) {
+            return null;
+        }
+        BigDecimal bound;
+        try {
+            bound = new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (Boolean.FALSE.equals(AnnotationUtil.getBooleanAttributeValue(annotation, "inclusive"))) {
+            BigDecimal unit = BigDecimal.ONE.movePointLeft(Math.max(2, bound.scale()));
+            bound = lower ? bound.add(unit) : bound.subtract(unit);
+        }
+        return bound;
+    }
+
+    /**
+     * 獲取字段名
+     *
+     * @return 字段名，根節點為類名
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 獲取值類型
+     *
+     * @return 值類型
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * 獲取對象的字段
+     *
+     * @return 字段結構列表
+     */
+    public List<PayloadSchema> getChildren() {
+        return children;
+    }
+
+    /**
+     * 獲取數組元素或 Map 值的結構
+     *
+     * @return 元素結構，非數組或 Map 時為 null
+     */
+    public PayloadSchema getElement() {
+        return element;
+    }
+
+    /**
+     * 獲取枚舉常量
+     *
+     * @return 枚舉常量名列表
+     */
+    public List<String> getEnumValues() {
+        return enumValues;
+    }
+
+    /**
+     * 獲取長度或元素數量下限
+     *
+     * @return 下限，未約束時為 null
+     */
+    public Integer getMinSize() {
+        return minSize;
+    }
+
+    /**
+     * 獲取長度或元素數量上限
+     *
+     * @return 上限，未約束時為 null
+     */
+    public Integer getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * 獲取整數下限
+     *
+     * @return 下限，未約束時為 null
+     */
+    public Long getMin() {
+        return min;
+    }
+
+    /**
+     * 獲取整數上限
+     *
+     * @return 上限，未約束時為 null
+     */
+    public Long getMax() {
+        return max;
+    }
+
+    /**
+     * 獲取字符串正則
+     *
+     * @return 正則，未約束時為 null
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * 判斷是否為郵箱
+     *
+     * @return 是否有 @Email 約束
+     */
+    public boolean isEmail() {
+        return email;
+    }
+
+    /**
+     * 獲取小數下限
+     *
+     * @return 下限，未約束時為 null
+     */
+    public BigDecimal getDecimalMin() {
+        return decimalMin;
+    }
+
+    /**
+     * 獲取小數上限
+     *
+     * @return 上限，未約束時為 null
+     */
+    public BigDecimal getDecimalMax() {
+        return decimalMax;
+    }
+
+    /**
+     * 獲取字段類型本身的取值下限
+     *
+     * @return 下限，無限制時為 null
+     */
+    public Long getTypeMin() {
+        return typeMin;
+    }
+
+    /**
+     * 獲取字段類型本身的取值上限
+     *
+     * @return 上限，無限制時為 null
+     */
+    public Long getTypeMax() {
+        return typeMax;
+    }
+}
@@ -0,0 +1,702 @@
+package com.yanchen.plugin.objecthelper.generator.random;
+
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.yanchen.plugin.objecthelper.common.util.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * 隨機數據流式寫入器
+ * 按結構逐個生成文檔並直接寫入輸出流，內存佔用與文檔數量無關；
+ * 使用 java.util.Random（算法由規範固定），同一種子在任何 JVM 上生成相同數據
+ */
+public class RandomPayloadWriter {
+
+    /**
+     * 每生成多少個文檔檢查一次取消並更新進度
+     */
+    private static final int PROGRESS_INTERVAL = 1000;
+
+    /**
+     * 日期起點 2020-01-01
+     */
+    private static final long BASE_EPOCH_DAY = 18262L;
+
+    /**
+     * 日期範圍（天）
+     */
+    private static final int DATE_RANGE_DAYS = 3650;
+
+    /**
+     * 日期時間格式，秒始終輸出
+     */
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    private static final String LOWER_LETTERS = "abcdefghijklmnopqrstuvwxyz";
+    private static final String[] FIRST_NAMES = {"James", "Mary", "John", "Linda", "Wei", "Fang", "Hiro", "Yuki", "Carlos", "Sofia", "Ahmed", "Olga"};
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Chen", "Wang", "Tanaka", "Garcia", "Müller", "Ivanova", "Brown", "Lee"};
+    private static final String[] CITIES = {"Taipei", "Shanghai", "Tokyo", "London", "New York", "Berlin", "Paris", "Sydney", "Toronto", "Singapore"};
+    private static final String[] COUNTRIES = {"TW", "CN", "JP", "GB", "US", "DE", "FR", "AU", "CA", "SG"};
+    private static final String[] STREETS = {"Main St", "High St", "Park Ave", "Oak Rd", "Station Rd", "Church Ln"};
+    private static final String[] STATUSES = {"ACTIVE", "INACTIVE", "PENDING", "DISABLED"};
+    private static final String[] WORDS = {"lorem", "ipsum", "dolor", "sit", "amet", "consectetur", "adipiscing", "elit", "sed", "do", "eiusmod", "tempor"};
+
+    /**
+     * 輸出格式
+     */
+    public enum Format {
+
+        /**
+         * 每行一個 JSON 文檔
+         */
+        NDJSON("ndjson"),
+
+        /**
+         * 根節點下每行一個 XML 元素
+         */
+        XML("xml");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    /**
+     * 根結構
+     */
+    private final PayloadSchema schema;
+
+    /**
+     * 隨機數
+     */
+    private final Random random;
+
+    /**
+     * 集合默認最少元素數（字段沒有 @Size 時使用）
+     */
+    private final int minItems;
+
+    /**
+     * 集合默認最多元素數（字段沒有 @Size 時使用）
+     */
+    private final int maxItems;
+
+    /**
+     * 已解析的 @Pattern，大小只與結構有關
+     */
+    private final Map<PayloadSchema, PatternValueGenerator> patterns = new IdentityHashMap<>();
+
+    /**
+     * 構造方法
+     *
+     * @param schema 根結構
+     * @param seed 隨機種子
+     * @param minItems 集合默認最少元素數
+     * @param maxItems 集合默認最多元素數
+     */
+    public RandomPayloadWriter(@NotNull PayloadSchema schema, long seed, int minItems, int maxItems) {
+        this.schema = schema;
+        this.random = new Random(seed);
+        this.minItems = Math.max(0, minItems);
+        this.maxItems = Math.max(this.minItems, maxItems);
+    }
+
+    /**
+     * 生成並寫入指定數量的文檔
+     *
+     * @param out 輸出流，調用方負責緩衝和關閉
+     * @param format 輸出格式
+     * @param count 文檔數量
+     * @param indicator 進度指示器，可為空
+     * @throws IOException 寫入失敗
+     */
+    public void write(@NotNull Writer out, @NotNull Format format, long count,
+                      @Nullable ProgressIndicator indicator) throws IOException {
+        String rootName = StringUtils.uncapitalize(schema.getName());
+        if (format == Format.XML) {
+            out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<");
+            out.write(rootName);
+            out.write("List>\n");
+        }
+
+        for (long i = 0; i < count; i++) {
+            if (indicator != null && i % PROGRESS_INTERVAL == 0) {
+                indicator.checkCanceled();
+                indicator.setFraction((double) i / count);
+            }
+            if (format == Format.XML) {
+                writeXml(out, rootName, schema);
+            } else {
+                writeJson(out, schema);
+            }
+            out.write('\n');
+        }
+
+        if (format == Format.XML) {
+            out.write("</");
+            out.write(rootName);
+            out.write("List>\n");
+        }
+    }
+
+    /**
+     * 寫入 JSON 值
+     *
+     * @param out 輸出流
+     * @param node 結構
+     * @throws IOException 寫入失敗
+     */
+    private void writeJson(@NotNull Writer out, @NotNull PayloadSchema node) throws IOException {
+        switch (node.getKind()) {
+            case OBJECT:
+                out.write('{');
+                List<PayloadSchema> children = node.getChildren();
+                for (int i = 0; i < children.size(); i++) {
+                    if (i > 0) {
+                        out.write(',');
+                    }
+                    writeJsonString(out, children.get(i).getName());
+                    out.write(':');
+                    writeJson(out, children.get(i));
+                }
+                out.write('}');
+                break;
+            case ARRAY:
+                out.write('[');
+                int size = nextCardinality(node);
+                for (int i = 0; i < size; i++) {
+                    if (i > 0) {
+                        out.write(',');
+                    }
+                    writeJson(out, node.getElement());
+                }
+                out.write(']');
+                break;
+            case MAP:
+                out.write('{');
+                int entries = nextCardinality(node);
+                for (int i = 0; i < entries; i++) {
+                    if (i > 0) {
+                        out.write(',');
+                    }
+                    writeJsonString(out, "key" + (i + 1));
+                    out.write(':');
+                    writeJson(out, node.getElement());
+                }
+                out.write('}');
+                break;
+            case INTEGER:
+            case LONG:
+            case DECIMAL:
+            case BOOLEAN:
+            case NULL:
+                out.write(nextScalar(node));
+                break;
+            default:
+                writeJsonString(out, nextScalar(node));
+                break;
+        }
+    }
+
+    /**
+     * 寫入 XML 元素
+     *
+     * @param out 輸出流
+     * @param name 元素名
+     * @param node 結構
+     * @throws IOException 寫入失敗
+     */
+    private void writeXml(@NotNull Writer out, @NotNull String name, @NotNull PayloadSchema node) throws IOException {
+        if (node.getKind() == PayloadSchema.Kind.NULL) {
+            out.write('<');
+            out.write(name);
+            out.write("/>");
+            return;
+        }
+
+        out.write('<');
+        out.write(name);
+        out.write('>');
+        switch (node.getKind()) {
+            case OBJECT:
+                for (PayloadSchema child : node.getChildren()) {
+                    writeXml(out, child.getName(), child);
+                }
+                break;
+            case ARRAY:
+                String itemName = getSingularName(name);
+                int size = nextCardinality(node);
+                for (int i = 0; i < size; i++) {
+                    writeXml(out, itemName, node.getElement());
+                }
+                break;
+            case MAP:
+                int entries = nextCardinality(node);
+                for (int i = 0; i < entries; i++) {
+                    out.write("<entry><key>key");
+                    out.write(String.valueOf(i + 1));
+                    out.write("</key>");
+                    writeXml(out, "value", node.getElement());
+                    out.write("</entry>");
+                }
+                break;
+            default:
+                writeXmlText(out, nextScalar(node));
+                break;
+        }
+        out.write("</");
+        out.write(name);
+        out.write('>');
+    }
+
+    /**
+     * 生成集合元素數量，字段 @Size 優先於默認配置
+     *
+     * @param node 集合結構
+     * @return 元素數量
+     */
+    private int nextCardinality(@NotNull PayloadSchema node) {
+        int lower = node.getMinSize() != null ? node.getMinSize() : minItems;
+        int upper = node.getMaxSize() != null ? Math.min(node.getMaxSize(), Math.max(lower, maxItems)) : maxItems;
+        upper = Math.max(lower, upper);
+        return lower + random.nextInt(upper - lower + 1);
+    }
+
+    /**
+     * 生成簡單類型的值文本（未轉義）
+     *
+     * @param node 結構
+     * @return 值文本
+     */
+    @NotNull
+    private String nextScalar(@NotNull PayloadSchema node) {
+        String name = node.getName();
+        switch (node.getKind()) {
+            case STRING:
+                return nextString(node, name);
+            case INTEGER:
+                // 默認範圍按 byte、short 等字段類型本身的範圍收窄
+                long intMin = getLowerBound(node, name);
+                long intMax = node.getMax() != null ? node.getMax() : defaultMax(name, intMin);
+                return String.valueOf(nextLong(clampToType(node, intMin), clampToType(node, intMax)));
+            case LONG:
+                if (node.getMin() == null && node.getMax() == null && isTimeName(name)) {
+                    long baseMillis = BASE_EPOCH_DAY * 86_400_000L;
+                    return String.valueOf(baseMillis + nextLong(0, DATE_RANGE_DAYS * 86_400_000L));
+                }
+                long longMin = getLowerBound(node, name);
+                long longMax = node.getMax() != null ? node.getMax() : defaultMax(name, longMin);
+                return String.valueOf(nextLong(longMin, longMax));
+            case DECIMAL:
+                return nextDecimal(node, name);
+            case BOOLEAN:
+                return String.valueOf(random.nextBoolean());
+            case CHAR:
+                return String.valueOf(LOWER_LETTERS.charAt(random.nextInt(LOWER_LETTERS.length())));
+            case UUID:
+                return nextUuid();
+            case DATE:
+                return LocalDate.ofEpochDay(BASE_EPOCH_DAY + random.nextInt(DATE_RANGE_DAYS)).toString();
+            case DATE_TIME:
+                long seconds = BASE_EPOCH_DAY * 86_400L + nextLong(0, DATE_RANGE_DAYS * 86_400L);
+                return LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC).format(DATE_TIME_FORMATTER);
+            case ENUM:
+                List<String> values = node.getEnumValues();
+                return values.get(random.nextInt(values.size()));
+            default:
+                return "null";
+        }
+    }
+
+    /**
+     * 獲取整數下限：@Min 優先，其次按字段名推斷
+     * 只有上限約束且推斷的下限超過上限時（如 @Negative，或 age 上的 @Max(10)），
+     * 非負上限從 0 開始，負上限從上限往下取默認跨度
+     *
+     * @param node 結構
+     * @param name 字段名
+     * @return 下限
+     */
+    private long getLowerBound(@NotNull PayloadSchema node, @NotNull String name) {
+        if (node.getMin() != null) {
+            return node.getMin();
+        }
+        long min = defaultMin(name);
+        Long max = node.getMax();
+        if (max == null || max >= min) {
+            return min;
+        }
+        if (max >= 0) {
+            return 0;
+        }
+        long span = defaultMax(name, 0);
+        return max < Long.MIN_VALUE + span ? Long.MIN_VALUE : max - span;
+    }
+
+    /**
+     * 生成小數，保留 @DecimalMin / @DecimalMax 的精度
+     * 在邊界之間取偏移量並向下截斷，結果不會越過任一邊界
+     *
+     * @param node 結構
+     * @param name 字段名
+     * @return 小數文本
+     */
+    @NotNull
+    private String nextDecimal(@NotNull PayloadSchema node, @NotNull String name) {
+        BigDecimal lower = node.getDecimalMin() != null ? node.getDecimalMin() : BigDecimal.valueOf(defaultMin(name));
+        BigDecimal upper = node.getDecimalMax() != null
+                ? node.getDecimalMax() : BigDecimal.valueOf(defaultMax(name, lower.longValue()));
+        if (upper.compareTo(lower) < 0) {
+            // 只有上限約束時與整數一致：非負上限從 0 開始，負上限（如 @Negative）從上限往下取默認跨度
+            if (node.getDecimalMin() != null) {
+                lower = upper;
+            } else if (upper.signum() >= 0) {
+                lower = BigDecimal.ZERO;
+            } else {
+                lower = upper.subtract(BigDecimal.valueOf(defaultMax(name, 0)));
+            }
+        }
+        int scale = Math.max(2, Math.max(lower.scale(), upper.scale()));
+        BigDecimal offset = upper.subtract(lower).multiply(BigDecimal.valueOf(random.nextDouble()))
+                .setScale(scale, RoundingMode.DOWN);
+        return lower.add(offset).setScale(scale, RoundingMode.DOWN).toPlainString();
+    }
+
+    /**
+     * 將整數值限制在字段類型本身的取值範圍內
+     *
+     * @param node 結構
+     * @param value 值
+     * @return 限制後的值
+     */
+    private long clampToType(@NotNull PayloadSchema node, long value) {
+        if (node.getTypeMin() != null && value < node.getTypeMin()) {
+            return node.getTypeMin();
+        }
+        if (node.getTypeMax() != null && value > node.getTypeMax()) {
+            return node.getTypeMax();
+        }
+        return value;
+    }
+
+    /**
+     * 生成字符串：@Pattern 優先，其次 @Email 和字段名，最後按 @Size 調整長度
+     *
+     * @param node 結構
+     * @param name 字段名
+     * @return 字符串
+     */
+    @NotNull
+    private String nextString(@NotNull PayloadSchema node, @NotNull String name) {
+        int minLength = node.getMinSize() != null ? node.getMinSize() : 0;
+        int maxLength = node.getMaxSize() != null ? node.getMaxSize() : Integer.MAX_VALUE;
+        if (node.getPattern() != null) {
+            PatternValueGenerator generator = patterns.computeIfAbsent(node,
+                    key -> PatternValueGenerator.compile(key.getPattern()));
+            // 正則與 @Size 無法同時滿足時回退到按字段名生成
+            String patternValue = generator == null ? null : generator.generate(random, minLength, maxLength);
+            if (patternValue != null) {
+                return patternValue;
+            }
+        }
+
+        String value = node.isEmail() ? nextEmail() : nextStringByName(name);
+        if (value.length() > maxLength) {
+            return value.substring(0, Math.max(minLength, maxLength));
+        }
+        if (value.length() < minLength) {
+            StringBuilder builder = new StringBuilder(value);
+            while (builder.length() < minLength) {
+                builder.append(LOWER_LETTERS.charAt(random.nextInt(LOWER_LETTERS.length())));
+            }
+            return builder.toString();
+        }
+        return value;
+    }
+
+    /**
+     * 按字段名生成接近真實的字符串
+     *
+     * @param fieldName 字段名
+     * @return 字符串
+     */
+    @NotNull
+    private String nextStringByName(@NotNull String fieldName) {
+        String name = fieldName.toLowerCase(Locale.ROOT);
+        if (name.contains("mail")) {
+            return nextEmail();
+        }
+        if (name.contains("phone") || name.contains("mobile") || name.contains("tel")) {
+            return "1" + nextDigits(10);
+        }
+        if (name.contains("url") || name.contains("link") || name.contains("website")) {
+            return "https://example.com/" + pick(WORDS) + "/" + nextDigits(4);
+        }
+        if (isIdName(fieldName) || name.contains("uuid")) {
+            return nextUuid();
+        }
+        if (name.contains("username") || name.contains("account") || name.contains("login")) {
+            return pick(FIRST_NAMES).toLowerCase(Locale.ROOT) + nextDigits(3);
+        }
+        if (name.contains("firstname")) {
+            return pick(FIRST_NAMES);
+        }
+        if (name.contains("lastname") || name.contains("surname")) {
+            return pick(LAST_NAMES);
+        }
+        if (name.contains("name")) {
+            return pick(FIRST_NAMES) + " " + pick(LAST_NAMES);
+        }
+        if (name.contains("city")) {
+            return pick(CITIES);
+        }
+        if (name.contains("country")) {
+            return pick(COUNTRIES);
+        }
+        if (name.contains("address") || name.contains("street")) {
+            return (1 + random.nextInt(999)) + " " + pick(STREETS) + ", " + pick(CITIES);
+        }
+        if (name.contains("status") || name.contains("state")) {
+            return pick(STATUSES);
+        }
+        if (name.contains("code")) {
+            return nextDigits(6);
+        }
+        if (name.contains("desc") || name.contains("remark") || name.contains("comment")
+                || name.contains("content") || name.contains("note") || name.contains("title")) {
+            int wordCount = 3 + random.nextInt(6);
+            StringBuilder builder = new StringBuilder(pick(WORDS));
+            for (int i = 1; i < wordCount; i++) {
+                builder.append(' ').append(pick(WORDS));
+            }
+            return builder.toString();
+        }
+
+        int length = 5 + random.nextInt(8);
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(LOWER_LETTERS.charAt(random.nextInt(LOWER_LETTERS.length())));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 按字段名推斷數值下限
+     *
+     * @param fieldName 字段名
+     * @return 下限
+     */
+    private long defaultMin(@NotNull String fieldName) {
+        String name = fieldName.toLowerCase(Locale.ROOT);
+        if (isAgeName(fieldName)) {
+            return 18;
+        }
+        if (name.contains("year")) {
+            return 1970;
+        }
+        return isIdName(fieldName) ? 1 : 0;
+    }
+
+    /**
+     * 按字段名推斷數值上限，保證不小於下限
+     *
+     * @param fieldName 字段名
+     * @param min 下限
+     * @return 上限
+     */
+    private long defaultMax(@NotNull String fieldName, long min) {
+        String name = fieldName.toLowerCase(Locale.ROOT);
+        long max;
+        if (isAgeName(fieldName)) {
+            max = 80;
+        } else if (name.contains("year")) {
+            max = 2030;
+        } else if (name.contains("count") || name.contains("quantity") || name.contains("qty")) {
+            max = 100;
+        } else if (isIdName(fieldName)) {
+            max = 10_000_000;
+        } else {
+            max = 10_000;
+        }
+        return max >= min ? max : (min > Long.MAX_VALUE - 10_000 ? Long.MAX_VALUE : min + 10_000);
+    }
+
+    /**
+     * 判斷是否為標識字段，如 id、userId、order_id
+     *
+     * @param fieldName 字段名
+     * @return 是否為標識
+     */
+    private static boolean isIdName(@NotNull String fieldName) {
+        return fieldName.equalsIgnoreCase("id") || fieldName.endsWith("Id") || fieldName.endsWith("_id");
+    }
+
+    /**
+     * 判斷是否為年齡字段，如 age、userAge
+     *
+     * @param fieldName 字段名
+     * @return 是否為年齡
+     */
+    private static boolean isAgeName(@NotNull String fieldName) {
+        return fieldName.equalsIgnoreCase("age") || fieldName.endsWith("Age") || fieldName.endsWith("_age");
+    }
+
+    /**
+     * 判斷是否為時間戳字段，如 timestamp、createdAt、updateTime
+     *
+     * @param fieldName 字段名
+     * @return 是否為時間戳
+     */
+    private static boolean isTimeName(@NotNull String fieldName) {
+        String name = fieldName.toLowerCase(Locale.ROOT);
+        return name.contains("time") || name.contains("date") || fieldName.endsWith("At");
+    }
+
+    /**
+     * 生成 [min, max] 範圍內的長整數
+     *
+     * @param min 下限
+     * @param max 上限
+     * @return 隨機數
+     */
+    private long nextLong(long min, long max) {
+        if (max <= min) {
+            return min;
+        }
+        long span = max - min + 1;
+        // 範圍超出 long 時溢出為非正數，直接取任意值再截斷
+        if (span <= 0) {
+            long value = random.nextLong();
+            return value < min ? min : Math.min(value, max);
+        }
+        return min + Math.floorMod(random.nextLong(), span);
+    }
+
+    /**
+     * 生成版本 4 格式的 UUID
+     *
+     * @return UUID 字符串
+     */
+    @NotNull
+    private String nextUuid() {
+        long most = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long least = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(most, least).toString();
+    }
+
+    /**
+     * 生成郵箱
+     *
+     * @return 郵箱
+     */
+    @NotNull
+    private String nextEmail() {
+        return pick(FIRST_NAMES).toLowerCase(Locale.ROOT) + "." + nextDigits(4) + "@example.com";
+    }
+
+    /**
+     * 生成指定位數的數字串
+     *
+     * @param length 位數
+     * @return 數字串
+     */
+    @NotNull
+    private String nextDigits(int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append((char) ('0' + random.nextInt(10)));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 隨機選取一個元素
+     *
+     * @param values 候選值
+     * @return 選中的值
+     */
+    @NotNull
+    private String pick(@NotNull String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * 寫入轉義後的 JSON 字符串
+     *
+     * @param out 輸出流
+     * @param value 字符串
+     * @throws IOException 寫入失敗
+     */
+    private static void writeJsonString(@NotNull Writer out, @NotNull String value) throws IOException {
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.write('\\');
+                out.write(c);
+            } else if (c < 0x20) {
+                out.write(String.format("\\u%04x", (int) c));
+            } else {
+                out.write(c);
+            }
+        }
+        out.write('"');
+    }
+
+    /**
+     * 寫入轉義後的 XML 文本
+     *
+     * @param out 輸出流
+     * @param value 文本
+     * @throws IOException 寫入失敗
+     */
+    private static void writeXmlText(@NotNull Writer out, @NotNull String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '<') {
+                out.write("&lt;");
+            } else if (c == '>') {
+                out.write("&gt;");
+            } else if (c == '&') {
+                out.write("&amp;");
+            } else {
+                out.write(c);
+            }
+        }
+    }
+
+    /**
+     * 獲取集合元素的標籤名，與 XML 樣例生成規則一致
+     *
+     * @param name 集合字段名
+     * @return 元素標籤名
+     */
+    @NotNull
+    private static String getSingularName(@NotNull String name) {
+        if (name.endsWith("s") && name.length() > 1) {
+            return name.substring(0, name.length() - 1);
+        }
+        return name + "Item";
+    }
+}
@@ -0,0 +1,338 @@
+package com.yanchen.plugin.objecthelper.headless;
+
+import com.intellij.ide.impl.ProjectUtil;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ApplicationStarter;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.application.ex.ApplicationEx;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleManager;
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.SmartPointerManager;
+import com.intellij.psi.SmartPsiElementPointer;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.yanchen.plugin.objecthelper.action.ObjectCopyMethodAction;
+import com.yanchen.plugin.objecthelper.common.util.StringUtils;
+import com.yanchen.plugin.objecthelper.export.SampleExportTask;
+import com.yanchen.plugin.objecthelper.index.CopyMapperMarker;
+import com.yanchen.plugin.objecthelper.inspection.StaleCopyMapperInspection;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 無界面命令行入口
+ * 在 CI 中打開項目並運行與 IDE 相同的生成器，不需要顯示器：
+ * <pre>
+ * idea objectHelper &lt;項目路徑&gt; &lt;輸出目錄&gt; [--generators=samples,copy-mappers] [--modules=a,b] [--check]
+ * </pre>
+ * samples 將 JSON/XML 樣例寫入輸出目錄；copy-mappers 重新生成已過期的複製方法並保存源文件；
+ * 加 --check 時兩者都只檢查不寫入，輸出目錄中的樣例與生成結果不一致或存在過期方法則以非零狀態退出
+ */
+public class ObjectHelperHeadlessStarter implements ApplicationStarter {
+
+    /**
+     * 退出碼：成功
+     */
+    private static final int EXIT_OK = 0;
+
+    /**
+     * 退出碼：生成失敗
+     */
+    private static final int EXIT_FAILED = 1;
+
+    /**
+     * 退出碼：參數錯誤
+     */
+    private static final int EXIT_USAGE = 2;
+
+    /**
+     * 退出碼：--check 模式下存在過期的複製方法
+     */
+    private static final int EXIT_STALE = 3;
+
+    /**
+     * 生成器：導出 JSON/XML 樣例
+     */
+    private static final String GENERATOR_SAMPLES = "samples";
+
+    /**
+     * 生成器：重新生成過期的複製方法
+     */
+    private static final String GENERATOR_COPY_MAPPERS = "copy-mappers";
+
+    /**
+     * 在非 EDT 線程中運行，以便等待索引完成
+     *
+     * @return 模態要求
+     */
+    @Override
+    public int getRequiredModality() {
+        return NOT_IN_EDT;
+    }
+
+    /**
+     * 入口，運行結束後通過平台接口退出，保存設置並釋放項目
+     *
+     * @param args 參數，第一個為命令名
+     */
+    @Override
+    public void main(@NotNull List<String> args) {
+        int exitCode;
+        try {
+            exitCode = run(args);
+        } catch (Throwable e) {
+            e.printStackTrace();
+            exitCode = EXIT_FAILED;
+        }
+        ((ApplicationEx) ApplicationManager.getApplication())
+                .exit(ApplicationEx.FORCE_EXIT | ApplicationEx.EXIT_CONFIRMED, exitCode);
+    }
+
+    /**
+     * 解析參數並運行選中的生成器
+     *
+     * @param args 參數
+     * @return 退出碼
+     */
+    private int run(@NotNull List<String> args) {
+        List<String> positional = new ArrayList<>();
+        Set<String> generators = new HashSet<>(Arrays.asList(GENERATOR_SAMPLES));
+        Set<String> moduleNames = new HashSet<>();
+        boolean check = false;
+        for (String arg : args.subList(1, args.size())) {
+            if (arg.startsWith("--generators=")) {
+                generators = splitOption(arg);
+            } else if (arg.startsWith("--modules=")) {
+                moduleNames = splitOption(arg);
+            } else if (arg.equals("--check")) {
+                check = true;
+            } else {
+                positional.add(arg);
+            }
+        }
+        if (positional.size() != 2) {
+            System.err.println("用法: objectHelper <項目路徑> <輸出目錄> "
+                    + "[--generators=samples,copy-mappers] [--modules=a,b] [--check]");
+            return EXIT_USAGE;
+        }
+
+        Path projectPath = Paths.get(positional.get(0)).toAbsolutePath();
+        Path outputDirectory = Paths.get(positional.get(1)).toAbsolutePath();
+        Project project = ProjectUtil.openOrImport(projectPath, null, true);
+        if (project == null) {
+            System.err.println("無法打開項目: " + projectPath);
+            return EXIT_USAGE;
+        }
+        DumbService.getInstance(project).waitForSmartMode();
+
+        List<VirtualFile> sourceRoots = getSourceRoots(project, moduleNames);
+        System.out.println("源碼根目錄: " + sourceRoots.size());
+
+        int exitCode = EXIT_OK;
+        if (generators.contains(GENERATOR_COPY_MAPPERS)) {
+            exitCode = Math.max(exitCode, runCopyMappers(project, sourceRoots, check));
+        }
+        if (generators.contains(GENERATOR_SAMPLES)) {
+            exitCode = Math.max(exitCode, runSamples(project, sourceRoots, outputDirectory, check));
+        }
+        return exitCode;
+    }
+
+    /**
+     * 拆分逗號分隔的選項值
+     *
+     * @param arg 參數，如 --modules=a,b
+     * @return 值集合
+     */
+    @NotNull
+    private static Set<String> splitOption(@NotNull String arg) {
+        Set<String> values = new HashSet<>();
+        for (String value : arg.substring(arg.indexOf('=') + 1).split(",")) {
+            if (StringUtils.isNotEmpty(value.trim())) {
+                values.add(value.trim());
+            }
+        }
+        return values;
+    }
+
+    /**
+     * 獲取選中模塊的源碼根目錄，未指定模塊時使用所有模塊
+     *
+     * @param project 項目
+     * @param moduleNames 模塊名
+     * @return 源碼根目錄
+     */
+    @NotNull
+    private static List<VirtualFile> getSourceRoots(@NotNull Project project, @NotNull Set<String> moduleNames) {
+        return ReadAction.compute(() -> {
+            List<VirtualFile> roots = new ArrayList<>();
+            for (Module module : ModuleManager.getInstance(project).getModules()) {
+                if (moduleNames.isEmpty() || moduleNames.contains(module.getName())) {
+                    roots.addAll(Arrays.asList(ModuleRootManager.getInstance(module).getSourceRoots(false)));
+                }
+            }
+            return roots;
+        });
+    }
+
+    /**
+     * 導出 JSON/XML 樣例，與 IDE 中的批量導出使用同一任務，各模塊的類並發生成
+     *
+     * @param project 項目
+     * @param sourceRoots 源碼根目錄
+     * @param outputDirectory 輸出目錄
+     * @param check 是否只檢查輸出目錄中的樣例是否最新
+     * @return 退出碼
+     */
+    private static int runSamples(@NotNull Project project, @NotNull List<VirtualFile> sourceRoots,
+                                  @NotNull Path outputDirectory, boolean check) {
+        SampleExportTask task = new SampleExportTask(project, sourceRoots, outputDirectory, check);
+        ProgressIndicator indicator = new EmptyProgressIndicator();
+        ProgressManager.getInstance().runProcess(() -> task.run(indicator), indicator);
+        for (Path stalePath : task.getStalePaths()) {
+            System.out.println("過期的樣例 " + stalePath);
+        }
+        for (String failure : task.getFailures()) {
+            System.err.println("導出失敗 " + failure);
+        }
+        System.out.println("JSON/XML 樣例: " + task.getSummary());
+        if (task.hasFailures()) {
+            return EXIT_FAILED;
+        }
+        return task.getStalePaths().isEmpty() ? EXIT_OK : EXIT_STALE;
+    }
+
+    /**
+     * 重新生成已過期的複製方法並保存
+     *
+     * @param project 項目
+     * @param sourceRoots 源碼根目錄
+     * @param check 是否只檢查
+     * @return 退出碼
+     */
+    private static int runCopyMappers(@NotNull Project project, @NotNull List<VirtualFile> sourceRoots,
+                                      boolean check) {
+        List<SmartPsiElementPointer<PsiMethod>> staleMethods = findStaleMethods(project, sourceRoots);
+        for (SmartPsiElementPointer<PsiMethod> pointer : staleMethods) {
+            String location = ReadAction.compute(() -> pointer.getVirtualFile().getPath()
+                    + (pointer.getElement() == null ? "" : ": " + pointer.getElement().getName()));
+            System.out.println((check ? "過期的複製方法 " : "重新生成 ") + location);
+        }
+        if (check) {
+            return staleMethods.isEmpty() ? EXIT_OK : EXIT_STALE;
+        }
+
+        ApplicationManager.getApplication().invokeAndWait(() -> {
+            WriteCommandAction.runWriteCommandAction(project, "重新生成複製方法", null, () -> {
+                for (SmartPsiElementPointer<PsiMethod> pointer : staleMethods) {
+                    PsiMethod method = pointer.getElement();
+                    if (method != null) {
+                        ObjectCopyMethodAction.generateO2O(method);
+                    }
+                }
+            });
+            FileDocumentManager.getInstance().saveAllDocuments();
+        });
+        System.out.println("複製方法: 重新生成 " + staleMethods.size() + " 個");
+        return EXIT_OK;
+    }
+
+    /**
+     * 查找源碼根目錄下所有帶標記且已過期的複製方法
+     * 先收集 Java 文件，再逐個文件查找帶標記的方法、逐個方法重新生成比較，
+     * 每一步都在單獨的讀操作中進行，不長時間佔用讀鎖
+     *
+     * @param project 項目
+     * @param sourceRoots 源碼根目錄
+     * @return 過期方法的指針
+     */
+    @NotNull
+    private static List<SmartPsiElementPointer<PsiMethod>> findStaleMethods(@NotNull Project project,
+                                                                            @NotNull List<VirtualFile> sourceRoots) {
+        List<VirtualFile> javaFiles = ReadAction.compute(() -> findJavaFiles(project, sourceRoots));
+        List<SmartPsiElementPointer<PsiMethod>> staleMethods = new ArrayList<>();
+        for (VirtualFile file : javaFiles) {
+            List<SmartPsiElementPointer<PsiMethod>> markedMethods = ReadAction.compute(
+                    () -> findMarkedMethods(project, file));
+            for (SmartPsiElementPointer<PsiMethod> pointer : markedMethods) {
+                boolean stale = ReadAction.compute(() -> {
+                    PsiMethod method = pointer.getElement();
+                    return method != null && StaleCopyMapperInspection.findStaleMarker(method) != null;
+                });
+                if (stale) {
+                    staleMethods.add(pointer);
+                }
+            }
+        }
+        return staleMethods;
+    }
+
+    /**
+     * 收集源碼根目錄下的 Java 文件
+     * 需在讀操作中調用
+     *
+     * @param project 項目
+     * @param sourceRoots 源碼根目錄
+     * @return Java 文件
+     */
+    @NotNull
+    private static List<VirtualFile> findJavaFiles(@NotNull Project project, @NotNull List<VirtualFile> sourceRoots) {
+        ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(project);
+        List<VirtualFile> javaFiles = new ArrayList<>();
+        for (VirtualFile root : sourceRoots) {
+            VfsUtilCore.iterateChildrenRecursively(root, fileIndex::isInSourceContent, file -> {
+                if (!file.isDirectory() && "java".equals(file.getExtension())) {
+                    javaFiles.add(file);
+                }
+                return true;
+            });
+        }
+        return javaFiles;
+    }
+
+    /**
+     * 查找文件中帶複製方法標記的方法，先按文本過濾再解析 PSI
+     * 需在讀操作中調用
+     *
+     * @param project 項目
+     * @param file Java 文件
+     * @return 方法指針
+     */
+    @NotNull
+    private static List<SmartPsiElementPointer<PsiMethod>> findMarkedMethods(@NotNull Project project,
+                                                                             @NotNull VirtualFile file) {
+        List<SmartPsiElementPointer<PsiMethod>> markedMethods = new ArrayList<>();
+        PsiFile psiFile = file.isValid() ? PsiManager.getInstance(project).findFile(file) : null;
+        if (!(psiFile instanceof PsiJavaFile) || !psiFile.getText().contains(CopyMapperMarker.PREFIX)) {
+            return markedMethods;
+        }
+        SmartPointerManager pointerManager = SmartPointerManager.getInstance(project);
+        for (PsiMethod method : PsiTreeUtil.findChildrenOfType(psiFile, PsiMethod.class)) {
+            if (CopyMapperMarker.find(method) != null) {
+                markedMethods.add(pointerManager.createSmartPsiElementPointer(method));
+            }
+        }
+        return markedMethods;
+    }
+}
@@ -0,0 +1,174 @@
+package com.yanchen.plugin.objecthelper.index;
+
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.DefaultFileTypeSpecificInputFilter;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileBasedIndexExtension;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.IOUtil;
+import com.intellij.util.io.KeyDescriptor;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 複製方法索引
+ * 以源類型和目標類型的全限定名為鍵，記錄各文件中涉及該類型的複製方法標記，
+ * 索引只掃描文件文本，不解析 PSI
+ */
+public class CopyMapperIndex extends FileBasedIndexExtension<String, List<String>> {
+    
+    /**
+     * 索引 ID
+     */
+    public static final ID<String, List<String>> NAME = ID.create("com.yanchen.plugin.objecthelper.CopyMapperIndex");
+    
+    /**
+     * 查找涉及指定類的複製方法標記
+     *
+     * @param project 項目
+     * @param className 類全限定名
+     * @return 文件到標記列表的映射
+     */
+    @NotNull
+    public static Map<VirtualFile, List<CopyMapperMarker>> findMarkers(@NotNull Project project,
+                                                                        @NotNull String className) {
+        Map<VirtualFile, List<CopyMapperMarker>> result = new LinkedHashMap<>();
+        FileBasedIndex.getInstance().processValues(NAME, className, null, (file, comments) -> {
+            List<CopyMapperMarker> markers = result.computeIfAbsent(file, key -> new ArrayList<>());
+            for (String comment : comments) {
+                CopyMapperMarker marker = CopyMapperMarker.parse(comment);
+                if (marker != null) {
+                    markers.add(marker);
+                }
+            }
+            return true;
+        }, GlobalSearchScope.projectScope(project));
+        return result;
+    }
+    
+    /**
+     * 獲取索引 ID
+     *
+     * @return 索引 ID
+     */
+    @NotNull
+    @Override
+    public ID<String, List<String>> getName() {
+        return NAME;
+    }
+    
+    /**
+     * 獲取索引器，從文件文本中解析複製方法標記
+     *
+     * @return 索引器
+     */
+    @NotNull
+    @Override
+    public DataIndexer<String, List<String>, FileContent> getIndexer() {
+        return inputData -> {
+            CharSequence text = inputData.getContentAsText();
+            if (!StringUtil.contains(text, CopyMapperMarker.PREFIX)) {
+                return Collections.emptyMap();
+            }
+            
+            Map<String, List<String>> result = new HashMap<>();
+            for (CopyMapperMarker marker : CopyMapperMarker.parseAll(text)) {
+                String comment = marker.toComment();
+                result.computeIfAbsent(marker.getSourceClassName(), key -> new ArrayList<>()).add(comment);
+                if (!marker.getTargetClassName().equals(marker.getSourceClassName())) {
+                    result.computeIfAbsent(marker.getTargetClassName(), key -> new ArrayList<>()).add(comment);
+                }
+            }
+            return result;
+        };
+    }
+    
+    /**
+     * 獲取鍵描述符
+     *
+     * @return 鍵描述符
+     */
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+    
+    /**
+     * 獲取值序列化器
+     *
+     * @return 值序列化器
+     */
+    @NotNull
+    @Override
+    public DataExternalizer<List<String>> getValueExternalizer() {
+        return new DataExternalizer<List<String>>() {
+            @Override
+            public void save(@NotNull DataOutput out, List<String> value) throws IOException {
+                DataInputOutputUtil.writeINT(out, value.size());
+                for (String comment : value) {
+                    IOUtil.writeUTF(out, comment);
+                }
+            }
+            
+            @Override
+            public List<String> read(@NotNull DataInput in) throws IOException {
+                int size = DataInputOutputUtil.readINT(in);
+                List<String> value = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    value.add(IOUtil.readUTF(in));
+                }
+                return value;
+            }
+        };
+    }
+    
+    /**
+     * 獲取索引版本，標記格式變更時需遞增
+     *
+     * @return 索引版本
+     */
+    @Override
+    public int getVersion() {
+        return 3;
+    }
+    
+    /**
+     * 獲取文件過濾器，只索引 Java 文件
+     *
+     * @return 文件過濾器
+     */
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return new DefaultFileTypeSpecificInputFilter(JavaFileType.INSTANCE);
+    }
+    
+    /**
+     * 索引依賴文件內容
+     *
+     * @return 是否依賴文件內容
+     */
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+}
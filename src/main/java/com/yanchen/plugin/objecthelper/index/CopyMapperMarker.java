@@ -0,0 +1,404 @@
+package com.yanchen.plugin.objecthelper.index;
+
+import com.intellij.psi.PsiCodeBlock;
+import com.intellij.psi.PsiComment;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiWhiteSpace;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 複製方法標記
+ * 生成的複製方法體首行記錄方法名、源類型、目標類型及已映射字段，
+ * 格式為 {@code // object-helper: 方法名 源類型 -> 目標類型 [字段1=哈希, 字段2=哈希] #結構哈希/組合語句哈希}，
+ * 哈希為生成時各部分語句的文本哈希，用於增量合併時判斷語句是否被手動修改過；
+ * 多態分派方法在列表前帶 dispatch 標誌，記錄的是分派的子類型全限定名：
+ * {@code // object-helper: 方法名 源類型 -> 目標類型 dispatch [子類型1, 子類型2]}
+ */
+public class CopyMapperMarker {
+    
+    /**
+     * 標記前綴
+     */
+    public static final String PREFIX = "object-helper:";
+    
+    /**
+     * 多態分派方法的標誌
+     */
+    private static final String DISPATCH_FLAG = "dispatch";
+    
+    /**
+     * 標記解析正則
+     */
+    private static final Pattern MARKER_PATTERN = Pattern.compile(
+            "//\\s*" + Pattern.quote(PREFIX) + "\\s*(\\S+)\\s+(\\S+)\\s*->\\s*(\\S+)\\s*(?:(" + DISPATCH_FLAG
+                    + ")\\s*)?\\[([^\\]]*)](?:\\s*#(\\w*)/(\\w*))?");
+    
+    /**
+     * 方法名
+     */
+    private final String methodName;
+    
+    /**
+     * 源類型全限定名
+     */
+    private final String sourceClassName;
+    
+    /**
+     * 目標類型全限定名
+     */
+    private final String targetClassName;
+    
+    /**
+     * 是否為多態分派方法的標記，此時 mappedFields 記錄的是子類型全限定名
+     */
+    private final boolean dispatch;
+    
+    /**
+     * 已映射的目標字段
+     */
+    private final List<String> mappedFields;
+    
+    /**
+     * 各字段語句的哈希，未記錄時為空
+     */
+    private final Map<String, String> fieldHashes;
+    
+    /**
+     * 不涉及字段的語句（創建、返回等）的哈希，未記錄時為 null
+     */
+    private final String structureHash;
+    
+    /**
+     * 涉及多個字段的組合語句（Builder 鏈）的哈希，未記錄時為 null
+     */
+    private final String compositeHash;
+    
+    /**
+     * 構造方法
+     *
+     * @param methodName 方法名
+     * @param sourceClassName 源類型全限定名
+     * @param targetClassName 目標類型全限定名
+     * @param mappedFields 已映射的目標字段
+     */
+    public CopyMapperMarker(@NotNull String methodName, @NotNull String sourceClassName,
+                            @NotNull String targetClassName, @NotNull List<String> mappedFields) {
+        this(methodName, sourceClassName, targetClassName, false, mappedFields, Collections.emptyMap(), null, null);
+    }
+    
+    /**
+     * 創建多態分派方法的標記
+     *
+     * @param methodName 方法名
+     * @param sourceClassName 源類型全限定名
+     * @param targetClassName 目標類型全限定名
+     * @param subClassNames 分派的子類型全限定名
+     * @return 標記
+     */
+    @NotNull
+    public static CopyMapperMarker dispatch(@NotNull String methodName, @NotNull String sourceClassName,
+                                            @NotNull String targetClassName, @NotNull List<String> subClassNames) {
+        return new CopyMapperMarker(methodName, sourceClassName, targetClassName, true, subClassNames,
+                Collections.emptyMap(), null, null);
+    }
+    
+    /**
+     * 構造方法
+     *
+     * @param methodName 方法名
+     * @param sourceClassName 源類型全限定名
+     * @param targetClassName 目標類型全限定名
+     * @param dispatch 是否為多態分派方法
+     * @param mappedFields 已映射的目標字段
+     * @param fieldHashes 各字段語句的哈希
+     * @param structureHash 不涉及字段的語句的哈希
+     * @param compositeHash 組合語句的哈希
+     */
+    private CopyMapperMarker(@NotNull String methodName, @NotNull String sourceClassName,
+                             @NotNull String targetClassName, boolean dispatch, @NotNull List<String> mappedFields,
+                             @NotNull Map<String, String> fieldHashes, @Nullable String structureHash,
+                             @Nullable String compositeHash) {
+        this.methodName = methodName;
+        this.sourceClassName = sourceClassName;
+        this.targetClassName = targetClassName;
+        this.dispatch = dispatch;
+        this.mappedFields = Collections.unmodifiableList(new ArrayList<>(mappedFields));
+        this.fieldHashes = Collections.unmodifiableMap(new LinkedHashMap<>(fieldHashes));
+        this.structureHash = structureHash;
+        this.compositeHash = compositeHash;
+    }
+    
+    /**
+     * 創建帶語句哈希的標記
+     *
+     * @param fieldHashes 各字段語句的哈希
+     * @param structureHash 不涉及字段的語句的哈希，未知時為 null
+     * @param compositeHash 組合語句的哈希，未知時為 null
+     * @return 新標記
+     */
+    @NotNull
+    public CopyMapperMarker withHashes(@NotNull Map<String, String> fieldHashes, @Nullable String structureHash,
+                                       @Nullable String compositeHash) {
+        return new CopyMapperMarker(methodName, sourceClassName, targetClassName, dispatch, mappedFields,
+                fieldHashes, structureHash, compositeHash);
+    }
+    
+    /**
+     * 解析文本中的所有標記
+     *
+     * @param text 文本
+     * @return 標記列表
+     */
+    @NotNull
+    public static List<CopyMapperMarker> parseAll(@NotNull CharSequence text) {
+        List<CopyMapperMarker> markers = new ArrayList<>();
+        Matcher matcher = MARKER_PATTERN.matcher(text);
+        while (matcher.find()) {
+            markers.add(fromMatcher(matcher));
+        }
+        return markers;
+    }
+    
+    /**
+     * 解析單行標記
+     *
+     * @param text 標記文本
+     * @return 標記，格式不符時返回 null
+     */
+    @Nullable
+    public static CopyMapperMarker parse(@Nullable String text) {
+        if (text == null) {
+            return null;
+        }
+        Matcher matcher = MARKER_PATTERN.matcher(text);
+        return matcher.find() ? fromMatcher(matcher) : null;
+    }
+    
+    /**
+     * 查找方法體中的標記
+     *
+     * @param psiMethod 方法
+     * @return 標記，不存在時返回 null
+     */
+    @Nullable
+    public static CopyMapperMarker find(@NotNull PsiMethod psiMethod) {
+        PsiComment comment = findComment(psiMethod);
+        return comment == null ? null : parse(comment.getText());
+    }
+    
+    /**
+     * 查找方法體開頭的標記註釋
+     *
+     * @param psiMethod 方法
+     * @return 標記註釋，不存在時返回 null
+     */
+    @Nullable
+    public static PsiComment findComment(@NotNull PsiMethod psiMethod) {
+        PsiCodeBlock body = psiMethod.getBody();
+        if (body == null || body.getLBrace() == null) {
+            return null;
+        }
+        
+        // 標記位於方法體首行，跳過空白
+        PsiElement element = body.getLBrace().getNextSibling();
+        while (element instanceof PsiWhiteSpace) {
+            element = element.getNextSibling();
+        }
+        if (element instanceof PsiComment && element.getText().contains(PREFIX)) {
+            return (PsiComment) element;
+        }
+        return null;
+    }
+    
+    /**
+     * 從正則匹配結果創建標記
+     *
+     * @param matcher 匹配結果
+     * @return 標記
+     */
+    @NotNull
+    private static CopyMapperMarker fromMatcher(@NotNull Matcher matcher) {
+        List<String> fields = new ArrayList<>();
+        Map<String, String> fieldHashes = new LinkedHashMap<>();
+        for (String entry : matcher.group(5).split(",")) {
+            String field = entry.trim();
+            if (field.isEmpty()) {
+                continue;
+            }
+            int hashStart = field.indexOf('=');
+            if (hashStart > 0) {
+                fieldHashes.put(field.substring(0, hashStart), field.substring(hashStart + 1));
+                field = field.substring(0, hashStart);
+            }
+            fields.add(field);
+        }
+        return new CopyMapperMarker(matcher.group(1), matcher.group(2), matcher.group(3), matcher.group(4) != null,
+                fields, fieldHashes, emptyToNull(matcher.group(6)), emptyToNull(matcher.group(7)));
+    }
+    
+    /**
+     * 未記錄的哈希在標記中為空串
+     *
+     * @param hash 哈希
+     * @return 哈希，為空時返回 null
+     */
+    @Nullable
+    private static String emptyToNull(@Nullable String hash) {
+        return hash == null || hash.isEmpty() ? null : hash;
+    }
+    
+    /**
+     * 生成標記註釋文本（不含縮進和換行）
+     *
+     * @return 標記註釋
+     */
+    @NotNull
+    public String toComment() {
+        List<String> entries = new ArrayList<>();
+        for (String field : mappedFields) {
+            String hash = fieldHashes.get(field);
+            entries.add(hash == null ? field : field + "=" + hash);
+        }
+        String comment = "// " + PREFIX + " " + methodName + " " + sourceClassName + " -> " + targetClassName
+                + (dispatch ? " " + DISPATCH_FLAG : "") + " " + Arrays.toString(entries.toArray());
+        if (structureHash == null && compositeHash == null) {
+            return comment;
+        }
+        return comment + " #" + (structureHash == null ? "" : structureHash)
+                + "/" + (compositeHash == null ? "" : compositeHash);
+    }
+    
+    /**
+     * 判斷是否為多態分派方法的標記（記錄的是子類型全限定名而非字段名）
+     *
+     * @return 是否為分派方法
+     */
+    public boolean isDispatch() {
+        return dispatch;
+    }
+    
+    /**
+     * 判斷是否涉及指定類
+     *
+     * @param className 類全限定名
+     * @return 是否涉及
+     */
+    public boolean involves(@NotNull String className) {
+        return className.equals(sourceClassName) || className.equals(targetClassName);
+    }
+    
+    /**
+     * 獲取方法名
+     *
+     * @return 方法名
+     */
+    public String getMethodName() {
+        return methodName;
+    }
+    
+    /**
+     * 獲取源類型全限定名
+     *
+     * @return 源類型全限定名
+     */
+    public String getSourceClassName() {
+        return sourceClassName;
+    }
+    
+    /**
+     * 獲取目標類型全限定名
+     *
+     * @return 目標類型全限定名
+     */
+    public String getTargetClassName() {
+        return targetClassName;
+    }
+    
+    /**
+     * 獲取已映射的目標字段
+     *
+     * @return 已映射的目標字段
+     */
+    public List<String> getMappedFields() {
+        return mappedFields;
+    }
+    
+    /**
+     * 獲取字段語句的哈希
+     *
+     * @param field 字段名
+     * @return 哈希，未記錄時返回 null
+     */
+    @Nullable
+    public String getFieldHash(@NotNull String field) {
+        return fieldHashes.get(field);
+    }
+    
+    /**
+     * 獲取不涉及字段的語句的哈希
+     *
+     * @return 哈希，未記錄時返回 null
+     */
+    @Nullable
+    public String getStructureHash() {
+        return structureHash;
+    }
+    
+    /**
+     * 獲取組合語句的哈希
+     *
+     * @return 哈希，未記錄時返回 null
+     */
+    @Nullable
+    public String getCompositeHash() {
+        return compositeHash;
+    }
+    
+    /**
+     * 判斷標記是否相同
+     *
+     * @param o 比較對象
+     * @return 是否相同
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CopyMapperMarker)) {
+            return false;
+        }
+        CopyMapperMarker that = (CopyMapperMarker) o;
+        return methodName.equals(that.methodName)
+                && sourceClassName.equals(that.sourceClassName)
+                && targetClassName.equals(that.targetClassName)
+                && dispatch == that.dispatch
+                && mappedFields.equals(that.mappedFields)
+                && fieldHashes.equals(that.fieldHashes)
+                && Objects.equals(structureHash, that.structureHash)
+                && Objects.equals(compositeHash, that.compositeHash);
+    }
+    
+    /**
+     * 計算哈希值
+     *
+     * @return 哈希值
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(methodName, sourceClassName, targetClassName, dispatch, mappedFields, fieldHashes,
+                structureHash, compositeHash);
+    }
+}
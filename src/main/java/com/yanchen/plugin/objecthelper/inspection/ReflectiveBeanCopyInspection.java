@@ -0,0 +1,262 @@
+package com.yanchen.plugin.objecthelper.inspection;
+
+import com.intellij.codeInspection.AbstractBaseJavaLocalInspectionTool;
+import com.intellij.codeInspection.ProblemHighlightType;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.psi.*;
+import com.intellij.psi.util.InheritanceUtil;
+import com.intellij.psi.util.PsiTypesUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * 反射式對象複製檢查
+ * 標記 Spring / Apache BeanUtils、PropertyUtils、ModelMapper、Dozer 的複製調用，
+ * 位於循環或 Stream Lambda 中的調用以更高級別提示
+ */
+public class ReflectiveBeanCopyInspection extends AbstractBaseJavaLocalInspectionTool {
+    
+    /**
+     * 已知的反射式複製 API
+     */
+    private enum ReflectiveCopyApi {
+        SPRING_BEAN_UTILS("org.springframework.beans.BeanUtils", "copyProperties", 0, 1),
+        APACHE_BEAN_UTILS("org.apache.commons.beanutils.BeanUtils", "copyProperties", 1, 0),
+        APACHE_BEAN_UTILS_BEAN("org.apache.commons.beanutils.BeanUtilsBean", "copyProperties", 1, 0),
+        APACHE_PROPERTY_UTILS("org.apache.commons.beanutils.PropertyUtils", "copyProperties", 1, 0),
+        APACHE_PROPERTY_UTILS_BEAN("org.apache.commons.beanutils.PropertyUtilsBean", "copyProperties", 1, 0),
+        MODEL_MAPPER("org.modelmapper.ModelMapper", "map", 0, 1),
+        DOZER("org.dozer.Mapper", "map", 0, 1),
+        DOZER_CORE("com.github.dozermapper.core.Mapper", "map", 0, 1);
+        
+        /**
+         * API 所在類
+         */
+        private final String className;
+        
+        /**
+         * 方法名
+         */
+        private final String methodName;
+        
+        /**
+         * 源對象參數位置
+         */
+        private final int sourceIndex;
+        
+        /**
+         * 目標對象（或目標類型）參數位置
+         */
+        private final int targetIndex;
+        
+        ReflectiveCopyApi(String className, String methodName, int sourceIndex, int targetIndex) {
+            this.className = className;
+            this.methodName = methodName;
+            this.sourceIndex = sourceIndex;
+            this.targetIndex = targetIndex;
+        }
+    }
+    
+    /**
+     * 創建 PSI 訪問器
+     *
+     * @param holder 問題收集器
+     * @param isOnTheFly 是否為實時檢查
+     * @return 訪問器
+     */
+    @NotNull
+    @Override
+    public PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly) {
+        return new JavaElementVisitor() {
+            @Override
+            public void visitMethodCallExpression(@NotNull PsiMethodCallExpression expression) {
+                super.visitMethodCallExpression(expression);
+                
+                ReflectiveCopyApi api = findApi(expression);
+                if (api == null) {
+                    return;
+                }
+                
+                PsiElement anchor = expression.getMethodExpression().getReferenceNameElement();
+                if (anchor == null) {
+                    anchor = expression;
+                }
+                
+                boolean hotPath = isInLoopOrStream(expression);
+                String message = hotPath
+                        ? "反射式對象複製位於循環或 Stream 中，建議替換為生成的複製方法"
+                        : "反射式對象複製，建議替換為生成的複製方法";
+                ProblemHighlightType highlightType = hotPath
+                        ? ProblemHighlightType.WARNING
+                        : ProblemHighlightType.WEAK_WARNING;
+                
+                CopyCall copyCall = analyze(expression);
+                if (copyCall == null) {
+                    holder.registerProblem(anchor, message, highlightType);
+                } else {
+                    holder.registerProblem(anchor, message, highlightType,
+                            new ReplaceWithGeneratedCopyMethodFix());
+                }
+            }
+        };
+    }
+    
+    /**
+     * 解析反射式複製調用的源和目標
+     *
+     * @param expression 方法調用
+     * @return 調用信息，無法確定源/目標類型時返回 null
+     */
+    @Nullable
+    static CopyCall analyze(@NotNull PsiMethodCallExpression expression) {
+        ReflectiveCopyApi api = findApi(expression);
+        if (api == null) {
+            return null;
+        }
+        
+        // 只處理兩個參數的形式，帶忽略屬性等參數的重載無法等價替換
+        PsiExpression[] arguments = expression.getArgumentList().getExpressions();
+        if (arguments.length != 2) {
+            return null;
+        }
+        
+        PsiExpression sourceExpression = arguments[api.sourceIndex];
+        PsiExpression targetExpression = arguments[api.targetIndex];
+        PsiClass sourceClass = PsiTypesUtil.getPsiClass(sourceExpression.getType());
+        
+        // ModelMapper / Dozer 的 map(source, Target.class) 形式返回新對象
+        if (targetExpression instanceof PsiClassObjectAccessExpression) {
+            PsiType targetType = ((PsiClassObjectAccessExpression) targetExpression).getOperand().getType();
+            PsiClass targetClass = PsiTypesUtil.getPsiClass(targetType);
+            if (!isCopyableClass(sourceClass) || !isCopyableClass(targetClass)) {
+                return null;
+            }
+            return new CopyCall(sourceExpression, null, sourceClass, targetClass);
+        }
+        
+        PsiClass targetClass = PsiTypesUtil.getPsiClass(targetExpression.getType());
+        if (!isCopyableClass(sourceClass) || !isCopyableClass(targetClass)) {
+            return null;
+        }
+        return new CopyCall(sourceExpression, targetExpression, sourceClass, targetClass);
+    }
+    
+    /**
+     * 匹配已知的反射式複製 API
+     *
+     * @param expression 方法調用
+     * @return 匹配的 API，不匹配返回 null
+     */
+    @Nullable
+    private static ReflectiveCopyApi findApi(@NotNull PsiMethodCallExpression expression) {
+        String methodName = expression.getMethodExpression().getReferenceName();
+        if (!"copyProperties".equals(methodName) && !"map".equals(methodName)) {
+            return null;
+        }
+        
+        PsiMethod method = expression.resolveMethod();
+        PsiClass containingClass = method == null ? null : method.getContainingClass();
+        if (containingClass == null) {
+            return null;
+        }
+        
+        for (ReflectiveCopyApi api : ReflectiveCopyApi.values()) {
+            if (api.methodName.equals(methodName)
+                    && InheritanceUtil.isInheritor(containingClass, api.className)) {
+                return api;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * 判斷調用是否位於循環或 Stream / forEach 的 Lambda 中（在當前方法範圍內）
+     *
+     * @param element 元素
+     * @return 是否位於熱點路徑
+     */
+    private static boolean isInLoopOrStream(@NotNull PsiElement element) {
+        PsiElement parent = element.getParent();
+        while (parent != null && !(parent instanceof PsiMethod) && !(parent instanceof PsiClass)) {
+            if (parent instanceof PsiLoopStatement) {
+                return true;
+            }
+            if (parent instanceof PsiLambdaExpression && isStreamLambda((PsiLambdaExpression) parent)) {
+                return true;
+            }
+            parent = parent.getParent();
+        }
+        return false;
+    }
+    
+    /**
+     * 判斷 Lambda 是否作為 Stream 操作或 forEach 的參數
+     *
+     * @param lambda Lambda 表達式
+     * @return 是否為 Stream Lambda
+     */
+    private static boolean isStreamLambda(@NotNull PsiLambdaExpression lambda) {
+        PsiElement parent = lambda.getParent();
+        if (!(parent instanceof PsiExpressionList) || !(parent.getParent() instanceof PsiMethodCallExpression)) {
+            return false;
+        }
+        
+        PsiMethodCallExpression call = (PsiMethodCallExpression) parent.getParent();
+        if ("forEach".equals(call.getMethodExpression().getReferenceName())) {
+            return true;
+        }
+        
+        PsiMethod method = call.resolveMethod();
+        PsiClass containingClass = method == null ? null : method.getContainingClass();
+        String qualifiedName = containingClass == null ? null : containingClass.getQualifiedName();
+        return qualifiedName != null && qualifiedName.startsWith("java.util.stream.");
+    }
+    
+    /**
+     * 判斷類是否可以生成複製方法
+     *
+     * @param psiClass 類
+     * @return 是否可生成
+     */
+    private static boolean isCopyableClass(@Nullable PsiClass psiClass) {
+        return psiClass != null
+                && psiClass.getQualifiedName() != null
+                && !(psiClass instanceof PsiTypeParameter)
+                && !"java.lang.Object".equals(psiClass.getQualifiedName());
+    }
+    
+    /**
+     * 反射式複製調用信息
+     */
+    static class CopyCall {
+        
+        /**
+         * 源對象表達式
+         */
+        final PsiExpression sourceExpression;
+        
+        /**
+         * 目標對象表達式，返回新對象的形式為 null
+         */
+        @Nullable
+        final PsiExpression targetExpression;
+        
+        /**
+         * 源類型
+         */
+        final PsiClass sourceClass;
+        
+        /**
+         * 目標類型
+         */
+        final PsiClass targetClass;
+        
+        CopyCall(PsiExpression sourceExpression, @Nullable PsiExpression targetExpression,
+                 PsiClass sourceClass, PsiClass targetClass) {
+            this.sourceExpression = sourceExpression;
+            this.targetExpression = targetExpression;
+            this.sourceClass = sourceClass;
+            this.targetClass = targetClass;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.yanchen.plugin.objecthelper.inspection;
+
+import com.intellij.codeInsight.intention.preview.IntentionPreviewInfo;
+import com.intellij.codeInspection.LocalQuickFix;
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.openapi.project.Project;
+import com.yanchen.plugin.objecthelper.action.RegenerateAffectedMappersAction;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 重新生成其他文件中依賴當前類的過期複製方法
+ */
+public class RegenerateAffectedMappersFix implements LocalQuickFix {
+    
+    /**
+     * 被修改的類全限定名
+     */
+    private final String className;
+    
+    /**
+     * 構造方法
+     *
+     * @param className 被修改的類全限定名
+     */
+    public RegenerateAffectedMappersFix(@NotNull String className) {
+        this.className = className;
+    }
+    
+    /**
+     * 獲取修復名稱
+     *
+     * @return 修復名稱
+     */
+    @NotNull
+    @Override
+    public String getFamilyName() {
+        return "重新生成依賴本類的複製方法";
+    }
+    
+    /**
+     * 修改的是其他文件，不提供預覽
+     *
+     * @param project 項目
+     * @param previewDescriptor 問題描述
+     * @return 預覽信息
+     */
+    @NotNull
+    @Override
+    public IntentionPreviewInfo generatePreview(@NotNull Project project, @NotNull ProblemDescriptor previewDescriptor) {
+        return IntentionPreviewInfo.EMPTY;
+    }
+    
+    /**
+     * 在後台任務中查找並重新生成，不在寫操作中執行
+     *
+     * @return 是否在寫操作中執行
+     */
+    @Override
+    public boolean startInWriteAction() {
+        return false;
+    }
+    
+    /**
+     * 執行修復
+     *
+     * @param project 項目
+     * @param descriptor 問題描述
+     */
+    @Override
+    public void applyFix(@NotNull Project project, @NotNull ProblemDescriptor descriptor) {
+        RegenerateAffectedMappersAction.regenerate(project, className);
+    }
+}
@@ -0,0 +1,54 @@
+package com.yanchen.plugin.objecthelper.inspection;
+
+import com.intellij.codeInsight.intention.preview.IntentionPreviewInfo;
+import com.intellij.codeInspection.LocalQuickFix;
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.yanchen.plugin.objecthelper.action.ObjectCopyMethodAction;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 重新生成過期的複製方法
+ */
+public class RegenerateCopyMapperFix implements LocalQuickFix {
+    
+    /**
+     * 獲取修復名稱
+     *
+     * @return 修復名稱
+     */
+    @NotNull
+    @Override
+    public String getFamilyName() {
+        return "重新生成複製方法";
+    }
+    
+    /**
+     * 重新生成可能寫入輔助方法，不提供預覽
+     *
+     * @param project 項目
+     * @param previewDescriptor 問題描述
+     * @return 預覽信息
+     */
+    @NotNull
+    @Override
+    public IntentionPreviewInfo generatePreview(@NotNull Project project, @NotNull ProblemDescriptor previewDescriptor) {
+        return IntentionPreviewInfo.EMPTY;
+    }
+    
+    /**
+     * 執行修復
+     *
+     * @param project 項目
+     * @param descriptor 問題描述
+     */
+    @Override
+    public void applyFix(@NotNull Project project, @NotNull ProblemDescriptor descriptor) {
+        PsiMethod method = PsiTreeUtil.getParentOfType(descriptor.getPsiElement(), PsiMethod.class, false);
+        if (method != null) {
+            ObjectCopyMethodAction.generateO2O(method);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.yanchen.plugin.objecthelper.inspection;
+
+import com.intellij.codeInsight.ExceptionUtil;
+import com.intellij.codeInsight.intention.preview.IntentionPreviewInfo;
+import com.intellij.codeInspection.LocalQuickFix;
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.*;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.util.PsiUtil;
+import com.yanchen.plugin.objecthelper.action.ObjectCopyMethodAction;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 將反射式對象複製替換為生成的靜態複製方法
+ * 複製方法生成在調用所在的頂層類中，同簽名方法已存在時直接復用；
+ * 替換後不再拋出的反射異常從外層 catch 中移除，catch 全部移除後展開 try 語句
+ */
+public class ReplaceWithGeneratedCopyMethodFix implements LocalQuickFix {
+    
+    /**
+     * BeanUtils / PropertyUtils.copyProperties 聲明的反射異常
+     */
+    private static final Set<String> REFLECTIVE_EXCEPTIONS = Set.of(
+            "java.lang.IllegalAccessException",
+            "java.lang.NoSuchMethodException",
+            "java.lang.reflect.InvocationTargetException");
+    
+    /**
+     * 獲取修復名稱
+     *
+     * @return 修復名稱
+     */
+    @NotNull
+    @Override
+    public String getFamilyName() {
+        return "替換為生成的複製方法";
+    }
+    
+    /**
+     * 生成的方法會寫入調用點之外的位置，不提供預覽
+     *
+     * @param project 項目
+     * @param previewDescriptor 問題描述
+     * @return 預覽信息
+     */
+    @NotNull
+    @Override
+    public IntentionPreviewInfo generatePreview(@NotNull Project project, @NotNull ProblemDescriptor previewDescriptor) {
+        return IntentionPreviewInfo.EMPTY;
+    }
+    
+    /**
+     * 執行修復
+     *
+     * @param project 項目
+     * @param descriptor 問題描述
+     */
+    @Override
+    public void applyFix(@NotNull Project project, @NotNull ProblemDescriptor descriptor) {
+        PsiMethodCallExpression expression = PsiTreeUtil.getParentOfType(
+                descriptor.getPsiElement(), PsiMethodCallExpression.class, false);
+        if (expression == null) {
+            return;
+        }
+        
+        ReflectiveBeanCopyInspection.CopyCall copyCall = ReflectiveBeanCopyInspection.analyze(expression);
+        PsiClass hostClass = PsiUtil.getTopLevelClass(expression);
+        if (copyCall == null || hostClass == null) {
+            return;
+        }
+        
+        boolean copyInto = copyCall.targetExpression != null;
+        String methodName = "copy" + copyCall.sourceClass.getName() + "To" + copyCall.targetClass.getName();
+        String sourceType = copyCall.sourceClass.getQualifiedName();
+        String targetType = copyCall.targetClass.getQualifiedName();
+        
+        // 方法存根，由 ObjectCopyMethodGenerator 填充方法體
+        String stubText = copyInto
+                ? "private static void " + methodName + "(" + sourceType + " source, " + targetType + " target) {\n}"
+                : "private static " + targetType + " " + methodName + "(" + sourceType + " source) {\n}";
+        
+        PsiElementFactory elementFactory = JavaPsiFacade.getElementFactory(project);
+        PsiMethod stubMethod = elementFactory.createMethodFromText(stubText, hostClass);
+        if (hostClass.findMethodBySignature(stubMethod, false) == null) {
+            PsiMethod addedMethod = (PsiMethod) hostClass.add(stubMethod);
+            ObjectCopyMethodAction.generateO2O(addedMethod);
+        }
+        
+        // 替換調用點
+        String callText = copyInto
+                ? methodName + "(" + copyCall.sourceExpression.getText() + ", " + copyCall.targetExpression.getText() + ")"
+                : methodName + "(" + copyCall.sourceExpression.getText() + ")";
+        PsiElement callSite = expression.replace(elementFactory.createExpressionFromText(callText, expression));
+        removeReflectiveCatches(callSite, elementFactory);
+    }
+    
+    /**
+     * 移除外層 try 語句中已不再拋出的反射異常 catch，多重 catch 只移除對應的類型
+     *
+     * @param callSite 替換後的調用
+     * @param elementFactory 元素工廠
+     */
+    private static void removeReflectiveCatches(@NotNull PsiElement callSite,
+                                                @NotNull PsiElementFactory elementFactory) {
+        PsiTryStatement tryStatement = getEnclosingTry(callSite);
+        while (tryStatement != null) {
+            PsiTryStatement outerTryStatement = getEnclosingTry(tryStatement);
+            PsiCodeBlock tryBlock = tryStatement.getTryBlock();
+            if (tryBlock != null && PsiTreeUtil.isAncestor(tryBlock, callSite, true)) {
+                Set<PsiClassType> thrownExceptions =
+                        new HashSet<>(ExceptionUtil.collectUnhandledExceptions(tryBlock, tryBlock));
+                PsiResourceList resourceList = tryStatement.getResourceList();
+                if (resourceList != null) {
+                    thrownExceptions.addAll(ExceptionUtil.collectUnhandledExceptions(resourceList, resourceList));
+                }
+                for (PsiCatchSection catchSection : tryStatement.getCatchSections()) {
+                    narrowCatchSection(catchSection, thrownExceptions, elementFactory);
+                }
+                unwrapIfEmpty(tryStatement, elementFactory);
+            }
+            tryStatement = outerTryStatement;
+        }
+    }
+    
+    /**
+     * 獲取當前方法或 Lambda 範圍內的外層 try 語句
+     *
+     * @param element 元素
+     * @return try 語句，不存在時返回 null
+     */
+    private static PsiTryStatement getEnclosingTry(@NotNull PsiElement element) {
+        return PsiTreeUtil.getParentOfType(element, PsiTryStatement.class, true,
+                PsiMethod.class, PsiLambdaExpression.class, PsiClass.class);
+    }
+    
+    /**
+     * 從 catch 中移除不再拋出的反射異常類型，全部移除時刪除整個 catch
+     *
+     * @param catchSection catch 塊
+     * @param thrownExceptions try 塊中仍會拋出的受檢異常
+     * @param elementFactory 元素工廠
+     */
+    private static void narrowCatchSection(@NotNull PsiCatchSection catchSection,
+                                           @NotNull Set<PsiClassType> thrownExceptions,
+                                           @NotNull PsiElementFactory elementFactory) {
+        PsiParameter parameter = catchSection.getParameter();
+        PsiTypeElement typeElement = parameter == null ? null : parameter.getTypeElement();
+        PsiType catchType = catchSection.getCatchType();
+        if (typeElement == null || catchType == null) {
+            return;
+        }
+        
+        List<PsiType> caughtTypes = catchType instanceof PsiDisjunctionType
+                ? ((PsiDisjunctionType) catchType).getDisjunctions() : Arrays.asList(catchType);
+        List<String> keptTypes = new ArrayList<>();
+        for (PsiType caughtType : caughtTypes) {
+            if (!isUnthrownReflectiveException(caughtType, thrownExceptions)) {
+                keptTypes.add(caughtType.getCanonicalText());
+            }
+        }
+        
+        if (keptTypes.isEmpty()) {
+            catchSection.delete();
+        } else if (keptTypes.size() < caughtTypes.size()) {
+            typeElement.replace(elementFactory.createTypeElementFromText(String.join(" | ", keptTypes), catchSection));
+        }
+    }
+    
+    /**
+     * 判斷捕獲類型是否為 try 塊中已不再拋出的反射異常
+     *
+     * @param caughtType 捕獲類型
+     * @param thrownExceptions try 塊中仍會拋出的受檢異常
+     * @return 是否可以移除
+     */
+    private static boolean isUnthrownReflectiveException(@NotNull PsiType caughtType,
+                                                         @NotNull Set<PsiClassType> thrownExceptions) {
+        if (!REFLECTIVE_EXCEPTIONS.contains(caughtType.getCanonicalText())) {
+            return false;
+        }
+        for (PsiClassType thrownException : thrownExceptions) {
+            if (caughtType.isAssignableFrom(thrownException)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * try 語句沒有 catch、finally 和資源時展開為普通語句
+     * 不在代碼塊中或 try 塊聲明了局部變量時保留為代碼塊，避免語法錯誤和變量名衝突
+     *
+     * @param tryStatement try 語句
+     * @param elementFactory 元素工廠
+     */
+    private static void unwrapIfEmpty(@NotNull PsiTryStatement tryStatement,
+                                      @NotNull PsiElementFactory elementFactory) {
+        PsiCodeBlock tryBlock = tryStatement.getTryBlock();
+        if (tryBlock == null || tryStatement.getCatchSections().length > 0
+                || tryStatement.getFinallyBlock() != null || tryStatement.getResourceList() != null) {
+            return;
+        }
+        
+        boolean declaresVariables = false;
+        for (PsiStatement statement : tryBlock.getStatements()) {
+            declaresVariables |= statement instanceof PsiDeclarationStatement;
+        }
+        if (!(tryStatement.getParent() instanceof PsiCodeBlock) || declaresVariables) {
+            PsiBlockStatement blockStatement =
+                    (PsiBlockStatement) elementFactory.createStatementFromText("{}", tryStatement);
+            blockStatement.getCodeBlock().replace(tryBlock);
+            tryStatement.replace(blockStatement);
+            return;
+        }
+        
+        PsiElement firstElement = tryBlock.getFirstBodyElement();
+        PsiElement lastElement = tryBlock.getLastBodyElement();
+        if (firstElement != null && lastElement != null) {
+            tryStatement.getParent().addRangeBefore(firstElement, lastElement, tryStatement);
+        }
+        tryStatement.delete();
+    }
+}
@@ -0,0 +1,273 @@
+package com.yanchen.plugin.objecthelper.inspection;
+
+import com.intellij.codeInspection.AbstractBaseJavaLocalInspectionTool;
+import com.intellij.codeInspection.ProblemHighlightType;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.JavaElementVisitor;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiModifier;
+import com.yanchen.plugin.objecthelper.common.util.PsiUtils;
+import com.yanchen.plugin.objecthelper.diagnostics.GenerationRun;
+import com.yanchen.plugin.objecthelper.generator.method.ObjectCopyMethodGenerator;
+import com.yanchen.plugin.objecthelper.index.CopyMapperIndex;
+import com.yanchen.plugin.objecthelper.index.CopyMapperMarker;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 過期複製方法檢查
+ * 高亮時只比較方法標記中記錄的已映射字段與源類、目標類當前的字段，不重新生成方法；
+ * 複製方法本身在其所在文件中報告，源類和目標類則通過複製方法索引查找其他文件中依賴它的過期方法，
+ * 在類名上報告。完整的重新生成在快速修復或重新生成操作中按需進行
+ */
+public class StaleCopyMapperInspection extends AbstractBaseJavaLocalInspectionTool {
+    
+    /**
+     * 類名上列出的過期方法數上限
+     */
+    private static final int MAX_LISTED_MAPPERS = 5;
+    
+    /**
+     * 創建 PSI 訪問器
+     *
+     * @param holder 問題收集器
+     * @param isOnTheFly 是否為實時檢查
+     * @return 訪問器
+     */
+    @NotNull
+    @Override
+    public PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly) {
+        return new JavaElementVisitor() {
+            @Override
+            public void visitMethod(@NotNull PsiMethod method) {
+                super.visitMethod(method);
+                
+                CopyMapperMarker recordedMarker = CopyMapperMarker.find(method);
+                String message = recordedMarker == null ? null : findStaleMessage(method, recordedMarker);
+                if (message == null) {
+                    return;
+                }
+                
+                PsiElement anchor = method.getNameIdentifier() != null ? method.getNameIdentifier() : method;
+                holder.registerProblem(anchor, message, ProblemHighlightType.WARNING, new RegenerateCopyMapperFix());
+            }
+            
+            @Override
+            public void visitClass(@NotNull PsiClass aClass) {
+                super.visitClass(aClass);
+                
+                String className = aClass.getQualifiedName();
+                PsiElement anchor = aClass.getNameIdentifier();
+                if (className == null || anchor == null) {
+                    return;
+                }
+                
+                VirtualFile currentFile = holder.getFile().getVirtualFile();
+                List<String> staleMappers = new ArrayList<>();
+                for (Map.Entry<VirtualFile, List<CopyMapperMarker>> entry
+                        : CopyMapperIndex.findMarkers(aClass.getProject(), className).entrySet()) {
+                    // 本文件中的複製方法由 visitMethod 報告
+                    if (entry.getKey().equals(currentFile)) {
+                        continue;
+                    }
+                    for (CopyMapperMarker marker : entry.getValue()) {
+                        if (findStaleMessage(aClass, marker) != null) {
+                            staleMappers.add(entry.getKey().getNameWithoutExtension() + "." + marker.getMethodName());
+                        }
+                    }
+                }
+                if (staleMappers.isEmpty()) {
+                    return;
+                }
+                
+                String listed = String.join(", ", staleMappers.subList(0, Math.min(staleMappers.size(),
+                        MAX_LISTED_MAPPERS)));
+                String more = staleMappers.size() > MAX_LISTED_MAPPERS
+                        ? " 等 " + staleMappers.size() + " 個" : "";
+                holder.registerProblem(anchor, "依賴本類的複製方法已過期: " + listed + more,
+                        ProblemHighlightType.WARNING, new RegenerateAffectedMappersFix(className));
+            }
+        };
+    }
+    
+    /**
+     * 按標記檢查複製方法是否過期，只比較字段，不重新生成方法
+     *
+     * @param context 用於解析類的上下文元素
+     * @param recordedMarker 記錄的標記
+     * @return 過期時返回提示信息，未過期或類無法解析時返回 null
+     */
+    @Nullable
+    private static String findStaleMessage(@NotNull PsiElement context, @NotNull CopyMapperMarker recordedMarker) {
+        PsiClass sourceClass = findClass(context, recordedMarker.getSourceClassName());
+        PsiClass targetClass = findClass(context, recordedMarker.getTargetClassName());
+        if (sourceClass == null || targetClass == null) {
+            return null;
+        }
+        
+        // 多態分派方法記錄的是子類型，只檢查已刪除的子類型，新增子類型需查找繼承者，留給重新生成操作
+        Set<String> addedFields = recordedMarker.isDispatch()
+                ? new LinkedHashSet<>() : findAddedFields(recordedMarker, sourceClass, targetClass);
+        Set<String> removedFields = recordedMarker.isDispatch()
+                ? findRemovedSubClasses(context, recordedMarker)
+                : findRemovedFields(recordedMarker, sourceClass, targetClass);
+        if (addedFields.isEmpty() && removedFields.isEmpty()) {
+            return null;
+        }
+        return buildMessage(addedFields, removedFields);
+    }
+    
+    /**
+     * 判斷複製方法是否過期，需要重新生成方法，只在用戶操作時調用
+     *
+     * @param method 帶標記的複製方法
+     * @return 過期時返回按當前類結構生成的標記，未過期返回 null
+     */
+    @Nullable
+    public static CopyMapperMarker findStaleMarker(@NotNull PsiMethod method) {
+        CopyMapperMarker recordedMarker = CopyMapperMarker.find(method);
+        if (recordedMarker == null) {
+            return null;
+        }
+        // 只用於比較標記，不計入生成診斷記錄
+        String methodCode = GenerationRun.untracked(() -> ObjectCopyMethodGenerator.getInstance(method).generate());
+        return findStaleMarker(recordedMarker, methodCode);
+    }
+    
+    /**
+     * 比較記錄的標記與新生成代碼中的標記
+     *
+     * @param recordedMarker 方法中記錄的標記
+     * @param generatedCode 按當前類結構生成的方法代碼
+     * @return 過期時返回新生成代碼中的標記，未過期返回 null
+     */
+    @Nullable
+    public static CopyMapperMarker findStaleMarker(@NotNull CopyMapperMarker recordedMarker,
+                                                   @Nullable String generatedCode) {
+        CopyMapperMarker currentMarker = CopyMapperMarker.parse(generatedCode);
+        if (currentMarker == null) {
+            return null;
+        }
+        
+        // 字段順序變化不算過期
+        Set<String> recordedFields = new LinkedHashSet<>(recordedMarker.getMappedFields());
+        Set<String> currentFields = new LinkedHashSet<>(currentMarker.getMappedFields());
+        return recordedFields.equals(currentFields) ? null : currentMarker;
+    }
+    
+    /**
+     * 查找標記記錄之後新增的可映射字段：目標字段有 Setter，源類有同名字段及 Getter
+     * Protobuf 消息和 Builder 模式的字段命名規則不同，不做判斷
+     *
+     * @param recordedMarker 記錄的標記
+     * @param sourceClass 源類
+     * @param targetClass 目標類
+     * @return 新增字段
+     */
+    @NotNull
+    private static Set<String> findAddedFields(@NotNull CopyMapperMarker recordedMarker, @NotNull PsiClass sourceClass,
+                                               @NotNull PsiClass targetClass) {
+        Set<String> addedFields = new LinkedHashSet<>();
+        if (PsiUtils.isProtobufMessage(sourceClass) || PsiUtils.isProtobufMessage(targetClass)) {
+            return addedFields;
+        }
+        
+        for (PsiField targetField : PsiUtils.getAllFields(targetClass)) {
+            String fieldName = targetField.getName();
+            if (targetField.hasModifierProperty(PsiModifier.STATIC) || targetField.hasModifierProperty(PsiModifier.FINAL)
+                    || recordedMarker.getMappedFields().contains(fieldName)) {
+                continue;
+            }
+            if (PsiUtils.hasSetterMethod(targetClass, fieldName) && sourceClass.findFieldByName(fieldName, true) != null
+                    && PsiUtils.hasGetterMethod(sourceClass, fieldName)) {
+                addedFields.add(fieldName);
+            }
+        }
+        return addedFields;
+    }
+    
+    /**
+     * 查找標記記錄之後被刪除的字段
+     * 轉為 Protobuf 消息時記錄的是源類字段，其餘情況記錄的是目標類字段
+     *
+     * @param recordedMarker 記錄的標記
+     * @param sourceClass 源類
+     * @param targetClass 目標類
+     * @return 刪除的字段
+     */
+    @NotNull
+    private static Set<String> findRemovedFields(@NotNull CopyMapperMarker recordedMarker, @NotNull PsiClass sourceClass,
+                                                 @NotNull PsiClass targetClass) {
+        PsiClass recordedClass = PsiUtils.isProtobufMessage(targetClass) ? sourceClass : targetClass;
+        Set<String> removedFields = new LinkedHashSet<>();
+        for (String fieldName : recordedMarker.getMappedFields()) {
+            PsiField field = recordedClass.findFieldByName(fieldName, true);
+            if (field == null || field.hasModifierProperty(PsiModifier.STATIC)) {
+                removedFields.add(fieldName);
+            }
+        }
+        return removedFields;
+    }
+    
+    /**
+     * 查找多態分派方法標記中已不存在的子類型
+     *
+     * @param context 用於解析類的上下文元素
+     * @param recordedMarker 記錄的標記
+     * @return 已刪除的子類型
+     */
+    @NotNull
+    private static Set<String> findRemovedSubClasses(@NotNull PsiElement context,
+                                                     @NotNull CopyMapperMarker recordedMarker) {
+        Set<String> removedSubClasses = new LinkedHashSet<>();
+        for (String subClassName : recordedMarker.getMappedFields()) {
+            if (findClass(context, subClassName) == null) {
+                removedSubClasses.add(subClassName);
+            }
+        }
+        return removedSubClasses;
+    }
+    
+    /**
+     * 按全限定名查找標記中的類
+     *
+     * @param context 用於解析類的上下文元素
+     * @param qualifiedName 類全限定名
+     * @return 類，找不到時返回 null
+     */
+    @Nullable
+    private static PsiClass findClass(@NotNull PsiElement context, @NotNull String qualifiedName) {
+        return JavaPsiFacade.getInstance(context.getProject()).findClass(qualifiedName, context.getResolveScope());
+    }
+    
+    /**
+     * 生成提示信息，列出新增和移除的字段
+     *
+     * @param addedFields 新增字段
+     * @param removedFields 移除字段
+     * @return 提示信息
+     */
+    @NotNull
+    private static String buildMessage(@NotNull Set<String> addedFields, @NotNull Set<String> removedFields) {
+        StringBuilder message = new StringBuilder("複製方法已過期");
+        if (!addedFields.isEmpty()) {
+            message.append("，新增字段: ").append(String.join(", ", addedFields));
+        }
+        if (!removedFields.isEmpty()) {
+            message.append("，移除字段: ").append(String.join(", ", removedFields));
+        }
+        return message.toString();
+    }
+}
@@ -0,0 +1,215 @@
+package com.yanchen.plugin.objecthelper.toolwindow;
+
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiClassType;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiModifier;
+import com.intellij.psi.PsiType;
+import com.intellij.psi.SmartPointerManager;
+import com.intellij.psi.SmartPsiElementPointer;
+import com.yanchen.plugin.objecthelper.common.util.PsiUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.TreeNode;
+import java.util.Objects;
+
+/**
+ * 類結構樹節點
+ * 自定義類型的字段在首次展開時才解析其字段，未展開的嵌套類型不產生任何開銷
+ */
+public class ClassTreeNode extends DefaultMutableTreeNode {
+
+    /**
+     * 節點名稱（類名或字段名）
+     */
+    private final String name;
+
+    /**
+     * 類型文本
+     */
+    private final String typeText;
+
+    /**
+     * 可展開的類，基本類型、集合和 JDK 類型為 null
+     */
+    @Nullable
+    private final SmartPsiElementPointer<PsiClass> classPointer;
+
+    /**
+     * 是否為被截斷的循環引用
+     */
+    private final boolean recursive;
+
+    /**
+     * 子節點是否已加載
+     */
+    private boolean loaded;
+
+    /**
+     * 構造方法
+     *
+     * @param name 節點名稱
+     * @param typeText 類型文本
+     * @param psiClass 可展開的類
+     * @param recursive 是否為循環引用
+     */
+    private ClassTreeNode(@NotNull String name, @NotNull String typeText, @Nullable PsiClass psiClass, boolean recursive) {
+        this.name = name;
+        this.typeText = typeText;
+        this.classPointer = psiClass == null ? null
+                : SmartPointerManager.getInstance(psiClass.getProject()).createSmartPsiElementPointer(psiClass);
+        this.recursive = recursive;
+    }
+
+    /**
+     * 創建根節點
+     * 需在讀操作中調用
+     *
+     * @param psiClass 根類
+     * @return 根節點
+     */
+    @NotNull
+    public static ClassTreeNode createRoot(@NotNull PsiClass psiClass) {
+        String className = Objects.requireNonNullElse(psiClass.getName(), "root");
+        String qualifiedName = Objects.requireNonNullElse(psiClass.getQualifiedName(), className);
+        return new ClassTreeNode(className, qualifiedName, psiClass, false);
+    }
+
+    /**
+     * 加載子節點，只解析當前類的字段
+     * 需在讀操作中調用
+     */
+    public void loadChildren() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+
+        PsiClass psiClass = getPsiClass();
+        if (psiClass == null) {
+            return;
+        }
+
+        for (PsiField field : PsiUtils.getAllFields(psiClass)) {
+            // 排除靜態字段和常量
+            if (field.hasModifierProperty(PsiModifier.STATIC) ||
+                    field.hasModifierProperty(PsiModifier.FINAL) && field.hasInitializer()) {
+                continue;
+            }
+            add(createFieldNode(field));
+        }
+    }
+
+    /**
+     * 創建字段節點
+     *
+     * @param field 字段
+     * @return 字段節點
+     */
+    @NotNull
+    private ClassTreeNode createFieldNode(@NotNull PsiField field) {
+        PsiType fieldType = field.getType();
+        String fieldTypeText = fieldType.getPresentableText();
+        if (!(fieldType instanceof PsiClassType)) {
+            return new ClassTreeNode(field.getName(), fieldTypeText, null, false);
+        }
+
+        PsiClass resolvedClass = ((PsiClassType) fieldType).resolve();
+        if (resolvedClass == null || isJavaOrKotlinCoreClass(resolvedClass.getQualifiedName())) {
+            return new ClassTreeNode(field.getName(), fieldTypeText, null, false);
+        }
+        if (isAncestorClass(resolvedClass)) {
+            return new ClassTreeNode(field.getName(), fieldTypeText, null, true);
+        }
+        return new ClassTreeNode(field.getName(), fieldTypeText, resolvedClass, false);
+    }
+
+    /**
+     * 判斷類是否已出現在當前節點或祖先節點中
+     *
+     * @param psiClass 類
+     * @return 是否為循環引用
+     */
+    private boolean isAncestorClass(@NotNull PsiClass psiClass) {
+        for (TreeNode node : getPath()) {
+            if (node instanceof ClassTreeNode && psiClass.equals(((ClassTreeNode) node).getPsiClass())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 只有自定義類型的節點可以展開
+     *
+     * @return 是否為葉子節點
+     */
+    @Override
+    public boolean isLeaf() {
+        return classPointer == null;
+    }
+
+    /**
+     * 獲取節點對應的類
+     *
+     * @return 類，不可展開或已失效時返回 null
+     */
+    @Nullable
+    public PsiClass getPsiClass() {
+        return classPointer == null ? null : classPointer.getElement();
+    }
+
+    /**
+     * 獲取節點名稱
+     *
+     * @return 節點名稱
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 獲取類型文本
+     *
+     * @return 類型文本
+     */
+    public String getTypeText() {
+        return typeText;
+    }
+
+    /**
+     * 是否為被截斷的循環引用
+     *
+     * @return 是否為循環引用
+     */
+    public boolean isRecursive() {
+        return recursive;
+    }
+
+    /**
+     * 子節點是否已加載
+     *
+     * @return 是否已加載
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * 檢查是否為 Java 或 Kotlin 核心類
+     *
+     * @param qualifiedName 完全限定名
+     * @return 是否為核心類
+     */
+    private static boolean isJavaOrKotlinCoreClass(String qualifiedName) {
+        if (qualifiedName == null) {
+            return false;
+        }
+
+        return qualifiedName.startsWith("java.")
+                || qualifiedName.startsWith("javax.")
+                || qualifiedName.startsWith("kotlin.");
+    }
+}
@@ -0,0 +1,201 @@
+package com.yanchen.plugin.objecthelper.toolwindow;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.actionSystem.ActionManager;
+import com.intellij.openapi.actionSystem.ActionToolbar;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.DefaultActionGroup;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.ide.CopyPasteManager;
+import com.intellij.openapi.project.DumbAwareAction;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.SimpleToolWindowPanel;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.ui.ColoredTreeCellRenderer;
+import com.intellij.ui.ScrollPaneFactory;
+import com.intellij.ui.SimpleTextAttributes;
+import com.intellij.ui.treeStructure.Tree;
+import com.yanchen.plugin.objecthelper.common.util.StringUtils;
+import com.yanchen.plugin.objecthelper.generator.format.ClassToJsonGenerator;
+import com.yanchen.plugin.objecthelper.generator.format.ClassToXMLGenerator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.Icon;
+import javax.swing.JTree;
+import javax.swing.event.TreeExpansionEvent;
+import javax.swing.event.TreeWillExpandListener;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.DefaultTreeModel;
+import java.awt.datatransfer.StringSelection;
+
+/**
+ * 類結構樹面板
+ * 只解析根類的字段，嵌套類型在展開時才解析，首次顯示耗時與類圖大小無關；
+ * 可將選中節點的子樹複製為 JSON 或 XML
+ */
+public class ClassTreePanel extends SimpleToolWindowPanel {
+
+    /**
+     * 項目
+     */
+    private final Project project;
+
+    /**
+     * 樹模型
+     */
+    private final DefaultTreeModel treeModel = new DefaultTreeModel(new DefaultMutableTreeNode());
+
+    /**
+     * 類結構樹
+     */
+    private final Tree tree = new Tree(treeModel);
+
+    /**
+     * 構造方法
+     *
+     * @param project 項目
+     */
+    public ClassTreePanel(@NotNull Project project) {
+        super(true, true);
+        this.project = project;
+
+        tree.setRootVisible(true);
+        tree.setCellRenderer(new ClassTreeCellRenderer());
+        tree.addTreeWillExpandListener(new TreeWillExpandListener() {
+            @Override
+            public void treeWillExpand(TreeExpansionEvent event) {
+                Object node = event.getPath().getLastPathComponent();
+                if (node instanceof ClassTreeNode && !((ClassTreeNode) node).isLoaded()) {
+                    ReadAction.run(((ClassTreeNode) node)::loadChildren);
+                    treeModel.nodeStructureChanged((ClassTreeNode) node);
+                }
+            }
+
+            @Override
+            public void treeWillCollapse(TreeExpansionEvent event) {
+            }
+        });
+
+        setContent(ScrollPaneFactory.createScrollPane(tree));
+        setToolbar(createToolbar().getComponent());
+    }
+
+    /**
+     * 創建工具欄：從光標所在類加載、複製子樹為 JSON / XML
+     *
+     * @return 工具欄
+     */
+    @NotNull
+    private ActionToolbar createToolbar() {
+        DefaultActionGroup group = new DefaultActionGroup();
+        group.add(createAction("加載光標所在類", "以光標所在類作為根節點重新加載", AllIcons.Actions.Refresh,
+                this::loadCaretClass));
+        group.add(createAction("複製子樹為 JSON", "將選中節點的子樹生成 JSON 並複製到剪貼板", AllIcons.Actions.Copy,
+                () -> copySubtree(false)));
+        group.add(createAction("複製子樹為 XML", "將選中節點的子樹生成 XML 並複製到剪貼板", AllIcons.FileTypes.Xml,
+                () -> copySubtree(true)));
+
+        ActionToolbar toolbar = ActionManager.getInstance().createActionToolbar("ObjectHelperClassTree", group, true);
+        toolbar.setTargetComponent(this);
+        return toolbar;
+    }
+
+    /**
+     * 創建工具欄按鈕
+     *
+     * @param text        按鈕文字，同時作為懸停提示
+     * @param description 狀態欄描述
+     * @param icon        圖標
+     * @param runnable    點擊後執行的操作
+     * @return 按鈕
+     */
+    @NotNull
+    private static AnAction createAction(@NotNull String text, @NotNull String description, @NotNull Icon icon,
+                                         @NotNull Runnable runnable) {
+        AnAction action = DumbAwareAction.create(text, icon, e -> runnable.run());
+        action.getTemplatePresentation().setDescription(description);
+        return action;
+    }
+
+    /**
+     * 加載光標所在類作為根節點，只解析根類的字段
+     */
+    private void loadCaretClass() {
+        Editor editor = FileEditorManager.getInstance(project).getSelectedTextEditor();
+        if (editor == null) {
+            return;
+        }
+
+        ClassTreeNode root = ReadAction.compute(() -> {
+            PsiFile psiFile = PsiDocumentManager.getInstance(project).getPsiFile(editor.getDocument());
+            if (psiFile == null) {
+                return null;
+            }
+            PsiClass psiClass = PsiTreeUtil.getParentOfType(
+                    psiFile.findElementAt(editor.getCaretModel().getOffset()), PsiClass.class, false);
+            if (psiClass == null) {
+                return null;
+            }
+            ClassTreeNode node = ClassTreeNode.createRoot(psiClass);
+            node.loadChildren();
+            return node;
+        });
+        if (root == null) {
+            return;
+        }
+        treeModel.setRoot(root);
+        tree.expandRow(0);
+    }
+
+    /**
+     * 將選中節點的子樹複製為 JSON 或 XML
+     *
+     * @param xml 是否為 XML
+     */
+    private void copySubtree(boolean xml) {
+        Object selected = tree.getLastSelectedPathComponent();
+        if (!(selected instanceof ClassTreeNode)) {
+            return;
+        }
+        ClassTreeNode node = (ClassTreeNode) selected;
+
+        String text = ReadAction.compute(() -> {
+            PsiClass psiClass = node.getPsiClass();
+            if (psiClass == null) {
+                return null;
+            }
+            return xml
+                    ? ClassToXMLGenerator.getInstance(psiClass, StringUtils.uncapitalize(node.getName())).generate()
+                    : ClassToJsonGenerator.getInstance(psiClass).generate();
+        });
+        if (StringUtils.isNotEmpty(text)) {
+            CopyPasteManager.getInstance().setContents(new StringSelection(text));
+        }
+    }
+
+    /**
+     * 節點渲染：名稱加灰色類型
+     */
+    private static class ClassTreeCellRenderer extends ColoredTreeCellRenderer {
+
+        @Override
+        public void customizeCellRenderer(@NotNull JTree tree, @Nullable Object value, boolean selected,
+                                          boolean expanded, boolean leaf, int row, boolean hasFocus) {
+            if (!(value instanceof ClassTreeNode)) {
+                return;
+            }
+            ClassTreeNode node = (ClassTreeNode) value;
+            append(node.getName());
+            append(" : " + node.getTypeText(), SimpleTextAttributes.GRAYED_ATTRIBUTES);
+            if (node.isRecursive()) {
+                append(" (循環引用)", SimpleTextAttributes.GRAYED_ITALIC_ATTRIBUTES);
+            }
+        }
+    }
+}
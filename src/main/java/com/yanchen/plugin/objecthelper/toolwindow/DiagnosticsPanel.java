@@ -0,0 +1,117 @@
+package com.yanchen.plugin.objecthelper.toolwindow;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.actionSystem.ActionManager;
+import com.intellij.openapi.actionSystem.ActionToolbar;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.DefaultActionGroup;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.project.DumbAwareAction;
+import com.intellij.openapi.ui.SimpleToolWindowPanel;
+import com.intellij.ui.ScrollPaneFactory;
+import com.intellij.ui.table.TableView;
+import com.intellij.util.ui.ColumnInfo;
+import com.intellij.util.ui.ListTableModel;
+import com.yanchen.plugin.objecthelper.diagnostics.GenerationDiagnostics;
+import com.yanchen.plugin.objecthelper.diagnostics.GenerationRun;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.function.Function;
+
+/**
+ * 生成診斷面板
+ * 顯示最近若干次生成的耗時分解、訪問的類和字段數、輸出大小及片段緩存命中情況
+ */
+public class DiagnosticsPanel extends SimpleToolWindowPanel implements Disposable {
+
+    /**
+     * 記錄表格模型
+     */
+    private final ListTableModel<GenerationRun> tableModel = new ListTableModel<>(
+            column("時間", run -> new SimpleDateFormat("HH:mm:ss").format(new Date(run.getStartTime()))),
+            column("生成器", GenerationRun::getGenerator),
+            column("目標", GenerationRun::getTarget),
+            column("總耗時(ms)", run -> formatMillis(run.getTotalNanos())),
+            column("解析(ms)", run -> formatMillis(run.getResolveNanos())),
+            column("渲染(ms)", run -> formatMillis(run.getRenderNanos())),
+            column("類", GenerationRun::getClassesVisited),
+            column("字段", GenerationRun::getFieldsVisited),
+            column("輸出字符", GenerationRun::getOutputLength),
+            column("緩存命中/未命中", run -> run.getCacheHits() + " / " + run.getCacheMisses()));
+
+    /**
+     * 構造方法
+     */
+    public DiagnosticsPanel() {
+        super(true, true);
+        setContent(ScrollPaneFactory.createScrollPane(new TableView<>(tableModel)));
+        setToolbar(createToolbar().getComponent());
+
+        GenerationDiagnostics diagnostics = GenerationDiagnostics.getInstance();
+        diagnostics.addListener(() -> ApplicationManager.getApplication().invokeLater(this::refresh), this);
+        refresh();
+    }
+
+    /**
+     * 創建工具欄：清空記錄
+     *
+     * @return 工具欄
+     */
+    @NotNull
+    private ActionToolbar createToolbar() {
+        DefaultActionGroup group = new DefaultActionGroup();
+        AnAction clearAction = DumbAwareAction.create("清空記錄", AllIcons.Actions.GC,
+                e -> GenerationDiagnostics.getInstance().clear());
+        clearAction.getTemplatePresentation().setDescription("清空已記錄的生成耗時和計數");
+        group.add(clearAction);
+
+        ActionToolbar toolbar = ActionManager.getInstance().createActionToolbar("ObjectHelperDiagnostics", group, true);
+        toolbar.setTargetComponent(this);
+        return toolbar;
+    }
+
+    /**
+     * 刷新表格
+     */
+    private void refresh() {
+        tableModel.setItems(GenerationDiagnostics.getInstance().getRuns());
+    }
+
+    /**
+     * 創建只讀列
+     *
+     * @param name 列名
+     * @param getter 取值函數
+     * @return 列定義
+     */
+    @NotNull
+    private static ColumnInfo<GenerationRun, Object> column(@NotNull String name,
+                                                             @NotNull Function<GenerationRun, Object> getter) {
+        return new ColumnInfo<GenerationRun, Object>(name) {
+            @Nullable
+            @Override
+            public Object valueOf(GenerationRun run) {
+                return getter.apply(run);
+            }
+        };
+    }
+
+    /**
+     * 納秒轉毫秒文本
+     *
+     * @param nanos 納秒
+     * @return 毫秒文本
+     */
+    @NotNull
+    private static String formatMillis(long nanos) {
+        return String.format("%.2f", nanos / 1_000_000.0);
+    }
+
+    @Override
+    public void dispose() {
+    }
+}
@@ -0,0 +1,269 @@
+package com.yanchen.plugin.objecthelper.toolwindow;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.editor.EditorFactory;
+import com.intellij.openapi.editor.event.CaretEvent;
+import com.intellij.openapi.editor.event.CaretListener;
+import com.intellij.openapi.editor.ex.EditorEx;
+import com.intellij.openapi.editor.highlighter.EditorHighlighterFactory;
+import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.fileEditor.FileEditorManagerEvent;
+import com.intellij.openapi.fileEditor.FileEditorManagerListener;
+import com.intellij.openapi.fileTypes.FileTypeManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.ComboBox;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiTreeChangeAdapter;
+import com.intellij.psi.PsiTreeChangeEvent;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.Alarm;
+import com.intellij.util.DocumentUtil;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.yanchen.plugin.objecthelper.diagnostics.GenerationRun;
+import com.yanchen.plugin.objecthelper.generator.format.ClassToJsonGenerator;
+import com.yanchen.plugin.objecthelper.generator.format.ClassToXMLGenerator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.JPanel;
+import java.awt.BorderLayout;
+import java.awt.event.HierarchyEvent;
+
+/**
+ * JSON/XML 實時預覽面板
+ * 跟隨光標所在類，PSI 修改或光標移動後延遲刷新；生成在可取消的後台讀操作中進行，
+ * 未修改的嵌套類直接使用片段緩存
+ */
+public class FormatPreviewPanel extends JPanel implements Disposable {
+
+    /**
+     * JSON 格式
+     */
+    private static final String FORMAT_JSON = "JSON";
+
+    /**
+     * XML 格式
+     */
+    private static final String FORMAT_XML = "XML";
+
+    /**
+     * 刷新延遲（毫秒），合併連續輸入
+     */
+    private static final int UPDATE_DELAY_MILLIS = 300;
+
+    /**
+     * 項目
+     */
+    private final Project project;
+
+    /**
+     * 預覽文檔
+     */
+    private final Document document;
+
+    /**
+     * 只讀預覽編輯器
+     */
+    private final Editor viewer;
+
+    /**
+     * 格式選擇
+     */
+    private final ComboBox<String> formatComboBox = new ComboBox<>(new String[]{FORMAT_JSON, FORMAT_XML});
+
+    /**
+     * 延遲刷新定時器
+     */
+    private final Alarm updateAlarm = new Alarm(Alarm.ThreadToUse.SWING_THREAD, this);
+
+    /**
+     * 構造方法
+     *
+     * @param project 項目
+     */
+    public FormatPreviewPanel(@NotNull Project project) {
+        super(new BorderLayout());
+        this.project = project;
+        this.document = EditorFactory.getInstance().createDocument("");
+        this.viewer = EditorFactory.getInstance().createViewer(document, project);
+
+        add(formatComboBox, BorderLayout.NORTH);
+        add(viewer.getComponent(), BorderLayout.CENTER);
+        updateHighlighter();
+
+        formatComboBox.addActionListener(e -> {
+            updateHighlighter();
+            scheduleUpdate();
+        });
+        addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0) {
+                scheduleUpdate();
+            }
+        });
+        subscribeChanges();
+    }
+
+    /**
+     * 監聽光標移動、切換編輯器和 PSI 修改
+     */
+    private void subscribeChanges() {
+        EditorFactory.getInstance().getEventMulticaster().addCaretListener(new CaretListener() {
+            @Override
+            public void caretPositionChanged(@NotNull CaretEvent event) {
+                if (event.getEditor() != viewer && event.getEditor().getProject() == project) {
+                    scheduleUpdate();
+                }
+            }
+        }, this);
+
+        project.getMessageBus().connect(this).subscribe(FileEditorManagerListener.FILE_EDITOR_MANAGER,
+                new FileEditorManagerListener() {
+                    @Override
+                    public void selectionChanged(@NotNull FileEditorManagerEvent event) {
+                        scheduleUpdate();
+                    }
+                });
+
+        PsiManager.getInstance(project).addPsiTreeChangeListener(new PsiTreeChangeAdapter() {
+            @Override
+            public void childAdded(@NotNull PsiTreeChangeEvent event) {
+                onPsiChanged(event);
+            }
+
+            @Override
+            public void childRemoved(@NotNull PsiTreeChangeEvent event) {
+                onPsiChanged(event);
+            }
+
+            @Override
+            public void childReplaced(@NotNull PsiTreeChangeEvent event) {
+                onPsiChanged(event);
+            }
+
+            @Override
+            public void childMoved(@NotNull PsiTreeChangeEvent event) {
+                onPsiChanged(event);
+            }
+
+            @Override
+            public void childrenChanged(@NotNull PsiTreeChangeEvent event) {
+                onPsiChanged(event);
+            }
+        }, this);
+    }
+
+    /**
+     * PSI 修改時只在 Java 文件變化後刷新
+     *
+     * @param event 修改事件
+     */
+    private void onPsiChanged(@NotNull PsiTreeChangeEvent event) {
+        if (event.getFile() == null || event.getFile() instanceof PsiJavaFile) {
+            scheduleUpdate();
+        }
+    }
+
+    /**
+     * 延遲刷新，面板不可見時不刷新
+     */
+    private void scheduleUpdate() {
+        if (!isShowing()) {
+            return;
+        }
+        updateAlarm.cancelAllRequests();
+        updateAlarm.addRequest(this::update, UPDATE_DELAY_MILLIS);
+    }
+
+    /**
+     * 在後台讀操作中生成預覽，寫操作開始時自動取消並重試
+     */
+    private void update() {
+        Editor editor = FileEditorManager.getInstance(project).getSelectedTextEditor();
+        if (editor == null) {
+            return;
+        }
+        Document editorDocument = editor.getDocument();
+        int offset = editor.getCaretModel().getOffset();
+        String format = getSelectedFormat();
+
+        ReadAction.nonBlocking(() -> render(editorDocument, offset, format))
+                .withDocumentsCommitted(project)
+                .inSmartMode(project)
+                .expireWith(this)
+                .coalesceBy(this)
+                .finishOnUiThread(ModalityState.defaultModalityState(), this::showText)
+                .submit(AppExecutorUtil.getAppExecutorService());
+    }
+
+    /**
+     * 生成光標所在類的預覽文本
+     *
+     * @param editorDocument 編輯器文檔
+     * @param offset 光標位置
+     * @param format 格式
+     * @return 預覽文本，光標不在類中時返回 null
+     */
+    @Nullable
+    private String render(@NotNull Document editorDocument, int offset, @NotNull String format) {
+        PsiFile psiFile = PsiDocumentManager.getInstance(project).getPsiFile(editorDocument);
+        if (!(psiFile instanceof PsiJavaFile)) {
+            return null;
+        }
+        PsiClass psiClass = PsiTreeUtil.getParentOfType(psiFile.findElementAt(offset), PsiClass.class, false);
+        if (psiClass == null) {
+            return null;
+        }
+        // 預覽隨光標頻繁刷新，不計入生成診斷記錄
+        return GenerationRun.untracked(() -> FORMAT_XML.equals(format)
+                ? ClassToXMLGenerator.getInstance(psiClass).generate()
+                : ClassToJsonGenerator.getInstance(psiClass).generate());
+    }
+
+    /**
+     * 更新預覽文檔，內容未變化時不寫入
+     *
+     * @param text 預覽文本
+     */
+    private void showText(@Nullable String text) {
+        if (text == null || text.contentEquals(document.getImmutableCharSequence())) {
+            return;
+        }
+        DocumentUtil.writeInRunUndoTransparentAction(() -> document.setText(text));
+    }
+
+    /**
+     * 按所選格式設置語法高亮
+     */
+    private void updateHighlighter() {
+        String extension = FORMAT_XML.equals(getSelectedFormat()) ? "xml" : "json";
+        ((EditorEx) viewer).setHighlighter(EditorHighlighterFactory.getInstance().createEditorHighlighter(
+                project, FileTypeManager.getInstance().getFileTypeByExtension(extension)));
+    }
+
+    /**
+     * 獲取所選格式
+     *
+     * @return 格式
+     */
+    @NotNull
+    private String getSelectedFormat() {
+        Object selected = formatComboBox.getSelectedItem();
+        return selected == null ? FORMAT_JSON : selected.toString();
+    }
+
+    /**
+     * 釋放預覽編輯器
+     */
+    @Override
+    public void dispose() {
+        EditorFactory.getInstance().releaseEditor(viewer);
+    }
+}
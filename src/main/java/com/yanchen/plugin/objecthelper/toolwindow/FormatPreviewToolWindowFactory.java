@@ -0,0 +1,56 @@
+package com.yanchen.plugin.objecthelper.toolwindow;
+
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.openapi.wm.ToolWindow;
+import com.intellij.openapi.wm.ToolWindowFactory;
+import com.intellij.ui.content.Content;
+import com.intellij.ui.content.ContentFactory;
+import com.yanchen.plugin.objecthelper.common.enums.FunctionSwitchEnum;
+import com.yanchen.plugin.objecthelper.config.PluginConfigState;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * JSON/XML 實時預覽工具窗口
+ * 包含實時預覽、按需展開的類結構樹和生成診斷三個標籤頁
+ */
+public class FormatPreviewToolWindowFactory implements ToolWindowFactory, DumbAware {
+
+    /**
+     * 創建工具窗口內容
+     *
+     * @param project 項目
+     * @param toolWindow 工具窗口
+     */
+    @Override
+    public void createToolWindowContent(@NotNull Project project, @NotNull ToolWindow toolWindow) {
+        FormatPreviewPanel panel = new FormatPreviewPanel(project);
+        Content content = ContentFactory.getInstance().createContent(panel, "預覽", false);
+        Disposer.register(content, panel);
+        toolWindow.getContentManager().addContent(content);
+
+        // 大類圖按需展開的樹視圖
+        Content treeContent = ContentFactory.getInstance().createContent(new ClassTreePanel(project), "類結構", false);
+        toolWindow.getContentManager().addContent(treeContent);
+
+        // 最近生成的耗時分解
+        DiagnosticsPanel diagnosticsPanel = new DiagnosticsPanel();
+        Content diagnosticsContent = ContentFactory.getInstance().createContent(diagnosticsPanel, "診斷", false);
+        Disposer.register(diagnosticsContent, diagnosticsPanel);
+        toolWindow.getContentManager().addContent(diagnosticsContent);
+    }
+
+    /**
+     * JSON 或 XML 功能開啟時顯示工具窗口
+     *
+     * @param project 項目
+     * @return 是否可用
+     */
+    @Override
+    public boolean shouldBeAvailable(@NotNull Project project) {
+        PluginConfigState state = PluginConfigState.getInstance();
+        return state.getClassToJsonSwitch() == FunctionSwitchEnum.OPEN
+                || state.getClassToXmlSwitch() == FunctionSwitchEnum.OPEN;
+    }
+}
@@ -0,0 +1,166 @@
+package com.yanchen.plugin.objecthelper.viewer;
+
+import com.intellij.ide.scratch.ScratchFileService;
+import com.intellij.ide.scratch.ScratchRootType;
+import com.intellij.lang.Language;
+import com.intellij.lang.LanguageUtil;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.fileTypes.FileType;
+import com.intellij.openapi.fileTypes.FileTypeManager;
+import com.intellij.openapi.fileTypes.PlainTextLanguage;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiClass;
+import com.intellij.testFramework.LightVirtualFile;
+import com.intellij.util.DocumentUtil;
+import com.yanchen.plugin.objecthelper.common.util.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 生成結果查看器
+ * 結果以 LightVirtualFile 打開並按擴展名高亮，同一類（按全限定名區分）同一格式復用同一文件；
+ * 只保留最近的若干結果，被淘汰的結果關閉編輯器後釋放；超大結果寫入草稿文件，不駐留內存，
+ * 同一類同一格式復用同一草稿文件
+ */
+public class FormatResultViewer {
+
+    /**
+     * 最多保留的結果數
+     */
+    private static final int MAX_HISTORY = 10;
+
+    /**
+     * 超過該字符數的結果寫入草稿文件
+     */
+    private static final int SCRATCH_THRESHOLD = 1024 * 1024;
+
+    /**
+     * 項目
+     */
+    private final Project project;
+
+    /**
+     * 最近的結果文件，以類全限定名和擴展名為鍵，按訪問順序排列
+     */
+    private final LinkedHashMap<String, LightVirtualFile> history = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * 構造方法
+     *
+     * @param project 項目
+     */
+    public FormatResultViewer(@NotNull Project project) {
+        this.project = project;
+    }
+
+    /**
+     * 獲取查看器實例
+     *
+     * @param project 項目
+     * @return 查看器實例
+     */
+    public static FormatResultViewer getInstance(@NotNull Project project) {
+        return project.getService(FormatResultViewer.class);
+    }
+
+    /**
+     * 顯示類的生成結果
+     * 需在 EDT 中調用
+     *
+     * @param psiClass 生成結果對應的類
+     * @param extension 文件擴展名，決定語法高亮
+     * @param content 結果內容
+     */
+    public void show(@NotNull PsiClass psiClass, @NotNull String extension, @NotNull String content) {
+        String qualifiedName = psiClass.getQualifiedName();
+        show(qualifiedName != null ? qualifiedName : psiClass.getName(), psiClass.getName(), extension, content);
+    }
+
+    /**
+     * 顯示生成結果
+     * 需在 EDT 中調用
+     *
+     * @param key 結果標識（如類全限定名），不同包中的同名類互不覆蓋，為空時使用 name
+     * @param name 結果名稱（如類名），為空時使用 result
+     * @param extension 文件擴展名，決定語法高亮
+     * @param content 結果內容
+     */
+    public void show(@Nullable String key, @Nullable String name, @NotNull String extension, @NotNull String content) {
+        String fileName = (StringUtils.isEmpty(name) ? "result" : name) + "." + extension;
+        String historyKey = StringUtils.isEmpty(key) ? fileName : key + "." + extension;
+        FileType fileType = FileTypeManager.getInstance().getFileTypeByExtension(extension);
+
+        if (content.length() > SCRATCH_THRESHOLD) {
+            // 草稿文件按標識命名，重複生成時覆蓋同一文件，不會無限增加
+            showInScratchFile(historyKey, fileType, content);
+            return;
+        }
+
+        LightVirtualFile file = history.get(historyKey);
+        if (file != null && file.isValid()) {
+            updateContent(file, content);
+        } else {
+            file = new LightVirtualFile(fileName, fileType, content);
+            history.put(historyKey, file);
+            evictOldest();
+        }
+        FileEditorManager.getInstance(project).openFile(file, true);
+    }
+
+    /**
+     * 更新已打開結果的內容，不進入撤銷歷史
+     *
+     * @param file 結果文件
+     * @param content 新內容
+     */
+    private void updateContent(@NotNull LightVirtualFile file, @NotNull String content) {
+        Document document = FileDocumentManager.getInstance().getDocument(file);
+        if (document == null) {
+            file.setContent(this, content, false);
+            return;
+        }
+        if (!content.contentEquals(document.getImmutableCharSequence())) {
+            DocumentUtil.writeInRunUndoTransparentAction(() -> document.setText(content));
+        }
+    }
+
+    /**
+     * 淘汰超出數量的結果並關閉其編輯器
+     */
+    private void evictOldest() {
+        List<LightVirtualFile> evicted = new ArrayList<>();
+        while (history.size() > MAX_HISTORY) {
+            Map.Entry<String, LightVirtualFile> eldest = history.entrySet().iterator().next();
+            history.remove(eldest.getKey());
+            evicted.add(eldest.getValue());
+        }
+        for (LightVirtualFile file : evicted) {
+            FileEditorManager.getInstance(project).closeFile(file);
+        }
+    }
+
+    /**
+     * 將超大結果寫入草稿文件並打開，已存在同名草稿文件時覆蓋其內容
+     *
+     * @param fileName 文件名
+     * @param fileType 文件類型
+     * @param content 結果內容
+     */
+    private void showInScratchFile(@NotNull String fileName, @NotNull FileType fileType, @NotNull String content) {
+        Language language = LanguageUtil.getFileTypeLanguage(fileType);
+        VirtualFile scratchFile = ScratchRootType.getInstance().createScratchFile(project, fileName,
+                language == null ? PlainTextLanguage.INSTANCE : language, content,
+                ScratchFileService.Option.create_if_missing);
+        if (scratchFile != null) {
+            FileEditorManager.getInstance(project).openFile(scratchFile, true);
+        }
+    }
+}
@@ -0,0 +1,473 @@
+package com.yanchen.plugin.objecthelper.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiFileFactory;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
+import com.intellij.testFramework.fixtures.JavaCodeInsightTestFixture;
+import com.yanchen.plugin.objecthelper.common.util.PsiUtils;
+import com.yanchen.plugin.objecthelper.generator.Generator;
+import com.yanchen.plugin.objecthelper.generator.format.ClassToJsonGenerator;
+import com.yanchen.plugin.objecthelper.generator.format.ClassToXMLGenerator;
+import com.yanchen.plugin.objecthelper.generator.format.FormatFragmentCache;
+import com.yanchen.plugin.objecthelper.generator.method.ObjectCopyMethodGenerator;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * 生成器基準測試
+ * 在合成類圖上運行複製方法、JSON 和 XML 生成器，統計耗時中位數、每次分配字節數、類型解析次數和 getAllFields 調用次數。
+ * 耗時依賴機器，因此同時測量一個與插件代碼無關的校準負載（解析並遍歷固定源碼），
+ * 與基線比較時耗時按兩次校準耗時之比換算到基線機器上
+ */
+public class GeneratorBenchmark {
+
+    /**
+     * 預熱次數
+     */
+    private static final int WARMUP_ITERATIONS = 3;
+
+    /**
+     * 測量次數
+     */
+    private static final int MEASURE_ITERATIONS = 10;
+
+    /**
+     * 校準負載解析的場景
+     */
+    private static final String CALIBRATION_SCENARIO = "flat-100";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * 測試夾具，用於把場景源碼加入測試項目
+     */
+    private final JavaCodeInsightTestFixture fixture;
+
+    /**
+     * 構造方法
+     *
+     * @param fixture 測試夾具
+     */
+    public GeneratorBenchmark(@NotNull JavaCodeInsightTestFixture fixture) {
+        this.fixture = fixture;
+    }
+
+    /**
+     * 運行校準負載、所有場景和所有生成器
+     *
+     * @return 結果報告
+     */
+    @NotNull
+    public Report run() {
+        List<SyntheticScenario> scenarios = SyntheticScenario.all();
+        Map<SyntheticScenario, PsiJavaFile> files = new LinkedHashMap<>();
+        for (SyntheticScenario scenario : scenarios) {
+            files.put(scenario, (PsiJavaFile) fixture.addFileToProject(scenario.getFilePath(), scenario.getSource()));
+        }
+
+        long calibrationNanos = measureCalibration(findScenario(scenarios, CALIBRATION_SCENARIO));
+        List<Result> results = new ArrayList<>();
+        for (Map.Entry<SyntheticScenario, PsiJavaFile> file : files.entrySet()) {
+            for (Map.Entry<String, Function<PsiJavaFile, Generator>> generator : createGenerators().entrySet()) {
+                results.add(measure(file.getKey().getName(), generator.getKey(), file.getValue(),
+                        generator.getValue()));
+            }
+        }
+        return new Report(calibrationNanos, results);
+    }
+
+    /**
+     * 被測生成器
+     *
+     * @return 生成器名到生成器工廠的映射
+     */
+    @NotNull
+    private static Map<String, Function<PsiJavaFile, Generator>> createGenerators() {
+        Map<String, Function<PsiJavaFile, Generator>> generators = new LinkedHashMap<>();
+        generators.put("copy", file -> ObjectCopyMethodGenerator.getInstance(findCopyMethod(file)));
+        generators.put("json", file -> ClassToJsonGenerator.getInstance(findClass(file, SyntheticScenario.ROOT_CLASS)));
+        generators.put("xml", file -> ClassToXMLGenerator.getInstance(findClass(file, SyntheticScenario.ROOT_CLASS)));
+        return generators;
+    }
+
+    /**
+     * 測量校準負載：在內存中解析場景源碼並遍歷全部 PSI 元素，不經過插件代碼
+     *
+     * @param scenario 場景
+     * @return 耗時中位數
+     */
+    private long measureCalibration(@NotNull SyntheticScenario scenario) {
+        Project project = fixture.getProject();
+        return medianNanos(() -> ReadAction.compute(() -> {
+            long start = System.nanoTime();
+            PsiFile file = PsiFileFactory.getInstance(project)
+                    .createFileFromText("Calibration.java", JavaFileType.INSTANCE, scenario.getSource());
+            file.accept(new PsiRecursiveElementWalkingVisitor() {
+            });
+            return System.nanoTime() - start;
+        }));
+    }
+
+    /**
+     * 預熱後多次運行並取耗時中位數
+     *
+     * @param sample 單次運行，返回耗時
+     * @return 耗時中位數
+     */
+    private static long medianNanos(@NotNull LongSupplier sample) {
+        long[] nanos = new long[MEASURE_ITERATIONS];
+        for (int i = -WARMUP_ITERATIONS; i < MEASURE_ITERATIONS; i++) {
+            long value = sample.getAsLong();
+            if (i >= 0) {
+                nanos[i] = value;
+            }
+        }
+        Arrays.sort(nanos);
+        return nanos[MEASURE_ITERATIONS / 2];
+    }
+
+    /**
+     * 測量單個生成器
+     *
+     * @param scenario 場景名
+     * @param generatorName 生成器名
+     * @param file 場景源碼文件
+     * @param factory 生成器工廠
+     * @return 結果
+     */
+    @NotNull
+    private Result measure(@NotNull String scenario, @NotNull String generatorName, @NotNull PsiJavaFile file,
+                           @NotNull Function<PsiJavaFile, Generator> factory) {
+        long[] nanos = new long[MEASURE_ITERATIONS];
+        long allocatedBytes = 0;
+        long typeResolves = 0;
+        long fieldLookups = 0;
+        for (int i = -WARMUP_ITERATIONS; i < MEASURE_ITERATIONS; i++) {
+            FormatFragmentCache.getInstance(fixture.getProject()).clear();
+            long[] sample = ReadAction.compute(() -> {
+                long allocationBefore = getAllocatedBytes();
+                long resolvesBefore = PsiUtils.getTypeResolveCount();
+                long lookupsBefore = PsiUtils.getFieldLookupCount();
+                long start = System.nanoTime();
+                factory.apply(file).generate();
+                return new long[]{
+                        System.nanoTime() - start,
+                        getAllocatedBytes() - allocationBefore,
+                        PsiUtils.getTypeResolveCount() - resolvesBefore,
+                        PsiUtils.getFieldLookupCount() - lookupsBefore
+                };
+            });
+            if (i >= 0) {
+                nanos[i] = sample[0];
+                allocatedBytes += sample[1];
+                typeResolves += sample[2];
+                fieldLookups += sample[3];
+            }
+        }
+        Arrays.sort(nanos);
+        return new Result(scenario, generatorName, nanos[MEASURE_ITERATIONS / 2], allocatedBytes / MEASURE_ITERATIONS,
+                typeResolves / MEASURE_ITERATIONS, fieldLookups / MEASURE_ITERATIONS);
+    }
+
+    /**
+     * 當前線程累計分配的字節數，JVM 不支持時返回 0
+     *
+     * @return 字節數
+     */
+    private static long getAllocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    /**
+     * 按名稱查找場景
+     *
+     * @param scenarios 場景列表
+     * @param name 場景名
+     * @return 場景
+     */
+    @NotNull
+    private static SyntheticScenario findScenario(@NotNull List<SyntheticScenario> scenarios, @NotNull String name) {
+        for (SyntheticScenario scenario : scenarios) {
+            if (name.equals(scenario.getName())) {
+                return scenario;
+            }
+        }
+        throw new IllegalStateException("缺少場景 " + name);
+    }
+
+    /**
+     * 查找場景中的類
+     *
+     * @param file 場景源碼文件
+     * @param className 類名
+     * @return 類
+     */
+    @NotNull
+    private static PsiClass findClass(@NotNull PsiJavaFile file, @NotNull String className) {
+        for (PsiClass psiClass : file.getClasses()) {
+            if (className.equals(psiClass.getName())) {
+                return psiClass;
+            }
+        }
+        throw new IllegalStateException("場景中缺少類 " + className);
+    }
+
+    /**
+     * 查找場景中的複製方法
+     *
+     * @param file 場景源碼文件
+     * @return 複製方法
+     */
+    @NotNull
+    private static PsiMethod findCopyMethod(@NotNull PsiJavaFile file) {
+        return findClass(file, SyntheticScenario.MAPPER_CLASS).findMethodsByName("copy", false)[0];
+    }
+
+    /**
+     * 寫入結果文件
+     *
+     * @param report 結果報告
+     * @param path 文件路徑
+     * @throws IOException 寫入失敗
+     */
+    public static void writeReport(@NotNull Report report, @NotNull Path path) throws IOException {
+        ArrayNode array = MAPPER.createArrayNode();
+        for (Result result : report.getResults()) {
+            ObjectNode node = array.addObject();
+            node.put("scenario", result.scenario);
+            node.put("generator", result.generator);
+            node.put("medianNanos", result.medianNanos);
+            node.put("allocatedBytes", result.allocatedBytes);
+            node.put("typeResolves", result.typeResolves);
+            node.put("fieldLookups", result.fieldLookups);
+        }
+        ObjectNode root = MAPPER.createObjectNode();
+        root.put("calibrationNanos", report.getCalibrationNanos());
+        root.set("results", array);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), root);
+    }
+
+    /**
+     * 讀取結果文件
+     *
+     * @param path 文件路徑
+     * @return 結果報告
+     * @throws IOException 讀取失敗
+     */
+    @NotNull
+    public static Report readReport(@NotNull Path path) throws IOException {
+        JsonNode root = MAPPER.readTree(path.toFile());
+        List<Result> results = new ArrayList<>();
+        for (JsonNode node : root.path("results")) {
+            results.add(new Result(node.path("scenario").asText(), node.path("generator").asText(),
+                    node.path("medianNanos").asLong(), node.path("allocatedBytes").asLong(),
+                    node.path("typeResolves").asLong(), node.path("fieldLookups").asLong()));
+        }
+        return new Report(root.path("calibrationNanos").asLong(), results);
+    }
+
+    /**
+     * 與基線比較
+     * 耗時按校準耗時之比換算後、以及分配量超出基線的 (1 + threshold) 倍，或類型解析、getAllFields 調用次數增加即為回退；
+     * 當前結果中有而基線中沒有的組合也視為失敗，需要更新基線
+     *
+     * @param current 當前結果
+     * @param baseline 基線結果
+     * @param threshold 允許的相對增幅，如 0.25
+     * @return 回退描述，無回退時為空
+     */
+    @NotNull
+    public static List<String> compare(@NotNull Report current, @NotNull Report baseline, double threshold) {
+        Map<String, Result> baselineByKey = new HashMap<>();
+        for (Result result : baseline.getResults()) {
+            baselineByKey.put(result.getKey(), result);
+        }
+        double speedFactor = current.getCalibrationNanos() > 0 && baseline.getCalibrationNanos() > 0
+                ? (double) baseline.getCalibrationNanos() / current.getCalibrationNanos()
+                : 1;
+
+        List<String> regressions = new ArrayList<>();
+        for (Result result : current.getResults()) {
+            Result expected = baselineByKey.get(result.getKey());
+            if (expected == null) {
+                regressions.add(result.getKey() + " 不在基線中");
+                continue;
+            }
+            checkRegression(regressions, result.getKey(), "換算耗時(ns)",
+                    Math.round(result.medianNanos * speedFactor), expected.medianNanos, threshold);
+            checkRegression(regressions, result.getKey(), "分配(B)",
+                    result.allocatedBytes, expected.allocatedBytes, threshold);
+            checkRegression(regressions, result.getKey(), "類型解析",
+                    result.typeResolves, expected.typeResolves, 0);
+            checkRegression(regressions, result.getKey(), "getAllFields 調用",
+                    result.fieldLookups, expected.fieldLookups, 0);
+        }
+        return regressions;
+    }
+
+    /**
+     * 檢查單個指標
+     *
+     * @param regressions 回退描述
+     * @param key 場景/生成器
+     * @param metric 指標名
+     * @param actual 當前值
+     * @param expected 基線值
+     * @param threshold 允許的相對增幅
+     */
+    private static void checkRegression(@NotNull List<String> regressions, @NotNull String key,
+                                        @NotNull String metric, long actual, long expected, double threshold) {
+        if (expected > 0 && actual > expected * (1 + threshold)) {
+            regressions.add(String.format("%s %s: %d -> %d (+%.1f%%)",
+                    key, metric, expected, actual, (actual - expected) * 100.0 / expected));
+        }
+    }
+
+    /**
+     * 一次基準測試的全部結果
+     */
+    public static class Report {
+
+        /**
+         * 校準負載的耗時中位數，用於換算不同機器上的耗時
+         */
+        private final long calibrationNanos;
+
+        /**
+         * 各場景和生成器的結果
+         */
+        private final List<Result> results;
+
+        /**
+         * 構造方法
+         *
+         * @param calibrationNanos 校準負載的耗時中位數，未知時為 0
+         * @param results 各場景和生成器的結果
+         */
+        Report(long calibrationNanos, @NotNull List<Result> results) {
+            this.calibrationNanos = calibrationNanos;
+            this.results = results;
+        }
+
+        /**
+         * 獲取校準負載的耗時中位數
+         *
+         * @return 納秒，未知時為 0
+         */
+        public long getCalibrationNanos() {
+            return calibrationNanos;
+        }
+
+        /**
+         * 獲取各場景和生成器的結果
+         *
+         * @return 結果
+         */
+        @NotNull
+        public List<Result> getResults() {
+            return results;
+        }
+    }
+
+    /**
+     * 單個場景和生成器的結果
+     */
+    public static class Result {
+
+        /**
+         * 場景名
+         */
+        private final String scenario;
+
+        /**
+         * 生成器名：copy、json 或 xml
+         */
+        private final String generator;
+
+        /**
+         * 生成耗時中位數（納秒），依賴機器
+         */
+        private final long medianNanos;
+
+        /**
+         * 每次生成在當前線程上分配的平均字節數
+         */
+        private final long allocatedBytes;
+
+        /**
+         * 每次生成通過 PsiUtils.resolveClass 解析類型的平均次數
+         */
+        private final long typeResolves;
+
+        /**
+         * 每次生成調用 PsiUtils.getAllFields 的平均次數，每次調用會解析整條父類鏈
+         */
+        private final long fieldLookups;
+
+        /**
+         * 構造方法
+         *
+         * @param scenario 場景名
+         * @param generator 生成器名
+         * @param medianNanos 生成耗時中位數
+         * @param allocatedBytes 每次生成的平均分配字節數
+         * @param typeResolves 每次生成的平均類型解析次數
+         * @param fieldLookups 每次生成的平均 getAllFields 調用次數
+         */
+        Result(String scenario, String generator, long medianNanos, long allocatedBytes, long typeResolves,
+               long fieldLookups) {
+            this.scenario = scenario;
+            this.generator = generator;
+            this.medianNanos = medianNanos;
+            this.allocatedBytes = allocatedBytes;
+            this.typeResolves = typeResolves;
+            this.fieldLookups = fieldLookups;
+        }
+
+        /**
+         * 場景/生成器組合鍵
+         *
+         * @return 鍵
+         */
+        @NotNull
+        public String getKey() {
+            return scenario + "/" + generator;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-28s %-5s %12d ns %12d B %6d resolves %6d getAllFields",
+                    scenario, generator, medianNanos, allocatedBytes, typeResolves, fieldLookups);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.yanchen.plugin.objecthelper.benchmark;
+
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.projectRoots.JavaSdk;
+import com.intellij.openapi.projectRoots.Sdk;
+import com.intellij.pom.java.LanguageLevel;
+import com.intellij.testFramework.LightProjectDescriptor;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * 生成器基準測試入口
+ * 只由 benchmarkGenerators 任務運行（check 依賴該任務），結果寫入輸出文件並與基線比較，出現回退時失敗；
+ * 基線文件不存在時失敗，基線尚未記錄結果時只輸出本次結果；指定更新基線時以本次結果覆蓋基線
+ */
+public class GeneratorBenchmarkTest extends LightJavaCodeInsightFixtureTestCase {
+
+    /**
+     * 日誌
+     */
+    private static final Logger LOG = Logger.getInstance(GeneratorBenchmarkTest.class);
+
+    /**
+     * 系統屬性：基線文件
+     */
+    private static final String BASELINE_PROPERTY = "objecthelper.benchmark.baseline";
+
+    /**
+     * 系統屬性：本次結果的輸出文件
+     */
+    private static final String OUTPUT_PROPERTY = "objecthelper.benchmark.output";
+
+    /**
+     * 系統屬性：允許的相對增幅
+     */
+    private static final String THRESHOLD_PROPERTY = "objecthelper.benchmark.threshold";
+
+    /**
+     * 系統屬性：為 true 時以本次結果更新基線
+     */
+    private static final String UPDATE_BASELINE_PROPERTY = "objecthelper.benchmark.updateBaseline";
+
+    /**
+     * 使用運行測試的 JDK，場景源碼需要解析 java.util 和 java.math 中的類
+     *
+     * @return 項目描述
+     */
+    @NotNull
+    @Override
+    protected LightProjectDescriptor getProjectDescriptor() {
+        return new ProjectDescriptor(LanguageLevel.JDK_17) {
+            @Override
+            public Sdk getSdk() {
+                return JavaSdk.getInstance().createJdk("benchmark-jdk", System.getProperty("java.home"), false);
+            }
+        };
+    }
+
+    /**
+     * 運行基準測試並與基線比較
+     *
+     * @throws IOException 結果讀寫失敗
+     */
+    public void testGeneratorsAgainstBaseline() throws IOException {
+        GeneratorBenchmark.Report report = new GeneratorBenchmark(myFixture).run();
+        String summary = formatSummary(report);
+        LOG.info(summary);
+        String output = System.getProperty(OUTPUT_PROPERTY);
+        if (output != null) {
+            GeneratorBenchmark.writeReport(report, Paths.get(output));
+        }
+
+        Path baseline = Paths.get(System.getProperty(BASELINE_PROPERTY, "benchmark/baseline.json"));
+        if (Boolean.getBoolean(UPDATE_BASELINE_PROPERTY)) {
+            GeneratorBenchmark.writeReport(report, baseline);
+            LOG.info("已更新基線: " + baseline.toAbsolutePath());
+            return;
+        }
+        assertTrue("基線文件不存在: " + baseline.toAbsolutePath() + "，請使用 -PupdateBaseline 生成",
+                Files.exists(baseline));
+
+        GeneratorBenchmark.Report baselineReport = GeneratorBenchmark.readReport(baseline);
+        if (baselineReport.getResults().isEmpty()) {
+            // 基線需要在參考機器上記錄，未記錄前只保留本次結果，不做比較
+            LOG.warn("基線尚未記錄結果，跳過比較: " + baseline.toAbsolutePath() + "，請在參考機器上使用 -PupdateBaseline 記錄");
+            return;
+        }
+        double threshold = Double.parseDouble(System.getProperty(THRESHOLD_PROPERTY, "0.25"));
+        List<String> regressions = GeneratorBenchmark.compare(report, baselineReport, threshold);
+        assertTrue("性能回退:\n" + String.join("\n", regressions) + "\n\n" + summary, regressions.isEmpty());
+    }
+
+    /**
+     * 格式化本次結果
+     *
+     * @param report 結果報告
+     * @return 每行一個場景/生成器的結果
+     */
+    @NotNull
+    private static String formatSummary(@NotNull GeneratorBenchmark.Report report) {
+        StringBuilder summary = new StringBuilder("校準耗時: ").append(report.getCalibrationNanos()).append(" ns");
+        for (GeneratorBenchmark.Result result : report.getResults()) {
+            summary.append('\n').append(result);
+        }
+        return summary.toString();
+    }
+}
@@ -0,0 +1,332 @@
+package com.yanchen.plugin.objecthelper.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 基準測試用的合成類圖
+ * 每個場景是一段 Java 源碼，包含根類 Root 和複製方法 Mapper.copy(Root)，
+ * 所有類都在同一文件中，每個場景使用獨立的包，不依賴項目中的其他類
+ */
+public class SyntheticScenario {
+
+    /**
+     * 根類名
+     */
+    public static final String ROOT_CLASS = "Root";
+
+    /**
+     * 複製方法所在類名
+     */
+    public static final String MAPPER_CLASS = "Mapper";
+
+    /**
+     * 字段類型輪換，覆蓋基本類型、包裝類型和集合
+     */
+    private static final String[] FIELD_TYPES = {
+            "String", "int", "Long", "boolean", "java.math.BigDecimal", "List<String>", "Map<String, Integer>"
+    };
+
+    /**
+     * 場景名
+     */
+    private final String name;
+
+    /**
+     * 源碼
+     */
+    private final String source;
+
+    /**
+     * 構造方法
+     *
+     * @param name 場景名
+     * @param source 源碼
+     */
+    private SyntheticScenario(@NotNull String name, @NotNull String source) {
+        this.name = name;
+        this.source = source;
+    }
+
+    /**
+     * 所有場景：字段數 10/100/1000、嵌套深度 1/5/10、循環引用、寬類圖、深繼承鏈和同一父類的大量兄弟子類
+     *
+     * @return 場景列表
+     */
+    @NotNull
+    public static List<SyntheticScenario> all() {
+        List<SyntheticScenario> scenarios = new ArrayList<>();
+        for (int fieldCount : new int[]{10, 100, 1000}) {
+            scenarios.add(flat(fieldCount));
+        }
+        for (int depth : new int[]{1, 5, 10}) {
+            scenarios.add(nested(depth));
+        }
+        scenarios.add(cyclic());
+        scenarios.add(wide(50, 5));
+        scenarios.add(deepInheritance(10, 10));
+        scenarios.add(siblingInheritance(20, 5));
+        return scenarios;
+    }
+
+    /**
+     * 單個類包含指定數量的字段
+     *
+     * @param fieldCount 字段數
+     * @return 場景
+     */
+    @NotNull
+    private static SyntheticScenario flat(int fieldCount) {
+        String name = "flat-" + fieldCount;
+        SourceBuilder source = new SourceBuilder(name);
+        source.beginClass(ROOT_CLASS, null);
+        for (int i = 0; i < fieldCount; i++) {
+            source.property(FIELD_TYPES[i % FIELD_TYPES.length], "field" + i);
+        }
+        source.endClass();
+        return new SyntheticScenario(name, source.build());
+    }
+
+    /**
+     * 嵌套鏈 Root -> Node1 -> ... -> NodeN
+     *
+     * @param depth 嵌套深度
+     * @return 場景
+     */
+    @NotNull
+    private static SyntheticScenario nested(int depth) {
+        String name = "depth-" + depth;
+        SourceBuilder source = new SourceBuilder(name);
+        for (int level = 0; level <= depth; level++) {
+            source.beginClass(level == 0 ? ROOT_CLASS : "Node" + level, null);
+            source.property("String", "name");
+            source.property("int", "value");
+            source.property("List<String>", "tags");
+            if (level < depth) {
+                source.property("Node" + (level + 1), "child");
+            }
+            source.endClass();
+        }
+        return new SyntheticScenario(name, source.build());
+    }
+
+    /**
+     * 互相引用和自引用的類
+     *
+     * @return 場景
+     */
+    @NotNull
+    private static SyntheticScenario cyclic() {
+        String name = "cyclic";
+        SourceBuilder source = new SourceBuilder(name);
+        source.beginClass(ROOT_CLASS, null);
+        source.property("String", "name");
+        source.property("Peer", "peer");
+        source.property("Tree", "tree");
+        source.endClass();
+        source.beginClass("Peer", null);
+        source.property("String", "name");
+        source.property(ROOT_CLASS, "owner");
+        source.endClass();
+        source.beginClass("Tree", null);
+        source.property("String", "label");
+        source.property("Tree", "parent");
+        source.property("List<Tree>", "children");
+        source.endClass();
+        return new SyntheticScenario(name, source.build());
+    }
+
+    /**
+     * 根類引用大量不同的類，每個類有若干字段
+     *
+     * @param width 引用的類數
+     * @param leafFields 每個類的字段數
+     * @return 場景
+     */
+    @NotNull
+    private static SyntheticScenario wide(int width, int leafFields) {
+        String name = "wide-" + width + "x" + leafFields;
+        SourceBuilder source = new SourceBuilder(name);
+        source.beginClass(ROOT_CLASS, null);
+        for (int i = 0; i < width; i++) {
+            source.property("Leaf" + i, "leaf" + i);
+        }
+        source.endClass();
+        for (int i = 0; i < width; i++) {
+            source.beginClass("Leaf" + i, null);
+            for (int j = 0; j < leafFields; j++) {
+                source.property(FIELD_TYPES[j % FIELD_TYPES.length], "value" + j);
+            }
+            source.endClass();
+        }
+        return new SyntheticScenario(name, source.build());
+    }
+
+    /**
+     * 深繼承鏈 Base0 <- Base1 <- ... <- Root，每層增加若干字段
+     *
+     * @param levels 繼承層數
+     * @param fieldsPerLevel 每層字段數
+     * @return 場景
+     */
+    @NotNull
+    private static SyntheticScenario deepInheritance(int levels, int fieldsPerLevel) {
+        String name = "deep-inheritance-" + levels + "x" + fieldsPerLevel;
+        SourceBuilder source = new SourceBuilder(name);
+        for (int level = 0; level < levels; level++) {
+            String className = level == levels - 1 ? ROOT_CLASS : "Base" + level;
+            source.beginClass(className, level == 0 ? null : "Base" + (level - 1));
+            for (int j = 0; j < fieldsPerLevel; j++) {
+                source.property(FIELD_TYPES[j % FIELD_TYPES.length], "level" + level + "Field" + j);
+            }
+            source.endClass();
+        }
+        return new SyntheticScenario(name, source.build());
+    }
+
+    /**
+     * 同一父類 Base 的大量兄弟子類 Sub0 ... SubN，根類引用每個子類，
+     * 父類字段在每個子類中都會被重新查找
+     *
+     * @param siblings 子類數
+     * @param fieldsPerClass 父類和每個子類的字段數
+     * @return 場景
+     */
+    @NotNull
+    private static SyntheticScenario siblingInheritance(int siblings, int fieldsPerClass) {
+        String name = "sibling-inheritance-" + siblings + "x" + fieldsPerClass;
+        SourceBuilder source = new SourceBuilder(name);
+        source.beginClass(ROOT_CLASS, null);
+        for (int i = 0; i < siblings; i++) {
+            source.property("Sub" + i, "sub" + i);
+        }
+        source.endClass();
+        source.beginClass("Base", null);
+        for (int j = 0; j < fieldsPerClass; j++) {
+            source.property(FIELD_TYPES[j % FIELD_TYPES.length], "baseField" + j);
+        }
+        source.endClass();
+        for (int i = 0; i < siblings; i++) {
+            source.beginClass("Sub" + i, "Base");
+            for (int j = 0; j < fieldsPerClass; j++) {
+                source.property(FIELD_TYPES[j % FIELD_TYPES.length], "sub" + i + "Field" + j);
+            }
+            source.endClass();
+        }
+        return new SyntheticScenario(name, source.build());
+    }
+
+    /**
+     * 獲取場景名
+     *
+     * @return 場景名，如 flat-100
+     */
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 獲取源碼
+     *
+     * @return 包含包聲明的完整 Java 文件內容
+     */
+    @NotNull
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * 獲取源碼文件在源碼根目錄下的相對路徑
+     *
+     * @return 相對路徑，如 flat_100/Synthetic.java
+     */
+    @NotNull
+    public String getFilePath() {
+        return toPackageName(name) + "/Synthetic.java";
+    }
+
+    /**
+     * 場景名轉為包名
+     *
+     * @param name 場景名
+     * @return 包名
+     */
+    @NotNull
+    private static String toPackageName(@NotNull String name) {
+        return name.replace('-', '_');
+    }
+
+    /**
+     * 源碼拼裝：字段帶 getter/setter，文件末尾追加複製方法
+     */
+    private static class SourceBuilder {
+
+        /**
+         * 已拼裝的源碼
+         */
+        private final StringBuilder text = new StringBuilder();
+
+        /**
+         * 構造方法
+         *
+         * @param scenarioName 場景名，用於生成包聲明
+         */
+        SourceBuilder(@NotNull String scenarioName) {
+            text.append("package ").append(toPackageName(scenarioName)).append(";\n\n")
+                    .append("import java.util.List;\nimport java.util.Map;\n\n");
+        }
+
+        /**
+         * 開始一個類
+         *
+         * @param className 類名
+         * @param superClass 父類名，沒有時為 null
+         */
+        void beginClass(@NotNull String className, String superClass) {
+            text.append("class ").append(className);
+            if (superClass != null) {
+                text.append(" extends ").append(superClass);
+            }
+            text.append(" {\n");
+        }
+
+        /**
+         * 添加字段及其 getter/setter
+         *
+         * @param type 字段類型
+         * @param name 字段名
+         */
+        void property(@NotNull String type, @NotNull String name) {
+            String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+            String getterPrefix = "boolean".equals(type) ? "is" : "get";
+            text.append("    private ").append(type).append(' ').append(name).append(";\n");
+            text.append("    public ").append(type).append(' ').append(getterPrefix).append(capitalized)
+                    .append("() { return ").append(name).append("; }\n");
+            text.append("    public void set").append(capitalized).append('(').append(type).append(' ')
+                    .append(name).append(") { this.").append(name).append(" = ").append(name).append("; }\n");
+        }
+
+        /**
+         * 結束當前類
+         */
+        void endClass() {
+            text.append("}\n\n");
+        }
+
+        /**
+         * 追加複製方法所在類並返回完整源碼
+         *
+         * @return 源碼
+         */
+        @NotNull
+        String build() {
+            text.append("class ").append(MAPPER_CLASS).append(" {\n")
+                    .append("    public static ").append(ROOT_CLASS).append(" copy(").append(ROOT_CLASS)
+                    .append(" source) {\n        return null;\n    }\n}\n");
+            return text.toString();
+        }
+    }
+}
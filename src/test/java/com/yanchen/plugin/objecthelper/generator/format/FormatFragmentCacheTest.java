@@ -0,0 +1,92 @@
+package com.yanchen.plugin.objecthelper.generator.format;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiField;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 類格式化片段緩存測試
+ * 片段包含繼承的字段，修改父類所在文件後片段必須失效
+ */
+public class FormatFragmentCacheTest extends LightJavaCodeInsightFixtureTestCase {
+
+    /**
+     * 渲染次數
+     */
+    private final AtomicInteger renderCount = new AtomicInteger();
+
+    /**
+     * 按名稱排序列出 getAllFields 字段名的渲染函數
+     */
+    private final Function<PsiClass, String> renderer = psiClass -> {
+        renderCount.incrementAndGet();
+        List<String> names = new ArrayList<>();
+        for (PsiField field : psiClass.getAllFields()) {
+            names.add(field.getName());
+        }
+        Collections.sort(names);
+        return String.join(",", names);
+    };
+
+    /**
+     * 父類和子類在不同文件中
+     */
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        myFixture.addFileToProject("demo/Base.java", "package demo; public class Base { int inherited; }");
+        myFixture.addFileToProject("demo/Child.java", "package demo; public class Child extends Base { int own; }");
+    }
+
+    /**
+     * 依賴文件都未修改時命中緩存
+     */
+    public void testUnchangedClassHitsCache() {
+        FormatFragmentCache cache = new FormatFragmentCache(getProject());
+        PsiClass child = findClass("demo.Child");
+
+        assertEquals("inherited,own", cache.getFragment(child, "json", renderer));
+        assertEquals("inherited,own", cache.getFragment(child, "json", renderer));
+        assertEquals(1, renderCount.get());
+    }
+
+    /**
+     * 修改父類後子類的片段重新渲染，包含新增的繼承字段
+     */
+    public void testEditingSuperclassInvalidatesFragment() {
+        FormatFragmentCache cache = new FormatFragmentCache(getProject());
+        PsiClass child = findClass("demo.Child");
+        assertEquals("inherited,own", cache.getFragment(child, "json", renderer));
+
+        PsiClass base = findClass("demo.Base");
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            PsiField field = JavaPsiFacade.getElementFactory(getProject()).createFieldFromText("int added;", base);
+            base.add(field);
+        });
+        PsiDocumentManager.getInstance(getProject()).commitAllDocuments();
+
+        assertEquals("added,inherited,own", cache.getFragment(child, "json", renderer));
+        assertEquals(2, renderCount.get());
+    }
+
+    /**
+     * 按全限定名查找類
+     *
+     * @param qualifiedName 全限定名
+     * @return 類
+     */
+    private PsiClass findClass(String qualifiedName) {
+        PsiClass psiClass = myFixture.findClass(qualifiedName);
+        assertNotNull(qualifiedName, psiClass);
+        return psiClass;
+    }
+}
@@ -0,0 +1,146 @@
+package com.yanchen.plugin.objecthelper.generator.random;
+
+import com.intellij.psi.PsiClass;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 隨機負載生成測試
+ * 只有上限約束時生成的數值不能越過上限，也不能因默認下限超過上限而固定為同一個值
+ */
+public class RandomPayloadWriterTest extends LightJavaCodeInsightFixtureTestCase {
+
+    /**
+     * 每個用例生成的文檔數
+     */
+    private static final int DOCUMENT_COUNT = 200;
+
+    /**
+     * 校驗註解
+     */
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        for (String name : new String[]{"Max", "Negative", "NegativeOrZero"}) {
+            String value = "Max".equals(name) ? " long value();" : "";
+            myFixture.addClass("package javax.validation.constraints; public @interface " + name
+                    + " {" + value + " }");
+        }
+    }
+
+    /**
+     * @Negative 的整數、長整數和小數都小於 0
+     */
+    public void testNegative() throws IOException {
+        PsiClass psiClass = myFixture.addClass("package demo; import javax.validation.constraints.Negative; "
+                + "public class Balance { @Negative int delta; @Negative long total; @Negative double rate; }");
+        String json = generate(psiClass);
+
+        assertAllInRange(readValues(json, "delta"), Long.MIN_VALUE, -1);
+        assertAllInRange(readValues(json, "total"), Long.MIN_VALUE, -1);
+        for (String rate : readRawValues(json, "rate")) {
+            assertTrue(rate, Double.parseDouble(rate) < 0);
+        }
+        assertVaries(readValues(json, "delta"));
+    }
+
+    /**
+     * @NegativeOrZero 的值不大於 0，byte 字段仍在類型範圍內
+     */
+    public void testNegativeOrZero() throws IOException {
+        PsiClass psiClass = myFixture.addClass("package demo; import javax.validation.constraints.NegativeOrZero; "
+                + "public class Offset { @NegativeOrZero int shift; @NegativeOrZero byte small; }");
+        String json = generate(psiClass);
+
+        assertAllInRange(readValues(json, "shift"), Long.MIN_VALUE, 0);
+        assertAllInRange(readValues(json, "small"), Byte.MIN_VALUE, 0);
+        assertVaries(readValues(json, "shift"));
+    }
+
+    /**
+     * 按字段名推斷的下限超過 @Max 時從 0 開始，如 age 默認下限 18
+     */
+    public void testSmallMaxBelowDefaultMin() throws IOException {
+        PsiClass psiClass = myFixture.addClass("package demo; import javax.validation.constraints.Max; "
+                + "public class Child { @Max(10) int age; @Max(1000) int year; @Max(10) long userAge; }");
+        String json = generate(psiClass);
+
+        assertAllInRange(readValues(json, "age"), 0, 10);
+        assertAllInRange(readValues(json, "year"), 0, 1000);
+        assertAllInRange(readValues(json, "userAge"), 0, 10);
+        assertVaries(readValues(json, "age"));
+    }
+
+    /**
+     * 生成 JSON 文檔，每行一個
+     *
+     * @param psiClass 類
+     * @return JSON 文本
+     */
+    private String generate(PsiClass psiClass) throws IOException {
+        StringWriter out = new StringWriter();
+        new RandomPayloadWriter(PayloadSchema.fromClass(psiClass), 42L, 0, 0)
+                .write(out, RandomPayloadWriter.Format.JSON, DOCUMENT_COUNT, null);
+        return out.toString();
+    }
+
+    /**
+     * 讀取字段的全部原始值文本
+     *
+     * @param json JSON 文本
+     * @param field 字段名
+     * @return 值文本
+     */
+    private static List<String> readRawValues(String json, String field) {
+        Matcher matcher = Pattern.compile("\"" + field + "\":([^,}]+)").matcher(json);
+        List<String> values = new ArrayList<>();
+        while (matcher.find()) {
+            values.add(matcher.group(1));
+        }
+        assertEquals(field, DOCUMENT_COUNT, values.size());
+        return values;
+    }
+
+    /**
+     * 讀取字段的全部整數值
+     *
+     * @param json JSON 文本
+     * @param field 字段名
+     * @return 整數值
+     */
+    private static List<Long> readValues(String json, String field) {
+        List<Long> values = new ArrayList<>();
+        for (String value : readRawValues(json, field)) {
+            values.add(Long.parseLong(value));
+        }
+        return values;
+    }
+
+    /**
+     * 斷言所有值都在 [min, max] 範圍內
+     *
+     * @param values 值
+     * @param min 下限
+     * @param max 上限
+     */
+    private static void assertAllInRange(List<Long> values, long min, long max) {
+        for (long value : values) {
+            assertTrue(value + " not in [" + min + ", " + max + "]", value >= min && value <= max);
+        }
+    }
+
+    /**
+     * 斷言值不是固定的同一個數
+     *
+     * @param values 值
+     */
+    private static void assertVaries(List<Long> values) {
+        assertTrue(values.toString(), values.stream().distinct().count() > 1);
+    }
+}